@@ -24,12 +24,37 @@ public @interface RateLimit {
      * IP: IP 주소별
      * USER: 인증된 사용자별
      * IP_AND_USER: IP + 사용자별
+     * ROOM: 경로 변수 roomId 별 (scopes 에서만 사용)
      */
     LimitScope scope() default LimitScope.IP;
 
+    /**
+     * 복합 Rate Limit 범위
+     * 지정 시 scope 대신 각 범위별 키를 한 번의 Redis 호출로 함께 검사하고 가장 빡빡한 결과를 적용한다.
+     * 복합 정책은 FIXED_WINDOW 알고리즘만 지원한다.
+     */
+    LimitScope[] scopes() default {};
+
+    /**
+     * Rate Limit 알고리즘
+     * FIXED_WINDOW: 고정 윈도우 카운터 (윈도우 경계에서 최대 2배 버스트 가능)
+     * SLIDING_LOG: 요청 시각 로그 기반 정확한 슬라이딩 윈도우
+     * SLIDING_WINDOW_COUNTER: 이전/현재 윈도우 가중 평균 근사
+     * GCRA: 단일 키 TAT 기반, 요청 간격을 균등하게 분산
+     */
+    Algorithm algorithm() default Algorithm.FIXED_WINDOW;
+
     enum LimitScope {
         IP,
         USER,
-        IP_AND_USER
+        IP_AND_USER,
+        ROOM
+    }
+
+    enum Algorithm {
+        FIXED_WINDOW,
+        SLIDING_LOG,
+        SLIDING_WINDOW_COUNTER,
+        GCRA
     }
 }
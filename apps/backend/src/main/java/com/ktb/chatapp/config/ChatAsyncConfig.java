@@ -1,5 +1,6 @@
 package com.ktb.chatapp.config;
 
+import com.ktb.chatapp.util.MdcPropagatingExecutor;
 import java.util.concurrent.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
@@ -27,13 +28,14 @@ public class ChatAsyncConfig {
         //   여기서는 "빠르게 실패 + 유실 최소화" 타협으로 DiscardOldestPolicy 추천.
         RejectedExecutionHandler reject = new ThreadPoolExecutor.DiscardOldestPolicy();
 
-        return new ThreadPoolExecutor(
+        // 소켓 리스너의 correlation ID 가 메시지 처리 로그에도 남도록 MDC 를 넘긴다
+        return MdcPropagatingExecutor.wrap(new ThreadPoolExecutor(
                 poolSize,
                 poolSize,
                 30L, TimeUnit.SECONDS,
                 new LinkedBlockingQueue<>(queueSize),
                 tf,
                 reject
-        );
+        ));
     }
 }
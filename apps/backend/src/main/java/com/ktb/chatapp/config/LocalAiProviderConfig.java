@@ -0,0 +1,42 @@
+package com.ktb.chatapp.config;
+
+import com.ktb.chatapp.websocket.socketio.ai.LocalStreamingChatModel;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * 로컬 AI 제공자 설정
+ * - ai.provider=local 이면 ChatClient.Builder 가 OpenAI 대신 LocalStreamingChatModel 을 사용한다.
+ * - OpenAI 키 없이 AI 스트리밍 경로를 부하 테스트할 때 사용
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "ai.provider", havingValue = "local")
+public class LocalAiProviderConfig {
+
+    @Bean
+    @Primary
+    public ChatModel localStreamingChatModel(
+            @Value("${ai.local.tokens-per-second:50}") int tokensPerSecond,
+            @Value("${ai.local.first-token-latency-ms:300}") long firstTokenLatencyMs,
+            @Value("${ai.local.jitter-ms:10}") long jitterMs,
+            @Value("${ai.local.error-rate:0.0}") double errorRate,
+            @Value("${ai.local.answer-tokens:200}") int answerTokens,
+            @Value("${ai.local.seed:42}") long seed) {
+        LocalStreamingChatModel.Settings settings = new LocalStreamingChatModel.Settings(
+                tokensPerSecond,
+                Duration.ofMillis(firstTokenLatencyMs),
+                Duration.ofMillis(jitterMs),
+                errorRate,
+                Math.max(1, answerTokens),
+                seed);
+        log.warn("Local AI provider enabled - OpenAI 대신 LocalStreamingChatModel 사용: {}", settings);
+        return new LocalStreamingChatModel(settings);
+    }
+}
@@ -0,0 +1,88 @@
+package com.ktb.chatapp.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * 채팅 컬렉션 크기 메트릭
+ * 메시지와 입장/퇴장 이벤트 컬렉션의 문서 수와 데이터 크기를 노출해
+ * 부하 테스트 전후로 컬렉션 증가량을 비교할 수 있게 한다. (loadtest/ramp-up-test.js)
+ * collStats 는 게이지를 읽을 때마다 돌리지 않고 컬렉션별로 refresh 주기 동안 결과를 재사용한다.
+ */
+@Slf4j
+@Component
+public class MongoCollectionMetrics implements MeterBinder {
+
+    static final List<String> COLLECTIONS = List.of("messages", "room_events");
+
+    private final MongoTemplate mongoTemplate;
+    private final long refreshMillis;
+    private final Clock clock;
+    private final Map<String, Stats> cache = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MongoCollectionMetrics(
+            MongoTemplate mongoTemplate,
+            @Value("${metrics.mongodb.collection-stats-refresh-ms:5000}") long refreshMillis) {
+        this(mongoTemplate, refreshMillis, Clock.systemUTC());
+    }
+
+    MongoCollectionMetrics(MongoTemplate mongoTemplate, long refreshMillis, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.refreshMillis = refreshMillis;
+        this.clock = clock;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String collection : COLLECTIONS) {
+            Gauge.builder("mongodb.collection.documents", () -> stats(collection).count())
+                    .description("컬렉션 문서 수")
+                    .tag("collection", collection)
+                    .register(registry);
+            Gauge.builder("mongodb.collection.size", () -> stats(collection).size())
+                    .description("컬렉션 데이터 크기 (압축 전 바이트)")
+                    .baseUnit("bytes")
+                    .tag("collection", collection)
+                    .register(registry);
+        }
+    }
+
+    // 문서 수와 크기 게이지가 같은 collStats 결과를 나눠 쓰고, 주기가 지났을 때만 다시 읽는다
+    private Stats stats(String collection) {
+        long now = clock.millis();
+        Stats cached = cache.get(collection);
+        if (cached != null && now - cached.readAt() < refreshMillis) {
+            return cached;
+        }
+        return cache.compute(collection, (key, current) ->
+                current != null && now - current.readAt() < refreshMillis ? current : read(key, now));
+    }
+
+    private Stats read(String collection, long now) {
+        try {
+            Document stats = mongoTemplate.getDb().runCommand(new Document("collStats", collection));
+            return new Stats(number(stats.get("count")), number(stats.get("size")), now);
+        } catch (Exception e) {
+            log.debug("Failed to read collection stats - collection: {}", collection, e);
+            return new Stats(Double.NaN, Double.NaN, now);
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    private record Stats(double count, double size, long readAt) {}
+}
@@ -5,11 +5,14 @@ import com.ktb.chatapp.annotation.RateLimit;
 import com.ktb.chatapp.dto.ApiErrorCode;
 import com.ktb.chatapp.dto.StandardResponse;
 import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.RateLimitPolicy;
 import com.ktb.chatapp.service.RateLimitService;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +22,7 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.method.HandlerMethod;
 import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Slf4j
 @Component
@@ -42,9 +46,27 @@ public class RateLimitInterceptor implements HandlerInterceptor {
 
         int maxRequests = rateLimit.maxRequests();
         Duration window = Duration.ofSeconds(rateLimit.windowSeconds());
-        String clientId = generateClientId(request, rateLimit.scope());
-
-        RateLimitCheckResult result = rateLimitService.checkRateLimit(clientId, maxRequests, window);
+        String clientId;
+        RateLimitCheckResult result;
+
+        if (rateLimit.scopes().length > 0) {
+            List<RateLimitPolicy> policies = new ArrayList<>(rateLimit.scopes().length);
+            for (RateLimit.LimitScope scope : rateLimit.scopes()) {
+                String scopedId = generateClientId(request, scope);
+                if (scopedId != null) {
+                    policies.add(new RateLimitPolicy(scopedId, maxRequests, window));
+                }
+            }
+            if (policies.isEmpty()) {
+                return true;
+            }
+            clientId = policies.stream().map(RateLimitPolicy::clientId).toList().toString();
+            result = rateLimitService.checkRateLimits(policies);
+        } else {
+            String scopedId = generateClientId(request, rateLimit.scope());
+            clientId = scopedId != null ? scopedId : "ip:" + getClientIpAddress(request);
+            result = rateLimitService.checkRateLimit(clientId, maxRequests, window, rateLimit.algorithm());
+        }
         applyRateLimitHeaders(response, result);
 
         if (result.allowed()) {
@@ -80,6 +102,13 @@ public class RateLimitInterceptor implements HandlerInterceptor {
                     return "ip_user:" + clientIp + ":" + userAuth.getName();
                 }
                 return "ip:" + clientIp;
+            case ROOM:
+                // 경로에 roomId 가 없는 엔드포인트는 방 단위 제한을 건너뛴다
+                Object uriVariables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                if (uriVariables instanceof Map<?, ?> variables && variables.get("roomId") != null) {
+                    return "room:" + variables.get("roomId");
+                }
+                return null;
             case IP:
             default:
                 return "ip:" + clientIp;
@@ -60,6 +60,9 @@ public class RedisConfig {
     @Value("${REDIS_PASSWORD:}")
     private String redisPassword;
 
+    @Value("${ai.response-cache.ttl-seconds:600}")
+    private long aiResponseCacheTtlSeconds;
+
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
         // Sentinel 모드 체크
@@ -154,6 +157,7 @@ public class RedisConfig {
         cacheConfigs.put("recentMessageCount", defaultConfig.entryTtl(Duration.ofSeconds(90)));
 
         cacheConfigs.put("fileByName", defaultConfig.entryTtl(Duration.ofHours(1)));
+        cacheConfigs.put("aiResponse", defaultConfig.entryTtl(Duration.ofSeconds(aiResponseCacheTtlSeconds)));
 
         return RedisCacheManager.builder(connectionFactory)
                 .cacheDefaults(defaultConfig)
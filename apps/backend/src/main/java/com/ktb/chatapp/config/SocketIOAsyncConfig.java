@@ -1,5 +1,6 @@
 package com.ktb.chatapp.config;
 
+import com.ktb.chatapp.util.MdcPropagatingExecutor;
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
 import org.springframework.context.annotation.Bean;
@@ -10,6 +11,18 @@ public class SocketIOAsyncConfig {
 
     @Bean(name = "socketMessageExecutor")
     public Executor socketMessageExecutor() {
-        return Executors.newFixedThreadPool(16);
+        // 방 입장/복원 작업 로그에도 소켓 리스너의 correlation ID 가 남도록 MDC 를 넘긴다
+        return MdcPropagatingExecutor.wrap(Executors.newFixedThreadPool(16));
+    }
+
+    @Bean(name = "aiStreamStateExecutor")
+    public Executor aiStreamStateExecutor() {
+        // 스트림당 저장 작업은 한 번에 하나라 스레드가 모자라면 대기하는 동안 청크가 모여 한 번에 저장된다
+        return MdcPropagatingExecutor.wrap(Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r);
+            t.setName("ai-stream-state-" + t.threadId());
+            t.setDaemon(true);
+            return t;
+        }));
     }
 }
@@ -8,10 +8,24 @@ import com.corundumstudio.socketio.namespace.Namespace;
 import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
 import com.corundumstudio.socketio.store.MemoryStoreFactory;
 import com.corundumstudio.socketio.store.RedissonStoreFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.websocket.socketio.BackpressureChannelInitializer;
 import com.ktb.chatapp.websocket.socketio.ChatDataStore;
+import com.ktb.chatapp.websocket.socketio.InstrumentedSocketIOServer;
 import com.ktb.chatapp.websocket.socketio.LocalChatDataStore;
+import com.ktb.chatapp.websocket.socketio.LocalRoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.OutboundBackpressureHandler;
+import com.ktb.chatapp.websocket.socketio.PreEncodedPayload;
 import com.ktb.chatapp.websocket.socketio.RedisChatDataStore;
+import com.ktb.chatapp.websocket.socketio.RedisRoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.RoomPubSubStoreFactory;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.SocketIOEventMetrics;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamStateStore;
+import com.ktb.chatapp.websocket.socketio.ai.LocalAiStreamStateStore;
+import com.ktb.chatapp.websocket.socketio.ai.RedisAiStreamStateStore;
+import java.time.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RedissonClient;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +37,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.context.annotation.Role;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
 
 import static org.springframework.beans.factory.config.BeanDefinition.ROLE_INFRASTRUCTURE;
 
@@ -49,12 +64,32 @@ public class SocketIOConfig {
     @Value("${socketio.cluster.enabled:true}")
     private boolean clusterEnabled;
 
+    // room-pubsub: 방 단위 채널 pub/sub (RoomPubSubStoreFactory), redisson: 기존 RedissonStoreFactory
+    @Value("${socketio.cluster.adapter:room-pubsub}")
+    private String clusterAdapter;
+
+    @Value("${socketio.cluster.flush-interval-ms:2}")
+    private long clusterFlushIntervalMs;
+
+    @Value("${socketio.cluster.max-batch-bytes:65536}")
+    private int clusterMaxBatchBytes;
+
+    // 소켓 출력 버퍼가 high 를 넘으면 쓰기 불가, low 아래로 내려오면 다시 쓰기 가능 (OutboundBackpressureHandler)
+    @Value("${socketio.outbound.low-watermark-bytes:262144}")
+    private int outboundLowWatermarkBytes;
+
+    @Value("${socketio.outbound.high-watermark-bytes:524288}")
+    private int outboundHighWatermarkBytes;
+
     public SocketIOConfig(RedisTemplate<String, Object> redisTemplate) {
         this.redisTemplate = redisTemplate;
     }
 
     @Bean(initMethod = "start", destroyMethod = "stop")
-    public SocketIOServer socketIOServer(AuthTokenListener authTokenListener) {
+    public SocketIOServer socketIOServer(
+            AuthTokenListener authTokenListener,
+            OutboundBackpressureHandler outboundBackpressureHandler,
+            SocketIOEventMetrics socketIOEventMetrics) {
         com.corundumstudio.socketio.Configuration config =
                 new com.corundumstudio.socketio.Configuration();
 
@@ -67,6 +102,8 @@ public class SocketIOConfig {
         socketConfig.setAcceptBackLog(1024); // ✅ 동시 접속 여유
         socketConfig.setTcpSendBufferSize(1 << 20);
         socketConfig.setTcpReceiveBufferSize(1 << 20);
+        socketConfig.setWriteBufferWaterMarkLow(outboundLowWatermarkBytes);
+        socketConfig.setWriteBufferWaterMarkHigh(outboundHighWatermarkBytes);
         config.setSocketConfig(socketConfig);
 
         config.setOrigin("*");
@@ -75,11 +112,18 @@ public class SocketIOConfig {
         config.setPingInterval(25000);
         config.setUpgradeTimeout(10000);
 
-        config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule()));
+        // PreEncodedPayload: 방송 payload 를 한 번만 직렬화해 클라이언트마다 raw JSON 으로 기록
+        config.setJsonSupport(new JacksonJsonSupport(new JavaTimeModule(), PreEncodedPayload.module()));
 
         // ✅ 여기 핵심: 멀티 인스턴스에서 room/broadcast 공유
         if (clusterEnabled) {
-            if (redissonClient != null) {
+            if ("room-pubsub".equalsIgnoreCase(clusterAdapter)) {
+                log.info("Socket.IO StoreFactory: RoomPubSubStoreFactory (clusterEnabled=true)");
+                config.setStoreFactory(new RoomPubSubStoreFactory(
+                        redisTemplate.getConnectionFactory(),
+                        Duration.ofMillis(clusterFlushIntervalMs),
+                        clusterMaxBatchBytes));
+            } else if (redissonClient != null) {
                 log.info("Socket.IO StoreFactory: RedissonStoreFactory (clusterEnabled=true)");
                 config.setStoreFactory(new RedissonStoreFactory(redissonClient));
             } else {
@@ -94,9 +138,11 @@ public class SocketIOConfig {
 
         log.info("Socket.IO server configured on {}:{} (clusterEnabled={})", host, port, clusterEnabled);
 
-        SocketIOServer socketIOServer = new SocketIOServer(config);
+        // 이벤트 리스너마다 처리 시간/in-flight/correlation ID 를 기록한다
+        SocketIOServer socketIOServer = new InstrumentedSocketIOServer(config, socketIOEventMetrics);
+        socketIOServer.setPipelineFactory(new BackpressureChannelInitializer(outboundBackpressureHandler));
         socketIOServer.getNamespace(Namespace.DEFAULT_NAME)
-                .addAuthTokenListener(authTokenListener);
+                .addAuthTokenListener(socketIOEventMetrics.instrument(authTokenListener));
 
         return socketIOServer;
     }
@@ -116,4 +162,31 @@ public class SocketIOConfig {
         log.info("ChatDataStore: LocalChatDataStore");
         return new LocalChatDataStore();
     }
+
+    @Bean
+    public AiStreamStateStore aiStreamStateStore(
+            StringRedisTemplate stringRedisTemplate,
+            @Value("${ai.stream.state-ttl-seconds:120}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        if ("redis".equalsIgnoreCase(chatStoreType)) {
+            log.info("AiStreamStateStore: RedisAiStreamStateStore (ttl: {}s)", ttlSeconds);
+            return new RedisAiStreamStateStore(stringRedisTemplate, ttl);
+        }
+        log.info("AiStreamStateStore: LocalAiStreamStateStore (ttl: {}s)", ttlSeconds);
+        return new LocalAiStreamStateStore(ttl);
+    }
+
+    @Bean
+    public RoomRosterStore roomRosterStore(
+            StringRedisTemplate stringRedisTemplate,
+            ObjectMapper objectMapper,
+            @Value("${socketio.roster.ttl-seconds:600}") long ttlSeconds) {
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        if ("redis".equalsIgnoreCase(chatStoreType)) {
+            log.info("RoomRosterStore: RedisRoomRosterStore (ttl: {}s)", ttlSeconds);
+            return new RedisRoomRosterStore(stringRedisTemplate, objectMapper, ttl);
+        }
+        log.info("RoomRosterStore: LocalRoomRosterStore (ttl: {}s)", ttlSeconds);
+        return new LocalRoomRosterStore(ttl);
+    }
 }
@@ -2,6 +2,8 @@ package com.ktb.chatapp.config;
 
 import java.util.concurrent.Executor;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -12,4 +14,20 @@ public class SocketIoExecutorConfig {
     public Executor messageExecutor() {
         return Executors.newFixedThreadPool(16);
     }
+
+    /**
+     * 소켓 지연 작업(중복 로그인 세션 종료 통보 등) 공용 스케줄러
+     * 작업마다 스레드를 만들지 않고 지연 큐에 넣어 단일 스레드가 처리한다.
+     */
+    @Bean(name = "socketTaskScheduler", destroyMethod = "shutdownNow")
+    public ScheduledExecutorService socketTaskScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread t = new Thread(r);
+            t.setName("socket-scheduler-" + t.threadId());
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        return scheduler;
+    }
 }
@@ -19,6 +19,7 @@ public class ActiveStreamResponse {
     private String type;
     private String aiType;
     private String content;
+    private long seq;  // content 에 반영된 마지막 청크 순번, 이후 aiMessageChunk 는 seq 가 더 큰 것만 이어붙인다
     private String timestamp;  // ISO_INSTANT 형식 문자열 예) 2025-11-07T13:45:30Z
     private boolean isStreaming;
 }
@@ -4,7 +4,13 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 
 // 최초는 limit 개수만 조회, 이후에는 before 메시지 ID 기준으로 이전 메시지 조회
-public record FetchMessagesRequest(String roomId, Integer limit, Long before) {
+// includeSystem 이 true 면 같은 구간의 입장/퇴장 이벤트도 시스템 메시지로 합쳐 준다 (limit 에는 포함되지 않음)
+public record FetchMessagesRequest(String roomId, Integer limit, Long before, boolean includeSystem) {
+
+    public FetchMessagesRequest(String roomId, Integer limit, Long before) {
+        this(roomId, limit, before, false);
+    }
+
     public int limit(int defaultLimit) {
         return limit != null && limit > 0 ? limit : defaultLimit;
     }
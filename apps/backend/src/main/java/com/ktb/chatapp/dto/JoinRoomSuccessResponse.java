@@ -17,6 +17,8 @@ import java.util.List;
 public class JoinRoomSuccessResponse {
     private String roomId;
     private List<UserResponse> participants;
+    // participants 에 반영된 명단 버전, 이보다 큰 participantJoined/participantLeft 만 적용한다
+    private long participantsVersion;
     private List<MessageResponse> messages;
     private boolean hasMore;
     private List<ActiveStreamResponse> activeStreams;
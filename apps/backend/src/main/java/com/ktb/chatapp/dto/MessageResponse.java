@@ -39,6 +39,9 @@ public class MessageResponse {
     
     private long timestamp;
     
+    // 방 단위 순번, 클라이언트가 누락 구간을 찾아 syncRoom 으로 채울 때 쓴다
+    private Long seq;
+    
     private Map<String, Set<String>> reactions;
     
     private List<Message.MessageReader> readers;
@@ -0,0 +1,5 @@
+package com.ktb.chatapp.dto;
+
+// lastSeq 는 클라이언트가 빠짐없이 받은 마지막 메시지 순번, 그 이후 메시지만 조회한다
+public record SyncRoomRequest(String roomId, long lastSeq) {
+}
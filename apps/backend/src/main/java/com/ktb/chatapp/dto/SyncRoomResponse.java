@@ -0,0 +1,25 @@
+package com.ktb.chatapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * roomSynced 이벤트 응답 DTO.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SyncRoomResponse {
+    private String roomId;
+    // 요청한 lastSeq 이후의 메시지 (순번 오름차순, 삭제된 메시지 제외)
+    private List<MessageResponse> messages;
+    // 이번 응답까지 반영된 마지막 순번, 삭제된 메시지의 순번도 포함한다
+    private long lastSeq;
+    // 한 번에 보내지 못한 메시지가 남아 있으면 true, 클라이언트는 lastSeq 로 다시 요청한다
+    private boolean hasMore;
+}
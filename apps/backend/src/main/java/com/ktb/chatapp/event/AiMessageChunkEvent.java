@@ -5,20 +5,38 @@ import org.springframework.context.ApplicationEvent;
 
 /**
  * AI 메시지 청크 이벤트
+ * 토큰 단위 delta 와 순번을 전달하고, 늦게 들어온 참여자를 위해 주기적으로만 전체 내용(snapshot)을 싣는다.
+ * 여러 청크가 합쳐지면 fromSequence..sequence 범위를 덮고, offset 은 delta 가 시작하는 누적 내용 위치다.
+ * 합쳐진 범위 안의 순번에서 이어받은 참여자는 offset 으로 이미 가진 앞부분을 잘라낸다.
  */
 @Getter
-public class AiMessageChunkEvent extends ApplicationEvent {
+public class AiMessageChunkEvent extends ApplicationEvent implements RoomScopedEvent {
     
     private final String roomId;
     private final String messageId;
+    private final long fromSequence;
+    private final long sequence;
+    private final int offset;
+    private final String delta;
+    // snapshot 주기가 아닌 청크에서는 null
     private final String fullContent;
     private final boolean isCodeBlock;
     
     public AiMessageChunkEvent(Object source, String roomId, String messageId,
-                               String fullContent, boolean isCodeBlock) {
+                               long sequence, int offset, String delta, String fullContent, boolean isCodeBlock) {
+        this(source, roomId, messageId, sequence, sequence, offset, delta, fullContent, isCodeBlock);
+    }
+
+    public AiMessageChunkEvent(Object source, String roomId, String messageId,
+                               long fromSequence, long sequence, int offset,
+                               String delta, String fullContent, boolean isCodeBlock) {
         super(source);
         this.roomId = roomId;
         this.messageId = messageId;
+        this.fromSequence = fromSequence;
+        this.sequence = sequence;
+        this.offset = offset;
+        this.delta = delta;
         this.fullContent = fullContent;
         this.isCodeBlock = isCodeBlock;
     }
@@ -8,7 +8,7 @@ import org.springframework.context.ApplicationEvent;
  * AI 메시지 오류 이벤트
  */
 @Getter
-public class AiMessageErrorEvent extends ApplicationEvent {
+public class AiMessageErrorEvent extends ApplicationEvent implements RoomScopedEvent {
     
     private final String roomId;
     private final String messageId;
@@ -8,20 +8,22 @@ import org.springframework.context.ApplicationEvent;
  * AI 메시지 완료 이벤트
  */
 @Getter
-public class AiMessageSavedEvent extends ApplicationEvent {
+public class AiMessageSavedEvent extends ApplicationEvent implements RoomScopedEvent {
     
     private final String roomId;
     private final String content;
     private final AiType aiType;
     private final long startTime;
     private final String savedMessageId;
+    private final Long seq;
     
-    public AiMessageSavedEvent(Object source, AiMessageCompleteEvent event, String savedMessageId) {
+    public AiMessageSavedEvent(Object source, AiMessageCompleteEvent event, String savedMessageId, Long seq) {
         super(source);
         this.roomId = event.getRoomId();
         this.content = event.getContent();
         this.aiType = event.getAiType();
         this.startTime = event.getStartTime();
         this.savedMessageId = savedMessageId;
+        this.seq = seq;
     }
 }
@@ -7,7 +7,7 @@ import org.springframework.context.ApplicationEvent;
  * AI 메시지 스트리밍 시작 이벤트
  */
 @Getter
-public class AiMessageStartEvent extends ApplicationEvent {
+public class AiMessageStartEvent extends ApplicationEvent implements RoomScopedEvent {
     
     private final String roomId;
     private final String messageId;
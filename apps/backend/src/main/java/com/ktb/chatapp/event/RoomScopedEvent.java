@@ -0,0 +1,10 @@
+package com.ktb.chatapp.event;
+
+/**
+ * 특정 채팅방에 속한 이벤트
+ * AI 이벤트 버스가 방 단위로 순서를 보장하는 lane 을 고르는 데 사용한다.
+ */
+public interface RoomScopedEvent {
+
+    String getRoomId();
+}
@@ -31,7 +31,8 @@ import java.util.Set;
 @Document(collection = "messages")
 @CompoundIndexes({
     @CompoundIndex(name = "readers_userId_idx", def = "{'readers.userId': 1}"),
-    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}")
+    @CompoundIndex(name = "room_isDeleted_timestamp_idx", def = "{'room': 1, 'isDeleted': 1, 'timestamp': -1}"),
+    @CompoundIndex(name = "room_seq_idx", def = "{'room': 1, 'seq': 1}")
 })
 public class Message {
 
@@ -64,6 +65,9 @@ public class Message {
     @CreatedDate
     private LocalDateTime timestamp;
 
+    // 방 단위 순번 (RoomRepositoryCustom#nextMessageSeq), 도입 전 메시지는 null
+    private Long seq;
+
     @Builder.Default
     private Map<String, Set<String>> reactions = new HashMap<>();
 
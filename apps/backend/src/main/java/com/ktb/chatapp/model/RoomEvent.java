@@ -0,0 +1,68 @@
+package com.ktb.chatapp.model;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+/**
+ * 방 입장/퇴장 이벤트 문서 모델 정의.
+ * 입장/퇴장 시스템 메시지를 messages 컬렉션 대신 필요한 필드만 담아 저장한다.
+ * timestamp TTL 인덱스로 보존 기간이 지나면 자동 삭제된다.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_events")
+@CompoundIndex(name = "room_timestamp_idx", def = "{'room': 1, 'timestamp': -1}")
+public class RoomEvent {
+
+    public static final String RETENTION = "30d";
+
+    public enum Type {
+        JOIN,
+        LEAVE
+    }
+
+    @Id
+    private String id;
+
+    // Mongo 문서 필드명 "room" 사용
+    @Field("room")
+    private String roomId;
+
+    private Type type;
+
+    // Mongo 문서 필드명 "user" 사용
+    @Field("user")
+    private String userId;
+
+    private String userName;
+
+    @Indexed(expireAfter = RETENTION)
+    private LocalDateTime timestamp;
+
+    public String content() {
+        return userName + (type == Type.JOIN ? "님이 입장하였습니다." : "님이 퇴장하였습니다.");
+    }
+
+    /**
+     * 기존 시스템 메시지와 같은 형식으로 응답할 수 있도록 저장하지 않는 Message 로 변환한다.
+     */
+    public Message toMessage() {
+        return Message.builder()
+                .id(id)
+                .roomId(roomId)
+                .content(content())
+                .type(MessageType.system)
+                .timestamp(timestamp)
+                .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.ktb.chatapp.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * 방별 메시지 순번 카운터 문서 모델 정의.
+ * rooms 문서는 전체 저장(save)되는 경로가 있어 카운터를 함께 두면 오래된 값으로 덮일 수 있으므로 별도 컬렉션에 둔다.
+ * RoomRepositoryCustom#nextMessageSeq 의 $inc 로만 증가시킨다.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "room_message_seqs")
+public class RoomMessageSequence {
+
+    // 방 ID
+    @Id
+    private String id;
+
+    // 마지막으로 발급한 순번
+    private long seq;
+}
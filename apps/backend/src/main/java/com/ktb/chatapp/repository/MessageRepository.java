@@ -6,6 +6,7 @@ import java.util.List;
 import java.util.Optional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.data.mongodb.repository.Update;
@@ -21,6 +22,13 @@ public interface MessageRepository extends MongoRepository<Message, String> {
     @Query(value = "{ 'room': ?0, 'isDeleted': false, 'timestamp': { $gte: ?1 } }", count = true)
     long countRecentMessagesByRoomId(String roomId, LocalDateTime since);
 
+    /**
+     * seq 이후의 메시지를 순번 오름차순으로 조회 (syncRoom 누락 구간 조회)
+     * 삭제된 메시지도 순번을 차지하므로 함께 조회하고, 개수 쿼리가 없도록 Slice 로 반환한다
+     */
+    @Query(value = "{ 'room': ?0, 'seq': { $gt: ?1 } }", sort = "{ 'seq': 1 }")
+    Slice<Message> findByRoomIdAfterSeq(String roomId, long seq, Pageable pageable);
+
     /**
      * fileId로 메시지 조회 (파일 권한 검증용)
      */
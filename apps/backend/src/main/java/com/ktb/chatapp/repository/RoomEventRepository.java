@@ -0,0 +1,19 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.RoomEvent;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface RoomEventRepository extends MongoRepository<RoomEvent, String> {
+
+    /**
+     * [from, to) 구간의 방 이벤트를 최신순으로 조회 (메시지 이력 병합용)
+     */
+    @Query(value = "{ 'room': ?0, 'timestamp': { $gte: ?1, $lt: ?2 } }", sort = "{ 'timestamp': -1 }")
+    List<RoomEvent> findInRange(String roomId, LocalDateTime from, LocalDateTime to, Pageable pageable);
+}
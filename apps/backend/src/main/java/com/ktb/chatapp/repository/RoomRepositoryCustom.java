@@ -0,0 +1,30 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.Room;
+import java.util.Optional;
+import java.util.Set;
+
+public interface RoomRepositoryCustom {
+
+    /**
+     * 참가자를 추가($addToSet)하고 갱신된 방을 한 번의 findAndModify 로 반환한다.
+     * 반환되는 Room 에는 id 와 participantIds 만 채워진다.
+     *
+     * @return 방이 없으면 empty
+     */
+    Optional<Room> addParticipantAndGet(String roomId, String userId);
+
+    /**
+     * participantIds 만 projection 으로 조회한다.
+     *
+     * @return 방이 없으면 empty
+     */
+    Optional<Set<String>> findParticipantIds(String roomId);
+
+    /**
+     * 방의 다음 메시지 순번을 발급한다. 카운터 문서를 upsert 하며 $inc 하므로 노드가 여러 개여도 중복되지 않는다.
+     *
+     * @return 1 부터 시작하는 방 단위 순번
+     */
+    long nextMessageSeq(String roomId);
+}
@@ -0,0 +1,61 @@
+package com.ktb.chatapp.repository;
+
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomMessageSequence;
+import java.util.Optional;
+import java.util.Set;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+@RequiredArgsConstructor
+public class RoomRepositoryImpl implements RoomRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public Optional<Room> addParticipantAndGet(String roomId, String userId) {
+        Query query = Query.query(Criteria.where("_id").is(roomId));
+        query.fields().include("participantIds");
+        Room room = mongoTemplate.findAndModify(
+                query,
+                new Update().addToSet("participantIds", userId),
+                FindAndModifyOptions.options().returnNew(true),
+                Room.class);
+        return Optional.ofNullable(room);
+    }
+
+    @Override
+    public Optional<Set<String>> findParticipantIds(String roomId) {
+        Query query = Query.query(Criteria.where("_id").is(roomId));
+        query.fields().include("participantIds");
+        return Optional.ofNullable(mongoTemplate.findOne(query, Room.class))
+                .map(room -> room.getParticipantIds() != null ? room.getParticipantIds() : Set.of());
+    }
+
+    @Override
+    public long nextMessageSeq(String roomId) {
+        try {
+            return incrementMessageSeq(roomId);
+        } catch (DuplicateKeyException e) {
+            // 첫 순번을 동시에 upsert 하면 한쪽이 실패하므로, 이미 생긴 문서에 다시 $inc 한다
+            return incrementMessageSeq(roomId);
+        }
+    }
+
+    private long incrementMessageSeq(String roomId) {
+        RoomMessageSequence sequence = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(roomId)),
+                new Update().inc("seq", 1),
+                FindAndModifyOptions.options().returnNew(true).upsert(true),
+                RoomMessageSequence.class);
+        if (sequence == null) {
+            throw new IllegalStateException("Failed to issue message seq: " + roomId);
+        }
+        return sequence.getSeq();
+    }
+}
@@ -2,10 +2,8 @@ package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.util.FileUtil;
 import jakarta.annotation.PostConstruct;
 import java.io.IOException;
@@ -15,6 +13,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
+import java.util.Set;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Profile;
@@ -31,15 +30,15 @@ public class LocalFileService implements FileService {
     private final Path fileStorageLocation;
     private final FileRepository fileRepository;
     private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
+    private final RoomMembershipCache roomMembershipCache;
 
     public LocalFileService(@Value("${file.upload-dir:uploads}") String uploadDir,
                       FileRepository fileRepository,
                       MessageRepository messageRepository,
-                      RoomRepository roomRepository) {
+                      RoomMembershipCache roomMembershipCache) {
         this.fileRepository = fileRepository;
         this.messageRepository = messageRepository;
-        this.roomRepository = roomRepository;
+        this.roomMembershipCache = roomMembershipCache;
         this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
     }
     
@@ -157,11 +156,11 @@ public class LocalFileService implements FileService {
                     .orElseThrow(() -> new RuntimeException("파일과 연결된 메시지를 찾을 수 없습니다"));
 
             // 3. 방 조회 (사용자가 방 참가자인지 확인)
-            Room room = roomRepository.findById(message.getRoomId())
+            Set<String> participantIds = roomMembershipCache.participants(message.getRoomId())
                     .orElseThrow(() -> new RuntimeException("방을 찾을 수 없습니다"));
 
             // 4. 권한 검증
-            if (!room.getParticipantIds().contains(requesterId)) {
+            if (!participantIds.contains(requesterId)) {
                 log.warn("파일 접근 권한 없음: {} (사용자: {})", fileName, requesterId);
                 throw new RuntimeException("파일에 접근할 권한이 없습니다");
             }
@@ -0,0 +1,19 @@
+package com.ktb.chatapp.service;
+
+import java.time.Duration;
+
+/**
+ * 복합 RateLimit 정책의 단일 항목
+ *
+ * @param clientId 범위별 식별자 (예: ip:..., user:..., room:...)
+ * @param maxRequests 윈도우 내 최대 요청 수
+ * @param window 윈도우 길이
+ * @param shared 여러 사용자가 함께 소진하는 범위(방 flood 등) 여부. 노드마다 임대 토큰이 남으면 오차가 커지므로
+ *               한도가 커도 로컬 토큰 계층 대신 Redis 스크립트로 검사한다.
+ */
+public record RateLimitPolicy(String clientId, int maxRequests, Duration window, boolean shared) {
+
+    public RateLimitPolicy(String clientId, int maxRequests, Duration window) {
+        this(clientId, maxRequests, window, false);
+    }
+}
@@ -1,8 +1,16 @@
 package com.ktb.chatapp.service;
 
+import com.ktb.chatapp.annotation.RateLimit;
+import com.ktb.chatapp.service.ratelimit.DegradedRateLimiter;
+import com.ktb.chatapp.service.ratelimit.LocalTokenBucketTier;
+import com.ktb.chatapp.service.ratelimit.RateLimitAlgorithmStore;
 import com.ktb.chatapp.service.ratelimit.RedisRateLimitStore;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -13,53 +21,221 @@ import org.springframework.stereotype.Service;
 public class RateLimitService {
 
     private final RedisRateLimitStore redisRateLimitStore;
+    private final LocalTokenBucketTier localTokenBucketTier;
+    private final RateLimitAlgorithmStore rateLimitAlgorithmStore;
+    private final DegradedRateLimiter degradedRateLimiter;
 
     public RateLimitCheckResult checkRateLimit(String clientId, int maxRequests, Duration window) {
+        return checkRateLimit(clientId, maxRequests, window, RateLimit.Algorithm.FIXED_WINDOW);
+    }
+
+    public RateLimitCheckResult checkRateLimit(
+            String clientId, int maxRequests, Duration window, RateLimit.Algorithm algorithm) {
         long windowSeconds = Math.max(1L, window.getSeconds());
         long nowEpochSeconds = Instant.now().getEpochSecond();
 
+        if (!degradedRateLimiter.allowRedisCall()) {
+            return checkDegraded(clientId, maxRequests, window);
+        }
+
         try {
-            // ✅ 멀티 인스턴스 공유 카운터를 위해 hostName prefix 제거
-            // windowSeconds까지 키에 포함하면 설정 변경/혼용에도 안전
-            String key = "rl:" + windowSeconds + ":" + clientId;
+            RateLimitCheckResult result = algorithm != RateLimit.Algorithm.FIXED_WINDOW
+                    ? checkWithAlgorithm(clientId, maxRequests, window, algorithm)
+                    : checkFixedWindow(clientId, maxRequests, window, windowSeconds, nowEpochSeconds);
+            degradedRateLimiter.onRedisSuccess();
+            return result;
 
-            RedisRateLimitStore.Result r = redisRateLimitStore.incrementAndGetTtl(key, window);
+        } catch (Exception e) {
+            // Redis 장애 시 노드 로컬의 축소된 한도로 계속 제한해 DB 로 향하는 flood 를 막는다
+            log.error("Rate limit check failed for client: {}, falling back to degraded mode", clientId, e);
+            degradedRateLimiter.onRedisFailure(e);
+            return checkDegraded(clientId, maxRequests, window);
+        }
+    }
 
-            long current = r.currentCount();
-            long ttlSeconds = Math.max(1L, r.ttlSeconds());
-            long resetEpochSeconds = nowEpochSeconds + ttlSeconds;
+    private RateLimitCheckResult checkFixedWindow(
+            String clientId, int maxRequests, Duration window, long windowSeconds, long nowEpochSeconds) {
+        // ✅ 멀티 인스턴스 공유 카운터를 위해 hostName prefix 제거
+        // windowSeconds까지 키에 포함하면 설정 변경/혼용에도 안전
+        String key = "rl:" + windowSeconds + ":" + clientId;
 
-            if (current > maxRequests) {
-                long retryAfterSeconds = ttlSeconds;
-                return RateLimitCheckResult.rejected(
-                        maxRequests,
-                        windowSeconds,
-                        resetEpochSeconds,
-                        retryAfterSeconds
-                );
-            }
+        // 한도가 큰 정책은 로컬 토큰 버킷에서 처리하고 Redis는 임대 시점에만 호출
+        if (localTokenBucketTier.supports(maxRequests)) {
+            return localTokenBucketTier.tryAcquire(key, maxRequests, window);
+        }
 
-            int remaining = (int) Math.max(0, maxRequests - current);
+        RedisRateLimitStore.Result r = redisRateLimitStore.incrementAndGetTtl(key, window);
 
-            return RateLimitCheckResult.allowed(
+        long current = r.currentCount();
+        long ttlSeconds = Math.max(1L, r.ttlSeconds());
+        long resetEpochSeconds = nowEpochSeconds + ttlSeconds;
+
+        if (current > maxRequests) {
+            long retryAfterSeconds = ttlSeconds;
+            return RateLimitCheckResult.rejected(
                     maxRequests,
-                    remaining,
                     windowSeconds,
                     resetEpochSeconds,
-                    ttlSeconds
+                    retryAfterSeconds
             );
+        }
+
+        int remaining = (int) Math.max(0, maxRequests - current);
+
+        return RateLimitCheckResult.allowed(
+                maxRequests,
+                remaining,
+                windowSeconds,
+                resetEpochSeconds,
+                ttlSeconds
+        );
+    }
+
+    /**
+     * 여러 범위(IP, 사용자, 방 등)의 정책을 한 번에 검사하고 가장 빡빡한 결과를 반환한다.
+     * - 한도가 큰 개인 범위 정책은 로컬 토큰 계층에서 처리해 Redis 를 거치지 않는다. (채팅 메시지의 사용자 한도)
+     * - 나머지(한도가 작거나 shared 인 정책)는 하나의 multi-key Lua 스크립트로 왕복 한 번에 검사한다.
+     *   스크립트는 하나라도 초과면 어떤 키도 증가시키지 않는다.
+     * - 뒤 범위가 거부하면 앞서 받은 로컬 토큰을 되돌려, 거부된 요청이 다른 범위의 쿼터를 소모하지 않게 한다.
+     * - 복합 정책은 고정 윈도우 알고리즘만 사용한다.
+     */
+    public RateLimitCheckResult checkRateLimits(List<RateLimitPolicy> policies) {
+        if (policies.size() == 1 && !policies.getFirst().shared()) {
+            RateLimitPolicy policy = policies.getFirst();
+            return checkRateLimit(policy.clientId(), policy.maxRequests(), policy.window());
+        }
+
+        if (!degradedRateLimiter.allowRedisCall()) {
+            return checkAllDegraded(policies);
+        }
+
+        List<RateLimitCheckResult> results = new ArrayList<>(policies.size());
+        List<String> localKeys = new ArrayList<>(policies.size());
+        List<RateLimitPolicy> scripted = new ArrayList<>(policies.size());
+        try {
+            for (RateLimitPolicy policy : policies) {
+                if (policy.shared() || !localTokenBucketTier.supports(policy.maxRequests())) {
+                    scripted.add(policy);
+                    continue;
+                }
+                String key = fixedWindowKey(policy);
+                RateLimitCheckResult result = localTokenBucketTier.tryAcquire(key, policy.maxRequests(), policy.window());
+                if (!result.allowed()) {
+                    refund(localKeys);
+                    return result;
+                }
+                localKeys.add(key);
+                results.add(result);
+            }
+
+            if (!scripted.isEmpty()) {
+                RateLimitCheckResult rejected = checkScripted(scripted, results);
+                if (rejected != null) {
+                    refund(localKeys);
+                    return rejected;
+                }
+            }
+            degradedRateLimiter.onRedisSuccess();
+            return tightest(results);
 
         } catch (Exception e) {
-            // Redis 장애 시 “허용”으로 풀어서 서비스 연속성을 확보(원하면 반대로 막아도 됨)
-            log.error("Rate limit check failed for client: {}", clientId, e);
-            long resetEpochSeconds = nowEpochSeconds + windowSeconds;
-            return RateLimitCheckResult.allowed(
-                    maxRequests,
-                    maxRequests,
+            log.error("Composite rate limit check failed for policies: {}, falling back to degraded mode", policies, e);
+            refund(localKeys);
+            degradedRateLimiter.onRedisFailure(e);
+            return checkAllDegraded(policies);
+        }
+    }
+
+    // 스크립트 한 번으로 검사해 허용 결과를 results 에 더하고, 거부되면 거부 결과를 반환한다
+    private RateLimitCheckResult checkScripted(List<RateLimitPolicy> policies, List<RateLimitCheckResult> results) {
+        long nowEpochSeconds = Instant.now().getEpochSecond();
+        RedisRateLimitStore.MultiResult multi = redisRateLimitStore.incrementAllAndGetTtl(
+                policies.stream().map(this::fixedWindowKey).toList(),
+                policies.stream().map(RateLimitPolicy::maxRequests).toList(),
+                policies.stream().map(RateLimitPolicy::window).toList());
+
+        for (int i = 0; i < policies.size(); i++) {
+            RateLimitPolicy policy = policies.get(i);
+            RedisRateLimitStore.Result r = multi.results().get(i);
+            long windowSeconds = Math.max(1L, policy.window().getSeconds());
+            long ttlSeconds = Math.max(1L, r.ttlSeconds());
+            long resetEpochSeconds = nowEpochSeconds + ttlSeconds;
+
+            if (!multi.allowed() && multi.rejectedIndex() == i) {
+                return RateLimitCheckResult.rejected(
+                        policy.maxRequests(), windowSeconds, resetEpochSeconds, ttlSeconds);
+            }
+            results.add(RateLimitCheckResult.allowed(
+                    policy.maxRequests(),
+                    (int) Math.max(0, policy.maxRequests() - r.currentCount()),
                     windowSeconds,
                     resetEpochSeconds,
-                    windowSeconds
-            );
+                    ttlSeconds));
         }
+        return null;
+    }
+
+    private void refund(List<String> localKeys) {
+        localKeys.forEach(localTokenBucketTier::refund);
+    }
+
+    private RateLimitCheckResult checkAllDegraded(List<RateLimitPolicy> policies) {
+        List<RateLimitCheckResult> results = new ArrayList<>(policies.size());
+        for (RateLimitPolicy policy : policies) {
+            RateLimitCheckResult result = checkDegraded(policy.clientId(), policy.maxRequests(), policy.window());
+            if (!result.allowed()) {
+                return result;
+            }
+            results.add(result);
+        }
+        return tightest(results);
+    }
+
+    private RateLimitCheckResult tightest(List<RateLimitCheckResult> results) {
+        return results.stream()
+                .min(Comparator.comparingInt(RateLimitCheckResult::remaining))
+                .orElseThrow();
+    }
+
+    private RateLimitCheckResult checkDegraded(String clientId, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        String key = "rl:degraded:" + windowSeconds + ":" + clientId;
+        RateLimitAlgorithmStore.Decision decision = degradedRateLimiter.acquire(key, maxRequests, window);
+        return toCheckResult(decision, degradedRateLimiter.scaledLimit(maxRequests), windowSeconds);
+    }
+
+    private String fixedWindowKey(RateLimitPolicy policy) {
+        return "rl:" + Math.max(1L, policy.window().getSeconds()) + ":" + policy.clientId();
+    }
+
+    private RateLimitCheckResult checkWithAlgorithm(
+            String clientId, int maxRequests, Duration window, RateLimit.Algorithm algorithm) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+
+        // 알고리즘마다 저장 구조가 다르므로 키 공간을 분리
+        String key = "rl:" + algorithm.name().toLowerCase(Locale.ROOT) + ":" + windowSeconds + ":" + clientId;
+
+        RateLimitAlgorithmStore.Decision decision =
+                rateLimitAlgorithmStore.acquire(algorithm, key, maxRequests, window);
+        return toCheckResult(decision, maxRequests, windowSeconds);
+    }
+
+    private RateLimitCheckResult toCheckResult(
+            RateLimitAlgorithmStore.Decision decision, int maxRequests, long windowSeconds) {
+        long nowMillis = System.currentTimeMillis();
+        long resetEpochSeconds = (nowMillis + decision.resetAfterMillis()) / 1000;
+
+        if (!decision.allowed()) {
+            long retryAfterSeconds = Math.max(1L, (decision.retryAfterMillis() + 999) / 1000);
+            return RateLimitCheckResult.rejected(maxRequests, windowSeconds, resetEpochSeconds, retryAfterSeconds);
+        }
+
+        return RateLimitCheckResult.allowed(
+                maxRequests,
+                (int) Math.min(maxRequests, decision.remaining()),
+                windowSeconds,
+                resetEpochSeconds,
+                Math.max(1L, (decision.resetAfterMillis() + 999) / 1000)
+        );
     }
 }
@@ -0,0 +1,244 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.repository.RoomRepository;
+import jakarta.annotation.PreDestroy;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+/**
+ * 방 참가자 ID 캐시 (노드 로컬)
+ * - 권한 검사마다 Room 문서 전체를 읽지 않도록 방별 participantIds 를 불변 Set 으로 보관한다.
+ *   Set.copyOf 는 배열 기반 open addressing 이라 HashSet 보다 작고 조회는 O(1) 이다.
+ * - 이 노드에서 참가자를 추가/제거하면 로컬 항목을 바로 고치고, 다른 노드에는 Redis pub/sub
+ *   (chat.store.type=redis 일 때)으로 무효화를 알려 다음 조회 때 projection 조회로 다시 채우게 한다.
+ * - 무효화 메시지가 유실되어도 TTL 이 지나면 다시 읽는다.
+ * - 방마다 세대 번호를 두고 무효화/추가/제거 때 올린다. 조회 결과는 조회를 시작한 뒤 세대가 그대로일 때만 저장해
+ *   조회 중에 도착한 변경을 이전 값으로 덮지 않는다.
+ */
+@Slf4j
+@Service
+public class RoomMembershipCache {
+
+    static final String INVALIDATION_CHANNEL = "room:membership:invalidate";
+    // 세대 번호 슬롯 수. 방 수만큼 늘지 않도록 roomId 해시로 나눠 쓴다 (충돌하면 저장을 한 번 건너뛸 뿐이다)
+    private static final int GENERATION_SLOTS = 1024;
+
+    private final RoomRepository roomRepository;
+    // 다른 노드로 "{nodeId}:{roomId}" 무효화 메시지를 보낸다, 단일 노드면 null
+    private final Consumer<String> invalidationPublisher;
+    private final long ttlMillis;
+    private final int maxRooms;
+    private final Clock clock;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final ConcurrentHashMap<String, Entry> rooms = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_SLOTS);
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Autowired
+    public RoomMembershipCache(
+            RoomRepository roomRepository,
+            RedisConnectionFactory connectionFactory,
+            StringRedisTemplate redisTemplate,
+            @Value("${chat.store.type:local}") String chatStoreType,
+            @Value("${room.membership.ttl-seconds:300}") long ttlSeconds,
+            @Value("${room.membership.max-rooms:10000}") int maxRooms) {
+        this(roomRepository,
+                "redis".equalsIgnoreCase(chatStoreType)
+                        ? message -> redisTemplate.convertAndSend(INVALIDATION_CHANNEL, message)
+                        : null,
+                Duration.ofSeconds(ttlSeconds), maxRooms, Clock.systemUTC());
+        if (invalidationPublisher != null) {
+            listenerContainer = new RedisMessageListenerContainer();
+            listenerContainer.setConnectionFactory(connectionFactory);
+            listenerContainer.setTaskExecutor(Executors.newSingleThreadExecutor(r -> {
+                Thread thread = new Thread(r, "room-membership-invalidation");
+                thread.setDaemon(true);
+                return thread;
+            }));
+            listenerContainer.addMessageListener(
+                    (message, pattern) -> onInvalidation(new String(message.getBody(), StandardCharsets.UTF_8)),
+                    new ChannelTopic(INVALIDATION_CHANNEL));
+            listenerContainer.afterPropertiesSet();
+            listenerContainer.start();
+        }
+    }
+
+    RoomMembershipCache(
+            RoomRepository roomRepository,
+            Consumer<String> invalidationPublisher,
+            Duration ttl,
+            int maxRooms,
+            Clock clock) {
+        this.roomRepository = roomRepository;
+        this.invalidationPublisher = invalidationPublisher;
+        this.ttlMillis = ttl.toMillis();
+        this.maxRooms = Math.max(1, maxRooms);
+        this.clock = clock;
+    }
+
+    /**
+     * 사용자가 방 참가자인지 확인한다. 방이 없으면 false.
+     */
+    public boolean isParticipant(String roomId, String userId) {
+        return participants(roomId).map(ids -> ids.contains(userId)).orElse(false);
+    }
+
+    /**
+     * 방 참가자 ID 목록 (불변). 방이 없으면 empty.
+     */
+    public Optional<Set<String>> participants(String roomId) {
+        if (roomId == null) {
+            return Optional.empty();
+        }
+        long now = clock.millis();
+        Entry entry = rooms.get(roomId);
+        if (entry != null && entry.expiresAt > now) {
+            return Optional.of(entry.participantIds);
+        }
+
+        long generation = generations.get(slot(roomId));
+        Optional<Set<String>> loaded = roomRepository.findParticipantIds(roomId).map(Set::copyOf);
+        loaded.ifPresentOrElse(ids -> put(roomId, ids, now, generation), () -> rooms.remove(roomId));
+        return loaded;
+    }
+
+    /**
+     * 참가자 추가 후 호출한다.
+     *
+     * @param participantIds 추가가 반영된 전체 참가자 ID, 로컬 항목이 없을 때만 사용한다
+     */
+    public void participantAdded(String roomId, String userId, Collection<String> participantIds) {
+        long now = clock.millis();
+        generations.incrementAndGet(slot(roomId));
+        // 같은 방의 동시 입장에서 늦게 도착한 결과가 먼저 입장한 참가자를 지우지 않도록 기존 항목에 더한다
+        rooms.compute(roomId, (key, entry) -> {
+            if (entry == null || entry.expiresAt <= now) {
+                return new Entry(Set.copyOf(participantIds), now + ttlMillis);
+            }
+            if (entry.participantIds.contains(userId)) {
+                return entry;
+            }
+            Set<String> ids = new HashSet<>(entry.participantIds);
+            ids.add(userId);
+            return new Entry(Set.copyOf(ids), entry.expiresAt);
+        });
+        evictIfFull();
+        publishInvalidation(roomId);
+    }
+
+    /**
+     * 참가자 제거 후 호출한다.
+     */
+    public void participantRemoved(String roomId, String userId) {
+        generations.incrementAndGet(slot(roomId));
+        rooms.computeIfPresent(roomId, (key, entry) -> {
+            if (!entry.participantIds.contains(userId)) {
+                return entry;
+            }
+            Set<String> ids = new HashSet<>(entry.participantIds);
+            ids.remove(userId);
+            return new Entry(Set.copyOf(ids), entry.expiresAt);
+        });
+        publishInvalidation(roomId);
+    }
+
+    /**
+     * 방 정보가 통째로 바뀌었을 때(생성/삭제 등) 로컬 항목을 버리고 다른 노드에도 알린다.
+     */
+    public void invalidate(String roomId) {
+        generations.incrementAndGet(slot(roomId));
+        rooms.remove(roomId);
+        publishInvalidation(roomId);
+    }
+
+    public int size() {
+        return rooms.size();
+    }
+
+    void onInvalidation(String message) {
+        int separator = message.indexOf(':');
+        if (separator < 0 || message.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        String roomId = message.substring(separator + 1);
+        generations.incrementAndGet(slot(roomId));
+        rooms.remove(roomId);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (listenerContainer != null) {
+            try {
+                listenerContainer.destroy();
+            } catch (Exception e) {
+                log.warn("Failed to stop room membership listener", e);
+            }
+        }
+    }
+
+    // 조회하는 동안 이 노드에서 반영된 추가/제거가 있으면 그 항목을 유지하고,
+    // 조회를 시작한 뒤 세대가 바뀌었으면(무효화/추가/제거) 조회 결과가 낡았을 수 있으므로 저장하지 않는다
+    private void put(String roomId, Set<String> participantIds, long now, long generation) {
+        rooms.compute(roomId, (key, entry) -> {
+            if (entry != null && entry.expiresAt > now) {
+                return entry;
+            }
+            if (generations.get(slot(roomId)) != generation) {
+                return entry;
+            }
+            return new Entry(participantIds, now + ttlMillis);
+        });
+        evictIfFull();
+    }
+
+    private static int slot(String roomId) {
+        return Math.floorMod(roomId.hashCode(), GENERATION_SLOTS);
+    }
+
+    // 한도를 넘으면 만료된 항목부터, 그래도 넘으면 임의의 항목을 버린다 (다음 조회 때 다시 읽음)
+    private void evictIfFull() {
+        if (rooms.size() <= maxRooms) {
+            return;
+        }
+        long now = clock.millis();
+        rooms.values().removeIf(entry -> entry.expiresAt <= now);
+        Iterator<String> it = rooms.keySet().iterator();
+        while (rooms.size() > maxRooms && it.hasNext()) {
+            it.next();
+            it.remove();
+        }
+    }
+
+    private void publishInvalidation(String roomId) {
+        if (invalidationPublisher == null) {
+            return;
+        }
+        try {
+            invalidationPublisher.accept(nodeId + ":" + roomId);
+        } catch (Exception e) {
+            log.warn("Failed to publish room membership invalidation - roomId: {}", roomId, e);
+        }
+    }
+
+    private record Entry(Set<String> participantIds, long expiresAt) {}
+}
@@ -46,6 +46,7 @@ public class RoomService {
 
     // Redis 캐시 관리용
     private final CacheManager cacheManager;
+    private final RoomMembershipCache roomMembershipCache;
 
     /**
      * 방 목록 페이징 조회
@@ -191,6 +192,7 @@ public class RoomService {
         }
 
         Room savedRoom = roomRepository.save(room);
+        roomMembershipCache.participantAdded(savedRoom.getId(), creator.getId(), savedRoom.getParticipantIds());
 
         // 새로 만든 방은 메시지가 없으니 recentMessageCount 캐시를 0으로 세팅(선택)
         putToCache("recentMessageCount", savedRoom.getId(), 0L);
@@ -249,6 +251,7 @@ public class RoomService {
 
             // 채팅방 참여
             room = roomRepository.save(room);
+            roomMembershipCache.participantAdded(roomId, user.getId(), room.getParticipantIds());
 
             // 여기서 메시지 수는 변하지 않으므로 recentMessageCount 캐시는 건드리지 않음
 
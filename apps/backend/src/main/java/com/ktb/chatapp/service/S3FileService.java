@@ -2,10 +2,8 @@ package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.model.File;
 import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.Room;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
-import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.util.FileUtil;
 
 import lombok.RequiredArgsConstructor;
@@ -25,6 +23,7 @@ import software.amazon.awssdk.services.s3.model.*;
 
 import java.io.IOException;
 import java.time.LocalDateTime;
+import java.util.Set;
 
 @Slf4j
 @Service
@@ -34,7 +33,7 @@ public class S3FileService implements FileService {
     private final S3Client s3Client;
     private final FileRepository fileRepository;
     private final MessageRepository messageRepository;
-    private final RoomRepository roomRepository;
+    private final RoomMembershipCache roomMembershipCache;
 
     @Value("${aws.s3.bucket}")
     private String bucket;
@@ -144,10 +143,10 @@ public class S3FileService implements FileService {
                     .orElseThrow(() -> new RuntimeException("파일과 연결된 메시지가 없습니다."));
 
             // 방 참가자 검증
-            Room room = roomRepository.findById(message.getRoomId())
+            Set<String> participantIds = roomMembershipCache.participants(message.getRoomId())
                     .orElseThrow(() -> new RuntimeException("방을 찾을 수 없습니다."));
 
-            if (!room.getParticipantIds().contains(requesterId)) {
+            if (!participantIds.contains(requesterId)) {
                 throw new RuntimeException("파일 접근 권한이 없습니다.");
             }
 
@@ -0,0 +1,156 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.annotation.RateLimit;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 장애 시 사용하는 노드 로컬 degraded 모드 RateLimit
+ * - 연속 실패가 failureThreshold 에 도달하면 회로를 열고 openDuration 동안 Redis 호출을 생략한다.
+ * - openDuration 이 지나면 한 요청만 Redis 로 보내 복구 여부를 확인한다 (half-open).
+ * - degraded 모드에서는 노드 메모리의 슬라이딩 윈도우 카운터로 quotaRatio 만큼 축소된 한도를 적용한다.
+ *   (노드마다 독립 카운터이므로 전체 허용량이 노드 수만큼 늘어나는 것을 축소 비율로 보정)
+ */
+@Slf4j
+@Component
+public class DegradedRateLimiter {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    public enum Mode {
+        NORMAL,
+        DEGRADED,
+        PROBING
+    }
+
+    private final InMemoryRateLimitAlgorithmStore store;
+    private final Clock clock;
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final double quotaRatio;
+
+    private final AtomicReference<Mode> mode = new AtomicReference<>(Mode.NORMAL);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final AtomicLong openUntilMillis = new AtomicLong();
+    private final AtomicBoolean probeInFlight = new AtomicBoolean();
+    private final AtomicLong acquireCount = new AtomicLong();
+
+    private final Counter redisFailures;
+    private final Counter allowedInDegraded;
+    private final Counter rejectedInDegraded;
+
+    @Autowired
+    public DegradedRateLimiter(
+            MeterRegistry meterRegistry,
+            @Value("${ratelimit.degraded.failure-threshold:5}") int failureThreshold,
+            @Value("${ratelimit.degraded.open-duration-ms:10000}") long openDurationMillis,
+            @Value("${ratelimit.degraded.quota-ratio:0.5}") double quotaRatio) {
+        this(meterRegistry, Clock.systemUTC(), failureThreshold, openDurationMillis, quotaRatio);
+    }
+
+    DegradedRateLimiter(
+            MeterRegistry meterRegistry,
+            Clock clock,
+            int failureThreshold,
+            long openDurationMillis,
+            double quotaRatio) {
+        this.store = new InMemoryRateLimitAlgorithmStore(clock);
+        this.clock = clock;
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openDurationMillis = Math.max(0L, openDurationMillis);
+        this.quotaRatio = Math.min(1d, Math.max(0d, quotaRatio));
+
+        for (Mode m : Mode.values()) {
+            Gauge.builder("ratelimit.mode", mode, current -> current.get() == m ? 1 : 0)
+                    .description("현재 RateLimit 동작 모드 (1 = 활성)")
+                    .tag("mode", m.name().toLowerCase())
+                    .register(meterRegistry);
+        }
+        this.redisFailures = Counter.builder("ratelimit.redis.failures")
+                .description("RateLimit Redis 호출 실패 수")
+                .register(meterRegistry);
+        this.allowedInDegraded = Counter.builder("ratelimit.degraded.decisions")
+                .description("degraded 모드 판정 수")
+                .tag("result", "allowed")
+                .register(meterRegistry);
+        this.rejectedInDegraded = Counter.builder("ratelimit.degraded.decisions")
+                .description("degraded 모드 판정 수")
+                .tag("result", "rejected")
+                .register(meterRegistry);
+    }
+
+    public Mode mode() {
+        return mode.get();
+    }
+
+    /**
+     * 이번 요청을 Redis 로 보내도 되는지 여부
+     * 회로가 열려 있으면 false, 열린 시간이 지났으면 한 요청만 probe 로 통과시킨다.
+     */
+    public boolean allowRedisCall() {
+        if (mode.get() == Mode.NORMAL) {
+            return true;
+        }
+        if (clock.millis() < openUntilMillis.get()) {
+            return false;
+        }
+        if (probeInFlight.compareAndSet(false, true)) {
+            mode.set(Mode.PROBING);
+            return true;
+        }
+        return false;
+    }
+
+    public void onRedisSuccess() {
+        consecutiveFailures.set(0);
+        if (mode.get() != Mode.NORMAL) {
+            mode.set(Mode.NORMAL);
+            probeInFlight.set(false);
+            log.info("Rate limit Redis recovered, leaving degraded mode");
+        }
+    }
+
+    public void onRedisFailure(Exception e) {
+        redisFailures.increment();
+        Mode current = mode.get();
+        if (current == Mode.PROBING || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            openUntilMillis.set(clock.millis() + openDurationMillis);
+            mode.set(Mode.DEGRADED);
+            probeInFlight.set(false);
+            if (current == Mode.NORMAL) {
+                log.warn("Rate limit Redis unavailable, entering degraded mode for {}ms: {}",
+                        openDurationMillis, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 노드 메모리에서 축소된 한도로 요청 1건을 판정한다.
+     */
+    public RateLimitAlgorithmStore.Decision acquire(String key, int maxRequests, Duration window) {
+        if (acquireCount.incrementAndGet() % SWEEP_INTERVAL == 0) {
+            store.evictExpired();
+        }
+
+        int scaledLimit = scaledLimit(maxRequests);
+        RateLimitAlgorithmStore.Decision decision =
+                store.acquire(RateLimit.Algorithm.SLIDING_WINDOW_COUNTER, key, scaledLimit, window);
+        (decision.allowed() ? allowedInDegraded : rejectedInDegraded).increment();
+        return decision;
+    }
+
+    public int scaledLimit(int maxRequests) {
+        return (int) Math.max(1L, (long) Math.ceil(maxRequests * quotaRatio));
+    }
+}
@@ -0,0 +1,163 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.annotation.RateLimit;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 기반 알고리즘별 RateLimit store
+ * - Redis 스크립트와 동일한 판정 규칙을 단일 노드 메모리에서 수행한다.
+ * - Redis 장애 시 노드별 degraded 모드 limiter 와 Redis 없는 알고리즘 검증 테스트에 사용한다.
+ * - 만료된 키 상태는 evictExpired 로 정리한다.
+ */
+public class InMemoryRateLimitAlgorithmStore implements RateLimitAlgorithmStore {
+
+    private final Clock clock;
+    private final ConcurrentHashMap<String, State> states = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitAlgorithmStore() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryRateLimitAlgorithmStore(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Decision acquire(RateLimit.Algorithm algorithm, String key, int maxRequests, Duration window) {
+        long windowMillis = Math.max(1000L, window.toMillis());
+        long now = clock.millis();
+
+        return switch (algorithm) {
+            case FIXED_WINDOW -> fixedWindow(key, maxRequests, windowMillis, now);
+            case SLIDING_LOG -> slidingLog(key, maxRequests, windowMillis, now);
+            case SLIDING_WINDOW_COUNTER -> slidingWindowCounter(key, maxRequests, windowMillis, now);
+            case GCRA -> gcra(key, maxRequests, windowMillis, now);
+        };
+    }
+
+    private Decision fixedWindow(String key, int limit, long windowMillis, long now) {
+        FixedWindowState state = (FixedWindowState) states.computeIfAbsent(key, k -> new FixedWindowState());
+        synchronized (state) {
+            if (now >= state.resetAt) {
+                state.count = 0;
+                state.resetAt = now + windowMillis;
+                state.expiresAt = state.resetAt;
+            }
+            long resetAfter = state.resetAt - now;
+            if (state.count >= limit) {
+                return new Decision(false, 0, resetAfter, resetAfter);
+            }
+            state.count++;
+            return new Decision(true, limit - state.count, 0, resetAfter);
+        }
+    }
+
+    private Decision slidingLog(String key, int limit, long windowMillis, long now) {
+        SlidingLogState state = (SlidingLogState) states.computeIfAbsent(key, k -> new SlidingLogState());
+        synchronized (state) {
+            while (!state.timestamps.isEmpty() && state.timestamps.peekFirst() <= now - windowMillis) {
+                state.timestamps.pollFirst();
+            }
+            int count = state.timestamps.size();
+            if (count < limit) {
+                state.timestamps.addLast(now);
+                state.expiresAt = now + windowMillis;
+                return new Decision(true, limit - count - 1, 0, windowMillis);
+            }
+            long oldest = state.timestamps.peekFirst();
+            long retry = oldest + windowMillis - now;
+            return new Decision(false, 0, retry, state.timestamps.peekLast() + windowMillis - now);
+        }
+    }
+
+    private Decision slidingWindowCounter(String key, int limit, long windowMillis, long now) {
+        SlidingCounterState state = (SlidingCounterState) states.computeIfAbsent(key, k -> new SlidingCounterState());
+        synchronized (state) {
+            long idx = now / windowMillis;
+            if (state.windowIndex != idx) {
+                state.previous = state.windowIndex == idx - 1 ? state.current : 0;
+                state.current = 0;
+                state.windowIndex = idx;
+            }
+
+            long elapsed = now - idx * windowMillis;
+            double estimated = state.previous * (double) (windowMillis - elapsed) / windowMillis + state.current;
+            long resetAfter = 2 * windowMillis - elapsed;
+            if (estimated + 1 > limit) {
+                long retry = windowMillis - elapsed;
+                if (state.previous > 0 && limit - state.current - 1 >= 0) {
+                    retry = (long) Math.ceil(windowMillis * (1 - (double) (limit - state.current - 1) / state.previous))
+                            - elapsed;
+                }
+                return new Decision(false, 0, Math.max(1L, retry), resetAfter);
+            }
+
+            state.current++;
+            state.expiresAt = (idx + 2) * windowMillis;
+            return new Decision(true, (long) Math.floor(limit - estimated - 1), 0, resetAfter);
+        }
+    }
+
+    private Decision gcra(String key, int limit, long windowMillis, long now) {
+        GcraState state = (GcraState) states.computeIfAbsent(key, k -> new GcraState());
+        synchronized (state) {
+            double emission = (double) windowMillis / limit;
+            double tat = Math.max(state.tat, now);
+            double newTat = tat + emission;
+            double allowAt = newTat - windowMillis;
+
+            if (now < allowAt) {
+                return new Decision(false, 0,
+                        (long) Math.ceil(allowAt - now), (long) Math.ceil(tat - now));
+            }
+
+            state.tat = newTat;
+            state.expiresAt = (long) Math.ceil(newTat);
+            return new Decision(true, (long) Math.floor((now - allowAt) / emission),
+                    0, (long) Math.ceil(newTat - now));
+        }
+    }
+
+    /**
+     * 만료 시각이 지난 키 상태를 제거한다.
+     *
+     * @return 제거된 키 수
+     */
+    public int evictExpired() {
+        long now = clock.millis();
+        int before = states.size();
+        states.values().removeIf(state -> state.expiresAt <= now);
+        return before - states.size();
+    }
+
+    public int size() {
+        return states.size();
+    }
+
+    private abstract static class State {
+        // 이 시각 이후에는 새 상태와 동일하므로 제거해도 판정이 바뀌지 않는다
+        protected long expiresAt;
+    }
+
+    private static final class FixedWindowState extends State {
+        private long count;
+        private long resetAt;
+    }
+
+    private static final class SlidingLogState extends State {
+        private final ArrayDeque<Long> timestamps = new ArrayDeque<>();
+    }
+
+    private static final class SlidingCounterState extends State {
+        private long windowIndex = -1;
+        private long current;
+        private long previous;
+    }
+
+    private static final class GcraState extends State {
+        private double tat;
+    }
+}
@@ -0,0 +1,135 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 노드 로컬 토큰 버킷 기반 RateLimit 계층
+ * - Redis 윈도우 카운터에서 leaseSize 단위로 토큰을 임대해 로컬에서 소진한다.
+ * - 요청마다 EVAL 하던 것을 임대 시점에만 호출하므로 Redis 왕복이 약 1/leaseSize 로 줄어든다.
+ * - 다른 노드에 남은 미사용 토큰 때문에 생기는 과소 허용은 overAdmissionRatio 만큼 상한을 올려 보정한다.
+ * - maxRequests 가 minLimit 미만인 정책은 정확도를 위해 기존 Redis 경로를 그대로 쓴다.
+ */
+@Slf4j
+@Component
+public class LocalTokenBucketTier {
+
+    private static final int SWEEP_INTERVAL = 1024;
+
+    private final RedisRateLimitStore redisRateLimitStore;
+    private final boolean enabled;
+    private final long leaseSize;
+    private final double overAdmissionRatio;
+    private final int minLimit;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong acquireCount = new AtomicLong();
+
+    public LocalTokenBucketTier(
+            RedisRateLimitStore redisRateLimitStore,
+            @Value("${ratelimit.local.enabled:true}") boolean enabled,
+            @Value("${ratelimit.local.lease-size:100}") long leaseSize,
+            @Value("${ratelimit.local.over-admission-ratio:0.01}") double overAdmissionRatio,
+            @Value("${ratelimit.local.min-limit:1000}") int minLimit) {
+        this.redisRateLimitStore = redisRateLimitStore;
+        this.enabled = enabled;
+        this.leaseSize = Math.max(1L, leaseSize);
+        this.overAdmissionRatio = Math.max(0d, overAdmissionRatio);
+        this.minLimit = minLimit;
+    }
+
+    /**
+     * 해당 정책을 로컬 계층에서 처리할 수 있는지 여부
+     */
+    public boolean supports(int maxRequests) {
+        return enabled && maxRequests >= minLimit;
+    }
+
+    public RateLimitCheckResult tryAcquire(String key, int maxRequests, Duration window) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        long nowMillis = System.currentTimeMillis();
+
+        sweepExpiredBuckets(nowMillis);
+
+        Bucket bucket = buckets.computeIfAbsent(key, k -> new Bucket());
+
+        // 같은 키에 대한 임대는 노드당 하나만 진행되도록 버킷 단위로 직렬화
+        synchronized (bucket) {
+            if (nowMillis >= bucket.resetAtMillis) {
+                bucket.reset();
+            }
+
+            if (bucket.tokens <= 0 && !bucket.exhausted) {
+                lease(bucket, key, maxRequests, window, nowMillis);
+            }
+
+            long resetEpochSeconds = bucket.resetAtMillis / 1000;
+            long ttlSeconds = Math.max(1L, (bucket.resetAtMillis - nowMillis + 999) / 1000);
+
+            if (bucket.tokens <= 0) {
+                return RateLimitCheckResult.rejected(maxRequests, windowSeconds, resetEpochSeconds, ttlSeconds);
+            }
+
+            bucket.tokens--;
+            long consumed = bucket.lastCount - bucket.tokens;
+            int remaining = (int) Math.max(0, maxRequests - consumed);
+            return RateLimitCheckResult.allowed(maxRequests, remaining, windowSeconds, resetEpochSeconds, ttlSeconds);
+        }
+    }
+
+    /**
+     * tryAcquire 로 받은 토큰 하나를 로컬 버킷에 되돌린다. (복합 정책에서 다른 범위가 거부한 경우)
+     * 그 사이 윈도우가 바뀌었으면 되돌릴 토큰이 없으므로 무시한다.
+     */
+    public void refund(String key) {
+        Bucket bucket = buckets.get(key);
+        if (bucket == null) {
+            return;
+        }
+        synchronized (bucket) {
+            if (System.currentTimeMillis() < bucket.resetAtMillis) {
+                bucket.tokens++;
+            }
+        }
+    }
+
+    private void lease(Bucket bucket, String key, int maxRequests, Duration window, long nowMillis) {
+        long ceiling = maxRequests + (long) Math.ceil(maxRequests * overAdmissionRatio);
+
+        RedisRateLimitStore.Lease lease = redisRateLimitStore.lease(key, window, leaseSize, ceiling);
+
+        bucket.tokens = lease.granted();
+        bucket.lastCount = lease.currentCount();
+        bucket.resetAtMillis = nowMillis + lease.ttlSeconds() * 1000;
+        // 상한에 도달했으면 윈도우가 끝날 때까지 Redis를 다시 두드리지 않는다.
+        bucket.exhausted = lease.granted() < leaseSize;
+
+        log.debug("Rate limit lease - key: {}, granted: {}, count: {}, ttl: {}s",
+                key, lease.granted(), lease.currentCount(), lease.ttlSeconds());
+    }
+
+    private void sweepExpiredBuckets(long nowMillis) {
+        if (acquireCount.incrementAndGet() % SWEEP_INTERVAL != 0) {
+            return;
+        }
+        buckets.entrySet().removeIf(entry -> nowMillis >= entry.getValue().resetAtMillis);
+    }
+
+    private static final class Bucket {
+        private long tokens;
+        private long lastCount;
+        private long resetAtMillis;
+        private boolean exhausted;
+
+        private void reset() {
+            tokens = 0;
+            lastCount = 0;
+            exhausted = false;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.annotation.RateLimit;
+import java.time.Duration;
+
+/**
+ * 알고리즘별 RateLimit 판정 저장소 인터페이스.
+ * 판정과 카운터 갱신을 하나의 원자적 연산으로 처리한다.
+ */
+public interface RateLimitAlgorithmStore {
+
+    /**
+     * 요청 1건을 소비하고 허용 여부를 판정한다.
+     *
+     * @param algorithm 사용할 알고리즘
+     * @param key rate limit 키
+     * @param maxRequests 윈도우 내 최대 요청 수
+     * @param window 윈도우 길이
+     * @return 판정 결과
+     */
+    Decision acquire(RateLimit.Algorithm algorithm, String key, int maxRequests, Duration window);
+
+    /**
+     * @param allowed 허용 여부
+     * @param remaining 남은 요청 수 (근사값일 수 있음)
+     * @param retryAfterMillis 거부 시 재시도까지 남은 시간
+     * @param resetAfterMillis 카운터가 완전히 비워지기까지 남은 시간
+     */
+    record Decision(boolean allowed, long remaining, long retryAfterMillis, long resetAfterMillis) {}
+}
@@ -0,0 +1,178 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.annotation.RateLimit;
+import jakarta.annotation.PostConstruct;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 기반 알고리즘별 RateLimit store
+ * - 모든 스크립트는 기동 시 SCRIPT LOAD 로 미리 적재하고 이후 EVALSHA 로 호출한다.
+ *   (RedisTemplate.execute 가 EVALSHA 를 먼저 시도하고 NOSCRIPT 시 EVAL 로 재시도)
+ * - 시간은 노드 시계 대신 Redis TIME 을 사용해 노드 간 시계 차이에 영향받지 않는다.
+ * - 모든 스크립트는 단일 키만 사용한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RedisRateLimitAlgorithmStore implements RateLimitAlgorithmStore {
+
+    private final StringRedisTemplate redisTemplate;
+
+    // returns: {allowed, remaining, retryAfterMs, resetAfterMs}
+    private static final DefaultRedisScript<List> SLIDING_LOG_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local key = KEYS[1]
+                    local window = tonumber(ARGV[1])
+                    local limit = tonumber(ARGV[2])
+                    local t = redis.call('TIME')
+                    local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+
+                    redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+                    local count = redis.call('ZCARD', key)
+                    if count < limit then
+                      redis.call('ZADD', key, now, now .. '-' .. ARGV[3])
+                      redis.call('PEXPIRE', key, window)
+                      return {1, limit - count - 1, 0, window}
+                    end
+
+                    local retry = window
+                    local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+                    if oldest[2] then
+                      retry = tonumber(oldest[2]) + window - now
+                    end
+                    return {0, 0, retry, redis.call('PTTL', key)}
+                    """,
+                    List.class);
+
+    // returns: {allowed, remaining, retryAfterMs, resetAfterMs}
+    private static final DefaultRedisScript<List> SLIDING_WINDOW_COUNTER_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local key = KEYS[1]
+                    local window = tonumber(ARGV[1])
+                    local limit = tonumber(ARGV[2])
+                    local t = redis.call('TIME')
+                    local now = tonumber(t[1]) * 1000 + math.floor(tonumber(t[2]) / 1000)
+                    local idx = math.floor(now / window)
+
+                    local data = redis.call('HMGET', key, 'w', 'c', 'p')
+                    local w = tonumber(data[1]) or idx
+                    local c = tonumber(data[2]) or 0
+                    local p = tonumber(data[3]) or 0
+                    if w ~= idx then
+                      if w == idx - 1 then p = c else p = 0 end
+                      c = 0
+                    end
+
+                    local elapsed = now - idx * window
+                    local estimated = p * (window - elapsed) / window + c
+                    if estimated + 1 > limit then
+                      local retry = window - elapsed
+                      if p > 0 and limit - c - 1 >= 0 then
+                        retry = math.ceil(window * (1 - (limit - c - 1) / p)) - elapsed
+                      end
+                      if retry < 1 then retry = 1 end
+                      return {0, 0, retry, 2 * window - elapsed}
+                    end
+
+                    c = c + 1
+                    redis.call('HSET', key, 'w', idx, 'c', c, 'p', p)
+                    redis.call('PEXPIRE', key, 2 * window)
+                    return {1, math.floor(limit - estimated - 1), 0, 2 * window - elapsed}
+                    """,
+                    List.class);
+
+    // returns: {allowed, remaining, retryAfterMs, resetAfterMs}
+    // TAT(theoretical arrival time)만 저장하므로 요청 수와 무관하게 키 크기가 일정하다.
+    private static final DefaultRedisScript<List> GCRA_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local key = KEYS[1]
+                    local window = tonumber(ARGV[1]) * 1000
+                    local limit = tonumber(ARGV[2])
+                    local t = redis.call('TIME')
+                    local now = tonumber(t[1]) * 1000000 + tonumber(t[2])
+                    local emission = window / limit
+
+                    local tat = tonumber(redis.call('GET', key) or now)
+                    if tat < now then tat = now end
+                    local newTat = tat + emission
+                    local allowAt = newTat - window
+
+                    if now < allowAt then
+                      return {0, 0, math.ceil((allowAt - now) / 1000), math.ceil((tat - now) / 1000)}
+                    end
+
+                    local ttl = math.ceil((newTat - now) / 1000)
+                    redis.call('SET', key, string.format('%.0f', newTat), 'PX', ttl)
+                    return {1, math.floor((now - allowAt) / emission), 0, ttl}
+                    """,
+                    List.class);
+
+    private static final Map<RateLimit.Algorithm, DefaultRedisScript<List>> SCRIPTS = Map.of(
+            RateLimit.Algorithm.SLIDING_LOG, SLIDING_LOG_SCRIPT,
+            RateLimit.Algorithm.SLIDING_WINDOW_COUNTER, SLIDING_WINDOW_COUNTER_SCRIPT,
+            RateLimit.Algorithm.GCRA, GCRA_SCRIPT
+    );
+
+    @PostConstruct
+    public void preloadScripts() {
+        try {
+            redisTemplate.execute((RedisCallback<Void>) connection -> {
+                SCRIPTS.values().forEach(script -> connection.scriptingCommands()
+                        .scriptLoad(script.getScriptAsString().getBytes(StandardCharsets.UTF_8)));
+                return null;
+            });
+            log.info("Rate limit scripts preloaded: {}", SCRIPTS.keySet());
+        } catch (Exception e) {
+            // 적재 실패 시에도 EVALSHA → NOSCRIPT → EVAL 경로로 동작하므로 기동은 계속한다.
+            log.warn("Rate limit script preload failed, will load lazily: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public Decision acquire(RateLimit.Algorithm algorithm, String key, int maxRequests, Duration window) {
+        DefaultRedisScript<List> script = SCRIPTS.get(algorithm);
+        if (script == null) {
+            throw new IllegalArgumentException("Unsupported rate limit algorithm: " + algorithm);
+        }
+
+        long windowMillis = Math.max(1000L, window.toMillis());
+        List<?> res = algorithm == RateLimit.Algorithm.SLIDING_LOG
+                ? redisTemplate.execute(script, List.of(key),
+                        String.valueOf(windowMillis), String.valueOf(maxRequests), UUID.randomUUID().toString())
+                : redisTemplate.execute(script, List.of(key),
+                        String.valueOf(windowMillis), String.valueOf(maxRequests));
+
+        if (res == null || res.size() < 4) {
+            return new Decision(true, maxRequests, 0L, windowMillis);
+        }
+
+        return new Decision(
+                toLong(res.get(0), 1L) == 1L,
+                Math.max(0L, toLong(res.get(1), 0L)),
+                Math.max(0L, toLong(res.get(2), 0L)),
+                Math.max(0L, toLong(res.get(3), windowMillis)));
+    }
+
+    private long toLong(Object v, long fallback) {
+        try {
+            if (v == null) return fallback;
+            if (v instanceof Number n) return n.longValue();
+            return Long.parseLong(v.toString());
+        } catch (Exception e) {
+            return fallback;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.ktb.chatapp.service.ratelimit;
 
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -34,6 +35,71 @@ public class RedisRateLimitStore {
                     """,
                     List.class);
 
+    // returns: {grantedTokens, currentCount, ttlSeconds}
+    // ceiling까지만 INCRBY 하므로 여러 노드가 동시에 임대해도 ceiling을 넘지 않는다.
+    private static final DefaultRedisScript<List> LEASE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local key = KEYS[1]
+                    local window = tonumber(ARGV[1])
+                    local lease = tonumber(ARGV[2])
+                    local ceiling = tonumber(ARGV[3])
+
+                    local current = tonumber(redis.call('GET', key) or '0')
+                    local granted = math.min(lease, ceiling - current)
+                    if granted > 0 then
+                      current = redis.call('INCRBY', key, granted)
+                    else
+                      granted = 0
+                    end
+
+                    local ttl = redis.call('TTL', key)
+                    if ttl < 0 and current > 0 then
+                      redis.call('EXPIRE', key, window)
+                      ttl = window
+                    end
+                    return {granted, current, ttl}
+                    """,
+                    List.class);
+
+    // KEYS: 정책별 키, ARGV: {limit1, window1, limit2, window2, ...}
+    // returns: {allowed, rejectedIndex, count1, ttl1, count2, ttl2, ...}
+    // 하나라도 초과면 어떤 키도 증가시키지 않아 거부된 요청이 다른 범위의 쿼터를 소모하지 않는다.
+    private static final DefaultRedisScript<List> MULTI_INCR_WITH_TTL_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local n = #KEYS
+                    local result = {1, 0}
+
+                    for i = 1, n do
+                      local limit = tonumber(ARGV[2 * i - 1])
+                      local current = tonumber(redis.call('GET', KEYS[i]) or '0')
+                      if current >= limit then
+                        result[1] = 0
+                        result[2] = i
+                      end
+                    end
+
+                    for i = 1, n do
+                      local window = tonumber(ARGV[2 * i])
+                      local current
+                      if result[1] == 1 then
+                        current = redis.call('INCR', KEYS[i])
+                        if current == 1 then
+                          redis.call('EXPIRE', KEYS[i], window)
+                        end
+                      else
+                        current = tonumber(redis.call('GET', KEYS[i]) or '0')
+                      end
+                      local ttl = redis.call('TTL', KEYS[i])
+                      if ttl < 1 then ttl = window end
+                      table.insert(result, current)
+                      table.insert(result, ttl)
+                    end
+                    return result
+                    """,
+                    List.class);
+
     public Result incrementAndGetTtl(String key, Duration window) {
         List<?> res =
                 redisTemplate.execute(
@@ -54,6 +120,72 @@ public class RedisRateLimitStore {
         return new Result(current, ttl);
     }
 
+    /**
+     * 여러 키의 고정 윈도우 카운터를 한 번의 왕복으로 검사/증가한다.
+     *
+     * @param keys rate limit 키 목록
+     * @param limits 키별 최대 요청 수
+     * @param windows 키별 윈도우 길이
+     * @return 키 순서대로의 카운터/TTL 과 거부된 키 인덱스
+     */
+    public MultiResult incrementAllAndGetTtl(List<String> keys, List<Integer> limits, List<Duration> windows) {
+        String[] args = new String[keys.size() * 2];
+        for (int i = 0; i < keys.size(); i++) {
+            args[2 * i] = String.valueOf(limits.get(i));
+            args[2 * i + 1] = String.valueOf(Math.max(1L, windows.get(i).getSeconds()));
+        }
+
+        List<?> res = redisTemplate.execute(MULTI_INCR_WITH_TTL_SCRIPT, keys, (Object[]) args);
+
+        List<Result> results = new ArrayList<>(keys.size());
+        boolean valid = res != null && res.size() >= 2 + keys.size() * 2;
+        for (int i = 0; i < keys.size(); i++) {
+            long windowSeconds = Math.max(1L, windows.get(i).getSeconds());
+            if (!valid) {
+                results.add(new Result(1L, windowSeconds));
+                continue;
+            }
+            long current = toLong(res.get(2 + 2 * i), 1L);
+            long ttl = toLong(res.get(3 + 2 * i), windowSeconds);
+            results.add(new Result(current, ttl < 1 ? windowSeconds : ttl));
+        }
+
+        boolean allowed = !valid || toLong(res.get(0), 1L) == 1L;
+        int rejectedIndex = valid ? (int) toLong(res.get(1), 0L) - 1 : -1;
+        return new MultiResult(allowed, rejectedIndex, results);
+    }
+
+    /**
+     * 윈도우 카운터에서 최대 leaseSize 만큼의 토큰을 한 번에 임대한다.
+     *
+     * @param key rate limit 키
+     * @param window 윈도우 길이
+     * @param leaseSize 요청할 토큰 수
+     * @param ceiling 윈도우 내 임대 가능한 누적 상한
+     * @return 실제 임대된 토큰 수와 임대 후 카운터/TTL
+     */
+    public Lease lease(String key, Duration window, long leaseSize, long ceiling) {
+        long windowSeconds = Math.max(1L, window.getSeconds());
+        List<?> res =
+                redisTemplate.execute(
+                        LEASE_SCRIPT,
+                        List.of(key),
+                        String.valueOf(windowSeconds),
+                        String.valueOf(leaseSize),
+                        String.valueOf(ceiling));
+
+        if (res == null || res.size() < 3) {
+            return new Lease(0L, ceiling, windowSeconds);
+        }
+
+        long granted = toLong(res.get(0), 0L);
+        long current = toLong(res.get(1), ceiling);
+        long ttl = toLong(res.get(2), windowSeconds);
+        if (ttl < 1) ttl = windowSeconds;
+
+        return new Lease(granted, current, ttl);
+    }
+
     private long toLong(Object v, long fallback) {
         try {
             if (v == null) return fallback;
@@ -65,4 +197,13 @@ public class RedisRateLimitStore {
     }
 
     public record Result(long currentCount, long ttlSeconds) {}
+
+    /**
+     * @param allowed 모든 키가 한도 이내였는지 여부
+     * @param rejectedIndex 한도를 초과한 키의 인덱스 (허용 시 -1)
+     * @param results 키 순서대로의 카운터/TTL
+     */
+    public record MultiResult(boolean allowed, int rejectedIndex, List<Result> results) {}
+
+    public record Lease(long granted, long currentCount, long ttlSeconds) {}
 }
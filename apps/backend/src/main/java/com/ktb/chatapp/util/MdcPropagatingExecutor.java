@@ -0,0 +1,54 @@
+package com.ktb.chatapp.util;
+
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import org.slf4j.MDC;
+
+/**
+ * 작업을 넘긴 스레드의 MDC 를 실행 스레드에 복원하는 Executor
+ * - 소켓 리스너가 executor 로 넘긴 작업의 로그도 리스너와 같은 correlation ID 로 묶인다.
+ * - 작업이 끝나면 실행 스레드의 MDC 를 원래대로 되돌려 다음 작업으로 새지 않게 한다.
+ * - 감싼 executor 가 ExecutorService 면 close() 를 넘겨 빈 종료 시 기존과 같이 정리되게 한다.
+ */
+public final class MdcPropagatingExecutor implements Executor, AutoCloseable {
+
+    private final Executor delegate;
+
+    private MdcPropagatingExecutor(Executor delegate) {
+        this.delegate = delegate;
+    }
+
+    public static Executor wrap(Executor delegate) {
+        return delegate instanceof MdcPropagatingExecutor ? delegate : new MdcPropagatingExecutor(delegate);
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        delegate.execute(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            setContext(context);
+            try {
+                task.run();
+            } finally {
+                setContext(previous);
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        if (delegate instanceof ExecutorService executorService) {
+            executorService.close();
+        }
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context != null) {
+            MDC.setContextMap(context);
+        } else {
+            MDC.clear();
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.SocketIOChannelInitializer;
+import io.netty.channel.ChannelPipeline;
+
+/**
+ * 기본 Socket.IO 파이프라인에 OutboundBackpressureHandler 를 추가한다.
+ * 출력은 tail → head 로 흐르므로 인코더 뒤에 두어야 인코딩 전 패킷 대기열을 볼 수 있다.
+ */
+public class BackpressureChannelInitializer extends SocketIOChannelInitializer {
+
+    static final String OUTBOUND_BACKPRESSURE = "outboundBackpressure";
+
+    private final OutboundBackpressureHandler outboundBackpressureHandler;
+
+    public BackpressureChannelInitializer(OutboundBackpressureHandler outboundBackpressureHandler) {
+        this.outboundBackpressureHandler = outboundBackpressureHandler;
+    }
+
+    @Override
+    protected void addSocketioHandlers(ChannelPipeline pipeline) {
+        super.addSocketioHandlers(pipeline);
+        pipeline.addAfter(SOCKETIO_ENCODER, OUTBOUND_BACKPRESSURE, outboundBackpressureHandler);
+    }
+}
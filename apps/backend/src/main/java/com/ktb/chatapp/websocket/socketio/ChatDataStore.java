@@ -32,6 +32,4 @@ public interface ChatDataStore {
      * @param key the storage key
      */
     void delete(String key);
-    
-    int size();
 }
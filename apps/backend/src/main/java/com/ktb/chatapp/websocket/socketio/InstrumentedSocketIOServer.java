@@ -0,0 +1,96 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.MultiTypeArgs;
+import com.corundumstudio.socketio.SocketIONamespace;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.annotation.ScannerEngine;
+import com.corundumstudio.socketio.listener.ConnectListener;
+import com.corundumstudio.socketio.listener.DataListener;
+import com.corundumstudio.socketio.listener.DisconnectListener;
+import com.corundumstudio.socketio.listener.MultiTypeEventListener;
+import com.corundumstudio.socketio.namespace.Namespace;
+import io.netty.bootstrap.ServerBootstrap;
+
+/**
+ * 모든 이벤트 리스너를 SocketIOEventMetrics 로 감싸 등록하는 SocketIOServer
+ * - netty-socketio 의 EventInterceptor 는 리스너가 끝난 뒤에 호출되어 처리 시간을 잴 수 없으므로 등록 시점에 감싼다.
+ * - SpringAnnotationScanner 는 addListeners 로 @OnEvent 메서드를 넘기고, ScannerEngine 은 Namespace 에 리스너를 추가한다.
+ *   그래서 리스너를 감싸 기본 네임스페이스로 넘기는 Namespace 를 ScannerEngine 에 대신 준다.
+ * - 서버 시작 시 boss/worker 이벤트 루프의 대기 작업 수를 게이지로 등록한다.
+ */
+public class InstrumentedSocketIOServer extends SocketIOServer {
+
+    private final SocketIOEventMetrics socketIOEventMetrics;
+    private final ScannerEngine scannerEngine = new ScannerEngine();
+    private final Namespace instrumentingNamespace;
+
+    public InstrumentedSocketIOServer(Configuration configuration, SocketIOEventMetrics socketIOEventMetrics) {
+        super(configuration);
+        this.socketIOEventMetrics = socketIOEventMetrics;
+        this.instrumentingNamespace = new InstrumentingNamespace(getNamespace(Namespace.DEFAULT_NAME), getConfiguration());
+    }
+
+    @Override
+    public void addListeners(Object listeners) {
+        addListeners(listeners, listeners.getClass());
+    }
+
+    @Override
+    public void addListeners(Object listeners, Class<?> listenersClass) {
+        scannerEngine.scan(instrumentingNamespace, listeners, listenersClass);
+    }
+
+    @Override
+    public <T> void addEventListener(String eventName, Class<T> eventClass, DataListener<T> listener) {
+        instrumentingNamespace.addEventListener(eventName, eventClass, listener);
+    }
+
+    @Override
+    public void addMultiTypeEventListener(String eventName, MultiTypeEventListener listener, Class<?>... eventClass) {
+        instrumentingNamespace.addMultiTypeEventListener(eventName, listener, eventClass);
+    }
+
+    @Override
+    protected void applyConnectionOptions(ServerBootstrap bootstrap) {
+        super.applyConnectionOptions(bootstrap);
+        socketIOEventMetrics.monitorEventLoops("boss", bootstrap.config().group());
+        socketIOEventMetrics.monitorEventLoops("worker", bootstrap.config().childGroup());
+    }
+
+    /**
+     * 리스너 등록만 받아 실제 네임스페이스로 넘긴다. 이벤트 리스너는 감싸고, @OnConnect/@OnDisconnect 는 그대로 넘긴다.
+     * 클라이언트/방 상태는 갖지 않는다.
+     */
+    private final class InstrumentingNamespace extends Namespace {
+
+        private final SocketIONamespace target;
+
+        private InstrumentingNamespace(SocketIONamespace target, Configuration configuration) {
+            super(target.getName(), configuration);
+            this.target = target;
+        }
+
+        @Override
+        public <T> void addEventListener(String eventName, Class<T> eventClass, DataListener<T> listener) {
+            target.addEventListener(eventName, eventClass, socketIOEventMetrics.instrument(eventName, listener));
+        }
+
+        @Override
+        public void addMultiTypeEventListener(String eventName, MultiTypeEventListener listener, Class<?>... eventClass) {
+            DataListener<MultiTypeArgs> instrumented =
+                    socketIOEventMetrics.instrument(eventName, listener);
+            target.addMultiTypeEventListener(eventName, instrumented::onData, eventClass);
+        }
+
+        @Override
+        public void addConnectListener(ConnectListener listener) {
+            target.addConnectListener(listener);
+        }
+
+        @Override
+        public void addDisconnectListener(DisconnectListener listener) {
+            target.addDisconnectListener(listener);
+        }
+    }
+}
@@ -34,9 +34,4 @@ public class LocalChatDataStore implements ChatDataStore {
     public void delete(String key) {
         storage.remove(key);
     }
-    
-    @Override
-    public int size() {
-        return storage.size();
-    }
 }
@@ -0,0 +1,96 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.ktb.chatapp.dto.UserResponse;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 기반 RoomRosterStore 구현체
+ * - 단일 서버 환경(chat.store.type=local)용
+ */
+public class LocalRoomRosterStore implements RoomRosterStore {
+
+    private final Map<String, Entry> rooms = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    public LocalRoomRosterStore(Duration ttl) {
+        this(ttl, Clock.systemUTC());
+    }
+
+    LocalRoomRosterStore(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Roster> find(String roomId) {
+        Entry entry = rooms.get(roomId);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        synchronized (entry) {
+            if (!entry.isCached(clock.millis())) {
+                return Optional.empty();
+            }
+            return Optional.of(new Roster(entry.version, new ArrayList<>(entry.participants.values())));
+        }
+    }
+
+    @Override
+    public void seedIfAbsent(String roomId, Collection<UserResponse> participants) {
+        Entry entry = entry(roomId);
+        synchronized (entry) {
+            long now = clock.millis();
+            if (entry.isCached(now)) {
+                return;
+            }
+            entry.participants.clear();
+            participants.forEach(participant -> entry.participants.put(participant.getId(), participant));
+            entry.version++;
+            entry.expiresAt = now + ttl.toMillis();
+        }
+    }
+
+    @Override
+    public long add(String roomId, UserResponse participant) {
+        Entry entry = entry(roomId);
+        synchronized (entry) {
+            if (!entry.isCached(clock.millis())) {
+                return 0;
+            }
+            entry.participants.put(participant.getId(), participant);
+            return ++entry.version;
+        }
+    }
+
+    @Override
+    public long remove(String roomId, String userId) {
+        Entry entry = entry(roomId);
+        synchronized (entry) {
+            entry.participants.remove(userId);
+            return ++entry.version;
+        }
+    }
+
+    private Entry entry(String roomId) {
+        return rooms.computeIfAbsent(roomId, k -> new Entry());
+    }
+
+    private static final class Entry {
+        private final Map<String, UserResponse> participants = new LinkedHashMap<>();
+        private long version;
+        // 0 이면 아직 채워지지 않은 명단
+        private long expiresAt;
+
+        private boolean isCached(long now) {
+            return expiresAt > now;
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Transport;
+import com.corundumstudio.socketio.handler.ClientHead;
+import com.corundumstudio.socketio.messages.OutPacketMessage;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.netty.channel.Channel;
+import io.netty.channel.ChannelDuplexHandler;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.ChannelOutboundBuffer;
+import io.netty.channel.ChannelPromise;
+import io.netty.channel.group.ChannelGroup;
+import io.netty.channel.group.DefaultChannelGroup;
+import io.netty.util.AttributeKey;
+import io.netty.util.concurrent.GlobalEventExecutor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_CHUNK;
+
+/**
+ * 소켓별 출력 버퍼 backpressure
+ * - 채널 쓰기 가능 여부는 SocketConfig 의 write buffer low/high watermark 로 정해진다.
+ * - high watermark 를 넘어 쓰기 불가인 동안 AI 청크는 보내지 않고 들고 있다가 low watermark 아래로 내려가면 보낸다.
+ *   같은 (이벤트, 방, 메시지)의 청크는 AiEventBus MERGE 정책처럼 delta 를 이어붙이고 fromSeq/offset 은 앞 청크,
+ *   seq 는 마지막 청크 것을 써서 범위 중간에서 이어받은 클라이언트도 중복 없이 붙일 수 있다.
+ * - 청크를 하나라도 들고 있으면 뒤따르는 다른 패킷도 함께 들고 있다가 같은 순서로 보낸다.
+ *   aiMessageComplete 처럼 청크와 같은 메시지인지 payload 로 알 수 없는 패킷이 청크를 앞지르지 않게 하기 위해서다.
+ *   그래서 청크는 마지막으로 보류한 다른 패킷 뒤의 청크와만 합친다.
+ *   읽음 알림은 사용자마다 읽은 메시지 ID 가 달라 최신 것만 남기면 유실되므로 합치지 않는다.
+ * - 대기 바이트(보류한 패킷 포함)가 hard limit 을 넘으면 느린 소비자로 보고 연결을 끊는다.
+ *   (재접속은 disconnect 유예/방 복원 경로를 탄다)
+ * - 소켓별 대기 바이트는 sample 주기마다 socketio.outbound.buffered 히스토그램으로 기록한다.
+ * 패킷은 socketioEncoder 가 인코딩하기 전에 다뤄야 하므로 BackpressureChannelInitializer 가 인코더 바로 뒤(tail 쪽)에 붙인다.
+ */
+@Slf4j
+@Component
+@ChannelHandler.Sharable
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class OutboundBackpressureHandler extends ChannelDuplexHandler {
+
+    static final Set<String> DROPPABLE_EVENTS = Set.of(AI_MESSAGE_CHUNK);
+    private static final TypeReference<LinkedHashMap<String, Object>> PAYLOAD_TYPE = new TypeReference<>() {};
+
+    // 쓰기 불가 동안 보류한 이벤트, 채널 이벤트 루프에서만 접근한다
+    private static final AttributeKey<HeldPackets> HELD = AttributeKey.valueOf("socketio.outbound.held");
+
+    private final ScheduledExecutorService socketTaskScheduler;
+    private final MeterRegistry meterRegistry;
+    private final long hardLimitBytes;
+    private final long sampleIntervalMillis;
+
+    private final ChannelGroup channels = new DefaultChannelGroup(GlobalEventExecutor.INSTANCE);
+    private final DistributionSummary bufferedBytes;
+    private final Counter evicted;
+    private final ConcurrentHashMap<String, Counter> coalesced = new ConcurrentHashMap<>();
+    // 방송 payload 와 같은 형태(JSON/CBOR)로 합친 청크를 다시 만든다
+    private final ObjectMapper jsonMapper = RoomBroadcaster.newJsonMapper();
+    private final ObjectMapper cborMapper = RoomBroadcaster.newCborMapper();
+    private ScheduledFuture<?> sampler;
+
+    public OutboundBackpressureHandler(
+            @Qualifier("socketTaskScheduler") ScheduledExecutorService socketTaskScheduler,
+            MeterRegistry meterRegistry,
+            @Value("${socketio.outbound.hard-limit-bytes:4194304}") long hardLimitBytes,
+            @Value("${socketio.outbound.sample-interval-ms:5000}") long sampleIntervalMillis) {
+        this.socketTaskScheduler = socketTaskScheduler;
+        this.meterRegistry = meterRegistry;
+        this.hardLimitBytes = hardLimitBytes;
+        this.sampleIntervalMillis = sampleIntervalMillis;
+        this.bufferedBytes = DistributionSummary.builder("socketio.outbound.buffered")
+                .description("소켓별 출력 버퍼 대기 바이트")
+                .baseUnit("bytes")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.evicted = Counter.builder("socketio.outbound.evicted")
+                .description("출력 버퍼가 hard limit 을 넘어 끊은 연결 수")
+                .register(meterRegistry);
+        Gauge.builder("socketio.outbound.unwritable", channels, group ->
+                        group.stream().filter(channel -> !channel.isWritable()).count())
+                .description("high watermark 를 넘어 쓰기 불가인 소켓 수")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    void startSampling() {
+        if (sampleIntervalMillis > 0) {
+            sampler = socketTaskScheduler.scheduleWithFixedDelay(
+                    this::sample, sampleIntervalMillis, sampleIntervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void stopSampling() {
+        if (sampler != null) {
+            sampler.cancel(false);
+        }
+    }
+
+    @Override
+    public void channelActive(ChannelHandlerContext ctx) throws Exception {
+        channels.add(ctx.channel());
+        super.channelActive(ctx);
+    }
+
+    @Override
+    public void write(ChannelHandlerContext ctx, Object msg, ChannelPromise promise) throws Exception {
+        Channel channel = ctx.channel();
+        // 쓰기 가능 알림보다 먼저 도착한 쓰기도 보류한 패킷을 앞지르지 않도록 release 전까지는 계속 보류한다
+        if (msg instanceof OutPacketMessage out && (!channel.isWritable() || channel.attr(HELD).get() != null)) {
+            hold(channel, out);
+        }
+        ctx.write(msg, promise);
+        if (pendingBytes(channel) + heldBytes(channel) > hardLimitBytes && channel.isActive()) {
+            evict(channel);
+        }
+    }
+
+    @Override
+    public void channelWritabilityChanged(ChannelHandlerContext ctx) throws Exception {
+        Channel channel = ctx.channel();
+        if (channel.isWritable()) {
+            release(channel);
+        }
+        super.channelWritabilityChanged(ctx);
+    }
+
+    /**
+     * 연결된 소켓마다 현재 대기 바이트를 히스토그램에 기록한다.
+     */
+    void sample() {
+        channels.forEach(channel -> bufferedBytes.record(pendingBytes(channel)));
+    }
+
+    // 인코딩 전 대기열에서 청크를 빼 (이벤트, 방, 메시지)별로 합치고, 보류 중이면 뒤따르는 패킷도 순서대로 뺀다
+    private void hold(Channel channel, OutPacketMessage out) {
+        Queue<Packet> queue = out.getClientHead().getPacketsQueue(out.getTransport());
+        HeldPackets held = channel.attr(HELD).get();
+        for (Iterator<Packet> it = queue.iterator(); it.hasNext(); ) {
+            Packet packet = it.next();
+            Map<String, Object> payload = isDroppable(packet) ? decode(packet) : null;
+            if (payload == null) {
+                if (held != null) {
+                    it.remove();
+                    held.addBarrier(packet);
+                }
+                continue;
+            }
+            it.remove();
+            if (held == null) {
+                held = new HeldPackets(out.getClientHead(), out.getTransport());
+                channel.attr(HELD).set(held);
+            }
+            String key = packet.getName() + ":" + payload.get("roomId") + ":" + payload.get("messageId");
+            HeldPacket current = new HeldPacket(packet, payload);
+            HeldPacket previous = held.mergeable(key);
+            HeldPacket merged = previous != null ? merge(previous, current) : null;
+            if (merged != null) {
+                coalescedCounter(packet.getName()).increment();
+                held.replace(key, merged);
+            } else {
+                // 합친 payload 를 직렬화하지 못하면 합치지 않고 따로 들고 있는다
+                held.addMergeable(key, current);
+            }
+        }
+    }
+
+    // 패킷의 첫 인자를 Map 으로 읽는다. room 방송은 PreEncodedPayload, 바이너리 클라이언트는 CBOR byte[] 이다.
+    private Map<String, Object> decode(Packet packet) {
+        Object data = packet.getData() instanceof List<?> args && args.size() == 1 ? args.getFirst() : null;
+        try {
+            return switch (data) {
+                case PreEncodedPayload json -> jsonMapper.readValue(json.json(), PAYLOAD_TYPE);
+                case byte[] cbor -> cborMapper.readValue(cbor, PAYLOAD_TYPE);
+                case Map<?, ?> map -> jsonMapper.convertValue(map, PAYLOAD_TYPE);
+                case null, default -> null;
+            };
+        } catch (Exception e) {
+            log.debug("Cannot decode held packet payload - event: {}", packet.getName(), e);
+            return null;
+        }
+    }
+
+    // 방송 패킷은 여러 클라이언트가 같은 객체를 공유하므로 고치지 않고 합친 payload 로 새 패킷을 만든다.
+    // 범위 시작(fromSeq/offset)은 앞 청크, seq 는 뒤 청크 것을 쓰고 앞 청크의 snapshot 은 뒤 delta 를 붙여 유지한다.
+    private HeldPacket merge(HeldPacket previous, HeldPacket next) {
+        Map<String, Object> payload = new LinkedHashMap<>(next.payload);
+        Object nextDelta = next.payload.getOrDefault("currentChunk", "");
+        payload.put("currentChunk", String.valueOf(previous.payload.getOrDefault("currentChunk", "")) + nextDelta);
+        for (String field : List.of("fromSeq", "offset")) {
+            if (previous.payload.containsKey(field)) {
+                payload.put(field, previous.payload.get(field));
+            }
+        }
+        if (payload.get("fullContent") == null && previous.payload.get("fullContent") != null) {
+            payload.put("fullContent", previous.payload.get("fullContent") + String.valueOf(nextDelta));
+        }
+        Object original = ((List<?>) next.packet.getData()).getFirst();
+        Object data;
+        try {
+            data = switch (original) {
+                case PreEncodedPayload ignored -> new PreEncodedPayload(jsonMapper.writeValueAsString(payload));
+                case byte[] ignored -> cborMapper.writeValueAsBytes(payload);
+                default -> payload;
+            };
+        } catch (Exception e) {
+            log.debug("Cannot encode merged packet payload - event: {}", next.packet.getName(), e);
+            return null;
+        }
+        Packet packet = new Packet(next.packet.getType(), next.packet.getEngineIOVersion());
+        packet.setSubType(next.packet.getSubType());
+        packet.setName(next.packet.getName());
+        packet.setNsp(next.packet.getNsp());
+        packet.setData(List.of(data));
+        return new HeldPacket(packet, payload);
+    }
+
+    // 쓰기 가능해지면 보류한 패킷을 대기열에 다시 넣어 보낸다.
+    // 그 사이 대기열에 들어와 아직 인코딩되지 않은 패킷은 보류한 패킷보다 늦게 온 것이므로 뒤로 보낸다.
+    private void release(Channel channel) {
+        HeldPackets held = channel.attr(HELD).getAndSet(null);
+        if (held == null || held.packets.isEmpty()) {
+            return;
+        }
+        Queue<Packet> queue = held.clientHead.getPacketsQueue(held.transport);
+        if (queue == null) {
+            return;
+        }
+        List<Packet> newer = new ArrayList<>();
+        for (Packet packet = queue.poll(); packet != null; packet = queue.poll()) {
+            newer.add(packet);
+        }
+        held.packets.forEach(packet -> queue.add(packet.packet));
+        queue.addAll(newer);
+        channel.writeAndFlush(new OutPacketMessage(held.clientHead, held.transport));
+    }
+
+    private void evict(Channel channel) {
+        long pending = pendingBytes(channel);
+        ClientHead client = channel.attr(ClientHead.CLIENT).get();
+        log.warn("Disconnecting slow consumer - sessionId: {}, pendingBytes: {}, hardLimit: {}",
+                client != null ? client.getSessionId() : null, pending, hardLimitBytes);
+        evicted.increment();
+        channel.attr(HELD).set(null);
+        channel.close();
+    }
+
+    static boolean isDroppable(Packet packet) {
+        return packet.getType() == PacketType.MESSAGE && DROPPABLE_EVENTS.contains(packet.getName());
+    }
+
+    static long pendingBytes(Channel channel) {
+        ChannelOutboundBuffer buffer = channel.unsafe().outboundBuffer();
+        return buffer != null ? buffer.totalPendingWriteBytes() : 0;
+    }
+
+    private static long heldBytes(Channel channel) {
+        HeldPackets held = channel.attr(HELD).get();
+        return held != null ? held.bytes : 0;
+    }
+
+    // 인코딩 전이라 정확한 크기는 모르므로 미리 인코딩된 인자 크기로 어림한다
+    private static long estimateBytes(Packet packet) {
+        Object data = packet.getData() instanceof List<?> args && args.size() == 1 ? args.getFirst() : null;
+        return switch (data) {
+            case PreEncodedPayload json -> json.json().length();
+            case byte[] cbor -> cbor.length;
+            case null, default -> 0;
+        };
+    }
+
+    private Counter coalescedCounter(String event) {
+        return coalesced.computeIfAbsent(event, k -> Counter.builder("socketio.outbound.coalesced")
+                .description("쓰기 불가 동안 앞선 청크에 합쳐 따로 보내지 않은 이벤트 수")
+                .tag("event", k)
+                .register(meterRegistry));
+    }
+
+    private static final class HeldPackets {
+        private final ClientHead clientHead;
+        private final Transport transport;
+        // 보낼 순서대로 보류한 패킷
+        private final List<HeldPacket> packets = new ArrayList<>();
+        // 마지막으로 보류한 다른 패킷 뒤에 있어 이어붙일 수 있는 청크의 packets 위치
+        private final Map<String, Integer> mergeable = new HashMap<>();
+        private long bytes;
+
+        private HeldPackets(ClientHead clientHead, Transport transport) {
+            this.clientHead = clientHead;
+            this.transport = transport;
+        }
+
+        HeldPacket mergeable(String key) {
+            Integer index = mergeable.get(key);
+            return index != null ? packets.get(index) : null;
+        }
+
+        void addMergeable(String key, HeldPacket packet) {
+            mergeable.put(key, packets.size());
+            add(packet);
+        }
+
+        void replace(String key, HeldPacket packet) {
+            int index = mergeable.get(key);
+            bytes += estimateBytes(packet.packet) - estimateBytes(packets.get(index).packet);
+            packets.set(index, packet);
+        }
+
+        // 이 패킷보다 앞선 청크에 뒤 청크를 합치면 순서가 바뀌므로 합칠 수 있는 청크를 비운다
+        void addBarrier(Packet packet) {
+            mergeable.clear();
+            add(new HeldPacket(packet, null));
+        }
+
+        private void add(HeldPacket packet) {
+            packets.add(packet);
+            bytes += estimateBytes(packet.packet);
+        }
+    }
+
+    private record HeldPacket(Packet packet, Map<String, Object> payload) {}
+}
@@ -0,0 +1,64 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.io.IOException;
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * 한 번만 JSON 으로 직렬화해 둔 이벤트 payload
+ * - netty-socketio 는 방송 시 같은 Packet 을 클라이언트마다 다시 인코딩하므로, POJO 를 그대로 넘기면
+ *   방 인원 수만큼 Jackson 직렬화가 반복된다. 이 객체를 넘기면 JSON 텍스트의 UTF-8 바이트를
+ *   처음 한 번만 만들고 이후 클라이언트 패킷에는 그 바이트를 복사만 한다.
+ * - 클러스터 모드에서는 DTO 객체 그래프 대신 JSON 문자열 하나가 다른 노드로 전파된다.
+ * - JacksonJsonSupport 에 module() 을 등록해야 raw JSON 으로 기록된다.
+ */
+public final class PreEncodedPayload implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    private final String json;
+    // UTF-8 바이트를 지연 생성 후 캐시한다. 다른 노드에서 역직렬화되면 그 노드에서 한 번 다시 만든다.
+    private transient volatile SerializedString encoded;
+
+    public PreEncodedPayload(String json) {
+        this.json = json;
+    }
+
+    public String json() {
+        return json;
+    }
+
+    SerializedString encoded() {
+        SerializedString value = encoded;
+        if (value == null) {
+            value = new SerializedString(json);
+            value.asUnquotedUTF8();
+            encoded = value;
+        }
+        return value;
+    }
+
+    public static Module module() {
+        SimpleModule module = new SimpleModule("PreEncodedPayload");
+        module.addSerializer(PreEncodedPayload.class, new JsonSerializer<>() {
+            @Override
+            public void serialize(PreEncodedPayload value, JsonGenerator gen, SerializerProvider serializers)
+                    throws IOException {
+                gen.writeRawValue(value.encoded());
+            }
+        });
+        return module;
+    }
+
+    @Override
+    public String toString() {
+        return json;
+    }
+}
@@ -0,0 +1,235 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.corundumstudio.socketio.store.pubsub.ConnectMessage;
+import com.corundumstudio.socketio.store.pubsub.DisconnectMessage;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * RoomPubSubStore 용 바이너리 코덱
+ * - Java/Kryo 직렬화 대신 Socket.IO 재전송에 필요한 필드만 길이 접두 형식으로 기록한다.
+ * - 이벤트 인자는 JSON 텍스트(PreEncodedPayload)나 byte[] 로 싣는다. 수신 노드는 인자를 다시 직렬화하지 않고
+ *   PreEncodedPayload 로 그대로 클라이언트에게 내보낸다.
+ * - 프레임: [version][nodeId][메시지 수]{[길이][메시지]}... 한 번의 PUBLISH 로 같은 노드의 여러 메시지를 묶어 보낸다.
+ *   nodeId 가 프레임 머리에 있어 자기 노드가 보낸 프레임은 메시지를 풀지 않고 건너뛸 수 있다.
+ */
+final class PubSubMessageCodec {
+
+    static final byte VERSION = 1;
+
+    private static final byte ARG_NULL = 0;
+    private static final byte ARG_JSON = 1;
+    private static final byte ARG_BYTES = 2;
+
+    private static final byte DATA_NONE = 0;
+    private static final byte DATA_LIST = 1;
+    private static final byte DATA_SINGLE = 2;
+
+    private final ObjectMapper jsonMapper = RoomBroadcaster.newJsonMapper();
+
+    record Decoded(PubSubType type, PubSubMessage message) {}
+
+    record Frame(long nodeId, List<byte[]> messages) {}
+
+    byte[] encode(PubSubType type, PubSubMessage message) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeByte(type.ordinal());
+        switch (message) {
+            case DispatchMessage dispatch -> {
+                writeString(out, dispatch.getNamespace());
+                writeString(out, dispatch.getRoom());
+                writePacket(out, dispatch.getPacket());
+            }
+            case ConnectMessage connect -> writeUuid(out, connect.getSessionId());
+            case DisconnectMessage disconnect -> writeUuid(out, disconnect.getSessionId());
+            default -> throw new IOException("Unsupported pub/sub message: " + message.getClass().getSimpleName());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    Decoded decode(byte[] encoded, long nodeId) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(encoded));
+        PubSubType type = PubSubType.values()[in.readUnsignedByte()];
+        PubSubMessage message = switch (type) {
+            case DISPATCH -> {
+                String namespace = readString(in);
+                String room = readString(in);
+                yield new DispatchMessage(room, readPacket(in), namespace);
+            }
+            case CONNECT -> new ConnectMessage(readUuid(in));
+            case DISCONNECT -> new DisconnectMessage(readUuid(in));
+            default -> throw new IOException("Unsupported pub/sub type: " + type);
+        };
+        message.setNodeId(nodeId);
+        return new Decoded(type, message);
+    }
+
+    /**
+     * 인코딩된 메시지 여러 개를 한 프레임으로 묶는다.
+     */
+    static byte[] frame(long nodeId, List<byte[]> messages) {
+        int size = 1 + 8 + 4;
+        for (byte[] message : messages) {
+            size += 4 + message.length;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(size);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeLong(nodeId);
+            out.writeInt(messages.size());
+            for (byte[] message : messages) {
+                out.writeInt(message.length);
+                out.write(message);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static long nodeIdOf(byte[] frame) {
+        return ByteBuffer.wrap(frame, 1, Long.BYTES).getLong();
+    }
+
+    static Frame unframe(byte[] frame) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(frame));
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported pub/sub frame version: " + version);
+        }
+        long nodeId = in.readLong();
+        int count = in.readInt();
+        List<byte[]> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] message = new byte[in.readInt()];
+            in.readFully(message);
+            messages.add(message);
+        }
+        return new Frame(nodeId, messages);
+    }
+
+    private void writePacket(DataOutputStream out, Packet packet) throws IOException {
+        out.writeByte(packet.getType().ordinal());
+        out.writeByte(packet.getSubType() != null ? packet.getSubType().ordinal() : -1);
+        out.writeByte(packet.getEngineIOVersion() != null ? packet.getEngineIOVersion().ordinal() : -1);
+        writeString(out, packet.getNsp());
+        writeString(out, packet.getName());
+
+        Object data = packet.getData();
+        if (data == null) {
+            out.writeByte(DATA_NONE);
+        } else if (data instanceof List<?> args) {
+            out.writeByte(DATA_LIST);
+            out.writeInt(args.size());
+            for (Object arg : args) {
+                writeArg(out, arg);
+            }
+        } else {
+            out.writeByte(DATA_SINGLE);
+            writeArg(out, data);
+        }
+    }
+
+    private Packet readPacket(DataInputStream in) throws IOException {
+        PacketType type = PacketType.values()[in.readUnsignedByte()];
+        byte subType = in.readByte();
+        byte engineIOVersion = in.readByte();
+        Packet packet = new Packet(type, engineIOVersion >= 0 ? EngineIOVersion.values()[engineIOVersion] : null);
+        if (subType >= 0) {
+            packet.setSubType(PacketType.values()[subType]);
+        }
+        packet.setNsp(readString(in));
+        packet.setName(readString(in));
+
+        switch (in.readByte()) {
+            case DATA_LIST -> {
+                int size = in.readInt();
+                List<Object> args = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    args.add(readArg(in));
+                }
+                packet.setData(args);
+            }
+            case DATA_SINGLE -> packet.setData(readArg(in));
+            default -> { }
+        }
+        return packet;
+    }
+
+    private void writeArg(DataOutputStream out, Object arg) throws IOException {
+        switch (arg) {
+            case null -> out.writeByte(ARG_NULL);
+            case byte[] bytes -> {
+                out.writeByte(ARG_BYTES);
+                out.writeInt(bytes.length);
+                out.write(bytes);
+            }
+            case PreEncodedPayload payload -> {
+                out.writeByte(ARG_JSON);
+                writeString(out, payload.json());
+            }
+            default -> {
+                out.writeByte(ARG_JSON);
+                writeString(out, jsonMapper.writeValueAsString(arg));
+            }
+        }
+    }
+
+    private Object readArg(DataInputStream in) throws IOException {
+        return switch (in.readByte()) {
+            case ARG_BYTES -> {
+                byte[] bytes = new byte[in.readInt()];
+                in.readFully(bytes);
+                yield bytes;
+            }
+            case ARG_JSON -> new PreEncodedPayload(readString(in));
+            default -> null;
+        };
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID value) throws IOException {
+        out.writeLong(value.getMostSignificantBits());
+        out.writeLong(value.getLeastSignificantBits());
+    }
+
+    private static UUID readUuid(DataInputStream in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+}
@@ -39,11 +39,4 @@ public class RedisChatDataStore implements ChatDataStore {
     public void delete(String key) {
         redisTemplate.delete(key);
     }
-
-    @Override
-    public int size() {
-        // 접속자 수는 prefix 기준으로 대략 계산
-        var keys = redisTemplate.keys("conn_users:userid:*");
-        return keys != null ? keys.size() : 0;
-    }
 }
@@ -0,0 +1,139 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.dto.UserResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Redis 기반 RoomRosterStore 구현체
+ * - 명단은 hash(userId → UserResponse JSON)로 두고 TTL 이 지나면 Mongo 기준으로 다시 채워 프로필 변경을 반영한다.
+ * - 버전 키는 만료시키지 않아 명단을 다시 채워도 버전이 되돌아가지 않는다.
+ * - 방 단위 키는 hash tag({roomId})로 묶어 클러스터에서도 같은 슬롯에 둔다.
+ */
+public class RedisRoomRosterStore implements RoomRosterStore {
+
+    private static final String PREFIX = "socketio:roster:{";
+
+    // KEYS: {roster, version}, returns: {version, json, ...} 또는 명단이 없으면 빈 목록
+    private static final DefaultRedisScript<List> FIND_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if redis.call('EXISTS', KEYS[1]) == 0 then
+                      return {}
+                    end
+                    local result = redis.call('HVALS', KEYS[1])
+                    table.insert(result, 1, redis.call('GET', KEYS[2]) or '0')
+                    return result
+                    """,
+                    List.class);
+
+    // KEYS: {roster, version}, ARGV: {ttlMillis, userId, json, userId, json, ...}
+    private static final DefaultRedisScript<Long> SEED_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if redis.call('EXISTS', KEYS[1]) == 1 or #ARGV < 3 then
+                      return 0
+                    end
+                    for i = 2, #ARGV, 2 do
+                      redis.call('HSET', KEYS[1], ARGV[i], ARGV[i + 1])
+                    end
+                    redis.call('PEXPIRE', KEYS[1], ARGV[1])
+                    return redis.call('INCR', KEYS[2])
+                    """,
+                    Long.class);
+
+    // KEYS: {roster, version}, ARGV: {userId, json}
+    private static final DefaultRedisScript<Long> ADD_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    if redis.call('EXISTS', KEYS[1]) == 0 then
+                      return 0
+                    end
+                    redis.call('HSET', KEYS[1], ARGV[1], ARGV[2])
+                    return redis.call('INCR', KEYS[2])
+                    """,
+                    Long.class);
+
+    // KEYS: {roster, version}, ARGV: {userId}
+    private static final DefaultRedisScript<Long> REMOVE_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    redis.call('HDEL', KEYS[1], ARGV[1])
+                    return redis.call('INCR', KEYS[2])
+                    """,
+                    Long.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+
+    public RedisRoomRosterStore(StringRedisTemplate redisTemplate, ObjectMapper objectMapper, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Optional<Roster> find(String roomId) {
+        List<Object> raw = redisTemplate.execute(FIND_SCRIPT, keys(roomId));
+        if (raw == null || raw.isEmpty()) {
+            return Optional.empty();
+        }
+        List<UserResponse> participants = new ArrayList<>(raw.size() - 1);
+        for (int i = 1; i < raw.size(); i++) {
+            participants.add(fromJson(String.valueOf(raw.get(i))));
+        }
+        return Optional.of(new Roster(Long.parseLong(String.valueOf(raw.get(0))), participants));
+    }
+
+    @Override
+    public void seedIfAbsent(String roomId, Collection<UserResponse> participants) {
+        List<String> args = new ArrayList<>(1 + participants.size() * 2);
+        args.add(String.valueOf(ttl.toMillis()));
+        for (UserResponse participant : participants) {
+            args.add(participant.getId());
+            args.add(toJson(participant));
+        }
+        redisTemplate.execute(SEED_SCRIPT, keys(roomId), args.toArray());
+    }
+
+    @Override
+    public long add(String roomId, UserResponse participant) {
+        Long version = redisTemplate.execute(ADD_SCRIPT, keys(roomId), participant.getId(), toJson(participant));
+        return version != null ? version : 0;
+    }
+
+    @Override
+    public long remove(String roomId, String userId) {
+        Long version = redisTemplate.execute(REMOVE_SCRIPT, keys(roomId), userId);
+        return version != null ? version : 0;
+    }
+
+    private List<String> keys(String roomId) {
+        return List.of(PREFIX + roomId + "}", PREFIX + roomId + "}:version");
+    }
+
+    private String toJson(UserResponse participant) {
+        try {
+            return objectMapper.writeValueAsString(participant);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize participant: " + participant.getId(), e);
+        }
+    }
+
+    private UserResponse fromJson(String json) {
+        try {
+            return objectMapper.readValue(json, UserResponse.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to deserialize participant", e);
+        }
+    }
+}
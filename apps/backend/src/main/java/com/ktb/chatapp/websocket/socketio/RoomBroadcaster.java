@@ -0,0 +1,145 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방/클라이언트 단위 이벤트 전송기
+ * - 핸드셰이크 쿼리에 encoding=cbor 를 붙여 접속한 클라이언트에게는 payload 를 CBOR 로 인코딩해
+ *   Socket.IO binary attachment(ArrayBuffer 인자 1개)로 보낸다. 그 외 클라이언트는 기존 JSON 그대로 받는다.
+ * - CBOR 인코딩은 방송 1회당 한 번만 수행하고 같은 바이트 배열을 바이너리 클라이언트에게 재사용한다.
+ * - 바이너리 전송은 이 노드의 클라이언트에게만 직접 보내고, 다른 노드로는 JSON 패킷이 전파된다.
+ *   따라서 opt-in 클라이언트는 ArrayBuffer(CBOR)와 객체(JSON) 인자를 모두 처리해야 한다.
+ * - 방 JSON 방송은 PreEncodedPayload 로 한 번만 직렬화해 클라이언트별/노드별 재직렬화를 피한다.
+ * - 방송마다 이 노드에서 받는 클라이언트 수를 socketio.room.fanout 히스토그램으로 기록한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomBroadcaster {
+
+    public static final String ENCODING_PARAM = "encoding";
+    public static final String CBOR = "cbor";
+
+    private final SocketIOServer socketIOServer;
+    private final ObjectMapper cborMapper;
+    private final ObjectMapper jsonMapper;
+    private final DistributionSummary fanout;
+
+    public RoomBroadcaster(SocketIOServer socketIOServer, MeterRegistry meterRegistry) {
+        this.socketIOServer = socketIOServer;
+        this.cborMapper = newCborMapper();
+        this.jsonMapper = newJsonMapper();
+        this.fanout = DistributionSummary.builder("socketio.room.fanout")
+                .description("방 방송 1회당 이 노드에서 받는 클라이언트 수")
+                .baseUnit("clients")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    /**
+     * 방 전체에 이벤트를 보낸다.
+     */
+    public void sendToRoom(String roomId, String event, Object payload) {
+        BroadcastOperations room = socketIOServer.getRoomOperations(roomId);
+        List<SocketIOClient> binaryClients = new ArrayList<>();
+        int recipients = 0;
+        for (SocketIOClient client : room.getClients()) {
+            recipients++;
+            if (isBinary(client)) {
+                binaryClients.add(client);
+            }
+        }
+        fanout.record(recipients);
+        Object json = preEncode(payload);
+        if (binaryClients.isEmpty()) {
+            room.sendEvent(event, json);
+            return;
+        }
+
+        byte[] encoded = encode(payload);
+        if (encoded == null) {
+            room.sendEvent(event, json);
+            return;
+        }
+        // sendEvent 의 predicate 는 제외 조건: 바이너리 클라이언트를 빼고 JSON 전송 (다른 노드 전파 포함)
+        room.sendEvent(event, RoomBroadcaster::isBinary, json);
+        binaryClients.forEach(client -> client.sendEvent(event, (Object) encoded));
+    }
+
+    /**
+     * 단일 클라이언트에게 이벤트를 보낸다.
+     */
+    public void sendToClient(SocketIOClient client, String event, Object payload) {
+        byte[] encoded = isBinary(client) ? encode(payload) : null;
+        if (encoded != null) {
+            client.sendEvent(event, (Object) encoded);
+        } else {
+            client.sendEvent(event, payload);
+        }
+    }
+
+    public static boolean isBinary(SocketIOClient client) {
+        HandshakeData handshake = client.getHandshakeData();
+        return handshake != null && CBOR.equalsIgnoreCase(handshake.getSingleUrlParam(ENCODING_PARAM));
+    }
+
+    byte[] encode(Object payload) {
+        try {
+            return cborMapper.writeValueAsBytes(payload);
+        } catch (Exception e) {
+            log.warn("CBOR encoding failed, falling back to JSON - payload: {}",
+                    payload != null ? payload.getClass().getSimpleName() : null, e);
+            return null;
+        }
+    }
+
+    /**
+     * payload 를 JSON 으로 한 번 직렬화한다. 실패하면 원래 객체를 그대로 넘겨 netty-socketio 가 직렬화하게 한다.
+     */
+    Object preEncode(Object payload) {
+        if (payload == null || payload instanceof PreEncodedPayload) {
+            return payload;
+        }
+        try {
+            return new PreEncodedPayload(jsonMapper.writeValueAsString(payload));
+        } catch (Exception e) {
+            log.warn("JSON pre-encoding failed - payload: {}", payload.getClass().getSimpleName(), e);
+            return payload;
+        }
+    }
+
+    static ObjectMapper newCborMapper() {
+        return configure(new CBORMapper());
+    }
+
+    static ObjectMapper newJsonMapper() {
+        return configure(new ObjectMapper());
+    }
+
+    // netty-socketio JacksonJsonSupport 와 같은 직렬화 규칙을 사용해 JSON/CBOR 의 필드 구성이 같도록 한다
+    private static ObjectMapper configure(ObjectMapper mapper) {
+        mapper.registerModule(new JavaTimeModule());
+        mapper.setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.configure(JsonGenerator.Feature.WRITE_BIGDECIMAL_AS_PLAIN, true);
+        mapper.configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false);
+        return mapper;
+    }
+}
@@ -0,0 +1,336 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.store.pubsub.BulkJoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubListener;
+import com.corundumstudio.socketio.store.pubsub.PubSubMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * 방 단위 채널을 쓰는 Socket.IO 클러스터 pub/sub
+ * - 방송(DISPATCH)은 socketio:room:{namespace}:{room} 채널로 발행하고,
+ *   각 노드는 로컬 참여자가 있는 방의 채널만 구독한다. 참여자가 없는 노드로는 전달되지 않는다.
+ * - 연결마다 하나씩 생기는 user:* 방과 모든 연결이 들어가는 room-list 방은 방마다 채널을 두면
+ *   연결 수만큼 구독이 생기므로 모든 노드가 구독하는 socketio:shared 채널 하나로 보낸다.
+ * - 로컬 JOIN/LEAVE 는 다른 노드로 발행하지 않고 방 채널 구독/해제에만 쓴다.
+ *   (다른 노드의 방 참여자 목록을 복제하지 않으므로 getRoomClientsInCluster 는 로컬 기준이 된다)
+ *   구독/해제(SUBSCRIBE/UNSUBSCRIBE 왕복)는 참여자 목록 잠금 밖에서 flusher 스레드가 하고,
+ *   join 은 구독이 끝날 때까지 기다려 입장 직후 다른 노드에서 발행된 방송도 받는다.
+ * - CONNECT/DISCONNECT 는 발행하지 않는다. 받는 쪽은 디버그 로그와 AuthorizeHandler.connect 뿐인데,
+ *   WebSocket 세션은 한 노드에 고정되어 다른 노드의 connect 는 해당 세션이 없어 아무 일도 하지 않는다.
+ * - 발행 메시지는 flush 주기마다 채널별로 한 프레임에 묶어 파이프라인으로 보내고,
+ *   채널의 대기 바이트가 max-batch-bytes 를 넘으면 주기를 기다리지 않고 보낸다.
+ *   flush 는 단일 스레드에서만 실행되어 채널 내 발행 순서가 유지된다.
+ */
+@Slf4j
+public class RoomPubSubStore implements PubSubStore {
+
+    static final String ROOM_CHANNEL_PREFIX = "socketio:room:";
+    static final String SHARED_CHANNEL = "socketio:shared";
+    private static final String USER_ROOM_PREFIX = "user:";
+    private static final String ROOM_LIST_ROOM = "room-list";
+    private static final Duration SUBSCRIBE_TIMEOUT = Duration.ofSeconds(2);
+
+    private final RedisMessageListenerContainer container;
+    private final RedisConnectionFactory connectionFactory;
+    private final long nodeId;
+    private final int maxBatchBytes;
+    private final PubSubMessageCodec codec = new PubSubMessageCodec();
+    private final MessageListener messageListener = this::onMessage;
+
+    private final Map<PubSubType, PubSubListener<PubSubMessage>> listeners = new ConcurrentHashMap<>();
+    // 방 채널별 로컬 참여 세션
+    private final ConcurrentHashMap<String, Set<UUID>> localMembers = new ConcurrentHashMap<>();
+    // 방 채널별 구독 완료 신호, flusher 스레드가 구독을 마치면 완료한다
+    private final ConcurrentHashMap<String, CompletableFuture<Void>> subscriptions = new ConcurrentHashMap<>();
+    // 실제로 구독 중인 방 채널, flusher 스레드에서만 접근한다
+    private final Set<String> subscribedChannels = new HashSet<>();
+    private final AtomicBoolean sharedSubscribed = new AtomicBoolean();
+
+    // 채널별 발행 대기 메시지, pending 으로 동기화
+    private final Map<String, Batch> pending = new LinkedHashMap<>();
+    private final ScheduledExecutorService flusher;
+
+    public RoomPubSubStore(
+            RedisMessageListenerContainer container,
+            RedisConnectionFactory connectionFactory,
+            Long nodeId,
+            Duration flushInterval,
+            int maxBatchBytes) {
+        this(container, connectionFactory, nodeId, maxBatchBytes, Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "socketio-pubsub-flush");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        long intervalMicros = Math.max(100, flushInterval.toNanos() / 1_000);
+        flusher.scheduleWithFixedDelay(this::flush, intervalMicros, intervalMicros, TimeUnit.MICROSECONDS);
+    }
+
+    RoomPubSubStore(
+            RedisMessageListenerContainer container,
+            RedisConnectionFactory connectionFactory,
+            Long nodeId,
+            int maxBatchBytes,
+            ScheduledExecutorService flusher) {
+        this.container = container;
+        this.connectionFactory = connectionFactory;
+        this.nodeId = nodeId;
+        this.maxBatchBytes = Math.max(1, maxBatchBytes);
+        this.flusher = flusher;
+    }
+
+    @Override
+    public void publish(PubSubType type, PubSubMessage message) {
+        message.setNodeId(nodeId);
+        switch (type) {
+            case DISPATCH -> {
+                DispatchMessage dispatch = (DispatchMessage) message;
+                String room = dispatch.getRoom();
+                enqueue(isShared(room) ? SHARED_CHANNEL : roomChannel(dispatch.getNamespace(), room), type, message);
+            }
+            case JOIN -> {
+                JoinLeaveMessage join = (JoinLeaveMessage) message;
+                join(join.getNamespace(), join.getRoom(), join.getSessionId());
+            }
+            case BULK_JOIN -> {
+                BulkJoinLeaveMessage join = (BulkJoinLeaveMessage) message;
+                join.getRooms().forEach(room -> join(join.getNamespace(), room, join.getSessionId()));
+            }
+            case LEAVE -> {
+                JoinLeaveMessage leave = (JoinLeaveMessage) message;
+                leave(leave.getNamespace(), leave.getRoom(), leave.getSessionId());
+            }
+            case BULK_LEAVE -> {
+                BulkJoinLeaveMessage leave = (BulkJoinLeaveMessage) message;
+                leave.getRooms().forEach(room -> leave(leave.getNamespace(), room, leave.getSessionId()));
+            }
+            case CONNECT, DISCONNECT -> {
+                // 세션이 한 노드에 고정되어 다른 노드에 알릴 필요가 없다
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T extends PubSubMessage> void subscribe(PubSubType type, PubSubListener<T> listener, Class<T> clazz) {
+        listeners.put(type, (PubSubListener<PubSubMessage>) listener);
+        if (type == PubSubType.DISPATCH && sharedSubscribed.compareAndSet(false, true)) {
+            container.addMessageListener(messageListener, new ChannelTopic(SHARED_CHANNEL));
+        }
+    }
+
+    @Override
+    public void unsubscribe(PubSubType type) {
+        listeners.remove(type);
+    }
+
+    @Override
+    public void shutdown() {
+        flusher.shutdown();
+        try {
+            flusher.awaitTermination(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        container.removeMessageListener(messageListener);
+        localMembers.clear();
+        subscriptions.values().forEach(ready -> ready.complete(null));
+        subscriptions.clear();
+    }
+
+    /**
+     * 이 노드에서 구독 중인 방 채널 수
+     */
+    public int subscribedRoomCount() {
+        return localMembers.size();
+    }
+
+    /**
+     * 대기 중인 메시지를 채널별 프레임으로 묶어 발행한다. flusher 스레드에서만 호출한다.
+     */
+    void flush() {
+        Map<String, Batch> batches;
+        synchronized (pending) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batches = new LinkedHashMap<>(pending);
+            pending.clear();
+        }
+
+        RedisConnection connection = connectionFactory.getConnection();
+        try {
+            connection.openPipeline();
+            batches.forEach((channel, batch) -> connection.publish(
+                    channel.getBytes(StandardCharsets.UTF_8), PubSubMessageCodec.frame(nodeId, batch.messages)));
+            connection.closePipeline();
+        } catch (Exception e) {
+            log.warn("Socket.IO pub/sub flush failed - channels: {}", batches.size(), e);
+        } finally {
+            connection.close();
+        }
+    }
+
+    void onMessage(Message message, byte[] pattern) {
+        byte[] body = message.getBody();
+        if (PubSubMessageCodec.nodeIdOf(body) == nodeId) {
+            return;
+        }
+        try {
+            PubSubMessageCodec.Frame frame = PubSubMessageCodec.unframe(body);
+            for (byte[] encoded : frame.messages()) {
+                PubSubMessageCodec.Decoded decoded = codec.decode(encoded, frame.nodeId());
+                PubSubListener<PubSubMessage> listener = listeners.get(decoded.type());
+                if (listener != null) {
+                    listener.onMessage(decoded.message());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Socket.IO pub/sub message handling failed - channel: {}",
+                    new String(message.getChannel(), StandardCharsets.UTF_8), e);
+        }
+    }
+
+    private void enqueue(String channel, PubSubType type, PubSubMessage message) {
+        byte[] encoded;
+        try {
+            encoded = codec.encode(type, message);
+        } catch (Exception e) {
+            log.warn("Socket.IO pub/sub encoding failed - type: {}, channel: {}", type, channel, e);
+            return;
+        }
+
+        boolean full;
+        synchronized (pending) {
+            Batch batch = pending.computeIfAbsent(channel, k -> new Batch());
+            batch.messages.add(encoded);
+            batch.bytes += encoded.length;
+            full = batch.bytes >= maxBatchBytes;
+        }
+        if (full) {
+            flusher.execute(this::flush);
+        }
+    }
+
+    // 참여자 목록과 구독 완료 신호만 잠금 안에서 바꾸고, 구독은 flusher 스레드에 맡긴 뒤 끝날 때까지 기다린다
+    private void join(String namespace, String room, UUID sessionId) {
+        if (isShared(room)) {
+            return;
+        }
+        String channel = roomChannel(namespace, room);
+        List<CompletableFuture<Void>> ready = new ArrayList<>(1);
+        localMembers.compute(channel, (key, members) -> {
+            if (members == null) {
+                members = ConcurrentHashMap.newKeySet();
+            }
+            members.add(sessionId);
+            ready.add(subscriptions.computeIfAbsent(key, k -> new CompletableFuture<>()));
+            return members;
+        });
+        if (ready.getFirst().isDone()) {
+            return;
+        }
+        try {
+            flusher.execute(() -> syncSubscription(channel));
+            ready.getFirst().get(SUBSCRIBE_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Socket.IO room channel subscribe not confirmed - channel: {}", channel, e);
+        }
+    }
+
+    private void leave(String namespace, String room, UUID sessionId) {
+        if (isShared(room)) {
+            return;
+        }
+        String channel = roomChannel(namespace, room);
+        boolean[] emptied = new boolean[1];
+        localMembers.computeIfPresent(channel, (key, members) -> {
+            members.remove(sessionId);
+            if (!members.isEmpty()) {
+                return members;
+            }
+            // 다음 입장은 새 신호를 만들어 해제 뒤의 재구독을 기다린다
+            subscriptions.remove(key);
+            emptied[0] = true;
+            return null;
+        });
+        if (emptied[0]) {
+            try {
+                flusher.execute(() -> syncSubscription(channel));
+            } catch (RejectedExecutionException e) {
+                log.debug("Socket.IO room channel unsubscribe skipped after shutdown - channel: {}", channel);
+            }
+        }
+    }
+
+    /**
+     * 방 채널 구독을 현재 로컬 참여자 유무에 맞춘다.
+     * flusher 스레드에서만 호출되어 구독/해제가 엇갈리지 않고, 참여자가 바뀔 때마다 다시 호출되므로 마지막 상태로 수렴한다.
+     */
+    private void syncSubscription(String channel) {
+        boolean wanted = localMembers.containsKey(channel);
+        try {
+            if (wanted && subscribedChannels.add(channel)) {
+                container.addMessageListener(messageListener, new ChannelTopic(channel));
+            } else if (!wanted && subscribedChannels.remove(channel)) {
+                container.removeMessageListener(messageListener, new ChannelTopic(channel));
+            }
+        } catch (Exception e) {
+            log.warn("Socket.IO room channel subscription change failed - channel: {}, subscribe: {}", channel, wanted, e);
+            if (wanted) {
+                // 다음 입장이 다시 구독을 시도하도록 되돌린다
+                subscribedChannels.remove(channel);
+                CompletableFuture<Void> ready = subscriptions.remove(channel);
+                if (ready != null) {
+                    ready.completeExceptionally(e);
+                }
+            }
+            return;
+        }
+        CompletableFuture<Void> ready = wanted ? subscriptions.get(channel) : null;
+        if (ready != null) {
+            ready.complete(null);
+        }
+    }
+
+    static boolean isShared(String room) {
+        return room != null && (room.startsWith(USER_ROOM_PREFIX) || room.equals(ROOM_LIST_ROOM));
+    }
+
+    static String roomChannel(String namespace, String room) {
+        return ROOM_CHANNEL_PREFIX + (namespace != null ? namespace : "") + ":" + room;
+    }
+
+    private static final class Batch {
+        private final List<byte[]> messages = new ArrayList<>();
+        private int bytes;
+    }
+}
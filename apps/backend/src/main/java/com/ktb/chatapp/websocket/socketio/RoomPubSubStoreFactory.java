@@ -0,0 +1,72 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.store.MemoryStore;
+import com.corundumstudio.socketio.store.Store;
+import com.corundumstudio.socketio.store.pubsub.BaseStoreFactory;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/**
+ * RedissonStoreFactory 대체 클러스터 StoreFactory
+ * - 방송은 RoomPubSubStore 의 방 단위 채널로 전달한다.
+ * - 클라이언트 저장소(client.set/get)는 노드 로컬 MemoryStore 를 쓴다.
+ *   WebSocket 세션은 한 노드에 고정되므로 이벤트마다 Redis 를 왕복할 필요가 없다.
+ * - 수신 메시지는 단일 스레드에서 처리해 방 채널 내 순서를 유지한다.
+ */
+@Slf4j
+public class RoomPubSubStoreFactory extends BaseStoreFactory {
+
+    private final RedisMessageListenerContainer container;
+    private final ExecutorService listenerExecutor;
+    private final RoomPubSubStore pubSubStore;
+
+    public RoomPubSubStoreFactory(RedisConnectionFactory connectionFactory, Duration flushInterval, int maxBatchBytes) {
+        this.listenerExecutor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "socketio-pubsub-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(listenerExecutor);
+        container.afterPropertiesSet();
+        container.start();
+        this.pubSubStore = new RoomPubSubStore(container, connectionFactory, getNodeId(), flushInterval, maxBatchBytes);
+        log.info("RoomPubSubStoreFactory initialized - nodeId: {}, flushInterval: {}ms, maxBatchBytes: {}",
+                getNodeId(), flushInterval.toMillis(), maxBatchBytes);
+    }
+
+    @Override
+    public Store createStore(UUID sessionId) {
+        return new MemoryStore();
+    }
+
+    @Override
+    public PubSubStore pubSubStore() {
+        return pubSubStore;
+    }
+
+    @Override
+    public <K, V> Map<K, V> createMap(String name) {
+        return new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public void shutdown() {
+        pubSubStore.shutdown();
+        try {
+            container.destroy();
+        } catch (Exception e) {
+            log.warn("Failed to stop Socket.IO pub/sub listener container", e);
+        }
+        listenerExecutor.shutdown();
+    }
+}
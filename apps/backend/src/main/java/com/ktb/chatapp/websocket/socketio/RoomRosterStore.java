@@ -0,0 +1,42 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.ktb.chatapp.dto.UserResponse;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 방별 참가자 명단(프로필) 캐시
+ * - 입장/퇴장마다 전체 참가자를 다시 조회하지 않도록 방 단위로 프로필을 보관하고,
+ *   변경마다 버전을 올려 클라이언트가 delta 이벤트의 누락 여부를 판단할 수 있게 한다.
+ * - 버전은 명단이 만료되어 다시 채워져도 줄어들지 않는다.
+ */
+public interface RoomRosterStore {
+
+    /**
+     * 캐시된 명단을 반환한다. 캐시되어 있지 않으면 empty.
+     */
+    Optional<Roster> find(String roomId);
+
+    /**
+     * 명단이 캐시되어 있지 않을 때만 채운다. 동시에 여러 노드가 채우려 해도 먼저 채운 명단이 유지된다.
+     */
+    void seedIfAbsent(String roomId, Collection<UserResponse> participants);
+
+    /**
+     * 참가자를 추가하고 버전을 올린다.
+     *
+     * @return 갱신된 버전, 명단이 캐시되어 있지 않으면 0
+     */
+    long add(String roomId, UserResponse participant);
+
+    /**
+     * 참가자를 제거하고 버전을 올린다. 명단이 캐시되어 있지 않아도 버전은 올린다.
+     *
+     * @return 갱신된 버전
+     */
+    long remove(String roomId, String userId);
+
+    record Roster(long version, List<UserResponse> participants) {
+    }
+}
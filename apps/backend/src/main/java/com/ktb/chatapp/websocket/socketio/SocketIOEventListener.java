@@ -2,6 +2,7 @@ package com.ktb.chatapp.websocket.socketio;
 
 import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.event.*;
+import java.util.HashMap;
 import java.util.Map;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -18,6 +19,7 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 public class SocketIOEventListener {
 
     private final SocketIOServer socketIOServer;
+    private final RoomBroadcaster roomBroadcaster;
 
     @EventListener
     public void handleSessionEndedEvent(SessionEndedEvent event) {
@@ -61,8 +63,7 @@ public class SocketIOEventListener {
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_START, data);
+            roomBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_START, data);
             log.info("aiMessageStart 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getMessageId());
         } catch (Exception e) {
@@ -73,14 +74,20 @@ public class SocketIOEventListener {
     @EventListener
     public void handleAiMessageChunkEvent(AiMessageChunkEvent event) {
         try {
-            Map<String, Object> data = Map.of(
-                "messageId", event.getMessageId(),
-                "fullContent", event.getFullContent(),
-                "isCodeBlock", event.isCodeBlock(),
-                "isComplete", false
-            );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_CHUNK, data);
+            // 청크마다 누적 전체 내용을 보내면 응답 길이에 대해 O(n²) 바이트가 되므로 delta 만 전송
+            Map<String, Object> data = new HashMap<>();
+            data.put("roomId", event.getRoomId());
+            data.put("messageId", event.getMessageId());
+            data.put("seq", event.getSequence());
+            data.put("fromSeq", event.getFromSequence());
+            data.put("offset", event.getOffset());
+            data.put("currentChunk", event.getDelta());
+            data.put("isCodeBlock", event.isCodeBlock());
+            data.put("isComplete", false);
+            if (event.getFullContent() != null) {
+                data.put("fullContent", event.getFullContent());
+            }
+            roomBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_CHUNK, data);
         } catch (Exception e) {
             log.error("aiMessageChunk 이벤트 발송 실패: roomId={}", event.getRoomId(), e);
         }
@@ -90,14 +97,16 @@ public class SocketIOEventListener {
     public void handleAiMessageCompleteEvent(AiMessageSavedEvent event) {
         
         try {
-            Map<String, Object> data = Map.of(
+            Map<String, Object> data = new HashMap<>(Map.of(
                 "_id", event.getSavedMessageId(),
                 "content", event.getContent(),
                 "aiType", event.getAiType(),
                 "timestamp", event.getStartTime()
-            );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_COMPLETE, data);
+            ));
+            if (event.getSeq() != null) {
+                data.put("seq", event.getSeq());
+            }
+            roomBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_COMPLETE, data);
             log.info("aiMessageComplete 이벤트 발송: roomId={}, messageId={}",
                     event.getRoomId(), event.getSavedMessageId());
         } catch (Exception e) {
@@ -113,8 +122,7 @@ public class SocketIOEventListener {
                 "error", event.getErrorMessage(),
                 "aiType", event.getAiType()
             );
-            socketIOServer.getRoomOperations(event.getRoomId())
-                    .sendEvent(AI_MESSAGE_ERROR, data);
+            roomBroadcaster.sendToRoom(event.getRoomId(), AI_MESSAGE_ERROR, data);
             log.error("aiMessageError 이벤트 발송: roomId={}, messageId={}, error={}",
                     event.getRoomId(), event.getMessageId(), event.getErrorMessage());
         } catch (Exception e) {
@@ -0,0 +1,142 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.AuthTokenListener;
+import com.corundumstudio.socketio.AuthTokenResult;
+import com.corundumstudio.socketio.listener.DataListener;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.channel.EventLoopGroup;
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Socket.IO 이벤트/연결 계측
+ * - @OnEvent 리스너마다 socketio.event.duration 타이머(event, outcome)와 socketio.event.inflight 게이지(event)를 둔다.
+ *   타이머 count 가 이벤트별 처리량, outcome=error 가 오류 수다. 핸드셰이크 인증은 socketio.auth.duration(result) 으로 잰다.
+ * - 리스너 호출마다 correlation ID 를 만들어 MDC(correlationId)에 넣어 그 이벤트에서 나온 로그를 묶는다.
+ *   ID 는 카디널리티가 무한하므로 메트릭 태그로는 쓰지 않는다.
+ * - 핸들러가 작업을 executor 로 넘기는 경우 타이머는 리스너 스레드에서 걸린 시간만 잰다.
+ *   chatMessageExecutor/socketMessageExecutor 는 MdcPropagatingExecutor 로 감싸 있어 correlation ID 는 작업 스레드까지 따라간다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class SocketIOEventMetrics {
+
+    public static final String CORRELATION_ID = "correlationId";
+
+    private final MeterRegistry meterRegistry;
+
+    public SocketIOEventMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * 리스너를 이벤트별 타이머/in-flight 게이지와 correlation ID 로 감싼다.
+     * 리스너 예외는 그대로 던져 netty-socketio ExceptionListener 가 처리하게 한다.
+     */
+    public <T> DataListener<T> instrument(String event, DataListener<T> listener) {
+        Timer success = eventTimer(event, "success");
+        Timer error = eventTimer(event, "error");
+        AtomicInteger inflight = new AtomicInteger();
+        Gauge.builder("socketio.event.inflight", inflight, AtomicInteger::get)
+                .description("처리 중인 Socket.IO 이벤트 수")
+                .tag("event", event)
+                .register(meterRegistry);
+
+        return (client, data, ackRequest) -> {
+            String previous = MDC.get(CORRELATION_ID);
+            MDC.put(CORRELATION_ID, newCorrelationId());
+            inflight.incrementAndGet();
+            long start = System.nanoTime();
+            Timer timer = error;
+            try {
+                listener.onData(client, data, ackRequest);
+                timer = success;
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                inflight.decrementAndGet();
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * 핸드셰이크 인증을 결과(success/rejected/error)별 타이머와 correlation ID 로 감싼다.
+     */
+    public AuthTokenListener instrument(AuthTokenListener listener) {
+        Timer success = authTimer("success");
+        Timer rejected = authTimer("rejected");
+        Timer error = authTimer("error");
+
+        return (authToken, client) -> {
+            String previous = MDC.get(CORRELATION_ID);
+            MDC.put(CORRELATION_ID, newCorrelationId());
+            long start = System.nanoTime();
+            Timer timer = error;
+            try {
+                AuthTokenResult result = listener.getAuthTokenResult(authToken, client);
+                timer = result != null && result.isSuccess() ? success : rejected;
+                return result;
+            } finally {
+                timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * 이벤트 루프마다 처리 대기 중인 작업 수를 netty.eventloop.pending.tasks(group, loop) 게이지로 등록한다.
+     * 리스너나 방송이 이벤트 루프를 막으면 이 값이 쌓인다.
+     */
+    public void monitorEventLoops(String group, EventLoopGroup eventLoopGroup) {
+        int index = 0;
+        for (EventExecutor executor : eventLoopGroup) {
+            if (executor instanceof SingleThreadEventExecutor loop) {
+                Gauge.builder("netty.eventloop.pending.tasks", loop, SingleThreadEventExecutor::pendingTasks)
+                        .description("Netty 이벤트 루프 대기 작업 수")
+                        .tag("group", group)
+                        .tag("loop", String.valueOf(index))
+                        .register(meterRegistry);
+            }
+            index++;
+        }
+        log.info("Monitoring {} Netty event loops in {} group", index, group);
+    }
+
+    private Timer eventTimer(String event, String outcome) {
+        return Timer.builder("socketio.event.duration")
+                .description("Socket.IO 이벤트 리스너 처리 시간")
+                .tag("event", event)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private Timer authTimer(String result) {
+        return Timer.builder("socketio.auth.duration")
+                .description("Socket.IO 핸드셰이크 인증 처리 시간")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    // 이벤트마다 만들므로 SecureRandom 을 쓰는 UUID 대신 스레드 로컬 난수를 쓴다
+    static String newCorrelationId() {
+        return Long.toHexString(ThreadLocalRandom.current().nextLong());
+    }
+
+    private static void restore(String previous) {
+        if (previous != null) {
+            MDC.put(CORRELATION_ID, previous);
+        } else {
+            MDC.remove(CORRELATION_ID);
+        }
+    }
+}
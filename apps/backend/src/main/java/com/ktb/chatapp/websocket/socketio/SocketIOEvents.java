@@ -35,6 +35,12 @@ public final class SocketIOEvents {
      */
     public static final String FETCH_PREVIOUS_MESSAGES = "fetchPreviousMessages";
 
+    /**
+     * 누락된 메시지 동기화 요청
+     * Payload: { roomId, lastSeq }
+     */
+    public static final String SYNC_ROOM = "syncRoom";
+
     /**
      * 메시지 읽음 처리
      * Payload: { roomId, messageIds }
@@ -46,6 +52,12 @@ public final class SocketIOEvents {
      * Payload: { messageId, reaction, type }
      */
     public static final String MESSAGE_REACTION = "messageReaction";
+
+    /**
+     * 참가자 명단 전체 요청 (participantJoined/participantLeft 의 버전이 이어지지 않을 때)
+     * Payload: roomId (String)
+     */
+    public static final String FETCH_PARTICIPANTS = "fetchParticipants";
     
     // ============================================
     // Server → Client Events (전송 이벤트)
@@ -87,10 +99,34 @@ public final class SocketIOEvents {
     public static final String MESSAGE_LOAD_START = "messageLoadStart";
 
     /**
-     * 참가자 업데이트
-     * Payload: List<UserDto>
+     * 참가자 입장 (명단 delta)
+     * Payload: { roomId, version, user }
+     */
+    public static final String PARTICIPANT_JOINED = "participantJoined";
+
+    /**
+     * 참가자 퇴장 (명단 delta)
+     * Payload: { roomId, version, userId }
+     */
+    public static final String PARTICIPANT_LEFT = "participantLeft";
+
+    /**
+     * 참가자 명단 전체 (fetchParticipants 응답)
+     * Payload: { roomId, version, participants }
+     */
+    public static final String PARTICIPANTS_SNAPSHOT = "participantsSnapshot";
+
+    /**
+     * 재접속 시 참여 중이던 방 상태 일괄 복원
+     * Payload: { rooms: JoinRoomSuccessResponse[], failed: string[] }
+     */
+    public static final String ROOMS_RESTORED = "roomsRestored";
+
+    /**
+     * syncRoom 응답, lastSeq 이후의 메시지
+     * Payload: { roomId, messages, lastSeq, hasMore }
      */
-    public static final String PARTICIPANTS_UPDATE = "participantsUpdate";
+    public static final String ROOM_SYNCED = "roomSynced";
 
     /**
      * 채팅방 생성 알림
@@ -153,7 +189,7 @@ public final class SocketIOEvents {
 
     /**
      * AI 스트리밍 청크
-     * Payload: { messageId, currentChunk, fullContent, isCodeBlock, timestamp, aiType, isComplete }
+     * Payload: { roomId, messageId, seq, fromSeq, offset, currentChunk, fullContent, isCodeBlock, isComplete }
      */
     public static final String AI_MESSAGE_CHUNK = "aiMessageChunk";
 
@@ -0,0 +1,125 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * AI 토큰 스트림 병합기
+ * - 토큰마다 Socket.IO emit(클러스터 모드에서는 Redis pub/sub)이 발생하지 않도록
+ *   maxDelay 또는 maxChars 중 먼저 도달하는 시점에 토큰을 묶어서 내보낸다.
+ * - 설정은 ai.stream.coalesce.* 기본값에 ai.stream.coalesce.{wayne-ai|consulting-ai}.* 로 AI 타입별 override 가능
+ *   (max-delay-ms=0 이면 병합하지 않음)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiChunkCoalescer {
+
+    private static final String PREFIX = "ai.stream.coalesce.";
+
+    private final Map<AiType, Settings> settings = new EnumMap<>(AiType.class);
+    private final MeterRegistry meterRegistry;
+
+    public AiChunkCoalescer(
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${ai.stream.coalesce.max-delay-ms:50}") long defaultMaxDelayMs,
+            @Value("${ai.stream.coalesce.max-chars:256}") int defaultMaxChars) {
+        this.meterRegistry = meterRegistry;
+        for (AiType aiType : AiType.values()) {
+            String key = PREFIX + aiType.name().toLowerCase(Locale.ROOT).replace('_', '-');
+            Settings typeSettings = new Settings(
+                    Duration.ofMillis(environment.getProperty(key + ".max-delay-ms", Long.class, defaultMaxDelayMs)),
+                    environment.getProperty(key + ".max-chars", Integer.class, defaultMaxChars));
+            settings.put(aiType, typeSettings);
+            log.info("AI stream coalescing - aiType: {}, maxDelay: {}ms, maxChars: {}",
+                    aiType, typeSettings.maxDelay().toMillis(), typeSettings.maxChars());
+        }
+    }
+
+    public Settings settingsFor(AiType aiType) {
+        return settings.get(aiType);
+    }
+
+    /**
+     * 토큰 스트림을 병합된 텍스트 스트림으로 변환한다.
+     * 병합 묶음 경계에 걸친 코드 블록 마커(```)는 AiService 의 CodeBlockState 가 이어서 판정한다.
+     */
+    public Flux<String> coalesce(Flux<String> tokens, AiType aiType) {
+        Settings typeSettings = settings.get(aiType);
+        String tag = aiType.name().toLowerCase(Locale.ROOT);
+        DistributionSummary emitsPerAnswer = DistributionSummary.builder("ai.stream.emits")
+                .description("AI 응답 1건당 Socket.IO emit 수")
+                .tag("aiType", tag)
+                .register(meterRegistry);
+        Timer tokenLatency = Timer.builder("ai.stream.token.latency")
+                .description("토큰 수신부터 emit 까지 지연 (병합 묶음 내 가장 오래된 토큰 기준)")
+                .tag("aiType", tag)
+                .register(meterRegistry);
+
+        return Flux.defer(() -> {
+            AtomicLong emits = new AtomicLong();
+            Flux<String> merged = typeSettings.enabled()
+                    ? merge(tokens.map(Token::of), typeSettings, tokenLatency)
+                    : tokens.doOnNext(token -> tokenLatency.record(0, TimeUnit.NANOSECONDS));
+
+            return merged
+                    .doOnNext(chunk -> emits.incrementAndGet())
+                    .doFinally(signal -> emitsPerAnswer.record(emits.get()));
+        });
+    }
+
+    private Flux<String> merge(Flux<Token> tokens, Settings typeSettings, Timer tokenLatency) {
+        // 아직 내보내지 않은 묶음의 글자 수. 크기/시간 어느 쪽으로 flush 되든 내보낸 묶음만큼 뺀다
+        AtomicInteger pendingChars = new AtomicInteger();
+
+        // 글자 수 한도에서 window 를 끊고, window 안에서는 maxDelay 마다 flush
+        return tokens
+                .windowUntil(token -> pendingChars.addAndGet(token.text().length()) >= typeSettings.maxChars())
+                .concatMap(window -> window.bufferTimeout(Integer.MAX_VALUE, typeSettings.maxDelay()))
+                .filter(batch -> !batch.isEmpty())
+                .map(batch -> {
+                    String chunk = join(batch, tokenLatency);
+                    pendingChars.addAndGet(-chunk.length());
+                    return chunk;
+                });
+    }
+
+    private String join(List<Token> batch, Timer tokenLatency) {
+        tokenLatency.record(System.nanoTime() - batch.getFirst().receivedAtNanos(), TimeUnit.NANOSECONDS);
+        if (batch.size() == 1) {
+            return batch.getFirst().text();
+        }
+        StringBuilder sb = new StringBuilder();
+        batch.forEach(token -> sb.append(token.text()));
+        return sb.toString();
+    }
+
+    public record Settings(Duration maxDelay, int maxChars) {
+        boolean enabled() {
+            return !maxDelay.isZero() && !maxDelay.isNegative() && maxChars > 1;
+        }
+    }
+
+    private record Token(String text, long receivedAtNanos) {
+        static Token of(String text) {
+            return new Token(text, System.nanoTime());
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageStartEvent;
+import com.ktb.chatapp.event.RoomScopedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+/**
+ * AI 이벤트 버스
+ * - AI 토큰을 전달하는 Reactor 스레드에서 Socket.IO emit(클러스터 모드의 Redisson pub/sub 포함)과
+ *   메시지 저장이 실행되지 않도록, 이벤트를 lane 별 전용 스레드에서 ApplicationEventPublisher 로 전달한다.
+ * - 방 ID 로 lane 을 고르므로 같은 방의 이벤트(start → chunk… → complete/error)는 발행 순서대로 전달된다.
+ * - lane 마다 크기가 제한된 버퍼를 두고, 가득 찼을 때 청크 이벤트는 overflow-policy 에 따라 처리한다.
+ *   MERGE: 같은 메시지의 가장 최근 대기 청크에 delta 를 이어붙인다 (seq 는 마지막 순번, 내용 손실 없음)
+ *          이어붙일 청크가 없으면 DROP 과 같이 버린다.
+ *   DROP : 새 청크를 버린다. 클라이언트는 주기적인 fullContent snapshot 으로 복구한다.
+ *   시작/완료/오류 이벤트는 버리면 스트림이 끝나지 않으므로 한도와 무관하게 항상 받는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiEventBus {
+
+    public enum OverflowPolicy {
+        MERGE,
+        DROP
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final OverflowPolicy overflowPolicy;
+    private final int laneCapacity;
+    private final Lane[] lanes;
+    private final Counter mergedCounter;
+    private final Counter droppedCounter;
+
+    public AiEventBus(
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${ai.event-bus.lanes:8}") int laneCount,
+            @Value("${ai.event-bus.lane-capacity:1024}") int laneCapacity,
+            @Value("${ai.event-bus.overflow-policy:merge}") String overflowPolicy) {
+        this.eventPublisher = eventPublisher;
+        this.overflowPolicy = OverflowPolicy.valueOf(overflowPolicy.trim().toUpperCase(Locale.ROOT));
+        this.laneCapacity = Math.max(1, laneCapacity);
+        this.lanes = new Lane[Math.max(1, laneCount)];
+        for (int i = 0; i < lanes.length; i++) {
+            lanes[i] = new Lane(i);
+            lanes[i].worker.start();
+        }
+
+        Gauge.builder("ai.event-bus.queued", this, AiEventBus::queuedCount)
+                .description("AI 이벤트 버스 대기 이벤트 수")
+                .register(meterRegistry);
+        this.mergedCounter = Counter.builder("ai.event-bus.overflow")
+                .description("lane 이 가득 차 병합/폐기된 청크 이벤트 수")
+                .tag("result", "merged")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("ai.event-bus.overflow")
+                .description("lane 이 가득 차 병합/폐기된 청크 이벤트 수")
+                .tag("result", "dropped")
+                .register(meterRegistry);
+        log.info("AI event bus - lanes: {}, capacity: {}, overflow: {}", lanes.length, this.laneCapacity, this.overflowPolicy);
+    }
+
+    /**
+     * 이벤트를 방 lane 에 넣는다. 호출 스레드를 막지 않는다.
+     */
+    public void publish(ApplicationEvent event) {
+        String roomId = event instanceof RoomScopedEvent scoped ? scoped.getRoomId() : null;
+        lanes[Math.floorMod(Objects.hashCode(roomId), lanes.length)].offer(event);
+    }
+
+    public int queuedCount() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.size();
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.worker.interrupt();
+        }
+    }
+
+    private void dispatch(ApplicationEvent event) {
+        try {
+            eventPublisher.publishEvent(event);
+        } catch (Exception e) {
+            log.error("AI event dispatch failed - event: {}", event.getClass().getSimpleName(), e);
+        }
+    }
+
+    private final class Lane {
+        private final ArrayDeque<ApplicationEvent> buffer = new ArrayDeque<>();
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition notEmpty = lock.newCondition();
+        private final Thread worker;
+
+        private Lane(int index) {
+            this.worker = new Thread(this::run, "ai-event-lane-" + index);
+            this.worker.setDaemon(true);
+        }
+
+        void offer(ApplicationEvent event) {
+            lock.lock();
+            try {
+                if (buffer.size() >= laneCapacity && event instanceof AiMessageChunkEvent chunk) {
+                    handleOverflow(chunk);
+                    return;
+                }
+                buffer.addLast(event);
+                notEmpty.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            lock.lock();
+            try {
+                return buffer.size();
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void handleOverflow(AiMessageChunkEvent chunk) {
+            if (overflowPolicy == OverflowPolicy.MERGE && mergeIntoLatest(chunk)) {
+                mergedCounter.increment();
+                return;
+            }
+            droppedCounter.increment();
+            log.debug("AI chunk event dropped - room: {}, messageId: {}, seq: {}",
+                    chunk.getRoomId(), chunk.getMessageId(), chunk.getSequence());
+        }
+
+        // 같은 메시지의 가장 최근 대기 이벤트가 청크면 그 자리에서 이어붙인다.
+        // 그 뒤에는 같은 메시지의 이벤트가 없으므로 메시지 내 순서는 유지된다.
+        private boolean mergeIntoLatest(AiMessageChunkEvent chunk) {
+            ArrayDeque<ApplicationEvent> after = new ArrayDeque<>();
+            boolean merged = false;
+            while (!buffer.isEmpty()) {
+                ApplicationEvent queued = buffer.pollLast();
+                if (Objects.equals(messageKey(queued), messageKey(chunk))) {
+                    if (queued instanceof AiMessageChunkEvent previous) {
+                        queued = merge(previous, chunk);
+                        merged = true;
+                    }
+                    buffer.addLast(queued);
+                    break;
+                }
+                after.addFirst(queued);
+            }
+            buffer.addAll(after);
+            return merged;
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                ApplicationEvent event;
+                lock.lock();
+                try {
+                    while (buffer.isEmpty()) {
+                        notEmpty.await();
+                    }
+                    event = buffer.pollFirst();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                } finally {
+                    lock.unlock();
+                }
+                dispatch(event);
+            }
+        }
+    }
+
+    private static String messageKey(ApplicationEvent event) {
+        String messageId = switch (event) {
+            case AiMessageChunkEvent e -> e.getMessageId();
+            case AiMessageStartEvent e -> e.getMessageId();
+            case AiMessageCompleteEvent e -> e.getMessageId();
+            case AiMessageErrorEvent e -> e.getMessageId();
+            default -> null;
+        };
+        return messageId != null ? ((RoomScopedEvent) event).getRoomId() + ":" + messageId : null;
+    }
+
+    /**
+     * 합친 청크는 previous 의 시작 순번/위치부터 next 의 순번까지를 덮는다.
+     * 범위 중간 순번의 스냅샷으로 이어받은 참여자는 offset 으로 겹치는 앞부분을 잘라 중복 없이 붙인다.
+     */
+    static AiMessageChunkEvent merge(AiMessageChunkEvent previous, AiMessageChunkEvent next) {
+        String fullContent = next.getFullContent();
+        if (fullContent == null && previous.getFullContent() != null) {
+            fullContent = previous.getFullContent() + next.getDelta();
+        }
+        return new AiMessageChunkEvent(
+                next.getSource(), next.getRoomId(), next.getMessageId(),
+                previous.getFromSequence(), next.getSequence(), previous.getOffset(),
+                previous.getDelta() + next.getDelta(), fullContent, next.isCodeBlock());
+    }
+}
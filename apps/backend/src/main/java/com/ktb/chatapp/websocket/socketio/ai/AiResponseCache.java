@@ -0,0 +1,155 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * AI 응답 캐시
+ * - (AI 타입, 정규화된 질문, 모델, temperature) 가 같으면 완료된 응답을 재사용해 ChatClient 호출을 생략한다.
+ * - 캐시 적중 시 저장된 응답을 일정 크기/간격으로 잘라 일반 스트리밍과 같은 청크 경로로 재생한다.
+ * - 캐시 장애는 미스로 처리하여 AI 응답 자체는 항상 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiResponseCache {
+
+    public static final String CACHE_NAME = "aiResponse";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern TRAILING_PUNCTUATION = Pattern.compile("[\\s?!.~]+$");
+
+    private final CacheManager cacheManager;
+    private final boolean enabled;
+    private final String model;
+    private final String temperature;
+    private final int replayChunkChars;
+    private final Duration replayInterval;
+    private final Counter hitCounter;
+    private final Counter missCounter;
+
+    public AiResponseCache(
+            CacheManager cacheManager,
+            MeterRegistry meterRegistry,
+            @Value("${ai.response-cache.enabled:true}") boolean enabled,
+            @Value("${spring.ai.openai.chat.options.model:}") String model,
+            @Value("${spring.ai.openai.chat.options.temperature:}") String temperature,
+            @Value("${ai.response-cache.replay-chunk-chars:32}") int replayChunkChars,
+            @Value("${ai.response-cache.replay-interval-ms:30}") long replayIntervalMs) {
+        this.cacheManager = cacheManager;
+        this.enabled = enabled;
+        this.model = model;
+        this.temperature = temperature;
+        this.replayChunkChars = Math.max(1, replayChunkChars);
+        this.replayInterval = Duration.ofMillis(Math.max(0, replayIntervalMs));
+        this.hitCounter = Counter.builder("ai.response.cache")
+                .description("AI 응답 캐시 조회 결과")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ai.response.cache")
+                .description("AI 응답 캐시 조회 결과")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    public Optional<String> get(AiType aiType, String query) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            String cached = cache != null ? cache.get(key(aiType, query), String.class) : null;
+            if (cached != null) {
+                hitCounter.increment();
+                return Optional.of(cached);
+            }
+        } catch (Exception e) {
+            log.debug("AI 응답 캐시 조회 실패 - aiType: {}", aiType, e);
+        }
+        missCounter.increment();
+        return Optional.empty();
+    }
+
+    /**
+     * 이미 캐시된 응답은 덮어쓰지 않는다. 재생된 응답이 다시 저장되며 TTL 이 계속 연장되는 것을 막는다.
+     */
+    public void put(AiType aiType, String query, String content) {
+        if (!enabled || aiType == null || content == null || content.isBlank()) {
+            return;
+        }
+        try {
+            Cache cache = cacheManager.getCache(CACHE_NAME);
+            if (cache != null) {
+                cache.putIfAbsent(key(aiType, query), content);
+            }
+        } catch (Exception e) {
+            log.debug("AI 응답 캐시 저장 실패 - aiType: {}", aiType, e);
+        }
+    }
+
+    /**
+     * 캐시된 응답을 replayChunkChars 단위로 잘라 replayInterval 간격으로 내보낸다.
+     */
+    public Flux<String> replay(String content) {
+        Flux<String> chunks = Flux.fromIterable(split(content));
+        return replayInterval.isZero() ? chunks : chunks.delayElements(replayInterval);
+    }
+
+    String key(AiType aiType, String query) {
+        return aiType.name() + ":" + model + ":" + temperature + ":" + sha256(normalize(query));
+    }
+
+    static String normalize(String query) {
+        if (query == null) {
+            return "";
+        }
+        String normalized = Normalizer.normalize(query, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return TRAILING_PUNCTUATION.matcher(normalized).replaceAll("");
+    }
+
+    // 서로게이트 쌍이 잘리지 않도록 code point 단위로 자른다
+    private List<String> split(String content) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        while (start < content.length()) {
+            int end = start;
+            int count = 0;
+            while (end < content.length() && count < replayChunkChars) {
+                end += Character.charCount(content.codePointAt(end));
+                count++;
+            }
+            chunks.add(content.substring(start, end));
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
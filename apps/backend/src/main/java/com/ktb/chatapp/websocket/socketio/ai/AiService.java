@@ -3,14 +3,14 @@ package com.ktb.chatapp.websocket.socketio.ai;
 import com.ktb.chatapp.dto.MessageContent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageSavedEvent;
-import com.ktb.chatapp.event.AiMessageStartEvent;
 import com.ktb.chatapp.model.AiType;
 import com.ktb.chatapp.model.Message;
 import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.UUID;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -31,14 +31,26 @@ public class AiService {
     private final ChatClient chatClient;
     private final ApplicationEventPublisher eventPublisher;
     private final MessageRepository messageRepository;
+    private final RoomRepository roomRepository;
+    private final AiChunkCoalescer chunkCoalescer;
+    private final AiStreamRegistry aiStreamRegistry;
+    private final AiResponseCache responseCache;
 
     public AiService(
             ChatClient.Builder chatClientBuilder,
             ApplicationEventPublisher eventPublisher,
-            MessageRepository messageRepository) {
+            MessageRepository messageRepository,
+            RoomRepository roomRepository,
+            AiChunkCoalescer chunkCoalescer,
+            AiStreamRegistry aiStreamRegistry,
+            AiResponseCache responseCache) {
         this.chatClient = chatClientBuilder.build();
         this.eventPublisher = eventPublisher;
         this.messageRepository = messageRepository;
+        this.roomRepository = roomRepository;
+        this.chunkCoalescer = chunkCoalescer;
+        this.aiStreamRegistry = aiStreamRegistry;
+        this.responseCache = responseCache;
     }
 
     public void handleAIMentions(String roomId, String userId, MessageContent messageContent) {
@@ -50,18 +62,10 @@ public class AiService {
 
     private void startStreaming(String roomId, String userId, String aiType, String query) {
         
-        // AI 스트리밍 세션 생성 - messageId는 타입과 타임스탬프 조합
+        // AI 스트리밍 세션 생성 - 같은 밀리초에 같은 AI 를 여러 번 호출해도 겹치지 않도록 UUID 를 붙인다
         var timestamp = System.currentTimeMillis();
-        String messageId = aiType + "-" + timestamp;
+        String messageId = aiType + "-" + UUID.randomUUID();
 
-        log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
-            messageId, roomId, aiType, query);
-        
-        // AI 스트리밍 시작 이벤트 발행
-        eventPublisher.publishEvent(new AiMessageStartEvent(
-            this, roomId, messageId, aiType, timestamp
-        ));
-        
         // 스트리밍 세션 초기화
         StreamingSession session = StreamingSession.builder()
             .messageId(messageId)
@@ -71,10 +75,15 @@ public class AiService {
             .timestamp(timestamp)
             .query(query)
             .build();
-        
-        
-        streamResponse(session)
-                .subscribe(new AiStreamHandler(session, eventPublisher));
+
+        // 동시 스트리밍 한도를 넘으면 대기열에서 차례가 올 때 시작된다
+        // 시작 이벤트(aiMessageStart)는 레지스트리가 실제 시작 시점에 이벤트 버스로 발행한다
+        var result = aiStreamRegistry.submit(session, () -> {
+            log.info("AI response started - messageId: {}, room: {}, aiType: {}, query: {}",
+                messageId, roomId, aiType, query);
+            return streamResponse(session);
+        });
+        log.debug("AI stream submitted - messageId: {}, result: {}", messageId, result);
     }
 
     Flux<ChunkData> streamResponse(StreamingSession session) {
@@ -85,16 +94,14 @@ public class AiService {
                 return Flux.error(new IllegalArgumentException("Unknown AI persona"));
             }
 
-            Flux<String> contentStream = chatClient.prompt()
-                    .system(aiType.getSystemPrompt())
-                    .user(query)
-                    .stream()
-                    .content();
+            // 같은 질문에 대한 완료된 응답이 있으면 ChatClient 를 호출하지 않고 재생한다
+            Flux<String> chunks = responseCache.get(aiType, query)
+                    .map(responseCache::replay)
+                    .orElseGet(() -> chunkCoalescer.coalesce(generate(aiType, query), aiType));
 
-            AtomicBoolean codeBlockState = new AtomicBoolean(false);
+            CodeBlockState codeBlockState = new CodeBlockState();
 
-            return contentStream
-                    .filter(chunk -> chunk != null && !chunk.isBlank())
+            return chunks
                     .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState))
                     .doOnSubscribe(subscription -> log.info(
                             "Starting AI streaming response - aiType: {}, query: {}",
@@ -103,8 +110,20 @@ public class AiService {
         });
     }
 
+    private Flux<String> generate(AiType aiType, String query) {
+        Flux<String> contentStream = chatClient.prompt()
+                .system(aiType.getSystemPrompt())
+                .user(query)
+                .stream()
+                .content();
+
+        // 개행/공백 토큰도 내용의 일부이므로 빈 토큰만 제외하고 병합한다
+        return contentStream.filter(chunk -> chunk != null && !chunk.isEmpty());
+    }
+
     @EventListener
     public void onAiMessageCompleteEvent(AiMessageCompleteEvent event) {
+        responseCache.put(event.getAiType(), event.getQuery(), event.getContent());
         try {
             // 메시지 저장
             Message savedMessage = messageRepository.save(getMessage(event));
@@ -113,7 +132,7 @@ public class AiService {
 
             // savedMessageId를 포함한 새로운 이벤트 발행
             eventPublisher.publishEvent(new AiMessageSavedEvent(
-                this, event, savedMessage.getId()
+                this, event, savedMessage.getId(), savedMessage.getSeq()
             ));
         } catch (Exception e) {
             log.error("Failed to save AI message - messageId: {}, roomId: {}",
@@ -128,6 +147,7 @@ public class AiService {
         aiMessage.setType(MessageType.ai);
         aiMessage.setAiType(event.getAiType());
         aiMessage.setTimestamp(event.getStartDateTime());
+        aiMessage.setSeq(roomRepository.nextMessageSeq(event.getRoomId()));
         
         Map<String, Object> metadata = Map.of(
                 "query", event.getQuery(),
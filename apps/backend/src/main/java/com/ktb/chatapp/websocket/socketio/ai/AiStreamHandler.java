@@ -4,30 +4,71 @@ import com.ktb.chatapp.event.AiMessageChunkEvent;
 import com.ktb.chatapp.event.AiMessageCompleteEvent;
 import com.ktb.chatapp.event.AiMessageErrorEvent;
 import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import lombok.extern.slf4j.Slf4j;
 import org.reactivestreams.Subscriber;
 import org.reactivestreams.Subscription;
 import org.springframework.context.ApplicationEventPublisher;
 
+/**
+ * AI 청크 스트림을 구독해 방에 전달할 이벤트로 바꾼다.
+ * - 상태 저장(원격 저장소 왕복)은 스트림 스레드가 아닌 stateExecutor 에서 수행한다.
+ * - 저장이 진행 중인 동안 들어온 청크는 모아 두었다가 마지막 순번과 합친 delta 로 한 번에 저장한다.
+ * - 이벤트는 자신을 포함한 청크가 저장된 뒤에 발행되므로 입장 시 읽은 스냅샷과 이후 청크 사이에 빈틈이 없다.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class AiStreamHandler implements Subscriber<ChunkData> {
+    // 이 간격마다 누적 전체 내용을 함께 보내 중간 합류한 참여자가 화면을 복구할 수 있게 한다
+    static final int SNAPSHOT_INTERVAL = 50;
+
     private final StreamingSession session;
     private final ApplicationEventPublisher eventPublisher;
-    private Subscription subscription;
+    private final AiStreamStateStore stateStore;
+    private final Executor stateExecutor;
+    // cancel 은 소켓 스레드에서, onSubscribe 는 스트림 스레드에서 불리므로 volatile 로 서로의 쓰기를 보게 한다
+    private volatile Subscription subscription;
+    private volatile boolean cancelled;
+
+    // 아직 저장하지 않은 청크와 저장 뒤에 실행할 작업, lock 으로 보호한다
+    private final Object lock = new Object();
+    private final StringBuilder unsavedDelta = new StringBuilder();
+    private long unsavedSequence;
+    private final ArrayDeque<Runnable> afterSave = new ArrayDeque<>();
+    private boolean draining;
+
+    public AiStreamHandler(StreamingSession session, ApplicationEventPublisher eventPublisher,
+                           AiStreamStateStore stateStore) {
+        this(session, eventPublisher, stateStore, Runnable::run);
+    }
+
+    public AiStreamHandler(StreamingSession session, ApplicationEventPublisher eventPublisher,
+                           AiStreamStateStore stateStore, Executor stateExecutor) {
+        this.session = session;
+        this.eventPublisher = eventPublisher;
+        this.stateStore = stateStore;
+        this.stateExecutor = stateExecutor;
+    }
 
     @Override
     public void onSubscribe(Subscription subscription) {
         this.subscription = subscription;
+        // 구독 전에 취소(퇴장)가 먼저 들어왔으면 요청하지 않고 바로 끊는다
+        if (cancelled) {
+            subscription.cancel();
+            return;
+        }
         subscription.request(Long.MAX_VALUE);
     }
 
     @Override
     public void onNext(ChunkData chunk) {
-        session.appendContent(chunk.currentChunk());
-        
+        long sequence = session.appendContent(chunk.currentChunk());
+
         String messageId = session.getMessageId();
         String roomId = session.getRoomId();
         if (roomId == null) {
@@ -35,10 +76,20 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
             return;
         }
 
-        eventPublisher.publishEvent(new AiMessageChunkEvent(
+        String snapshot = sequence % SNAPSHOT_INTERVAL == 0 ? session.getContent() : null;
+        // 누적은 이 스레드에서만 하므로 방금 붙인 delta 의 시작 위치가 된다
+        int offset = session.contentLength() - chunk.currentChunk().length();
+        AiMessageChunkEvent event = new AiMessageChunkEvent(
             this, roomId, messageId,
-            session.getContent(), chunk.codeBlock()
-        ));
+            sequence, offset, chunk.currentChunk(), snapshot, chunk.codeBlock()
+        );
+        // 브로드캐스트 전에 공유 저장소에 반영해야 입장 시 읽은 스냅샷과 이후 수신하는 청크 사이에 빈틈이 없다
+        synchronized (lock) {
+            unsavedDelta.append(chunk.currentChunk());
+            unsavedSequence = sequence;
+            afterSave.addLast(() -> eventPublisher.publishEvent(event));
+        }
+        scheduleDrain();
     }
 
     @Override
@@ -49,20 +100,23 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
         String errorMessage = error.getMessage() != null
             ? error.getMessage()
             : "AI 응답 생성 중 오류가 발생했습니다.";
-        sendErrorEvent(errorMessage);
+        // 완료/오류가 앞선 청크보다 먼저 나가지 않도록 청크 발행 뒤에 이어 붙인다
+        afterPendingWrites(() -> sendErrorEvent(errorMessage));
     }
 
     @Override
     public void onComplete() {
         String messageId = session.getMessageId();
 
-        try {
-            sendCompletionEvent();
-            log.debug("AI streaming completed for messageId: {}", messageId);
-        } catch (Exception e) {
-            log.error("Error sending completion event for messageId: {}", messageId, e);
-            sendErrorEvent("AI 메시지 완료 처리 중 오류가 발생했습니다.");
-        }
+        afterPendingWrites(() -> {
+            try {
+                sendCompletionEvent();
+                log.debug("AI streaming completed for messageId: {}", messageId);
+            } catch (Exception e) {
+                log.error("Error sending completion event for messageId: {}", messageId, e);
+                sendErrorEvent("AI 메시지 완료 처리 중 오류가 발생했습니다.");
+            }
+        });
     }
 
     public boolean matches(String roomId, String userId) {
@@ -70,9 +124,81 @@ public class AiStreamHandler implements Subscriber<ChunkData> {
             && Objects.equals(userId, session.getUserId());
     }
 
+    /**
+     * 스트림을 취소한다. onSubscribe 전에 불려도 취소 상태를 남겨 구독 즉시 끊는다.
+     */
     public void cancel() {
-        if (subscription != null) {
-            subscription.cancel();
+        cancelled = true;
+        Subscription current = subscription;
+        if (current != null) {
+            current.cancel();
+        }
+    }
+
+    /**
+     * 앞서 받은 청크의 저장과 이벤트 발행이 끝난 뒤에 작업을 실행한다.
+     * 스트림이 끝난 뒤 상태를 지울 때 늦게 끝난 저장이 상태를 되살리지 않게 한다.
+     */
+    public void afterPendingWrites(Runnable action) {
+        synchronized (lock) {
+            afterSave.addLast(action);
+        }
+        scheduleDrain();
+    }
+
+    private void scheduleDrain() {
+        synchronized (lock) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        try {
+            stateExecutor.execute(this::drain);
+        } catch (RejectedExecutionException e) {
+            log.warn("AI stream state executor rejected - messageId: {}", session.getMessageId());
+            drain();
+        }
+    }
+
+    /**
+     * 한 번에 하나만 실행된다. 저장하는 동안 쌓인 청크는 다음 반복에서 한 번의 저장으로 합쳐진다.
+     */
+    private void drain() {
+        while (true) {
+            long sequence;
+            String delta;
+            List<Runnable> actions;
+            synchronized (lock) {
+                if (unsavedSequence == 0 && afterSave.isEmpty()) {
+                    draining = false;
+                    return;
+                }
+                sequence = unsavedSequence;
+                delta = unsavedDelta.toString();
+                actions = new ArrayList<>(afterSave);
+                unsavedSequence = 0;
+                unsavedDelta.setLength(0);
+                afterSave.clear();
+            }
+            if (sequence > 0) {
+                saveState(sequence, delta);
+            }
+            for (Runnable action : actions) {
+                try {
+                    action.run();
+                } catch (Exception e) {
+                    log.error("AI stream action failed - messageId: {}", session.getMessageId(), e);
+                }
+            }
+        }
+    }
+
+    private void saveState(long sequence, String delta) {
+        try {
+            stateStore.append(session, sequence, delta);
+        } catch (Exception e) {
+            log.warn("Failed to save AI stream state - messageId: {}, seq: {}", session.getMessageId(), sequence, e);
         }
     }
 
@@ -0,0 +1,350 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageStartEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+/**
+ * 노드 로컬 AI 스트리밍 레지스트리
+ * - 전체/방별 동시 스트리밍 수를 제한하고 초과 요청은 방 단위 라운드로빈 대기열에 넣는다.
+ * - 대기열도 가득 차면 거절하고 aiMessageError 로 알린다.
+ * - 요청자가 방을 나가면 진행 중/대기 중인 스트림을 취소한다.
+ * - 진행 중인 스트림 상태는 AiStreamStateStore 에 기록되어 어느 노드에서 입장하든
+ *   joinRoomSuccess.activeStreams 로 현재 내용(스냅샷)과 순번을 받고 이후 청크를 이어받는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class AiStreamRegistry {
+
+    public enum SubmitResult {
+        STARTED,
+        QUEUED,
+        REJECTED
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final AiStreamStateStore stateStore;
+    private final Executor stateExecutor;
+    private final int maxConcurrent;
+    private final int maxPerRoom;
+    private final int maxQueued;
+
+    private final Map<String, ActiveStream> active = new LinkedHashMap<>();
+    private final Map<String, Integer> activePerRoom = new HashMap<>();
+    // 방별 대기열, 삽입 순서대로 라운드로빈하여 한 방이 대기열을 독점하지 않게 한다
+    private final LinkedHashMap<String, ArrayDeque<PendingStream>> queues = new LinkedHashMap<>();
+    private int queuedCount;
+
+    private final Counter rejectedCounter;
+
+    /**
+     * 스트림 이벤트는 AiEventBus 를 거쳐 방 단위 순서대로 별도 스레드에서 전달된다.
+     * 청크 상태 저장은 aiStreamStateExecutor 에서 수행해 스트림 스레드를 막지 않는다.
+     */
+    @Autowired
+    public AiStreamRegistry(
+            AiEventBus eventBus,
+            AiStreamStateStore stateStore,
+            @Qualifier("aiStreamStateExecutor") Executor stateExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${ai.stream.max-concurrent:32}") int maxConcurrent,
+            @Value("${ai.stream.max-per-room:2}") int maxPerRoom,
+            @Value("${ai.stream.max-queued:256}") int maxQueued) {
+        this(event -> eventBus.publish((ApplicationEvent) event),
+                stateStore, stateExecutor, meterRegistry, maxConcurrent, maxPerRoom, maxQueued);
+    }
+
+    AiStreamRegistry(
+            ApplicationEventPublisher eventPublisher,
+            AiStreamStateStore stateStore,
+            MeterRegistry meterRegistry,
+            int maxConcurrent,
+            int maxPerRoom,
+            int maxQueued) {
+        this(eventPublisher, stateStore, Runnable::run, meterRegistry, maxConcurrent, maxPerRoom, maxQueued);
+    }
+
+    AiStreamRegistry(
+            ApplicationEventPublisher eventPublisher,
+            AiStreamStateStore stateStore,
+            Executor stateExecutor,
+            MeterRegistry meterRegistry,
+            int maxConcurrent,
+            int maxPerRoom,
+            int maxQueued) {
+        this.eventPublisher = eventPublisher;
+        this.stateStore = stateStore;
+        this.stateExecutor = stateExecutor;
+        this.maxConcurrent = Math.max(1, maxConcurrent);
+        this.maxPerRoom = Math.max(1, maxPerRoom);
+        this.maxQueued = Math.max(0, maxQueued);
+
+        Gauge.builder("ai.stream.active", this, AiStreamRegistry::activeCount)
+                .description("진행 중인 AI 스트리밍 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.stream.queued", this, AiStreamRegistry::queuedCount)
+                .description("대기 중인 AI 스트리밍 수")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("ai.stream.rejected")
+                .description("대기열 초과로 거절된 AI 스트리밍 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 스트리밍을 시작하거나 대기열에 넣는다.
+     *
+     * @param session 스트리밍 세션
+     * @param source 실제 시작 시점에 호출되어 청크 스트림을 만든다
+     */
+    public SubmitResult submit(StreamingSession session, Supplier<Flux<ChunkData>> source) {
+        PendingStream pending = new PendingStream(session, source);
+        SubmitResult result;
+        synchronized (this) {
+            if (isRegistered(session)) {
+                // 같은 키로 예약하면 active 항목을 덮어써 방 슬롯이 새므로 받지 않는다.
+                // 오류 이벤트는 같은 messageId 의 진행 중 스트림을 끝내 버리므로 보내지 않는다.
+                log.warn("Duplicate AI stream ignored - messageId: {}, room: {}",
+                        session.getMessageId(), session.getRoomId());
+                return SubmitResult.REJECTED;
+            }
+            if (canStart(session.getRoomId())) {
+                reserve(pending);
+                result = SubmitResult.STARTED;
+            } else if (queuedCount < maxQueued) {
+                queues.computeIfAbsent(session.getRoomId(), k -> new ArrayDeque<>()).addLast(pending);
+                queuedCount++;
+                result = SubmitResult.QUEUED;
+            } else {
+                result = SubmitResult.REJECTED;
+            }
+        }
+
+        switch (result) {
+            case STARTED -> start(pending);
+            case QUEUED -> log.debug("AI stream queued - messageId: {}, room: {}",
+                    session.getMessageId(), session.getRoomId());
+            case REJECTED -> {
+                rejectedCounter.increment();
+                log.warn("AI stream rejected - messageId: {}, room: {}", session.getMessageId(), session.getRoomId());
+                publishError(session, "AI 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 해당 사용자가 방에서 요청한 진행 중/대기 중 스트림을 취소한다.
+     *
+     * @return 취소된 스트림 수
+     */
+    public int cancel(String roomId, String userId) {
+        List<ActiveStream> toCancel = new ArrayList<>();
+        List<StreamingSession> dropped = new ArrayList<>();
+        synchronized (this) {
+            for (ActiveStream stream : active.values()) {
+                if (stream.handler().matches(roomId, userId)) {
+                    toCancel.add(stream);
+                }
+            }
+            ArrayDeque<PendingStream> queue = queues.get(roomId);
+            if (queue != null) {
+                Iterator<PendingStream> it = queue.iterator();
+                while (it.hasNext()) {
+                    PendingStream pending = it.next();
+                    if (Objects.equals(userId, pending.session().getUserId())) {
+                        it.remove();
+                        queuedCount--;
+                        dropped.add(pending.session());
+                    }
+                }
+                if (queue.isEmpty()) {
+                    queues.remove(roomId);
+                }
+            }
+        }
+
+        // 구독 취소 시 doFinally 에서 release 가 호출되어 다음 대기 스트림이 시작된다
+        toCancel.forEach(stream -> {
+            stream.handler().cancel();
+            dropped.add(stream.session());
+        });
+        dropped.forEach(session -> publishError(session, "요청자가 채팅방을 나가 AI 응답이 취소되었습니다."));
+        if (!toCancel.isEmpty() || !dropped.isEmpty()) {
+            log.info("AI streams cancelled - room: {}, user: {}, active: {}, queued: {}",
+                    roomId, userId, toCancel.size(), dropped.size() - toCancel.size());
+        }
+        return dropped.size();
+    }
+
+    /**
+     * 방에서 진행 중인 스트림의 현재까지 내용을 반환한다.
+     * 다른 노드에서 진행 중인 스트림도 공유 저장소를 통해 포함된다.
+     */
+    public List<ActiveStreamResponse> activeStreams(String roomId) {
+        List<AiStreamStateStore.AiStreamState> states;
+        try {
+            states = stateStore.findByRoom(roomId);
+        } catch (Exception e) {
+            log.warn("Failed to load AI stream states - room: {}", roomId, e);
+            return List.of();
+        }
+        return states.stream()
+                .map(state -> ActiveStreamResponse.builder()
+                        .id(state.messageId())
+                        .type("ai")
+                        .aiType(state.aiType())
+                        .content(state.content())
+                        .seq(state.sequence())
+                        .timestamp(Instant.ofEpochMilli(state.timestamp()).toString())
+                        .isStreaming(true)
+                        .build())
+                .toList();
+    }
+
+    public synchronized int activeCount() {
+        return active.size();
+    }
+
+    public synchronized int queuedCount() {
+        return queuedCount;
+    }
+
+    private boolean canStart(String roomId) {
+        return active.size() < maxConcurrent && activePerRoom.getOrDefault(roomId, 0) < maxPerRoom;
+    }
+
+    private boolean isRegistered(StreamingSession session) {
+        if (active.containsKey(key(session))) {
+            return true;
+        }
+        ArrayDeque<PendingStream> queue = queues.get(session.getRoomId());
+        return queue != null && queue.stream()
+                .anyMatch(pending -> Objects.equals(pending.session().getMessageId(), session.getMessageId()));
+    }
+
+    private void reserve(PendingStream pending) {
+        StreamingSession session = pending.session();
+        active.put(key(session), new ActiveStream(session, new AiStreamHandler(session, eventPublisher, stateStore, stateExecutor)));
+        activePerRoom.merge(session.getRoomId(), 1, Integer::sum);
+    }
+
+    private void start(PendingStream pending) {
+        StreamingSession session = pending.session();
+        AiStreamHandler handler;
+        synchronized (this) {
+            handler = active.get(key(session)).handler();
+        }
+        try {
+            // 첫 청크 전에 입장한 참여자도 스트림 존재를 알 수 있도록 빈 상태를 먼저 기록
+            saveInitialState(session);
+            eventPublisher.publishEvent(new AiMessageStartEvent(
+                    this, session.getRoomId(), session.getMessageId(), session.getAiType(), session.getTimestamp()));
+            pending.source().get()
+                    .doFinally(signal -> release(session))
+                    .subscribe(handler);
+        } catch (Exception e) {
+            log.error("Failed to start AI stream - messageId: {}", session.getMessageId(), e);
+            release(session);
+            publishError(session, "AI 응답 생성 중 오류가 발생했습니다.");
+        }
+    }
+
+    private void release(StreamingSession session) {
+        List<PendingStream> next = new ArrayList<>();
+        ActiveStream released;
+        synchronized (this) {
+            released = active.remove(key(session));
+            if (released == null) {
+                return;
+            }
+            activePerRoom.computeIfPresent(session.getRoomId(), (k, count) -> count > 1 ? count - 1 : null);
+            drainQueue(next);
+        }
+        // 아직 끝나지 않은 청크 저장이 지운 상태를 되살리지 않도록 그 뒤에 지운다
+        released.handler().afterPendingWrites(() -> removeState(session));
+        next.forEach(this::start);
+    }
+
+    private void saveInitialState(StreamingSession session) {
+        try {
+            stateStore.append(session, 0, "");
+        } catch (Exception e) {
+            log.warn("Failed to save AI stream state - messageId: {}", session.getMessageId(), e);
+        }
+    }
+
+    private void removeState(StreamingSession session) {
+        try {
+            stateStore.remove(session.getRoomId(), session.getMessageId());
+        } catch (Exception e) {
+            log.warn("Failed to remove AI stream state - messageId: {}", session.getMessageId(), e);
+        }
+    }
+
+    /**
+     * 방 순서대로 한 건씩 꺼내며 시작 가능한 스트림을 예약한다.
+     * 꺼낸 방은 맨 뒤로 보내 다음 drain 에서 다른 방이 먼저 기회를 얻는다.
+     */
+    private void drainQueue(List<PendingStream> next) {
+        boolean progressed = true;
+        while (progressed && queuedCount > 0 && active.size() < maxConcurrent) {
+            progressed = false;
+            for (String roomId : new ArrayList<>(queues.keySet())) {
+                if (active.size() >= maxConcurrent) {
+                    break;
+                }
+                if (!canStart(roomId)) {
+                    continue;
+                }
+                ArrayDeque<PendingStream> queue = queues.remove(roomId);
+                PendingStream pending = queue.pollFirst();
+                queuedCount--;
+                if (!queue.isEmpty()) {
+                    queues.put(roomId, queue);
+                }
+                reserve(pending);
+                next.add(pending);
+                progressed = true;
+            }
+        }
+    }
+
+    // 상태 저장소 키와 같이 방 ID 와 messageId 를 조합한다
+    private String key(StreamingSession session) {
+        return session.getRoomId() + ":" + session.getMessageId();
+    }
+
+    private void publishError(StreamingSession session, String message) {
+        eventPublisher.publishEvent(new AiMessageErrorEvent(
+                this, session.getRoomId(), session.getMessageId(), message, session.aiTypeEnum()));
+    }
+
+    private record ActiveStream(StreamingSession session, AiStreamHandler handler) {}
+
+    private record PendingStream(StreamingSession session, Supplier<Flux<ChunkData>> source) {}
+}
@@ -0,0 +1,37 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.util.List;
+
+/**
+ * 진행 중인 AI 스트림 상태 저장소
+ * - 스트리밍 노드가 청크마다 누적 내용과 순번을 기록하고, 어느 노드에서 입장하든 스냅샷을 읽을 수 있게 한다.
+ * - 상태는 짧은 TTL 로 유지되어 노드가 비정상 종료되어도 남지 않는다.
+ */
+public interface AiStreamStateStore {
+
+    /**
+     * 청크를 누적하고 순번을 갱신한다. 내용과 순번은 항상 함께 반영된다.
+     */
+    void append(StreamingSession session, long sequence, String delta);
+
+    /**
+     * 방에서 진행 중인 스트림 스냅샷 목록
+     */
+    List<AiStreamState> findByRoom(String roomId);
+
+    void remove(String roomId, String messageId);
+
+    /**
+     * @param sequence content 에 반영된 마지막 청크 순번, 클라이언트는 이보다 큰 seq 만 이어붙인다
+     */
+    record AiStreamState(
+            String messageId,
+            String roomId,
+            String userId,
+            String aiType,
+            long timestamp,
+            long sequence,
+            String content) {
+    }
+}
@@ -18,4 +18,11 @@ public record ChunkData(String currentChunk, boolean codeBlock) {
         codeBlockState.set(currentState);
         return new ChunkData(currentChunk, currentState);
     }
+
+    /**
+     * 스트림 전체 상태를 이어서 판정한다. 청크 경계에 걸친 마커도 인식한다.
+     */
+    public ChunkData updateCodeBlockState(CodeBlockState codeBlockState) {
+        return new ChunkData(currentChunk, codeBlockState.advance(currentChunk));
+    }
 }
@@ -0,0 +1,35 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+/**
+ * 스트림 전체에 걸친 코드 블록(```) 상태
+ * 마커가 두 청크(병합 묶음)에 나뉘어 와도 판정할 수 있도록 청크 끝에 남은 백틱 수를 다음 청크로 넘긴다.
+ * 한 스트림의 청크는 순서대로 하나씩 처리되므로 동기화하지 않는다.
+ */
+public final class CodeBlockState {
+
+    private static final String MARKER = "```";
+
+    private boolean inCodeBlock;
+    private int trailingBackticks;
+
+    /**
+     * 청크를 반영하고 반영 후의 코드 블록 여부를 반환한다.
+     */
+    public boolean advance(String chunk) {
+        for (int i = 0; i < chunk.length(); i++) {
+            if (chunk.charAt(i) != '`') {
+                trailingBackticks = 0;
+                continue;
+            }
+            if (++trailingBackticks == MARKER.length()) {
+                inCodeBlock = !inCodeBlock;
+                trailingBackticks = 0;
+            }
+        }
+        return inCodeBlock;
+    }
+
+    public boolean inCodeBlock() {
+        return inCodeBlock;
+    }
+}
@@ -0,0 +1,85 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 메모리 기반 AiStreamStateStore 구현체
+ * - 단일 서버 환경(chat.store.type=local)용
+ */
+public class LocalAiStreamStateStore implements AiStreamStateStore {
+
+    private final Map<String, Map<String, Entry>> rooms = new ConcurrentHashMap<>();
+    private final Duration ttl;
+    private final Clock clock;
+
+    public LocalAiStreamStateStore(Duration ttl) {
+        this(ttl, Clock.systemUTC());
+    }
+
+    LocalAiStreamStateStore(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    @Override
+    public void append(StreamingSession session, long sequence, String delta) {
+        Entry entry = rooms.computeIfAbsent(session.getRoomId(), k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(session.getMessageId(), k -> new Entry(session));
+        synchronized (entry) {
+            entry.content.append(delta);
+            entry.sequence = sequence;
+            entry.expiresAt = clock.millis() + ttl.toMillis();
+        }
+    }
+
+    @Override
+    public List<AiStreamState> findByRoom(String roomId) {
+        Map<String, Entry> streams = rooms.get(roomId);
+        if (streams == null) {
+            return List.of();
+        }
+        long now = clock.millis();
+        List<AiStreamState> states = new ArrayList<>();
+        streams.values().removeIf(entry -> {
+            synchronized (entry) {
+                if (entry.expiresAt <= now) {
+                    return true;
+                }
+                states.add(new AiStreamState(
+                        entry.session.getMessageId(), roomId, entry.session.getUserId(),
+                        entry.session.getAiType(), entry.session.getTimestamp(),
+                        entry.sequence, entry.content.toString()));
+                return false;
+            }
+        });
+        rooms.computeIfPresent(roomId, (k, v) -> v.isEmpty() ? null : v);
+        states.sort(Comparator.comparingLong(AiStreamState::timestamp));
+        return states;
+    }
+
+    @Override
+    public void remove(String roomId, String messageId) {
+        rooms.computeIfPresent(roomId, (k, streams) -> {
+            streams.remove(messageId);
+            return streams.isEmpty() ? null : streams;
+        });
+    }
+
+    private static final class Entry {
+        private final StreamingSession session;
+        private final StringBuilder content = new StringBuilder();
+        private long sequence;
+        private long expiresAt;
+
+        private Entry(StreamingSession session) {
+            this.session = session;
+        }
+    }
+}
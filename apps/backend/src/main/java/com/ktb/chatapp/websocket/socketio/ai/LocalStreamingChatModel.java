@@ -0,0 +1,101 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 외부 API 없이 동작하는 로컬 스트리밍 ChatModel
+ * - 부하 테스트/벤치마크용으로 ai.provider=local 일 때 OpenAI 대신 사용한다.
+ * - 같은 질문이면 항상 같은 토큰열을 내보내고, 토큰 속도/첫 토큰 지연/지터/오류 주입을 설정할 수 있다.
+ */
+public class LocalStreamingChatModel implements ChatModel {
+
+    private static final String[] VOCABULARY = {
+            "안녕하세요", "질문", "주신", "내용을", "정리하면", "다음과", "같습니다", "먼저",
+            "핵심은", "성능", "확장성", "그리고", "안정성", "입니다", "예를", "들어",
+            "채팅", "서버는", "메시지를", "빠르게", "전달해야", "합니다", "따라서", "결론적으로"
+    };
+
+    private final Settings settings;
+    // 오류 주입 여부는 요청 순번으로 결정하여 같은 설정이면 재현 가능하다
+    private final AtomicLong requests = new AtomicLong();
+
+    public LocalStreamingChatModel(Settings settings) {
+        this.settings = settings;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return response(String.join("", tokens(prompt.getContents())));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            List<String> tokens = tokens(prompt.getContents());
+            Random random = new Random(settings.seed() ^ requests.incrementAndGet());
+            int failAt = random.nextDouble() < settings.errorRate() ? random.nextInt(tokens.size()) : -1;
+
+            Flux<String> stream = Flux.range(0, tokens.size())
+                    .concatMap(i -> {
+                        if (i == failAt) {
+                            return Mono.error(new IllegalStateException("Injected local AI provider failure"));
+                        }
+                        Duration delay = i == 0 ? Duration.ZERO : tokenDelay(random);
+                        return delay.isZero()
+                                ? Mono.just(tokens.get(i))
+                                : Mono.just(tokens.get(i)).delayElement(delay);
+                    });
+
+            return (settings.firstTokenLatency().isZero() ? stream : stream.delaySubscription(settings.firstTokenLatency()))
+                    .map(this::response);
+        });
+    }
+
+    private Duration tokenDelay(Random random) {
+        long baseNanos = settings.tokensPerSecond() > 0 ? 1_000_000_000L / settings.tokensPerSecond() : 0;
+        long jitterNanos = settings.jitter().isZero() ? 0 : (long) (random.nextDouble() * settings.jitter().toNanos());
+        return Duration.ofNanos(baseNanos + jitterNanos);
+    }
+
+    private List<String> tokens(String query) {
+        Random random = new Random(settings.seed() ^ (query != null ? query.hashCode() : 0));
+        List<String> tokens = new ArrayList<>(settings.answerTokens());
+        for (int i = 0; i < settings.answerTokens(); i++) {
+            String word = VOCABULARY[random.nextInt(VOCABULARY.length)];
+            tokens.add(i % 24 == 23 ? word + ".\n" : word + " ");
+        }
+        return tokens;
+    }
+
+    private ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+
+    /**
+     * @param tokensPerSecond 토큰 방출 속도 (0 이면 지연 없음)
+     * @param firstTokenLatency 첫 토큰까지 지연
+     * @param jitter 토큰 간 추가 지연 상한 (0 ~ jitter 균등 분포)
+     * @param errorRate 응답 도중 오류를 주입할 확률 (0.0 ~ 1.0)
+     * @param answerTokens 응답 1건의 토큰 수
+     * @param seed 토큰열과 지터/오류 주입의 난수 seed
+     */
+    public record Settings(
+            int tokensPerSecond,
+            Duration firstTokenLatency,
+            Duration jitter,
+            double errorRate,
+            int answerTokens,
+            long seed) {
+    }
+}
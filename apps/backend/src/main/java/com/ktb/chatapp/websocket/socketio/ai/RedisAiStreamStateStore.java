@@ -0,0 +1,140 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+/**
+ * Redis 기반 AiStreamStateStore 구현체
+ * - 다중 서버 환경에서 재접속한 클라이언트가 다른 노드에서 진행 중인 스트림 스냅샷을 받을 수 있게 한다.
+ * - 내용은 APPEND 로 누적하여 청크마다 전체 내용을 다시 쓰지 않는다.
+ * - 방 단위 키는 hash tag({roomId})로 묶어 클러스터에서도 같은 슬롯에 둔다.
+ */
+public class RedisAiStreamStateStore implements AiStreamStateStore {
+
+    private static final String PREFIX = "ai:stream:{";
+
+    // KEYS: {index, meta, content}, ARGV: {messageId, seq, delta, userId, aiType, timestamp, ttlMillis}
+    private static final DefaultRedisScript<Long> APPEND_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local ttl = tonumber(ARGV[7])
+                    redis.call('APPEND', KEYS[3], ARGV[3])
+                    redis.call('HSET', KEYS[2], 'seq', ARGV[2], 'userId', ARGV[4],
+                               'aiType', ARGV[5], 'timestamp', ARGV[6])
+                    redis.call('HSET', KEYS[1], ARGV[1], ARGV[6])
+                    redis.call('PEXPIRE', KEYS[1], ttl)
+                    redis.call('PEXPIRE', KEYS[2], ttl)
+                    redis.call('PEXPIRE', KEYS[3], ttl)
+                    return 1
+                    """,
+                    Long.class);
+
+    // KEYS: {index, meta1, content1, meta2, content2, ...}, ARGV: {messageId1, messageId2, ...}
+    // returns: {messageId, seq, userId, aiType, timestamp, content, ...}
+    // 내용과 순번을 한 번에 읽어 스냅샷이 서로 어긋나지 않게 하고, 만료된 항목은 인덱스에서 정리한다.
+    // 키 이름을 스크립트 안에서 만들지 않고 모두 KEYS 로 받아 클러스터에서도 슬롯 검사를 통과한다.
+    private static final DefaultRedisScript<List> FIND_SCRIPT =
+            new DefaultRedisScript<>(
+                    """
+                    local result = {}
+                    for i, id in ipairs(ARGV) do
+                      local meta = redis.call('HMGET', KEYS[2 * i], 'seq', 'userId', 'aiType', 'timestamp')
+                      if meta[1] then
+                        local content = redis.call('GET', KEYS[2 * i + 1]) or ''
+                        table.insert(result, id)
+                        table.insert(result, meta[1])
+                        table.insert(result, meta[2] or '')
+                        table.insert(result, meta[3] or '')
+                        table.insert(result, meta[4] or '0')
+                        table.insert(result, content)
+                      else
+                        redis.call('HDEL', KEYS[1], id)
+                      end
+                    end
+                    return result
+                    """,
+                    List.class);
+
+    private static final int FIELDS = 6;
+
+    private final StringRedisTemplate redisTemplate;
+    private final Duration ttl;
+
+    public RedisAiStreamStateStore(StringRedisTemplate redisTemplate, Duration ttl) {
+        this.redisTemplate = redisTemplate;
+        this.ttl = ttl;
+    }
+
+    @Override
+    public void append(StreamingSession session, long sequence, String delta) {
+        String roomId = session.getRoomId();
+        String messageId = session.getMessageId();
+        redisTemplate.execute(
+                APPEND_SCRIPT,
+                List.of(indexKey(roomId), streamKey(roomId, messageId) + ":meta", streamKey(roomId, messageId) + ":content"),
+                messageId,
+                String.valueOf(sequence),
+                delta,
+                String.valueOf(session.getUserId()),
+                String.valueOf(session.getAiType()),
+                String.valueOf(session.getTimestamp()),
+                String.valueOf(ttl.toMillis()));
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<AiStreamState> findByRoom(String roomId) {
+        String indexKey = indexKey(roomId);
+        Set<Object> ids = redisTemplate.opsForHash().keys(indexKey);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<String> keys = new ArrayList<>(1 + ids.size() * 2);
+        List<String> messageIds = new ArrayList<>(ids.size());
+        keys.add(indexKey);
+        for (Object id : ids) {
+            String messageId = String.valueOf(id);
+            keys.add(streamKey(roomId, messageId) + ":meta");
+            keys.add(streamKey(roomId, messageId) + ":content");
+            messageIds.add(messageId);
+        }
+        List<Object> raw = redisTemplate.execute(FIND_SCRIPT, keys, messageIds.toArray());
+        if (raw == null || raw.isEmpty()) {
+            return List.of();
+        }
+        List<AiStreamState> states = new ArrayList<>(raw.size() / FIELDS);
+        for (int i = 0; i + FIELDS <= raw.size(); i += FIELDS) {
+            states.add(new AiStreamState(
+                    String.valueOf(raw.get(i)),
+                    roomId,
+                    String.valueOf(raw.get(i + 2)),
+                    String.valueOf(raw.get(i + 3)),
+                    Long.parseLong(String.valueOf(raw.get(i + 4))),
+                    Long.parseLong(String.valueOf(raw.get(i + 1))),
+                    String.valueOf(raw.get(i + 5))));
+        }
+        states.sort(Comparator.comparingLong(AiStreamState::timestamp));
+        return states;
+    }
+
+    @Override
+    public void remove(String roomId, String messageId) {
+        String streamKey = streamKey(roomId, messageId);
+        redisTemplate.delete(List.of(streamKey + ":meta", streamKey + ":content"));
+        redisTemplate.opsForHash().delete(indexKey(roomId), messageId);
+    }
+
+    private String indexKey(String roomId) {
+        return PREFIX + roomId + "}:index";
+    }
+
+    private String streamKey(String roomId, String messageId) {
+        return PREFIX + roomId + "}:" + messageId;
+    }
+}
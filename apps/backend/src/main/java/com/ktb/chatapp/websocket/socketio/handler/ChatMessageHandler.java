@@ -1,7 +1,6 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.dto.FileResponse;
@@ -14,13 +13,16 @@ import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
+import com.ktb.chatapp.service.RateLimitPolicy;
 import com.ktb.chatapp.service.RateLimitService;
 import com.ktb.chatapp.service.RoomService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import io.micrometer.core.instrument.Counter;
@@ -30,12 +32,14 @@ import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -50,8 +54,9 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
 @RequiredArgsConstructor
 public class ChatMessageHandler {
 
-    private final SocketIOServer socketIOServer;
+    private final RoomBroadcaster roomBroadcaster;
     private final MessageRepository messageRepository;
+    private final RoomRepository roomRepository;
     private final RoomService roomService;
     private final ChatUserCacheService chatUserCacheService;
     private final FileRepository fileRepository;
@@ -64,6 +69,13 @@ public class ChatMessageHandler {
     @Qualifier("chatMessageExecutor")
     private final Executor messageExecutor;
 
+    // 방 단위 flood 방지 한도 (사용자 한도와 함께 한 번의 Redis 호출로 검사)
+    @Value("${ratelimit.chat.room.max-requests:60000}")
+    private int roomMaxRequests;
+
+    @Value("${ratelimit.chat.room.window-seconds:60}")
+    private long roomWindowSeconds;
+
     private final ConcurrentHashMap<String, Timer> timerCache = new ConcurrentHashMap<>();
     private final ConcurrentHashMap<String, Counter> counterCache = new ConcurrentHashMap<>();
 
@@ -116,7 +128,9 @@ public class ChatMessageHandler {
                 log.debug("Session validate failed but allow-send userId={}, roomId={}", socketUser.id(), roomId, e);
             }
 
-            RateLimitCheckResult rl = rateLimitService.checkRateLimit(socketUser.id(), 10000, Duration.ofMinutes(1));
+            RateLimitCheckResult rl = rateLimitService.checkRateLimits(List.of(
+                    new RateLimitPolicy(socketUser.id(), 10000, Duration.ofMinutes(1)),
+                    new RateLimitPolicy("room:" + roomId, roomMaxRequests, Duration.ofSeconds(roomWindowSeconds), true)));
             if (!rl.allowed()) {
                 metricStatus = "error";
                 metricType = "rate_limit";
@@ -194,11 +208,11 @@ public class ChatMessageHandler {
 
             if (message == null) return;
 
+            message.setSeq(roomRepository.nextMessageSeq(roomId));
             Message saved = messageRepository.save(message);
             roomService.incrementRecentMessageCount(roomId);
 
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, createMessageResponse(saved, sender));
+            roomBroadcaster.sendToRoom(roomId, MESSAGE, createMessageResponse(saved, sender));
 
             try {
                 aiService.handleAIMentions(roomId, socketUser.id(), messageContent);
@@ -291,6 +305,7 @@ public class ChatMessageHandler {
         res.setContent(message.getContent());
         res.setType(message.getType());
         res.setTimestamp(message.toTimestampMillis());
+        res.setSeq(message.getSeq());
         res.setReactions(message.getReactions() != null ? message.getReactions() : Collections.emptyMap());
 
         // ✅ 최종 방어: sender가 혹시라도 null이면 fallback으로 처리
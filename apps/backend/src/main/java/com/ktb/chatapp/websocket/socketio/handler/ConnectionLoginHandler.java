@@ -6,13 +6,21 @@ import com.corundumstudio.socketio.annotation.OnDisconnect;
 import com.ktb.chatapp.websocket.socketio.ConnectedUsers;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.Gauge;
 import io.micrometer.core.instrument.MeterRegistry;
 import java.time.Duration;
 import java.util.Map;
 import java.util.Set;
-import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
@@ -22,34 +30,63 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
  * Socket.IO Chat Handler
  * 어노테이션 기반 이벤트 처리와 인증 흐름을 정의한다.
  * 연결/해제 및 중복 로그인 처리를 담당
+ * - 연결이 끊겨도 disconnect grace period 동안은 방 퇴장을 미룬다. 그 사이 재접속하면 예약된 퇴장을
+ *   취소하므로 잠깐 끊긴 클라이언트는 퇴장/입장 메시지 저장과 참여자 방송 없이 방에 다시 붙는다.
  */
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
 public class ConnectionLoginHandler {
 
+    private static final Duration SESSION_END_DELAY = Duration.ofSeconds(10);
+
     private final SocketIOServer socketIOServer;
     private final ConnectedUsers connectedUsers;
     private final UserRooms userRooms;
-    private final RoomJoinHandler roomJoinHandler;
+    private final RoomRestoreHandler roomRestoreHandler;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final ScheduledExecutorService socketTaskScheduler;
+    private final Executor socketMessageExecutor;
+    private final long disconnectGracePeriodMillis;
+
+    // 사용자별 예약된 퇴장 작업
+    private final Map<String, ScheduledFuture<?>> pendingLeaves = new ConcurrentHashMap<>();
+    private final Counter leaveCancelledCounter;
+    private final Counter leaveAppliedCounter;
 
     public ConnectionLoginHandler(
             SocketIOServer socketIOServer,
             ConnectedUsers connectedUsers,
             UserRooms userRooms,
-            RoomJoinHandler roomJoinHandler,
+            RoomRestoreHandler roomRestoreHandler,
             RoomLeaveHandler roomLeaveHandler,
-            MeterRegistry meterRegistry) {
+            MeterRegistry meterRegistry,
+            @Qualifier("socketTaskScheduler") ScheduledExecutorService socketTaskScheduler,
+            @Qualifier("socketMessageExecutor") Executor socketMessageExecutor,
+            @Value("${socketio.disconnect.grace-period-ms:10000}") long disconnectGracePeriodMillis) {
         this.socketIOServer = socketIOServer;
         this.connectedUsers = connectedUsers;
         this.userRooms = userRooms;
-        this.roomJoinHandler = roomJoinHandler;
+        this.roomRestoreHandler = roomRestoreHandler;
         this.roomLeaveHandler = roomLeaveHandler;
+        this.socketTaskScheduler = socketTaskScheduler;
+        this.socketMessageExecutor = socketMessageExecutor;
+        this.disconnectGracePeriodMillis = Math.max(0, disconnectGracePeriodMillis);
 
-        // Register gauge metric for concurrent users
-        Gauge.builder("socketio.concurrent.users", connectedUsers::size)
-                .description("Current number of concurrent Socket.IO users")
+        // 저장소 전체 키 수(ChatDataStore.size) 대신 이 노드의 연결 수를 센다. 전체 수는 노드 합으로 본다
+        Gauge.builder("socketio.concurrent.users", socketIOServer, server -> server.getAllClients().size())
+                .description("Current number of Socket.IO connections on this node")
+                .register(meterRegistry);
+        Gauge.builder("socketio.disconnect.pending", pendingLeaves, Map::size)
+                .description("연결 해제 유예 중인 사용자 수")
+                .register(meterRegistry);
+        this.leaveCancelledCounter = Counter.builder("socketio.disconnect.leave")
+                .description("연결 해제 후 예약된 방 퇴장 처리 결과")
+                .tag("result", "cancelled")
+                .register(meterRegistry);
+        this.leaveAppliedCounter = Counter.builder("socketio.disconnect.leave")
+                .description("연결 해제 후 예약된 방 퇴장 처리 결과")
+                .tag("result", "applied")
                 .register(meterRegistry);
     }
     
@@ -61,17 +98,16 @@ public class ConnectionLoginHandler {
         
         try {
             notifyDuplicateLogin(client, userId);
+            cancelPendingLeave(userId);
             client.set("user", user);
             
-            userRooms.get(userId).forEach(roomId -> {
-                // 재접속 시 기존 참여 방 재입장 처리
-                roomJoinHandler.handleJoinRoom(client, roomId);
-            });
+            // 재접속 시 기존 참여 방은 소켓 방만 즉시 붙이고 방 상태는 비동기로 모아 roomsRestored 로 보낸다
+            roomRestoreHandler.restore(client, user, userRooms.get(userId));
             
             connectedUsers.set(userId, user);
 
-            log.info("Socket.IO user connected: {} ({}) - Total concurrent users: {}",
-                    getUserName(client), userId, connectedUsers.size());
+            log.info("Socket.IO user connected: {} ({}) - Node connections: {}",
+                    getUserName(client), userId, socketIOServer.getAllClients().size());
 
             client.joinRooms(Set.of("user:" + userId, "room-list"));
             
@@ -85,6 +121,7 @@ public class ConnectionLoginHandler {
     
     @OnDisconnect
     public void onDisconnect(SocketIOClient client) {
+        SocketUser user = getUserDto(client);
         String userId = getUserId(client);
         String userName = getUserName(client);
         
@@ -93,9 +130,6 @@ public class ConnectionLoginHandler {
                 return;
             }
             
-            userRooms.get(userId).forEach(roomId -> {
-                roomLeaveHandler.handleLeaveRoom(client, roomId);
-            });
             String socketId = client.getSessionId().toString();
             
             // 해당 사용자의 현재 활성 연결인 경우에만 정리
@@ -109,9 +143,11 @@ public class ConnectionLoginHandler {
             client.leaveRooms(Set.of("user:" + userId, "room-list"));
             client.del("user");
             client.disconnect();
+
+            scheduleLeave(user);
             
-            log.info("Socket.IO user disconnected: {} ({}) - Total concurrent users: {}",
-                    userName, userId, connectedUsers.size());
+            log.info("Socket.IO user disconnected: {} ({}) - Node connections: {}",
+                    userName, userId, socketIOServer.getAllClients().size());
         } catch (Exception e) {
             log.error("Error handling Socket.IO disconnection", e);
             client.sendEvent(ERROR, Map.of(
@@ -121,6 +157,53 @@ public class ConnectionLoginHandler {
         
     }
     
+    /**
+     * grace period 뒤에 사용자가 참여 중인 방에서 퇴장시킨다. 0 이면 즉시 퇴장시킨다.
+     * 같은 사용자의 이전 예약은 취소하고 새로 예약한다.
+     */
+    private void scheduleLeave(SocketUser user) {
+        if (disconnectGracePeriodMillis == 0) {
+            leaveRooms(user);
+            return;
+        }
+        ScheduledFuture<?> leave = socketTaskScheduler.schedule(
+                // 스케줄러는 단일 스레드이므로 DB 쓰기가 있는 퇴장 처리는 메시지 executor 로 넘긴다
+                () -> socketMessageExecutor.execute(() -> applyPendingLeave(user)),
+                disconnectGracePeriodMillis, TimeUnit.MILLISECONDS);
+        ScheduledFuture<?> previous = pendingLeaves.put(user.id(), leave);
+        if (previous != null) {
+            previous.cancel(false);
+        }
+    }
+
+    private void cancelPendingLeave(String userId) {
+        ScheduledFuture<?> leave = pendingLeaves.remove(userId);
+        if (leave != null && leave.cancel(false)) {
+            leaveCancelledCounter.increment();
+            log.debug("Pending leave cancelled by reconnect - userId: {}", userId);
+        }
+    }
+
+    void applyPendingLeave(SocketUser user) {
+        String userId = user.id();
+        pendingLeaves.remove(userId);
+        // 유예 중 다른 노드로 재접속했으면 활성 연결이 등록되어 있으므로 퇴장시키지 않는다
+        if (connectedUsers.get(userId) != null) {
+            leaveCancelledCounter.increment();
+            log.debug("Pending leave skipped, user reconnected - userId: {}", userId);
+            return;
+        }
+        leaveRooms(user);
+    }
+
+    private void leaveRooms(SocketUser user) {
+        Set<String> rooms = userRooms.get(user.id());
+        rooms.forEach(roomId -> roomLeaveHandler.leaveAfterDisconnect(user, roomId));
+        if (!rooms.isEmpty()) {
+            leaveAppliedCounter.increment();
+        }
+    }
+
     private SocketUser getUserDto(SocketIOClient client) {
         return client.get("user");
     }
@@ -136,8 +219,9 @@ public class ConnectionLoginHandler {
     }
     
     /**
-     * TODO 멀티 클러스터에서 동작 안함 다중 노드의 경우 다른  노드에 접속된 사용자는 통보 불가함
-     * socketIOServer.getRoomOperations("user:" + userId) 로 처리 변경.
+     * 기존 연결에 중복 로그인을 알리고 일정 시간 후 세션 종료를 통보한다.
+     * user:{userId} 방으로 전송하므로 기존 소켓이 다른 노드에 있어도 store pub/sub 으로 전달된다.
+     * 로컬 노드에서는 기존 소켓에만 전송해 새로 접속한 소켓이 통보를 받지 않도록 한다.
      */
     private void notifyDuplicateLogin(SocketIOClient client, String userId) {
         var socketUser = connectedUsers.get(userId);
@@ -145,30 +229,32 @@ public class ConnectionLoginHandler {
             return;
         }
         String existingSocketId = socketUser.socketId();
-        SocketIOClient existingClient = socketIOServer.getClient(UUID.fromString(existingSocketId));
-        if (existingClient == null) {
+        if (existingSocketId == null || existingSocketId.equals(client.getSessionId().toString())) {
             return;
         }
-        
+
+        String userRoom = "user:" + userId;
+        // sendEvent 의 predicate 는 제외 조건이므로 기존 소켓이 아닌 클라이언트를 제외한다
+        Predicate<SocketIOClient> exceptExisting =
+                target -> !existingSocketId.equals(target.getSessionId().toString());
+
         // Send duplicate login notification
-        existingClient.sendEvent(DUPLICATE_LOGIN, Map.of(
+        socketIOServer.getRoomOperations(userRoom).sendEvent(DUPLICATE_LOGIN, exceptExisting, Map.of(
                 "type", "new_login_attempt",
                 "deviceInfo", client.getHandshakeData().getHttpHeaders().get("User-Agent"),
                 "ipAddress", client.getRemoteAddress().toString(),
                 "timestamp", System.currentTimeMillis()
         ));
-        
-        new Thread(() -> {
+
+        socketTaskScheduler.schedule(() -> {
             try {
-                Thread.sleep(Duration.ofSeconds(10));
-                existingClient.sendEvent(SESSION_ENDED, Map.of(
+                socketIOServer.getRoomOperations(userRoom).sendEvent(SESSION_ENDED, exceptExisting, Map.of(
                         "reason", "duplicate_login",
                         "message", "다른 기기에서 로그인하여 현재 세션이 종료되었습니다."
                 ));
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                log.error("Error in duplicate login notification thread", e);
+            } catch (Exception e) {
+                log.error("Error sending session ended notification - userId: {}", userId, e);
             }
-        }).start();
+        }, SESSION_END_DELAY.toMillis(), TimeUnit.MILLISECONDS);
     }
 }
@@ -3,20 +3,31 @@ package com.ktb.chatapp.websocket.socketio.handler;
 import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
 import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.RoomEvent;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomEventRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
 import com.ktb.chatapp.service.MessageReadStatusService;
 import jakarta.annotation.Nullable;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
@@ -31,8 +42,14 @@ public class MessageLoader {
     private final ChatUserCacheService chatUserCacheService; // ✅ UserRepository 대신
     private final MessageResponseMapper messageResponseMapper;
     private final MessageReadStatusService messageReadStatusService;
+    private final RoomEventRepository roomEventRepository;
 
     private static final int BATCH_SIZE = 30;
+    // 한 페이지에 합쳐 줄 입장/퇴장 이벤트 최대 수
+    private static final int MAX_EVENTS_PER_PAGE = 100;
+    // syncRoom 한 번에 보내는 최대 메시지 수
+    private static final int SYNC_BATCH_SIZE = 100;
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
 
     public FetchMessagesResponse loadMessages(FetchMessagesRequest data, String userId) {
         try {
@@ -40,6 +57,7 @@ public class MessageLoader {
                     data.roomId(),
                     data.limit(BATCH_SIZE),
                     data.before(LocalDateTime.now()),
+                    data.includeSystem(),
                     userId
             );
         } catch (Exception e) {
@@ -51,10 +69,27 @@ public class MessageLoader {
         }
     }
 
+    /**
+     * before 이전 메시지 한 페이지를 조회한다. (방 입장)
+     * FetchMessagesRequest 는 before 를 밀리초로 받으므로, 밀리초 미만까지 있는 입장 시각을 그대로 경계로 쓸 때 사용한다.
+     */
+    public FetchMessagesResponse loadMessagesBefore(String roomId, LocalDateTime before, String userId) {
+        try {
+            return loadMessagesInternal(roomId, BATCH_SIZE, before, false, userId);
+        } catch (Exception e) {
+            log.error("Error loading initial messages for room {}", roomId, e);
+            return FetchMessagesResponse.builder()
+                    .messages(emptyList())
+                    .hasMore(false)
+                    .build();
+        }
+    }
+
     private FetchMessagesResponse loadMessagesInternal(
             String roomId,
             int limit,
             LocalDateTime before,
+            boolean includeSystem,
             String userId) {
         Pageable pageable = PageRequest.of(0, limit, Sort.by("timestamp").descending());
 
@@ -65,6 +100,29 @@ public class MessageLoader {
 
         // DESC 조회 → ASC로 뒤집기
         List<Message> sortedMessages = messages.reversed();
+        boolean hasMore = messagePage.hasNext();
+
+        List<RoomEvent> events = emptyList();
+        if (includeSystem) {
+            // 이 페이지가 덮는 [가장 오래된 메시지, before) 구간의 이벤트만 합쳐 다음 페이지와 겹치지 않게 한다
+            LocalDateTime from = hasMore && !sortedMessages.isEmpty() ? sortedMessages.getFirst().getTimestamp() : EPOCH;
+            events = roomEventRepository.findInRange(
+                    roomId, from, before, PageRequest.of(0, MAX_EVENTS_PER_PAGE + 1));
+            if (events.size() > MAX_EVENTS_PER_PAGE) {
+                // 구간 이벤트가 한도를 넘으면 페이지 경계를 한도 밖 첫 이벤트 시각 직후로 당긴다.
+                // 경계 이전(같은 시각 포함)의 메시지와 이벤트는 버리고 hasMore 로 다음 페이지에서 받게 한다.
+                LocalDateTime cutoff = events.get(MAX_EVENTS_PER_PAGE).getTimestamp();
+                List<RoomEvent> kept = events.stream().filter(event -> event.getTimestamp().isAfter(cutoff)).toList();
+                // 한도를 넘는 이벤트가 모두 같은 시각이면 경계를 당길 수 없으므로 한도만큼만 보낸다
+                events = kept.isEmpty() ? events.subList(0, MAX_EVENTS_PER_PAGE) : kept;
+                if (!kept.isEmpty()) {
+                    sortedMessages = sortedMessages.stream()
+                            .filter(message -> message.getTimestamp().isAfter(cutoff))
+                            .toList();
+                }
+                hasMore = true;
+            }
+        }
 
         var messageIds = sortedMessages.stream().map(Message::getId).toList();
         messageReadStatusService.updateReadStatus(messageIds, userId);
@@ -77,7 +135,9 @@ public class MessageLoader {
                 })
                 .collect(Collectors.toList());
 
-        boolean hasMore = messagePage.hasNext();
+        if (!events.isEmpty()) {
+            messageResponses = mergeRoomEvents(messageResponses, events);
+        }
 
         log.debug("Messages loaded - roomId: {}, limit: {}, count: {}, hasMore: {}",
                 roomId, limit, messageResponses.size(), hasMore);
@@ -88,6 +148,90 @@ public class MessageLoader {
                 .build();
     }
 
+    /**
+     * 방의 최근 메시지 한 페이지를 조회한다. 읽음 처리와 응답 변환은 하지 않는다.
+     */
+    Page<Message> findRecentMessages(String roomId) {
+        Pageable pageable = PageRequest.of(0, BATCH_SIZE, Sort.by("timestamp").descending());
+        return messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(roomId, false, LocalDateTime.now(), pageable);
+    }
+
+    /**
+     * 여러 방에서 조회한 페이지를 응답으로 변환한다. (재접속 복원용)
+     * 읽음 처리는 모든 방의 메시지를 합쳐 한 번에 하고, 방마다 겹치는 발신자는 한 번만 조회한다.
+     */
+    Map<String, FetchMessagesResponse> toResponses(Map<String, Page<Message>> pages, String userId) {
+        List<String> messageIds = new ArrayList<>();
+        pages.values().forEach(page -> page.getContent().forEach(message -> messageIds.add(message.getId())));
+        messageReadStatusService.updateReadStatus(messageIds, userId);
+
+        Map<String, Optional<User>> senders = new HashMap<>();
+        Map<String, FetchMessagesResponse> responses = new LinkedHashMap<>();
+        pages.forEach((roomId, page) -> {
+            List<MessageResponse> messages = page.getContent().reversed().stream()
+                    .map(message -> messageResponseMapper.mapToMessageResponse(
+                            message, findSender(senders, message.getSenderId())))
+                    .toList();
+            responses.put(roomId, FetchMessagesResponse.builder()
+                    .messages(messages)
+                    .hasMore(page.hasNext())
+                    .build());
+        });
+        return responses;
+    }
+
+    /**
+     * lastSeq 이후에 저장된 메시지를 순번 순으로 조회한다. (syncRoom)
+     * 시간 범위 대신 (room, seq) 인덱스 구간만 읽으므로 끊긴 동안의 메시지만 가져온다.
+     */
+    public SyncRoomResponse loadSince(SyncRoomRequest data, String userId) {
+        Slice<Message> slice = messageRepository.findByRoomIdAfterSeq(
+                data.roomId(), data.lastSeq(), PageRequest.of(0, SYNC_BATCH_SIZE));
+
+        long lastSeq = data.lastSeq();
+        List<Message> messages = new ArrayList<>(slice.getNumberOfElements());
+        for (Message message : slice.getContent()) {
+            lastSeq = Math.max(lastSeq, message.getSeq());
+            if (!Boolean.TRUE.equals(message.getIsDeleted())) {
+                messages.add(message);
+            }
+        }
+
+        messageReadStatusService.updateReadStatus(messages.stream().map(Message::getId).toList(), userId);
+
+        Map<String, Optional<User>> senders = new HashMap<>();
+        List<MessageResponse> responses = messages.stream()
+                .map(message -> messageResponseMapper.mapToMessageResponse(
+                        message, findSender(senders, message.getSenderId())))
+                .toList();
+
+        log.debug("Room synced - roomId: {}, fromSeq: {}, lastSeq: {}, count: {}, hasMore: {}",
+                data.roomId(), data.lastSeq(), lastSeq, responses.size(), slice.hasNext());
+
+        return SyncRoomResponse.builder()
+                .roomId(data.roomId())
+                .messages(responses)
+                .lastSeq(lastSeq)
+                .hasMore(slice.hasNext())
+                .build();
+    }
+
+    private List<MessageResponse> mergeRoomEvents(List<MessageResponse> messages, List<RoomEvent> events) {
+        List<MessageResponse> merged = new ArrayList<>(messages.size() + events.size());
+        merged.addAll(messages);
+        events.forEach(event -> merged.add(messageResponseMapper.mapToMessageResponse(event.toMessage(), null)));
+        merged.sort(Comparator.comparingLong(MessageResponse::getTimestamp));
+        return merged;
+    }
+
+    @Nullable
+    private User findSender(Map<String, Optional<User>> senders, String id) {
+        if (id == null) {
+            return null;
+        }
+        return senders.computeIfAbsent(id, key -> Optional.ofNullable(findUserById(key))).orElse(null);
+    }
+
     @Nullable
     private User findUserById(String id) {
         if (id == null) {
@@ -37,6 +37,7 @@ public class MessageResponseMapper {
                 .content(message.getContent())
                 .type(message.getType())
                 .timestamp(message.toTimestampMillis())
+                .seq(message.getSeq())
                 .roomId(message.getRoomId())
                 .reactions(message.getReactions() != null ?
                         message.getReactions() : new HashMap<>())
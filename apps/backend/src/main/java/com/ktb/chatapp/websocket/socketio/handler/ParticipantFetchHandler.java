@@ -0,0 +1,65 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 참가자 명단 조회 핸들러
+ * participantJoined/participantLeft 버전이 이어지지 않은 클라이언트에게 명단 전체를 보낸다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class ParticipantFetchHandler {
+
+    private final RoomRoster roomRoster;
+    private final UserRooms userRooms;
+    private final RoomBroadcaster roomBroadcaster;
+
+    @OnEvent(FETCH_PARTICIPANTS)
+    public void handleFetchParticipants(SocketIOClient client, String roomId) {
+        SocketUser user = client.get("user");
+        if (user == null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "UNAUTHORIZED",
+                    "message", "인증이 필요합니다."
+            ));
+            return;
+        }
+
+        try {
+            if (!userRooms.isInRoom(user.id(), roomId)) {
+                client.sendEvent(ERROR, Map.of(
+                        "code", "LOAD_ERROR",
+                        "message", "채팅방 접근 권한이 없습니다."
+                ));
+                return;
+            }
+
+            roomRoster.snapshot(roomId).ifPresent(roster ->
+                    roomBroadcaster.sendToClient(client, PARTICIPANTS_SNAPSHOT, Map.of(
+                            "roomId", roomId,
+                            "version", roster.version(),
+                            "participants", roster.participants()
+                    )));
+
+        } catch (Exception e) {
+            log.error("Error handling fetchParticipants", e);
+            client.sendEvent(ERROR, Map.of(
+                    "code", "LOAD_ERROR",
+                    "message", "참가자 목록을 불러오는 중 오류가 발생했습니다."
+            ));
+        }
+    }
+}
@@ -1,27 +1,31 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
-import com.ktb.chatapp.dto.FetchMessagesRequest;
 import com.ktb.chatapp.dto.FetchMessagesResponse;
 import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
 import com.ktb.chatapp.dto.UserResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
 import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomEvent;
 import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomEventRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
 import java.time.LocalDateTime;
 import java.util.*;
-import lombok.RequiredArgsConstructor;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 
@@ -32,125 +36,74 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
 @Slf4j
 @Component
 @ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
-@RequiredArgsConstructor
 public class RoomJoinHandler {
 
-    private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
+    private final RoomBroadcaster roomBroadcaster;
+    private final RoomEventRepository roomEventRepository;
     private final RoomRepository roomRepository;
     private final ChatUserCacheService chatUserCacheService;   // ✅ UserRepository 대신 캐시 서비스
+    private final RoomMembershipCache roomMembershipCache;
+    private final RoomRoster roomRoster;
     private final UserRooms userRooms;
     private final MessageLoader messageLoader;
     private final MessageResponseMapper messageResponseMapper;
     private final RoomLeaveHandler roomLeaveHandler;
+    private final AiStreamRegistry aiStreamRegistry;
+
+    private final Executor socketMessageExecutor;
+
+    public RoomJoinHandler(
+            RoomBroadcaster roomBroadcaster,
+            RoomEventRepository roomEventRepository,
+            RoomRepository roomRepository,
+            ChatUserCacheService chatUserCacheService,
+            RoomMembershipCache roomMembershipCache,
+            RoomRoster roomRoster,
+            UserRooms userRooms,
+            MessageLoader messageLoader,
+            MessageResponseMapper messageResponseMapper,
+            RoomLeaveHandler roomLeaveHandler,
+            AiStreamRegistry aiStreamRegistry,
+            @Qualifier("socketMessageExecutor") Executor socketMessageExecutor) {
+        this.roomBroadcaster = roomBroadcaster;
+        this.roomEventRepository = roomEventRepository;
+        this.roomRepository = roomRepository;
+        this.chatUserCacheService = chatUserCacheService;
+        this.roomMembershipCache = roomMembershipCache;
+        this.roomRoster = roomRoster;
+        this.userRooms = userRooms;
+        this.messageLoader = messageLoader;
+        this.messageResponseMapper = messageResponseMapper;
+        this.roomLeaveHandler = roomLeaveHandler;
+        this.aiStreamRegistry = aiStreamRegistry;
+        this.socketMessageExecutor = socketMessageExecutor;
+    }
 
+    /**
+     * joinRoom 의 유일한 리스너. 요청마다 경로를 골라 joinRoomSuccess 를 정확히 한 번 보낸다.
+     * - 경량 경로: 이미 참여 중인 방(재접속, 연결 해제 유예 중 복귀)은 소켓 방만 다시 붙인다.
+     * - 전체 경로: 참가자 추가, 입장 이벤트 저장, 이력/명단 로드, 입장 방송
+     */
     @OnEvent(JOIN_ROOM)
     public void handleJoinRoom(SocketIOClient client, String roomId) {
         try {
-            String userId = getUserId(client);
-            String userName = getUserName(client);
-
-            if (userId == null) {
-                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "Unauthorized"));
-                return;
-            }
-
-            // ✅ 존재 여부 체크도 캐시 경유 (Mongo → Redis 캐시)
-            User currentUser;
-            try {
-                currentUser = chatUserCacheService.getUserById(userId);
-            } catch (Exception e) {
-                log.warn("User not found in RoomJoinHandler - userId={}", userId, e);
-                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "User not found"));
+            if (!StringUtils.hasText(roomId)) {
+                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "roomId가 올바르지 않습니다."));
                 return;
             }
 
-            if (roomRepository.findById(roomId).isEmpty()) {
-                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
-                return;
-            }
-
-            // 이미 해당 방에 참여 중인지 확인
-            if (userRooms.isInRoom(userId, roomId)) {
-                log.debug("User {} already in room {}", userId, roomId);
-                client.joinRoom(roomId);
-                client.sendEvent(JOIN_ROOM_SUCCESS, Map.of("roomId", roomId));
+            SocketUser user = getUser(client);
+            if (user == null) {
+                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "Unauthorized"));
                 return;
             }
 
-            // MongoDB의 $addToSet 연산자를 사용한 원자적 업데이트
-            roomRepository.addParticipant(roomId, userId);
-
-            // Join socket room and add to user's room set
-            client.joinRoom(roomId);
-            userRooms.add(userId, roomId);
-
-            Message joinMessage = Message.builder()
-                    .roomId(roomId)
-                    .content(userName + "님이 입장하였습니다.")
-                    .type(MessageType.system)
-                    .timestamp(LocalDateTime.now())
-                    .mentions(new ArrayList<>())
-                    .isDeleted(false)
-                    .reactions(new HashMap<>())
-                    .readers(new ArrayList<>())
-                    .metadata(new HashMap<>())
-                    .build();
-
-            joinMessage = messageRepository.save(joinMessage);
-
-            // 초기 메시지 로드
-            FetchMessagesRequest req = new FetchMessagesRequest(roomId, 30, null);
-            FetchMessagesResponse messageLoadResult = messageLoader.loadMessages(req, userId);
-
-            // 업데이트된 room 다시 조회하여 최신 participantIds 가져오기
-            Optional<Room> roomOpt = roomRepository.findById(roomId);
-            if (roomOpt.isEmpty()) {
-                client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
-                return;
+            if (userRooms.isInRoom(user.id(), roomId) && roomMembershipCache.isParticipant(roomId, user.id())) {
+                rejoin(client, user.id(), roomId);
+            } else {
+                join(client, user.id(), user.name(), roomId);
             }
 
-            Room room = roomOpt.get();
-
-            // ✅ 참가자 정보 조회: UserRepository → ChatUserCacheService
-            List<UserResponse> participants = room.getParticipantIds()
-                    .stream()
-                    .map(participantId -> {
-                        try {
-                            return chatUserCacheService.getUserById(participantId);
-                        } catch (Exception e) {
-                            log.warn("Failed to load participant user - userId={}, roomId={}", participantId, roomId);
-                            return null;
-                        }
-                    })
-                    .filter(Objects::nonNull)
-                    .map(UserResponse::from)
-                    .toList();
-
-            JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
-                    .roomId(roomId)
-                    .participants(participants)
-                    .messages(messageLoadResult.getMessages())
-                    .hasMore(messageLoadResult.isHasMore())
-                    .activeStreams(Collections.emptyList())
-                    .build();
-
-            client.sendEvent(JOIN_ROOM_SUCCESS, response);
-
-            // 입장 메시지 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, messageResponseMapper.mapToMessageResponse(joinMessage, null));
-
-            // 참가자 목록 업데이트 브로드캐스트
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(PARTICIPANTS_UPDATE, participants);
-
-            log.info("User {} joined room {} successfully. Message count: {}, hasMore: {}",
-                    userName != null ? userName : currentUser.getName(),
-                    roomId,
-                    messageLoadResult.getMessages().size(),
-                    messageLoadResult.isHasMore());
-
         } catch (Exception e) {
             log.error("Error handling joinRoom", e);
             client.sendEvent(JOIN_ROOM_ERROR, Map.of(
@@ -159,17 +112,89 @@ public class RoomJoinHandler {
         }
     }
 
-    private SocketUser getUser(SocketIOClient client) {
-        return client.get("user");
+    // DB 를 거치지 않고 소켓 방만 다시 붙인다
+    private void rejoin(SocketIOClient client, String userId, String roomId) {
+        log.debug("User {} already in room {}", userId, roomId);
+        client.joinRoom(roomId);
+        // 재접속 시에도 진행 중인 AI 스트림 스냅샷을 받아 이후 청크를 이어붙일 수 있게 한다
+        client.sendEvent(JOIN_ROOM_SUCCESS, Map.of(
+                "roomId", roomId,
+                "activeStreams", aiStreamRegistry.activeStreams(roomId)));
     }
 
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUser(client);
-        return user != null ? user.id() : null;
+    private void join(SocketIOClient client, String userId, String userName, String roomId) {
+        // ✅ 존재 여부 체크도 캐시 경유 (Mongo → Redis 캐시)
+        User currentUser;
+        try {
+            currentUser = chatUserCacheService.getUserById(userId);
+        } catch (Exception e) {
+            log.warn("User not found in RoomJoinHandler - userId={}", userId, e);
+            client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "User not found"));
+            return;
+        }
+
+        // 존재 확인 + $addToSet + 갱신된 participantIds 조회를 findAndModify 한 번으로 처리
+        Optional<Room> roomOpt = roomRepository.addParticipantAndGet(roomId, userId);
+        if (roomOpt.isEmpty()) {
+            client.sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
+            return;
+        }
+        Room room = roomOpt.get();
+        roomMembershipCache.participantAdded(roomId, userId, room.getParticipantIds());
+
+        // Join socket room and add to user's room set
+        client.joinRoom(roomId);
+        userRooms.add(userId, roomId);
+
+        LocalDateTime joinedAt = LocalDateTime.now();
+        // 입장 메시지는 messages 대신 room_events 에 필요한 필드만 저장한다
+        RoomEvent joinEvent = RoomEvent.builder()
+                .roomId(roomId)
+                .type(RoomEvent.Type.JOIN)
+                .userId(userId)
+                .userName(userName)
+                .timestamp(joinedAt)
+                .build();
+
+        // 입장 이벤트 저장과 초기 메시지 로드를 동시에 실행
+        // 초기 메시지는 입장 시각 이전만 읽으므로 입장 메시지는 포함되지 않고 MESSAGE 방송으로 전달된다
+        // 밀리초로 자르면 같은 밀리초 안에서 입장 직전에 저장된 메시지가 빠지므로 입장 시각을 그대로 경계로 쓴다
+        CompletableFuture<RoomEvent> savedJoinEvent =
+                CompletableFuture.supplyAsync(() -> roomEventRepository.save(joinEvent), socketMessageExecutor);
+        FetchMessagesResponse messageLoadResult = messageLoader.loadMessagesBefore(roomId, joinedAt, userId);
+        RoomEvent savedEvent = savedJoinEvent.join();
+
+        // 명단 캐시에는 입장한 참가자만 반영하고, 다른 참가자에게는 delta 만 보낸다
+        long rosterVersion = roomRoster.join(roomId, room.getParticipantIds(), currentUser);
+        RoomRosterStore.Roster roster = roomRoster.snapshot(roomId, room.getParticipantIds());
+
+        JoinRoomSuccessResponse response = JoinRoomSuccessResponse.builder()
+                .roomId(roomId)
+                .participants(roster.participants())
+                .participantsVersion(roster.version())
+                .messages(messageLoadResult.getMessages())
+                .hasMore(messageLoadResult.isHasMore())
+                .activeStreams(aiStreamRegistry.activeStreams(roomId))
+                .build();
+
+        roomBroadcaster.sendToClient(client, JOIN_ROOM_SUCCESS, response);
+
+        // 입장 메시지 브로드캐스트
+        roomBroadcaster.sendToRoom(roomId, MESSAGE, messageResponseMapper.mapToMessageResponse(savedEvent.toMessage(), null));
+
+        roomBroadcaster.sendToRoom(roomId, PARTICIPANT_JOINED, Map.of(
+                "roomId", roomId,
+                "version", rosterVersion,
+                "user", UserResponse.from(currentUser)));
+
+        log.info("User {} joined room {} successfully. Message count: {}, hasMore: {}",
+                userName != null ? userName : currentUser.getName(),
+                roomId,
+                messageLoadResult.getMessages().size(),
+                messageLoadResult.isHasMore());
     }
 
-    private String getUserName(SocketIOClient client) {
-        SocketUser user = getUser(client);
-        return user != null ? user.name() : null;
+    private SocketUser getUser(SocketIOClient client) {
+        return client.get("user");
     }
 }
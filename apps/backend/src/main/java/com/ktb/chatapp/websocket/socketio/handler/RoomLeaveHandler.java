@@ -1,33 +1,29 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.corundumstudio.socketio.annotation.OnEvent;
 import com.ktb.chatapp.dto.MessageResponse;
-import com.ktb.chatapp.dto.UserResponse;
-import com.ktb.chatapp.model.Message;
-import com.ktb.chatapp.model.MessageType;
-import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomEvent;
 import com.ktb.chatapp.model.User;
-import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomEventRepository;
 import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.LEAVE_ROOM;
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
-import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANTS_UPDATE;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.PARTICIPANT_LEFT;
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
 import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.USER_LEFT;
 
@@ -41,60 +37,30 @@ import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.USER_LEFT;
 @RequiredArgsConstructor
 public class RoomLeaveHandler {
 
-    private final SocketIOServer socketIOServer;
-    private final MessageRepository messageRepository;
+    private final RoomBroadcaster roomBroadcaster;
+    private final RoomEventRepository roomEventRepository;
     private final RoomRepository roomRepository;
     private final ChatUserCacheService chatUserCacheService;   // ✅ UserRepository 대신 캐시 서비스
+    private final RoomMembershipCache roomMembershipCache;
+    private final RoomRoster roomRoster;
     private final UserRooms userRooms;
     private final MessageResponseMapper messageResponseMapper;
+    private final AiStreamRegistry aiStreamRegistry;
 
     @OnEvent(LEAVE_ROOM)
     public void handleLeaveRoom(SocketIOClient client, String roomId) {
         try {
-            String userId = getUserId(client);
-            String userName = getUserName(client);
-
-            if (userId == null) {
-                client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
-                return;
-            }
-
-            if (!userRooms.isInRoom(userId, roomId)) {
-                log.debug("User {} is not in room {}", userId, roomId);
+            if (!StringUtils.hasText(roomId)) {
                 return;
             }
 
-            // ✅ 유저 조회도 캐시 경유
-            User user;
-            try {
-                user = chatUserCacheService.getUserById(userId);
-            } catch (Exception e) {
-                log.warn("User not found in RoomLeaveHandler - userId={}", userId, e);
-                return;
-            }
-
-            Room room = roomRepository.findById(roomId).orElse(null);
-            if (room == null) {
-                log.warn("Room {} not found for user {}", roomId, userId);
+            SocketUser user = getUserDto(client);
+            if (user == null) {
+                client.sendEvent(ERROR, Map.of("message", "Unauthorized"));
                 return;
             }
 
-            roomRepository.removeParticipant(roomId, userId);
-
-            client.leaveRoom(roomId);
-            userRooms.remove(userId, roomId);
-
-            log.info("User {} left room {}", userName, room.getName());
-
-            log.debug("Leave room cleanup - roomId: {}, userId: {}", roomId, userId);
-
-            sendSystemMessage(roomId, userName + "님이 퇴장하였습니다.");
-            broadcastParticipantList(roomId);
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(USER_LEFT, Map.of(
-                            "userId", userId,
-                            "userName", userName
-                    ));
+            leave(user, roomId, client);
 
         } catch (Exception e) {
             log.error("Error handling leaveRoom", e);
@@ -102,70 +68,88 @@ public class RoomLeaveHandler {
         }
     }
 
-    private void sendSystemMessage(String roomId, String content) {
+    /**
+     * 연결 해제 유예 시간이 지나도록 재접속하지 않은 사용자를 퇴장 처리한다.
+     * 소켓이 이미 닫혔으므로 소켓 방 해제와 오류 응답 없이 저장소/방송만 처리한다.
+     */
+    public void leaveAfterDisconnect(SocketUser user, String roomId) {
         try {
-            Message systemMessage = new Message();
-            systemMessage.setRoomId(roomId);
-            systemMessage.setContent(content);
-            systemMessage.setType(MessageType.system);
-            systemMessage.setTimestamp(LocalDateTime.now());
-            systemMessage.setMentions(new ArrayList<>());
-            systemMessage.setIsDeleted(false);
-            systemMessage.setReactions(new HashMap<>());
-            systemMessage.setReaders(new ArrayList<>());
-            systemMessage.setMetadata(new HashMap<>());
-
-            Message savedMessage = messageRepository.save(systemMessage);
-            MessageResponse response = messageResponseMapper.mapToMessageResponse(savedMessage, null);
-
-            socketIOServer.getRoomOperations(roomId)
-                    .sendEvent(MESSAGE, response);
-
+            leave(user, roomId, null);
         } catch (Exception e) {
-            log.error("Error sending system message", e);
+            log.error("Error handling leave after disconnect - userId: {}, roomId: {}", user.id(), roomId, e);
         }
     }
 
-    private void broadcastParticipantList(String roomId) {
-        Optional<Room> roomOpt = roomRepository.findById(roomId);
-        if (roomOpt.isEmpty()) {
+    private void leave(SocketUser socketUser, String roomId, SocketIOClient client) {
+        String userId = socketUser.id();
+        String userName = socketUser.name();
+
+        if (!userRooms.isInRoom(userId, roomId)) {
+            log.debug("User {} is not in room {}", userId, roomId);
+            return;
+        }
+
+        // ✅ 유저 조회도 캐시 경유
+        User user;
+        try {
+            user = chatUserCacheService.getUserById(userId);
+        } catch (Exception e) {
+            log.warn("User not found in RoomLeaveHandler - userId={}", userId, e);
             return;
         }
 
-        var participantList = roomOpt.get()
-                .getParticipantIds()
-                .stream()
-                .map(userId -> {
-                    try {
-                        return chatUserCacheService.getUserById(userId);
-                    } catch (Exception e) {
-                        log.warn("Failed to load participant user - userId={}, roomId={}", userId, roomId);
-                        return null;
-                    }
-                })
-                .filter(Objects::nonNull)
-                .map(UserResponse::from)
-                .toList();
-
-        if (participantList.isEmpty()) {
+        if (roomMembershipCache.participants(roomId).isEmpty()) {
+            log.warn("Room {} not found for user {}", roomId, userId);
             return;
         }
 
-        socketIOServer.getRoomOperations(roomId)
-                .sendEvent(PARTICIPANTS_UPDATE, participantList);
-    }
+        roomRepository.removeParticipant(roomId, userId);
+        roomMembershipCache.participantRemoved(roomId, userId);
 
-    private SocketUser getUserDto(SocketIOClient client) {
-        return client.get("user");
+        if (client != null) {
+            client.leaveRoom(roomId);
+        }
+        userRooms.remove(userId, roomId);
+
+        // 요청자가 떠난 방의 AI 스트리밍은 더 이상 생성할 필요가 없다
+        aiStreamRegistry.cancel(roomId, userId);
+
+        log.info("User {} left room {}", userName, roomId);
+
+        log.debug("Leave room cleanup - roomId: {}, userId: {}", roomId, userId);
+
+        sendLeaveEvent(roomId, userId, userName);
+        roomBroadcaster.sendToRoom(roomId, PARTICIPANT_LEFT, Map.of(
+                "roomId", roomId,
+                "version", roomRoster.leave(roomId, userId),
+                "userId", userId
+        ));
+        roomBroadcaster.sendToRoom(roomId, USER_LEFT, Map.of(
+                "userId", userId,
+                "userName", userName
+        ));
     }
 
-    private String getUserId(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.id() : null;
+    private void sendLeaveEvent(String roomId, String userId, String userName) {
+        try {
+            // 퇴장 메시지는 messages 대신 room_events 에 필요한 필드만 저장한다
+            RoomEvent leaveEvent = roomEventRepository.save(RoomEvent.builder()
+                    .roomId(roomId)
+                    .type(RoomEvent.Type.LEAVE)
+                    .userId(userId)
+                    .userName(userName)
+                    .timestamp(LocalDateTime.now())
+                    .build());
+            MessageResponse response = messageResponseMapper.mapToMessageResponse(leaveEvent.toMessage(), null);
+
+            roomBroadcaster.sendToRoom(roomId, MESSAGE, response);
+
+        } catch (Exception e) {
+            log.error("Error sending leave event", e);
+        }
     }
 
-    private String getUserName(SocketIOClient client) {
-        SocketUser user = getUserDto(client);
-        return user != null ? user.name() : null;
+    private SocketUser getUserDto(SocketIOClient client) {
+        return client.get("user");
     }
 }
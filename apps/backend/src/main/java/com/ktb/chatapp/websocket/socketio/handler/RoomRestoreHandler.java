@@ -0,0 +1,167 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.ActiveStreamResponse;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOMS_RESTORED;
+
+/**
+ * 재접속 시 방 복원 처리
+ * - 소켓 방은 즉시 다시 붙여 복원 중에 발생한 방송도 받는다.
+ * - 방별 명단/최근 메시지/AI 스트림 상태는 socketMessageExecutor 에서 최대 parallelism 개씩 동시에 불러오고
+ *   roomsRestored 한 번으로 보낸다. 읽음 처리와 발신자 조회는 모든 방을 합쳐 한 번씩만 한다.
+ * - 이미 참여 중인 방에 다시 붙는 것이므로 입장 메시지 저장과 참가자 방송은 하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+public class RoomRestoreHandler {
+
+    private final RoomMembershipCache roomMembershipCache;
+    private final RoomRoster roomRoster;
+    private final UserRooms userRooms;
+    private final MessageLoader messageLoader;
+    private final AiStreamRegistry aiStreamRegistry;
+    private final RoomBroadcaster roomBroadcaster;
+    private final Executor socketMessageExecutor;
+    private final int parallelism;
+
+    public RoomRestoreHandler(
+            RoomMembershipCache roomMembershipCache,
+            RoomRoster roomRoster,
+            UserRooms userRooms,
+            MessageLoader messageLoader,
+            AiStreamRegistry aiStreamRegistry,
+            RoomBroadcaster roomBroadcaster,
+            @Qualifier("socketMessageExecutor") Executor socketMessageExecutor,
+            @Value("${socketio.reconnect.restore-parallelism:4}") int parallelism) {
+        this.roomMembershipCache = roomMembershipCache;
+        this.roomRoster = roomRoster;
+        this.userRooms = userRooms;
+        this.messageLoader = messageLoader;
+        this.aiStreamRegistry = aiStreamRegistry;
+        this.roomBroadcaster = roomBroadcaster;
+        this.socketMessageExecutor = socketMessageExecutor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * 사용자가 참여 중이던 방을 복원한다. 호출 스레드는 소켓 방 참여까지만 하고 바로 반환한다.
+     *
+     * @return 복원 결과 전송까지 끝나면 완료되는 future
+     */
+    public CompletableFuture<Void> restore(SocketIOClient client, SocketUser user, Set<String> roomIds) {
+        if (roomIds.isEmpty()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        client.joinRooms(roomIds);
+
+        // parallelism 개의 작업자가 대기열에서 방을 하나씩 꺼내 처리한다
+        ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>(roomIds);
+        Map<String, RoomState> states = new ConcurrentHashMap<>();
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        CompletableFuture<?>[] workers = new CompletableFuture<?>[Math.min(parallelism, roomIds.size())];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = CompletableFuture.runAsync(() -> {
+                String roomId;
+                while ((roomId = queue.poll()) != null) {
+                    load(client, user, roomId, states, failed);
+                }
+            }, socketMessageExecutor);
+        }
+
+        return CompletableFuture.allOf(workers)
+                .thenRun(() -> send(client, user, roomIds, states, failed))
+                .exceptionally(e -> {
+                    log.error("Error restoring rooms - userId: {}", user.id(), e);
+                    return null;
+                });
+    }
+
+    private void load(
+            SocketIOClient client,
+            SocketUser user,
+            String roomId,
+            Map<String, RoomState> states,
+            Set<String> failed) {
+        try {
+            // 연결이 끊긴 동안 방에서 제외되었으면 소켓 방과 참여 목록에서 뺀다
+            if (!roomMembershipCache.isParticipant(roomId, user.id())) {
+                client.leaveRoom(roomId);
+                userRooms.remove(user.id(), roomId);
+                log.debug("Skip restoring room {} - user {} is no longer a participant", roomId, user.id());
+                return;
+            }
+            RoomRosterStore.Roster roster = roomRoster.snapshot(roomId)
+                    .orElseThrow(() -> new IllegalStateException("Room not found: " + roomId));
+            states.put(roomId, new RoomState(
+                    roster, messageLoader.findRecentMessages(roomId), aiStreamRegistry.activeStreams(roomId)));
+        } catch (Exception e) {
+            log.warn("Failed to restore room {} for user {}", roomId, user.id(), e);
+            failed.add(roomId);
+        }
+    }
+
+    private void send(
+            SocketIOClient client,
+            SocketUser user,
+            Set<String> roomIds,
+            Map<String, RoomState> states,
+            Set<String> failed) {
+        Map<String, Page<Message>> pages = new LinkedHashMap<>();
+        roomIds.stream()
+                .filter(states::containsKey)
+                .forEach(roomId -> pages.put(roomId, states.get(roomId).messages()));
+        Map<String, FetchMessagesResponse> messages = messageLoader.toResponses(pages, user.id());
+
+        List<JoinRoomSuccessResponse> rooms = new ArrayList<>(pages.size());
+        pages.keySet().forEach(roomId -> {
+            RoomState state = states.get(roomId);
+            FetchMessagesResponse loaded = messages.get(roomId);
+            rooms.add(JoinRoomSuccessResponse.builder()
+                    .roomId(roomId)
+                    .participants(state.roster().participants())
+                    .participantsVersion(state.roster().version())
+                    .messages(loaded.getMessages())
+                    .hasMore(loaded.isHasMore())
+                    .activeStreams(state.activeStreams())
+                    .build());
+        });
+
+        // 실패한 방은 클라이언트가 joinRoom 으로 다시 요청한다
+        roomBroadcaster.sendToClient(client, ROOMS_RESTORED, Map.of(
+                "rooms", rooms,
+                "failed", List.copyOf(failed)));
+
+        log.info("Rooms restored - userId: {}, rooms: {}, failed: {}", user.id(), rooms.size(), failed.size());
+    }
+
+    private record RoomState(
+            RoomRosterStore.Roster roster,
+            Page<Message> messages,
+            List<ActiveStreamResponse> activeStreams) {}
+}
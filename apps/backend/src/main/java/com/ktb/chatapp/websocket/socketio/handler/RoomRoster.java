@@ -0,0 +1,96 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore.Roster;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 방 참가자 명단 관리
+ * 입장/퇴장 시 명단 캐시에 참가자 한 명만 반영하고 버전을 올린다.
+ * 명단이 캐시되어 있지 않을 때만 participantIds 전체의 프로필을 조회해 채운다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RoomRoster {
+
+    private final RoomRosterStore rosterStore;
+    private final RoomMembershipCache roomMembershipCache;
+    private final ChatUserCacheService chatUserCacheService;
+
+    /**
+     * 참가자를 명단에 추가한다.
+     *
+     * @param participantIds 추가 후의 방 참가자 ID, 명단을 새로 채울 때만 사용한다
+     * @return 추가가 반영된 버전
+     */
+    public long join(String roomId, Collection<String> participantIds, User user) {
+        UserResponse participant = UserResponse.from(user);
+        long version = rosterStore.add(roomId, participant);
+        if (version == 0) {
+            rosterStore.seedIfAbsent(roomId, resolve(roomId, participantIds));
+            version = rosterStore.add(roomId, participant);
+        }
+        return version;
+    }
+
+    /**
+     * 참가자를 명단에서 제거한다.
+     *
+     * @return 제거가 반영된 버전
+     */
+    public long leave(String roomId, String userId) {
+        return rosterStore.remove(roomId, userId);
+    }
+
+    /**
+     * 현재 명단 전체를 반환한다. 캐시되어 있지 않으면 방 정보로 채운다.
+     */
+    public Optional<Roster> snapshot(String roomId) {
+        Optional<Roster> cached = rosterStore.find(roomId);
+        if (cached.isPresent()) {
+            return cached;
+        }
+        return roomMembershipCache.participants(roomId)
+                .map(participantIds -> snapshot(roomId, participantIds));
+    }
+
+    /**
+     * 현재 명단 전체를 반환한다. 캐시되어 있지 않으면 주어진 participantIds 로 채운다.
+     */
+    public Roster snapshot(String roomId, Collection<String> participantIds) {
+        return rosterStore.find(roomId).orElseGet(() -> {
+            // 명단이 채워지자마자 만료된 경우에도 응답은 보낼 수 있도록 직접 조회한 명단을 돌려준다
+            List<UserResponse> participants = resolve(roomId, participantIds);
+            rosterStore.seedIfAbsent(roomId, participants);
+            return rosterStore.find(roomId).orElseGet(() -> new Roster(0, participants));
+        });
+    }
+
+    private List<UserResponse> resolve(String roomId, Collection<String> participantIds) {
+        return participantIds.stream()
+                .map(participantId -> {
+                    try {
+                        return chatUserCacheService.getUserById(participantId);
+                    } catch (Exception e) {
+                        log.warn("Failed to load participant user - userId={}, roomId={}", participantId, roomId);
+                        return null;
+                    }
+                })
+                .filter(Objects::nonNull)
+                .map(UserResponse::from)
+                .toList();
+    }
+}
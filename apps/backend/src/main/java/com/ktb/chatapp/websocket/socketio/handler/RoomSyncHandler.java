@@ -0,0 +1,69 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+
+/**
+ * 메시지 동기화 처리 핸들러
+ * 클라이언트가 받은 마지막 순번(lastSeq) 이후의 메시지만 보내 재접속/누락 시 최근 페이지 전체를 다시 받지 않게 한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "socketio.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+public class RoomSyncHandler {
+
+    private final RoomMembershipCache roomMembershipCache;
+    private final MessageLoader messageLoader;
+    private final RoomBroadcaster roomBroadcaster;
+
+    @OnEvent(SYNC_ROOM)
+    public void handleSyncRoom(SocketIOClient client, SyncRoomRequest data) {
+        var user = (SocketUser) client.get("user");
+        if (user == null) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "UNAUTHORIZED",
+                    "message", "인증이 필요합니다."
+            ));
+            return;
+        }
+        if (data == null || !StringUtils.hasText(data.roomId()) || data.lastSeq() < 0) {
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SYNC_ERROR",
+                    "message", "동기화 요청이 올바르지 않습니다."
+            ));
+            return;
+        }
+
+        try {
+            if (!roomMembershipCache.isParticipant(data.roomId(), user.id())) {
+                client.sendEvent(ERROR, Map.of(
+                        "code", "SYNC_ERROR",
+                        "message", "채팅방 접근 권한이 없습니다."
+                ));
+                return;
+            }
+
+            roomBroadcaster.sendToClient(client, ROOM_SYNCED, messageLoader.loadSince(data, user.id()));
+
+        } catch (Exception e) {
+            log.error("Error handling syncRoom - roomId: {}, lastSeq: {}", data.roomId(), data.lastSeq(), e);
+            client.sendEvent(ERROR, Map.of(
+                    "code", "SYNC_ERROR",
+                    "message", "메시지를 동기화하는 중 오류가 발생했습니다."
+            ));
+        }
+    }
+}
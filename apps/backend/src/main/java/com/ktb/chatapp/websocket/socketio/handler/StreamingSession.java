@@ -1,10 +1,13 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.model.AiType;
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.Getter;
 import lombok.NoArgsConstructor;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Data
@@ -21,8 +24,14 @@ public class StreamingSession {
     private long timestamp;
     @Builder.Default
     private long lastUpdate = System.currentTimeMillis();
+    // 토큰마다 String 을 새로 만들지 않도록 누적 버퍼를 사용 (O(n) 누적)
     @Builder.Default
-    private String content = "";
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private StringBuilder content = new StringBuilder();
+    // 청크 전송 순번 (1부터 시작)
+    @Setter(AccessLevel.NONE)
+    private long chunkSequence;
 
     public AiType aiTypeEnum() {
         if (aiType == null) return null;
@@ -38,9 +47,19 @@ public class StreamingSession {
         return aiTypeEnum;
     }
 
-    public void appendContent(String contentChunk) {
-        content += contentChunk;
+    // 스트리밍 스레드가 누적하는 동안 입장 처리 스레드가 activeStreams 로 읽을 수 있어 동기화
+    public synchronized long appendContent(String contentChunk) {
+        content.append(contentChunk);
         lastUpdate = System.currentTimeMillis();
+        return ++chunkSequence;
+    }
+
+    public synchronized String getContent() {
+        return content.toString();
+    }
+
+    public synchronized int contentLength() {
+        return content.length();
     }
     
     public long generationTimeMillis() {
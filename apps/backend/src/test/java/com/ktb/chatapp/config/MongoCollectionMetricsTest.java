@@ -0,0 +1,102 @@
+package com.ktb.chatapp.config;
+
+import com.mongodb.client.MongoDatabase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("MongoCollectionMetrics 테스트")
+class MongoCollectionMetricsTest {
+
+    private static final long REFRESH_MILLIS = 5_000;
+
+    private final MutableClock clock = new MutableClock();
+    private MongoDatabase database;
+    private MeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        database = mock(MongoDatabase.class);
+        MongoTemplate mongoTemplate = mock(MongoTemplate.class);
+        when(mongoTemplate.getDb()).thenReturn(database);
+        when(database.runCommand(any(Bson.class)))
+                .thenReturn(new Document("count", 10).append("size", 2_000))
+                .thenReturn(new Document("count", 12).append("size", 2_400));
+        registry = new SimpleMeterRegistry();
+        new MongoCollectionMetrics(mongoTemplate, REFRESH_MILLIS, clock).bindTo(registry);
+    }
+
+    @Test
+    @DisplayName("주기 안에서는 문서 수와 크기 게이지가 한 번 읽은 collStats 결과를 나눠 쓴다")
+    void reusesCollStatsWithinRefreshInterval() {
+        // when
+        double documents = gauge("mongodb.collection.documents", "messages");
+        double size = gauge("mongodb.collection.size", "messages");
+        clock.advance(REFRESH_MILLIS - 1);
+        double cachedDocuments = gauge("mongodb.collection.documents", "messages");
+
+        // then
+        assertThat(documents).isEqualTo(10);
+        assertThat(size).isEqualTo(2_000);
+        assertThat(cachedDocuments).isEqualTo(10);
+        verify(database, times(1)).runCommand(new Document("collStats", "messages"));
+    }
+
+    @Test
+    @DisplayName("주기가 지나면 collStats 를 다시 읽는다")
+    void refreshesAfterInterval() {
+        // given
+        gauge("mongodb.collection.documents", "messages");
+
+        // when
+        clock.advance(REFRESH_MILLIS);
+        double documents = gauge("mongodb.collection.documents", "messages");
+
+        // then
+        assertThat(documents).isEqualTo(12);
+        verify(database, times(2)).runCommand(new Document("collStats", "messages"));
+    }
+
+    private double gauge(String name, String collection) {
+        return registry.get(name).tag("collection", collection).gauge().value();
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis = 1_800_000_000_000L;
+
+        private void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.service.ratelimit.DegradedRateLimiter;
+import com.ktb.chatapp.service.ratelimit.LocalTokenBucketTier;
+import com.ktb.chatapp.service.ratelimit.RateLimitAlgorithmStore;
+import com.ktb.chatapp.service.ratelimit.RedisRateLimitStore;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RateLimitService 복합 정책 테스트")
+class RateLimitServiceCompositeTest {
+
+    private static final List<RateLimitPolicy> POLICIES = List.of(
+            new RateLimitPolicy("user-1", 10000, Duration.ofMinutes(1)),
+            new RateLimitPolicy("room:room-1", 60000, Duration.ofMinutes(1), true));
+
+    @Mock private RedisRateLimitStore redisRateLimitStore;
+    @Mock private LocalTokenBucketTier localTokenBucketTier;
+    @Mock private RateLimitAlgorithmStore rateLimitAlgorithmStore;
+    @Mock private DegradedRateLimiter degradedRateLimiter;
+
+    private RateLimitService rateLimitService;
+
+    @BeforeEach
+    void setUp() {
+        rateLimitService = new RateLimitService(
+                redisRateLimitStore, localTokenBucketTier, rateLimitAlgorithmStore, degradedRateLimiter);
+        when(degradedRateLimiter.allowRedisCall()).thenReturn(true);
+    }
+
+    @Test
+    @DisplayName("사용자 한도는 로컬 토큰 계층이 처리하고 방 flood 정책만 multi-key 스크립트로 검사한다")
+    void checkRateLimits_keepsUserPolicyOnLocalTier() {
+        // given
+        when(localTokenBucketTier.supports(10000)).thenReturn(true);
+        when(localTokenBucketTier.tryAcquire("rl:60:user-1", 10000, Duration.ofMinutes(1)))
+                .thenReturn(RateLimitCheckResult.allowed(10000, 9999, 60, 0, 60));
+        when(redisRateLimitStore.incrementAllAndGetTtl(anyList(), anyList(), anyList()))
+                .thenReturn(new RedisRateLimitStore.MultiResult(true, -1, List.of(
+                        new RedisRateLimitStore.Result(5, 60))));
+
+        // when
+        RateLimitCheckResult result = rateLimitService.checkRateLimits(POLICIES);
+
+        // then
+        assertThat(result.allowed()).isTrue();
+        verify(localTokenBucketTier).tryAcquire("rl:60:user-1", 10000, Duration.ofMinutes(1));
+        verify(redisRateLimitStore).incrementAllAndGetTtl(
+                List.of("rl:60:room:room-1"), List.of(60000), List.of(Duration.ofMinutes(1)));
+        verify(localTokenBucketTier, never()).refund(anyString());
+    }
+
+    @Test
+    @DisplayName("방 한도에 걸리면 거부하고 사용자 로컬 토큰은 되돌린다")
+    void checkRateLimits_roomRejectionDoesNotConsumeUserQuota() {
+        // given
+        when(localTokenBucketTier.supports(10000)).thenReturn(true);
+        when(localTokenBucketTier.tryAcquire("rl:60:user-1", 10000, Duration.ofMinutes(1)))
+                .thenReturn(RateLimitCheckResult.allowed(10000, 9999, 60, 0, 60));
+        when(redisRateLimitStore.incrementAllAndGetTtl(anyList(), anyList(), anyList()))
+                .thenReturn(new RedisRateLimitStore.MultiResult(false, 0, List.of(
+                        new RedisRateLimitStore.Result(60000, 42))));
+
+        // when
+        RateLimitCheckResult result = rateLimitService.checkRateLimits(POLICIES);
+
+        // then
+        assertThat(result.allowed()).isFalse();
+        assertThat(result.limit()).isEqualTo(60000);
+        assertThat(result.retryAfterSeconds()).isEqualTo(42);
+        verify(localTokenBucketTier).refund("rl:60:user-1");
+    }
+
+    @Test
+    @DisplayName("사용자 한도에 걸리면 Redis 를 호출하지 않고 거부한다")
+    void checkRateLimits_userRejectionSkipsRedis() {
+        // given
+        when(localTokenBucketTier.supports(10000)).thenReturn(true);
+        when(localTokenBucketTier.tryAcquire("rl:60:user-1", 10000, Duration.ofMinutes(1)))
+                .thenReturn(RateLimitCheckResult.rejected(10000, 60, 0, 30));
+
+        // when
+        RateLimitCheckResult result = rateLimitService.checkRateLimits(POLICIES);
+
+        // then
+        assertThat(result.allowed()).isFalse();
+        assertThat(result.limit()).isEqualTo(10000);
+        verifyNoInteractions(redisRateLimitStore);
+    }
+}
@@ -1,7 +1,6 @@
 package com.ktb.chatapp.service;
 
 import com.ktb.chatapp.config.MongoTestContainer;
-import com.ktb.chatapp.repository.RateLimitRepository;
 import java.time.Duration;
 import java.time.Instant;
 import org.junit.jupiter.api.BeforeEach;
@@ -9,6 +8,7 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.TestPropertySource;
 
@@ -23,14 +23,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 class RateLimitServiceTest {
 
     @Autowired
-    private RateLimitRepository rateLimitRepository;
+    private StringRedisTemplate redisTemplate;
 
     @Autowired
     private RateLimitService rateLimitService;
 
     @BeforeEach
     void setUp() {
-        rateLimitRepository.deleteAll();
+        redisTemplate.delete(redisTemplate.keys("rl:*"));
     }
 
     @Test
@@ -0,0 +1,188 @@
+package com.ktb.chatapp.service;
+
+import com.ktb.chatapp.repository.RoomRepository;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class RoomMembershipCacheTest {
+
+    private final RoomRepository roomRepository = mock(RoomRepository.class);
+    private final List<String> published = new ArrayList<>();
+    private final MutableClock clock = new MutableClock();
+
+    private RoomMembershipCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new RoomMembershipCache(roomRepository, published::add, Duration.ofMinutes(5), 100, clock);
+        when(roomRepository.findParticipantIds("room-1")).thenReturn(Optional.of(Set.of("user-1", "user-2")));
+    }
+
+    @Test
+    @DisplayName("참가자 확인은 방마다 한 번만 projection 조회하고 이후에는 로컬에서 처리한다")
+    void isParticipant_loadsOncePerRoom() {
+        // when
+        boolean first = cache.isParticipant("room-1", "user-1");
+        boolean second = cache.isParticipant("room-1", "user-2");
+        boolean outsider = cache.isParticipant("room-1", "user-9");
+
+        // then
+        assertThat(first).isTrue();
+        assertThat(second).isTrue();
+        assertThat(outsider).isFalse();
+        verify(roomRepository, times(1)).findParticipantIds("room-1");
+        verify(roomRepository, never()).findById(anyString());
+    }
+
+    @Test
+    @DisplayName("없는 방은 참가자가 아니며 캐시하지 않는다")
+    void isParticipant_missingRoom() {
+        // given
+        when(roomRepository.findParticipantIds("room-404")).thenReturn(Optional.empty());
+
+        // when
+        boolean result = cache.isParticipant("room-404", "user-1");
+
+        // then
+        assertThat(result).isFalse();
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    @DisplayName("이 노드의 참가자 추가/제거는 다시 조회하지 않고 반영하며 다른 노드에 무효화를 알린다")
+    void participantAddedAndRemoved_updateLocallyAndPublish() {
+        // given
+        cache.isParticipant("room-1", "user-1");
+
+        // when
+        cache.participantAdded("room-1", "user-3", Set.of("user-1", "user-2", "user-3"));
+        cache.participantRemoved("room-1", "user-1");
+
+        // then
+        assertThat(cache.participants("room-1")).contains(Set.of("user-2", "user-3"));
+        verify(roomRepository, times(1)).findParticipantIds("room-1");
+        assertThat(published).hasSize(2).allMatch(message -> message.endsWith(":room-1"));
+    }
+
+    @Test
+    @DisplayName("늦게 도착한 입장 결과가 먼저 반영된 다른 참가자를 지우지 않는다")
+    void participantAdded_mergesIntoExistingEntry() {
+        // given
+        cache.participantAdded("room-2", "user-b", Set.of("user-a", "user-b"));
+
+        // when - user-a 의 입장 결과(user-b 반영 전)가 나중에 도착
+        cache.participantAdded("room-2", "user-a", Set.of("user-a"));
+
+        // then
+        assertThat(cache.participants("room-2")).contains(Set.of("user-a", "user-b"));
+    }
+
+    @Test
+    @DisplayName("다른 노드의 무효화 메시지를 받으면 다시 조회하고, 자기 노드의 메시지는 무시한다")
+    void onInvalidation_evictsOnlyForOtherNodes() {
+        // given
+        cache.isParticipant("room-1", "user-1");
+        cache.participantRemoved("room-1", "user-2");
+
+        // when - 자기 노드가 보낸 메시지
+        cache.onInvalidation(published.getFirst());
+
+        // then
+        assertThat(cache.isParticipant("room-1", "user-2")).isFalse();
+        verify(roomRepository, times(1)).findParticipantIds("room-1");
+
+        // when - 다른 노드가 보낸 메시지
+        cache.onInvalidation("other-node:room-1");
+
+        // then
+        assertThat(cache.isParticipant("room-1", "user-2")).isTrue();
+        verify(roomRepository, times(2)).findParticipantIds("room-1");
+    }
+
+    @Test
+    @DisplayName("조회 중에 무효화 메시지가 도착하면 조회 결과를 저장하지 않고 다음에 다시 조회한다")
+    void participants_skipsPutWhenInvalidatedDuringLoad() {
+        // given - 조회가 끝나기 전에 다른 노드의 무효화가 도착
+        when(roomRepository.findParticipantIds("room-1")).thenAnswer(inv -> {
+            cache.onInvalidation("other-node:room-1");
+            return Optional.of(Set.of("user-1", "user-2"));
+        }).thenReturn(Optional.of(Set.of("user-1")));
+
+        // when
+        Optional<Set<String>> stale = cache.participants("room-1");
+        Optional<Set<String>> fresh = cache.participants("room-1");
+
+        // then
+        assertThat(stale).contains(Set.of("user-1", "user-2"));
+        assertThat(fresh).contains(Set.of("user-1"));
+        verify(roomRepository, times(2)).findParticipantIds("room-1");
+    }
+
+    @Test
+    @DisplayName("조회 중에 이 노드에서 참가자가 제거되면 제거 전 조회 결과로 덮지 않는다")
+    void participants_skipsPutWhenRemovedDuringLoad() {
+        // given
+        when(roomRepository.findParticipantIds("room-1")).thenAnswer(inv -> {
+            cache.participantRemoved("room-1", "user-2");
+            return Optional.of(Set.of("user-1", "user-2"));
+        }).thenReturn(Optional.of(Set.of("user-1")));
+
+        // when
+        cache.participants("room-1");
+
+        // then
+        assertThat(cache.isParticipant("room-1", "user-2")).isFalse();
+        verify(roomRepository, times(2)).findParticipantIds("room-1");
+    }
+
+    @Test
+    @DisplayName("TTL 이 지나면 다시 조회한다")
+    void participants_reloadAfterTtl() {
+        // given
+        cache.isParticipant("room-1", "user-1");
+
+        // when
+        clock.advance(Duration.ofMinutes(6));
+        cache.isParticipant("room-1", "user-1");
+
+        // then
+        verify(roomRepository, times(2)).findParticipantIds("room-1");
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DegradedRateLimiter 테스트")
+class DegradedRateLimiterTest {
+
+    private static final long OPEN_MILLIS = 10_000;
+
+    private final AtomicLong now = new AtomicLong(1_800_000_000_000L);
+    private SimpleMeterRegistry meterRegistry;
+    private DegradedRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenAnswer(invocation -> now.get());
+        meterRegistry = new SimpleMeterRegistry();
+        limiter = new DegradedRateLimiter(meterRegistry, clock, 3, OPEN_MILLIS, 0.5);
+    }
+
+    @Test
+    @DisplayName("연속 실패가 임계치에 도달하면 회로를 열고 Redis 호출을 생략한다")
+    void opensCircuitAfterConsecutiveFailures() {
+        for (int i = 0; i < 2; i++) {
+            limiter.onRedisFailure(new IllegalStateException("down"));
+            assertThat(limiter.allowRedisCall()).isTrue();
+        }
+
+        limiter.onRedisFailure(new IllegalStateException("down"));
+
+        assertThat(limiter.mode()).isEqualTo(DegradedRateLimiter.Mode.DEGRADED);
+        assertThat(limiter.allowRedisCall()).isFalse();
+        assertThat(modeGauge("degraded")).isEqualTo(1.0);
+        assertThat(modeGauge("normal")).isZero();
+    }
+
+    @Test
+    @DisplayName("열린 시간이 지나면 한 요청만 probe 로 통과시키고 성공 시 정상 모드로 복귀한다")
+    void halfOpenProbeRecovers() {
+        openCircuit();
+
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(limiter.allowRedisCall()).isTrue();
+        assertThat(limiter.allowRedisCall()).isFalse();
+        assertThat(limiter.mode()).isEqualTo(DegradedRateLimiter.Mode.PROBING);
+
+        limiter.onRedisSuccess();
+
+        assertThat(limiter.mode()).isEqualTo(DegradedRateLimiter.Mode.NORMAL);
+        assertThat(limiter.allowRedisCall()).isTrue();
+    }
+
+    @Test
+    @DisplayName("probe 가 실패하면 곧바로 회로를 다시 연다")
+    void failedProbeReopensCircuit() {
+        openCircuit();
+
+        now.addAndGet(OPEN_MILLIS);
+        assertThat(limiter.allowRedisCall()).isTrue();
+        limiter.onRedisFailure(new IllegalStateException("still down"));
+
+        assertThat(limiter.mode()).isEqualTo(DegradedRateLimiter.Mode.DEGRADED);
+        assertThat(limiter.allowRedisCall()).isFalse();
+    }
+
+    @Test
+    @DisplayName("degraded 모드에서는 축소된 한도로 제한한다")
+    void acquireAppliesScaledQuota() {
+        Duration window = Duration.ofSeconds(60);
+        int allowed = 0;
+        for (int i = 0; i < 10; i++) {
+            if (limiter.acquire("client", 10, window).allowed()) {
+                allowed++;
+            }
+        }
+
+        assertThat(limiter.scaledLimit(10)).isEqualTo(5);
+        assertThat(allowed).isEqualTo(5);
+        assertThat(meterRegistry.get("ratelimit.degraded.decisions").tag("result", "rejected").counter().count())
+                .isEqualTo(5.0);
+    }
+
+    private void openCircuit() {
+        for (int i = 0; i < 3; i++) {
+            limiter.onRedisFailure(new IllegalStateException("down"));
+        }
+    }
+
+    private double modeGauge(String mode) {
+        return meterRegistry.get("ratelimit.mode").tag("mode", mode).gauge().value();
+    }
+}
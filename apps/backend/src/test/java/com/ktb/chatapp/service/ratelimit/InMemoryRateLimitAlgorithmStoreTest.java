@@ -0,0 +1,136 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.annotation.RateLimit.Algorithm;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("InMemoryRateLimitAlgorithmStore 테스트")
+class InMemoryRateLimitAlgorithmStoreTest {
+
+    private static final Duration WINDOW = Duration.ofSeconds(60);
+
+    private MutableClock clock;
+    private InMemoryRateLimitAlgorithmStore store;
+
+    @BeforeEach
+    void setUp() {
+        // 윈도우 경계에 맞춰 시작
+        clock = new MutableClock(1_800_000_000_000L - (1_800_000_000_000L % WINDOW.toMillis()));
+        store = new InMemoryRateLimitAlgorithmStore(clock);
+    }
+
+    @ParameterizedTest
+    @EnumSource(Algorithm.class)
+    @DisplayName("한도까지 즉시 허용하고 초과 요청은 거부한다")
+    void acquire_allowsUpToLimit(Algorithm algorithm) {
+        for (int i = 0; i < 5; i++) {
+            var decision = store.acquire(algorithm, "key", 5, WINDOW);
+            assertThat(decision.allowed()).isTrue();
+            assertThat(decision.remaining()).isEqualTo(4 - i);
+        }
+
+        var rejected = store.acquire(algorithm, "key", 5, WINDOW);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isBetween(1L, WINDOW.toMillis());
+    }
+
+    @Test
+    @DisplayName("고정 윈도우는 경계를 넘으면 한도의 2배를 허용한다")
+    void fixedWindow_allowsDoubleBurstAcrossBoundary() {
+        clock.advance(WINDOW.toMillis() - 1);
+        assertThat(burst(Algorithm.FIXED_WINDOW, 10, 10)).isEqualTo(10);
+        clock.advance(WINDOW.toMillis());
+        assertThat(burst(Algorithm.FIXED_WINDOW, 10, 10)).isEqualTo(10);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = Algorithm.class, names = {"SLIDING_LOG", "SLIDING_WINDOW_COUNTER", "GCRA"})
+    @DisplayName("슬라이딩/GCRA 알고리즘은 윈도우 경계 직후 버스트를 제한한다")
+    void slidingAlgorithms_limitBurstAcrossBoundary(Algorithm algorithm) {
+        clock.advance(WINDOW.toMillis() - 1_000);
+        assertThat(burst(algorithm, 10, 10)).isEqualTo(10);
+
+        // 경계를 막 넘긴 시점: 고정 윈도우라면 다시 10건이 허용된다
+        clock.advance(2_000);
+        assertThat(burst(algorithm, 10, 10)).isLessThanOrEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("슬라이딩 로그는 가장 오래된 요청이 윈도우를 벗어나면 다시 허용한다")
+    void slidingLog_releasesAfterOldestExpires() {
+        burst(Algorithm.SLIDING_LOG, 3, 3);
+
+        var rejected = store.acquire(Algorithm.SLIDING_LOG, "key", 3, WINDOW);
+        assertThat(rejected.retryAfterMillis()).isEqualTo(WINDOW.toMillis());
+
+        clock.advance(WINDOW.toMillis());
+        assertThat(store.acquire(Algorithm.SLIDING_LOG, "key", 3, WINDOW).allowed()).isTrue();
+    }
+
+    @Test
+    @DisplayName("GCRA는 소진 후 emission 간격마다 한 건씩 허용한다")
+    void gcra_spacesRequestsByEmissionInterval() {
+        burst(Algorithm.GCRA, 6, 6);
+        long emission = WINDOW.toMillis() / 6;
+
+        var rejected = store.acquire(Algorithm.GCRA, "key", 6, WINDOW);
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterMillis()).isEqualTo(emission);
+
+        clock.advance(emission);
+        assertThat(store.acquire(Algorithm.GCRA, "key", 6, WINDOW).allowed()).isTrue();
+        assertThat(store.acquire(Algorithm.GCRA, "key", 6, WINDOW).allowed()).isFalse();
+    }
+
+    private int burst(Algorithm algorithm, int limit, int requests) {
+        int allowed = 0;
+        for (int i = 0; i < requests; i++) {
+            if (store.acquire(algorithm, "key", limit, WINDOW).allowed()) {
+                allowed++;
+            }
+        }
+        return allowed;
+    }
+
+    private static final class MutableClock extends Clock {
+        private long millis;
+
+        private MutableClock(long millis) {
+            this.millis = millis;
+        }
+
+        private void advance(long deltaMillis) {
+            millis += deltaMillis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+}
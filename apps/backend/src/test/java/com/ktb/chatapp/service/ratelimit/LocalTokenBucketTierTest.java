@@ -0,0 +1,138 @@
+package com.ktb.chatapp.service.ratelimit;
+
+import com.ktb.chatapp.service.RateLimitCheckResult;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("LocalTokenBucketTier 다중 노드 정확도 테스트")
+class LocalTokenBucketTierTest {
+
+    private static final Duration WINDOW = Duration.ofMinutes(1);
+
+    // Redis 카운터 역할 (모든 노드가 공유)
+    private final AtomicLong sharedCounter = new AtomicLong();
+    private final AtomicInteger redisCalls = new AtomicInteger();
+
+    private RedisRateLimitStore store;
+
+    @BeforeEach
+    void setUp() {
+        store = mock(RedisRateLimitStore.class);
+        when(store.lease(anyString(), any(Duration.class), anyLong(), anyLong()))
+                .thenAnswer(invocation -> {
+                    long leaseSize = invocation.getArgument(2);
+                    long ceiling = invocation.getArgument(3);
+                    redisCalls.incrementAndGet();
+                    synchronized (sharedCounter) {
+                        long current = sharedCounter.get();
+                        long granted = Math.max(0, Math.min(leaseSize, ceiling - current));
+                        return new RedisRateLimitStore.Lease(
+                                granted, sharedCounter.addAndGet(granted), WINDOW.getSeconds());
+                    }
+                });
+    }
+
+    @Test
+    @DisplayName("여러 노드가 동시에 소진해도 허용량은 limit ~ limit*(1+ratio) 범위에 머문다")
+    void multipleNodes_admitWithinConfiguredOverAdmission() throws Exception {
+        int limit = 10_000;
+        double ratio = 0.01;
+        int nodeCount = 5;
+        int requestsPerNode = 4_000;
+
+        List<LocalTokenBucketTier> nodes = new ArrayList<>();
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new LocalTokenBucketTier(store, true, 100, ratio, 1000));
+        }
+
+        AtomicInteger admitted = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(nodeCount * 2);
+        CountDownLatch done = new CountDownLatch(nodeCount * 2);
+
+        for (LocalTokenBucketTier node : nodes) {
+            for (int t = 0; t < 2; t++) {
+                executor.execute(() -> {
+                    try {
+                        for (int r = 0; r < requestsPerNode / 2; r++) {
+                            if (node.tryAcquire("rl:60:user:1", limit, WINDOW).allowed()) {
+                                admitted.incrementAndGet();
+                            }
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+        }
+
+        assertThat(done.await(10, TimeUnit.SECONDS)).isTrue();
+        executor.shutdown();
+
+        assertThat(admitted.get())
+                .isGreaterThanOrEqualTo(limit - nodeCount * 100)
+                .isLessThanOrEqualTo((int) (limit * (1 + ratio)));
+        // 요청 20,000건 대비 Redis 호출은 임대 횟수 수준(약 1%)이어야 한다
+        assertThat(redisCalls.get()).isLessThanOrEqualTo(limit / 100 + nodeCount * 2);
+    }
+
+    @Test
+    @DisplayName("상한 도달 후에는 윈도우 동안 Redis를 다시 호출하지 않고 거부한다")
+    void exhaustedBucket_rejectsWithoutRedisRoundTrip() {
+        LocalTokenBucketTier node = new LocalTokenBucketTier(store, true, 100, 0, 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            assertThat(node.tryAcquire("rl:60:user:2", 1000, WINDOW).allowed()).isTrue();
+        }
+        int callsAtLimit = redisCalls.get();
+
+        RateLimitCheckResult rejected = node.tryAcquire("rl:60:user:2", 1000, WINDOW);
+        node.tryAcquire("rl:60:user:2", 1000, WINDOW);
+
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isBetween(1L, WINDOW.getSeconds());
+        assertThat(redisCalls.get()).isEqualTo(callsAtLimit + 1);
+    }
+
+    @Test
+    @DisplayName("되돌린 토큰은 같은 윈도우에서 다시 쓸 수 있다")
+    void refund_returnsTokenToBucket() {
+        LocalTokenBucketTier node = new LocalTokenBucketTier(store, true, 100, 0, 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            node.tryAcquire("rl:60:user:3", 1000, WINDOW);
+        }
+        assertThat(node.tryAcquire("rl:60:user:3", 1000, WINDOW).allowed()).isFalse();
+
+        node.refund("rl:60:user:3");
+
+        assertThat(node.tryAcquire("rl:60:user:3", 1000, WINDOW).allowed()).isTrue();
+        assertThat(node.tryAcquire("rl:60:user:3", 1000, WINDOW).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("minLimit 미만 정책은 로컬 계층을 사용하지 않는다")
+    void supports_onlyLargeLimits() {
+        LocalTokenBucketTier node = new LocalTokenBucketTier(store, true, 100, 0.01, 1000);
+
+        assertThat(node.supports(10_000)).isTrue();
+        assertThat(node.supports(5)).isFalse();
+        assertThat(new LocalTokenBucketTier(store, false, 100, 0.01, 1000).supports(10_000)).isFalse();
+    }
+}
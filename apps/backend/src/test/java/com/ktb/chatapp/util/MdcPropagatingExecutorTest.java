@@ -0,0 +1,72 @@
+package com.ktb.chatapp.util;
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.listener.DataListener;
+import com.ktb.chatapp.websocket.socketio.SocketIOEventMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEventMetrics.CORRELATION_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class MdcPropagatingExecutorTest {
+
+    private final ExecutorService pool = Executors.newSingleThreadExecutor();
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("리스너에서 executor 로 넘긴 작업에도 같은 correlation ID 가 남는다")
+    void execute_propagatesCorrelationIdFromListener() throws Exception {
+        // given
+        var executor = MdcPropagatingExecutor.wrap(pool);
+        AtomicReference<String> listenerId = new AtomicReference<>();
+        AtomicReference<String> workerId = new AtomicReference<>();
+        AtomicReference<CompletableFuture<Void>> work = new AtomicReference<>();
+        DataListener<String> listener = new SocketIOEventMetrics(new SimpleMeterRegistry())
+                .instrument("chatMessage", (client, data, ack) -> {
+                    listenerId.set(MDC.get(CORRELATION_ID));
+                    work.set(CompletableFuture.runAsync(() -> workerId.set(MDC.get(CORRELATION_ID)), executor));
+                });
+
+        // when
+        listener.onData(mock(SocketIOClient.class), "hello", mock(AckRequest.class));
+        work.get().get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(listenerId.get()).isNotBlank();
+        assertThat(workerId.get()).isEqualTo(listenerId.get());
+    }
+
+    @Test
+    @DisplayName("작업이 끝나면 실행 스레드의 MDC 를 원래대로 되돌린다")
+    void execute_restoresWorkerContext() throws Exception {
+        // given
+        var executor = MdcPropagatingExecutor.wrap(pool);
+        MDC.put(CORRELATION_ID, "abc");
+        try {
+            CompletableFuture.runAsync(() -> { }, executor).get(1, TimeUnit.SECONDS);
+        } finally {
+            MDC.remove(CORRELATION_ID);
+        }
+
+        // when
+        String leaked = CompletableFuture.supplyAsync(() -> MDC.get(CORRELATION_ID), pool).get(1, TimeUnit.SECONDS);
+
+        // then
+        assertThat(leaked).isNull();
+    }
+}
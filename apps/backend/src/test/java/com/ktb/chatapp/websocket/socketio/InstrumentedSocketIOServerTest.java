@@ -0,0 +1,50 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.annotation.OnEvent;
+import com.corundumstudio.socketio.namespace.Namespace;
+import com.corundumstudio.socketio.transport.NamespaceClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class InstrumentedSocketIOServerTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("@OnEvent 리스너는 기본 네임스페이스에 계측된 채로 등록된다")
+    void addListeners_registersInstrumentedListenerOnDefaultNamespace() {
+        // given
+        InstrumentedSocketIOServer server =
+                new InstrumentedSocketIOServer(new Configuration(), new SocketIOEventMetrics(meterRegistry));
+        EchoListener listener = new EchoListener();
+        server.addListeners(listener, EchoListener.class);
+        Namespace namespace = (Namespace) server.getNamespace(Namespace.DEFAULT_NAME);
+
+        // when
+        namespace.onEvent(mock(NamespaceClient.class), "echo", List.of("hello"), mock(AckRequest.class));
+
+        // then
+        assertThat(listener.received).containsExactly("hello");
+        assertThat(meterRegistry.get("socketio.event.duration")
+                .tag("event", "echo").tag("outcome", "success").timer().count()).isEqualTo(1);
+    }
+
+    static class EchoListener {
+        private final List<String> received = new ArrayList<>();
+
+        @OnEvent("echo")
+        public void onEcho(SocketIOClient client, String data) {
+            received.add(data);
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Transport;
+import com.corundumstudio.socketio.handler.ClientHead;
+import com.corundumstudio.socketio.messages.OutPacketMessage;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.WriteBufferWaterMark;
+import io.netty.channel.embedded.EmbeddedChannel;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_CHUNK;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.AI_MESSAGE_COMPLETE;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGE;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.MESSAGES_READ;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OutboundBackpressureHandlerTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final Queue<Packet> queue = new ConcurrentLinkedQueue<>();
+    private ClientHead clientHead;
+
+    @BeforeEach
+    void setUp() {
+        clientHead = mock(ClientHead.class);
+        when(clientHead.getPacketsQueue(Transport.WEBSOCKET)).thenReturn(queue);
+    }
+
+    @Test
+    @DisplayName("쓰기 불가 동안 같은 메시지의 AI 청크는 delta 를 이어붙여 하나로 들고 있다가, 쓰기 가능해지면 보낸다")
+    void coalescesDroppableEventsWhileUnwritable() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        fillAboveHighWatermark(channel);
+        Packet chunk1 = chunk("room-1", "ai-1", 1, 0, "Hel");
+        Packet chunk2 = chunk("room-1", "ai-1", 2, 3, "lo");
+        Packet message = event(MESSAGE);
+        queue.addAll(List.of(chunk1, chunk2, message));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        // then
+        assertThat(queue).isEmpty();
+        assertThat(meterRegistry.get("socketio.outbound.coalesced").tag("event", AI_MESSAGE_CHUNK).counter().count())
+                .isEqualTo(1.0);
+
+        // when
+        channel.flush();
+
+        // then
+        assertThat(channel.isWritable()).isTrue();
+        assertThat(queue).hasSize(2);
+        assertThat(payload(queue.peek()))
+                .containsEntry("messageId", "ai-1")
+                .containsEntry("fromSeq", 1)
+                .containsEntry("seq", 2)
+                .containsEntry("offset", 0)
+                .containsEntry("currentChunk", "Hello");
+        assertThat(queue).last().isSameAs(message);
+        // 방송 패킷은 다른 클라이언트와 공유하므로 원본은 바뀌지 않는다
+        assertThat(payload(chunk2)).containsEntry("currentChunk", "lo");
+    }
+
+    @Test
+    @DisplayName("청크를 보류하는 동안 뒤따르는 완료/메시지 패킷도 보류해 청크가 완료보다 늦게 가지 않는다")
+    void keepsOrderWithPacketsAfterHeldChunk() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        fillAboveHighWatermark(channel);
+        Packet before = event(MESSAGE);
+        Packet chunk1 = chunk("room-1", "ai-1", 1, 0, "a");
+        Packet complete = event(AI_MESSAGE_COMPLETE);
+        Packet chunk2 = chunk("room-1", "ai-2", 1, 0, "b");
+        queue.addAll(List.of(before, chunk1, complete, chunk2));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        // then: 첫 청크 앞의 패킷은 그대로 보낸다
+        assertThat(queue).containsExactly(before);
+
+        // when: 쓰기 가능 알림 전에 들어온 패킷은 보류한 패킷 뒤로 간다
+        queue.clear();
+        Packet newer = event(MESSAGE);
+        queue.add(newer);
+        channel.flush();
+
+        // then
+        assertThat(queue).containsExactly(chunk1, complete, chunk2, newer);
+    }
+
+    @Test
+    @DisplayName("합친 청크 범위 중간 순번에서 이어받아도 offset 으로 겹치는 앞부분을 잘라 중복이 없다")
+    void mergedChunkResumesInsideRange() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        fillAboveHighWatermark(channel);
+        queue.addAll(List.of(
+                chunk("room-1", "ai-1", 3, 4, "cc"),
+                chunk("room-1", "ai-1", 4, 6, "ddd", "aabbccddd"),
+                chunk("room-1", "ai-1", 5, 9, "e")));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+        channel.flush();
+
+        // then: seq 4 까지의 스냅샷으로 이어받은 클라이언트
+        assertThat(queue).hasSize(1);
+        Map<String, Object> merged = payload(queue.peek());
+        assertThat(merged)
+                .containsEntry("fromSeq", 3)
+                .containsEntry("seq", 5)
+                .containsEntry("fullContent", "aabbccddde");
+        String snapshot = "aabbccddd";
+        String delta = (String) merged.get("currentChunk");
+        int offset = (Integer) merged.get("offset");
+        assertThat(snapshot + delta.substring(snapshot.length() - offset)).isEqualTo("aabbccddde");
+    }
+
+    @Test
+    @DisplayName("두 방의 AI 청크를 동시에 보류해도 방/메시지별로 따로 합쳐 어느 쪽도 잃지 않는다")
+    void coalescesChunksPerRoomAndMessage() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        fillAboveHighWatermark(channel);
+        queue.addAll(List.of(
+                chunk("room-1", "ai-1", 1, "a"),
+                chunk("room-2", "ai-2", 1, "x"),
+                chunk("room-1", "ai-1", 2, "b"),
+                chunk("room-2", "ai-2", 2, "y")));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+        channel.flush();
+
+        // then
+        assertThat(queue).extracting(OutboundBackpressureHandlerTest::payload)
+                .extracting(payload -> payload.get("roomId"), payload -> payload.get("currentChunk"))
+                .containsExactly(tuple("room-1", "ab"), tuple("room-2", "xy"));
+    }
+
+    @Test
+    @DisplayName("읽음 알림은 사용자마다 내용이 달라 쓰기 불가 동안에도 보류하지 않는다")
+    void doesNotHoldMessagesRead() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        fillAboveHighWatermark(channel);
+        Packet read1 = event(MESSAGES_READ);
+        Packet read2 = event(MESSAGES_READ);
+        queue.addAll(List.of(read1, read2));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        // then
+        assertThat(queue).containsExactly(read1, read2);
+    }
+
+    @Test
+    @DisplayName("쓰기 가능한 동안에는 어떤 이벤트도 빼지 않는다")
+    void passesThroughWhileWritable() {
+        // given
+        EmbeddedChannel channel = channel(1 << 20);
+        Packet chunk = chunk("room-1", "ai-1", 1, "a");
+        queue.add(chunk);
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        // then
+        assertThat(queue).containsExactly(chunk);
+    }
+
+    @Test
+    @DisplayName("출력 버퍼가 hard limit 을 넘으면 연결을 끊는다")
+    void evictsSlowConsumer() {
+        // given
+        EmbeddedChannel channel = channel(64);
+
+        // when
+        channel.write(Unpooled.wrappedBuffer(new byte[128]));
+
+        // then
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(meterRegistry.get("socketio.outbound.evicted").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("보류한 패킷도 대기 바이트에 더해 hard limit 을 넘으면 연결을 끊는다")
+    void evictsWhenHeldPacketsExceedHardLimit() {
+        // given
+        EmbeddedChannel channel = channel(256);
+        fillAboveHighWatermark(channel);
+        queue.add(chunk("room-1", "ai-1", 1, "x".repeat(300)));
+
+        // when
+        channel.write(new OutPacketMessage(clientHead, Transport.WEBSOCKET));
+
+        // then
+        assertThat(queue).isEmpty();
+        assertThat(channel.isOpen()).isFalse();
+        assertThat(meterRegistry.get("socketio.outbound.evicted").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("소켓별 대기 바이트를 히스토그램으로 기록한다")
+    void samplesBufferedBytes() {
+        // given
+        OutboundBackpressureHandler handler = handler(1 << 20);
+        EmbeddedChannel channel = new EmbeddedChannel(handler);
+        channel.write(Unpooled.wrappedBuffer(new byte[100]));
+
+        // when
+        handler.sample();
+
+        // then
+        var summary = meterRegistry.get("socketio.outbound.buffered").summary();
+        assertThat(summary.count()).isEqualTo(1);
+        // ChannelOutboundBuffer 는 엔트리 오버헤드를 포함해 센다
+        assertThat(summary.totalAmount()).isGreaterThanOrEqualTo(100.0);
+    }
+
+    private EmbeddedChannel channel(long hardLimitBytes) {
+        EmbeddedChannel channel = new EmbeddedChannel(handler(hardLimitBytes));
+        channel.config().setWriteBufferWaterMark(new WriteBufferWaterMark(8, 16));
+        return channel;
+    }
+
+    private OutboundBackpressureHandler handler(long hardLimitBytes) {
+        return new OutboundBackpressureHandler(mock(ScheduledExecutorService.class), meterRegistry, hardLimitBytes, 0);
+    }
+
+    // flush 하지 않은 쓰기로 high watermark 를 넘겨 쓰기 불가로 만든다
+    private static void fillAboveHighWatermark(EmbeddedChannel channel) {
+        channel.write(Unpooled.wrappedBuffer(new byte[32]));
+        assertThat(channel.isWritable()).isFalse();
+    }
+
+    private static Packet event(String name) {
+        Packet packet = new Packet(PacketType.MESSAGE);
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(name);
+        return packet;
+    }
+
+    private static Packet chunk(String roomId, String messageId, int seq, String delta) {
+        return chunk(roomId, messageId, seq, 0, delta);
+    }
+
+    private static Packet chunk(String roomId, String messageId, int seq, int offset, String delta) {
+        return chunk(roomId, messageId, seq, offset, delta, null);
+    }
+
+    // RoomBroadcaster 방송과 같이 PreEncodedPayload 인자 하나를 갖는 청크 패킷
+    private static Packet chunk(String roomId, String messageId, int seq, int offset, String delta, String fullContent) {
+        Packet packet = event(AI_MESSAGE_CHUNK);
+        String json = "{\"roomId\":\"" + roomId + "\",\"messageId\":\"" + messageId + "\",\"seq\":" + seq
+                + ",\"fromSeq\":" + seq + ",\"offset\":" + offset + ",\"currentChunk\":\"" + delta + "\""
+                + (fullContent != null ? ",\"fullContent\":\"" + fullContent + "\"" : "")
+                + ",\"isCodeBlock\":false,\"isComplete\":false}";
+        packet.setData(List.of(new PreEncodedPayload(json)));
+        return packet;
+    }
+
+    private static Map<String, Object> payload(Packet packet) {
+        PreEncodedPayload payload = (PreEncodedPayload) ((List<?>) packet.getData()).getFirst();
+        try {
+            return MAPPER.readValue(payload.json(), new TypeReference<>() {});
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * RoomBroadcaster 인코딩 벤치마크
+ * 방 인원별 방송 할당량(미리 직렬화 vs POJO)과 이벤트별 JSON/CBOR 바이트 수, 인코딩 CPU 를 출력한다.
+ *
+ * 실행 방법:
+ * mvn test -Dtest=RoomBroadcasterBenchmarkTest -Droom.broadcast.benchmark=true
+ */
+@DisplayName("RoomBroadcaster 인코딩 벤치마크")
+@EnabledIfSystemProperty(named = "room.broadcast.benchmark", matches = "true")
+class RoomBroadcasterBenchmarkTest {
+
+    private static final int ITERATIONS = 2_000;
+
+    private final RoomBroadcaster broadcaster =
+            new RoomBroadcaster(mock(SocketIOServer.class), new SimpleMeterRegistry());
+
+    @Test
+    @DisplayName("방 인원별로 미리 직렬화한 payload 와 POJO 방송의 할당량을 비교한다")
+    void preEncoded_packetBytesAndAllocationPerRoomSize() throws Exception {
+        // given
+        PacketEncoder encoder = new PacketEncoder(new Configuration(),
+                new JacksonJsonSupport(new JavaTimeModule(), PreEncodedPayload.module()));
+        MessageResponse payload = RoomBroadcasterTest.message(1);
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long pojoAt100 = 0;
+        long preEncodedAt100 = 0;
+        for (int roomSize : new int[] {1, 10, 100, 1000}) {
+            // warm-up
+            broadcastAllocations(threads, encoder, payload, roomSize, false);
+            broadcastAllocations(threads, encoder, payload, roomSize, true);
+
+            // when
+            long pojo = broadcastAllocations(threads, encoder, payload, roomSize, false);
+            long preEncoded = broadcastAllocations(threads, encoder, payload, roomSize, true);
+
+            System.out.printf("room=%5d alloc/broadcast pojo=%9d preEncoded=%9d (per client %6d / %6d)%n",
+                    roomSize, pojo, preEncoded, pojo / roomSize, preEncoded / roomSize);
+            if (roomSize == 100) {
+                pojoAt100 = pojo;
+                preEncodedAt100 = preEncoded;
+            }
+        }
+
+        // then
+        assertThat(preEncodedAt100).isLessThan(pojoAt100);
+    }
+
+    @Test
+    @DisplayName("이벤트별 JSON/CBOR 바이트 수와 인코딩 CPU 를 비교한다")
+    void encoding_bytesAndCpuComparison() throws Exception {
+        ObjectMapper json = RoomBroadcaster.newJsonMapper();
+        ObjectMapper cbor = RoomBroadcaster.newCborMapper();
+        List<MessageResponse> messages = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            messages.add(RoomBroadcasterTest.message(i));
+        }
+        Map<String, Object> aiChunk = new HashMap<>();
+        aiChunk.put("messageId", "wayneAI-1731000000000");
+        aiChunk.put("seq", 42L);
+        aiChunk.put("currentChunk", "스트리밍 중인 응답의 일부 토큰입니다. ");
+        aiChunk.put("isCodeBlock", false);
+        aiChunk.put("isComplete", false);
+
+        Map<String, Object> payloads = Map.of(
+                "message", RoomBroadcasterTest.message(1),
+                "previousMessagesLoaded", new FetchMessagesResponse(messages, true),
+                "aiMessageChunk", aiChunk);
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long fetchJsonBytes = 0;
+        long fetchCborBytes = 0;
+        for (Map.Entry<String, Object> entry : payloads.entrySet()) {
+            long jsonBytes = json.writeValueAsBytes(entry.getValue()).length;
+            long cborBytes = cbor.writeValueAsBytes(entry.getValue()).length;
+
+            long start = threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                json.writeValueAsBytes(entry.getValue());
+            }
+            long jsonCpu = threads.getCurrentThreadCpuTime() - start;
+            start = threads.getCurrentThreadCpuTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                cbor.writeValueAsBytes(entry.getValue());
+            }
+            long cborCpu = threads.getCurrentThreadCpuTime() - start;
+
+            System.out.printf("%-24s bytes json=%6d cbor=%6d | encode cpu json=%5.1fus cbor=%5.1fus%n",
+                    entry.getKey(), jsonBytes, cborBytes,
+                    jsonCpu / 1e3 / ITERATIONS, cborCpu / 1e3 / ITERATIONS);
+            if (entry.getKey().equals("previousMessagesLoaded")) {
+                fetchJsonBytes = jsonBytes;
+                fetchCborBytes = cborBytes;
+            }
+        }
+
+        assertThat(fetchCborBytes).isLessThan(fetchJsonBytes);
+    }
+
+    // 방송 1회: 같은 Packet 을 방 인원 수만큼 인코딩 (netty-socketio 가 채널별로 하는 일과 같다)
+    private long broadcastAllocations(com.sun.management.ThreadMXBean threads, PacketEncoder encoder,
+                                      Object payload, int roomSize, boolean preEncode) throws Exception {
+        long start = threads.getCurrentThreadAllocatedBytes();
+        Packet packet = RoomBroadcasterTest.packet(preEncode ? broadcaster.preEncode(payload) : payload);
+        for (int i = 0; i < roomSize; i++) {
+            ByteBuf out = PooledByteBufAllocator.DEFAULT.buffer();
+            encoder.encodePacket(packet, out, PooledByteBufAllocator.DEFAULT, true);
+            out.release();
+        }
+        return threads.getCurrentThreadAllocatedBytes() - start;
+    }
+}
@@ -0,0 +1,156 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.Configuration;
+import com.corundumstudio.socketio.HandshakeData;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.JacksonJsonSupport;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketEncoder;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.MessageType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RoomBroadcaster 테스트")
+class RoomBroadcasterTest {
+
+    private final SocketIOServer socketIOServer = mock(SocketIOServer.class);
+    private final BroadcastOperations room = mock(BroadcastOperations.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final RoomBroadcaster broadcaster = new RoomBroadcaster(socketIOServer, meterRegistry);
+    private final ObjectMapper jsonMapper = RoomBroadcaster.newJsonMapper();
+
+    @Test
+    @DisplayName("encoding=cbor 클라이언트에게는 CBOR 바이트를, 나머지에게는 JSON 객체를 보낸다")
+    void sendToRoom_splitsByNegotiatedEncoding() throws Exception {
+        // given
+        SocketIOClient jsonClient = client(null);
+        SocketIOClient binaryClient = client("cbor");
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(room);
+        when(room.getClients()).thenReturn(List.of(jsonClient, binaryClient));
+        MessageResponse payload = message(1);
+
+        // when
+        broadcaster.sendToRoom("room-1", SocketIOEvents.MESSAGE, payload);
+
+        // then
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Predicate<SocketIOClient>> excluded = ArgumentCaptor.forClass(Predicate.class);
+        ArgumentCaptor<Object> json = ArgumentCaptor.forClass(Object.class);
+        verify(room).sendEvent(eq(SocketIOEvents.MESSAGE), excluded.capture(), json.capture());
+        assertThat(excluded.getValue().test(binaryClient)).isTrue();
+        assertThat(excluded.getValue().test(jsonClient)).isFalse();
+        assertThat(meterRegistry.get("socketio.room.fanout").summary().totalAmount()).isEqualTo(2.0);
+        assertThat(json.getValue()).isInstanceOf(PreEncodedPayload.class);
+        assertThat(jsonMapper.readTree(((PreEncodedPayload) json.getValue()).json()))
+                .isEqualTo(jsonMapper.readTree(jsonMapper.writeValueAsBytes(payload)));
+
+        ArgumentCaptor<Object> sent = ArgumentCaptor.forClass(Object.class);
+        verify(binaryClient).sendEvent(eq(SocketIOEvents.MESSAGE), sent.capture());
+        assertThat(sent.getValue()).isInstanceOf(byte[].class);
+        assertThat(RoomBroadcaster.newCborMapper().readTree((byte[]) sent.getValue()))
+                .isEqualTo(jsonMapper.readTree(jsonMapper.writeValueAsBytes(payload)));
+    }
+
+    @Test
+    @DisplayName("바이너리 클라이언트가 없으면 기존 JSON 방송을 그대로 사용한다")
+    void sendToRoom_jsonOnlyRoomUsesPlainBroadcast() {
+        SocketIOClient jsonClient = client(null);
+        when(socketIOServer.getRoomOperations("room-1")).thenReturn(room);
+        when(room.getClients()).thenReturn(List.of(jsonClient));
+
+        broadcaster.sendToRoom("room-1", SocketIOEvents.MESSAGE, Map.of("k", "v"));
+
+        ArgumentCaptor<Object> json = ArgumentCaptor.forClass(Object.class);
+        verify(room).sendEvent(eq(SocketIOEvents.MESSAGE), json.capture());
+        assertThat(json.getValue()).isInstanceOf(PreEncodedPayload.class);
+        assertThat(((PreEncodedPayload) json.getValue()).json()).isEqualTo("{\"k\":\"v\"}");
+        verify(room, never()).sendEvent(eq(SocketIOEvents.MESSAGE), any(Predicate.class), (Object) any());
+    }
+
+    @Test
+    @DisplayName("미리 직렬화한 payload 는 POJO 와 같은 패킷을 만든다")
+    void preEncoded_producesSamePacketAsPojo() throws Exception {
+        // given
+        PacketEncoder encoder = new PacketEncoder(new Configuration(),
+                new JacksonJsonSupport(new JavaTimeModule(), PreEncodedPayload.module()));
+        MessageResponse payload = message(1);
+
+        // when
+        String preEncodedPacket = encodePacket(encoder, broadcaster.preEncode(payload));
+        String pojoPacket = encodePacket(encoder, payload);
+
+        // then
+        assertThat(preEncodedPacket).startsWith("42[");
+        // 이모지 같은 surrogate pair 는 유니코드 이스케이프 여부만 다를 수 있어 JSON 으로 비교한다
+        assertThat(jsonMapper.readTree(preEncodedPacket.substring(2)))
+                .isEqualTo(jsonMapper.readTree(pojoPacket.substring(2)));
+    }
+
+    static String encodePacket(PacketEncoder encoder, Object payload) throws Exception {
+        ByteBuf out = Unpooled.buffer();
+        encoder.encodePacket(packet(payload), out, PooledByteBufAllocator.DEFAULT, true);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    static Packet packet(Object payload) {
+        Packet packet = new Packet(PacketType.MESSAGE, EngineIOVersion.V4);
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(SocketIOEvents.MESSAGE);
+        packet.setData(List.of(payload));
+        return packet;
+    }
+
+    private SocketIOClient client(String encoding) {
+        SocketIOClient client = mock(SocketIOClient.class);
+        HandshakeData handshake = mock(HandshakeData.class);
+        when(handshake.getSingleUrlParam(RoomBroadcaster.ENCODING_PARAM)).thenReturn(encoding);
+        when(client.getHandshakeData()).thenReturn(handshake);
+        return client;
+    }
+
+    static MessageResponse message(int i) {
+        return MessageResponse.builder()
+                .id("6730f1c2a4b5c6d7e8f9" + String.format("%04d", i))
+                .roomId("6730f1c2a4b5c6d7e8f90000")
+                .content("안녕하세요, 오늘 회의는 3시에 시작합니다. #" + i)
+                .sender(UserResponse.builder()
+                        .id("6730f1c2a4b5c6d7e8f91111")
+                        .name("tester")
+                        .email("tester@example.com")
+                        .profileImage("")
+                        .build())
+                .type(MessageType.text)
+                .timestamp(1731000000000L + i)
+                .reactions(Map.of("👍", Set.of("6730f1c2a4b5c6d7e8f92222")))
+                .readers(List.of())
+                .metadata(Map.of())
+                .build();
+    }
+}
@@ -0,0 +1,163 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.corundumstudio.socketio.store.RedissonPubSubStore;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubStore;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntFunction;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.config.Config;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Socket.IO 클러스터 어댑터 벤치마크 (RedissonPubSubStore vs RoomPubSubStore)
+ * 노드 N 개에 소켓 S 개를 무작위로 방에 입장시킨 뒤 방송 M 건을 무작위 노드에서 발행하고,
+ * 모든 노드에 전달이 끝날 때까지의 시간, 노드 전달 수, Redis 네트워크 입출력 바이트를 출력한다.
+ * 소켓은 실제 연결 없이 netty-socketio 가 입장 시 발행하는 JOIN 메시지로 흉내 낸다.
+ *
+ * 실행 방법 (로컬 Redis 필요):
+ * mvn test -Dtest=RoomPubSubBenchmarkTest -Dsocketio.cluster.benchmark=true
+ *   [-Dbenchmark.nodes=10 -Dbenchmark.sockets=50000 -Dbenchmark.room-size=10 -Dbenchmark.messages=20000
+ *    -Dbenchmark.redis.host=localhost -Dbenchmark.redis.port=6379]
+ */
+@DisplayName("Socket.IO 클러스터 어댑터 벤치마크")
+@EnabledIfSystemProperty(named = "socketio.cluster.benchmark", matches = "true")
+class RoomPubSubBenchmarkTest {
+
+    private final int nodes = Integer.getInteger("benchmark.nodes", 10);
+    private final int sockets = Integer.getInteger("benchmark.sockets", 50_000);
+    private final int roomSize = Integer.getInteger("benchmark.room-size", 10);
+    private final int messages = Integer.getInteger("benchmark.messages", 20_000);
+    private final String redisHost = System.getProperty("benchmark.redis.host", "localhost");
+    private final int redisPort = Integer.getInteger("benchmark.redis.port", 6379);
+
+    @Test
+    @DisplayName("같은 부하에서 두 어댑터의 전달 수와 Redis 트래픽을 비교한다")
+    void compareAdapters() throws Exception {
+        LettuceConnectionFactory connectionFactory =
+                new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
+        connectionFactory.afterPropertiesSet();
+        List<RedissonClient> redissonClients = new ArrayList<>();
+        List<RoomPubSubStoreFactory> storeFactories = new ArrayList<>();
+        try {
+            Result redisson = run("redisson", connectionFactory, node -> {
+                Config config = new Config();
+                config.useSingleServer().setAddress("redis://" + redisHost + ":" + redisPort);
+                RedissonClient client = Redisson.create(config);
+                redissonClients.add(client);
+                return new RedissonPubSubStore(client, client, (long) node + 1);
+            });
+            Result roomPubSub = run("room-pubsub", connectionFactory, node -> {
+                RoomPubSubStoreFactory factory =
+                        new RoomPubSubStoreFactory(connectionFactory, Duration.ofMillis(2), 64 * 1024);
+                storeFactories.add(factory);
+                return factory.pubSubStore();
+            });
+
+            assertThat(roomPubSub.deliveries()).isLessThanOrEqualTo(redisson.deliveries());
+        } finally {
+            storeFactories.forEach(RoomPubSubStoreFactory::shutdown);
+            redissonClients.forEach(RedissonClient::shutdown);
+            connectionFactory.destroy();
+        }
+    }
+
+    private Result run(String name, LettuceConnectionFactory connectionFactory, IntFunction<PubSubStore> nodeFactory)
+            throws Exception {
+        Random random = new Random(42);
+        LongAdder joinDeliveries = new LongAdder();
+        LongAdder dispatchDeliveries = new LongAdder();
+        List<PubSubStore> stores = new ArrayList<>();
+        for (int node = 0; node < nodes; node++) {
+            PubSubStore store = nodeFactory.apply(node);
+            store.subscribe(PubSubType.JOIN, message -> joinDeliveries.increment(), JoinLeaveMessage.class);
+            store.subscribe(PubSubType.DISPATCH, message -> dispatchDeliveries.increment(), DispatchMessage.class);
+            stores.add(store);
+        }
+
+        int rooms = Math.max(1, sockets / roomSize);
+        List<Set<Integer>> roomNodes = new ArrayList<>();
+        for (int room = 0; room < rooms; room++) {
+            roomNodes.add(new HashSet<>());
+        }
+        long[] redisBefore = redisTraffic(connectionFactory);
+        long joinStart = System.nanoTime();
+        for (int i = 0; i < sockets; i++) {
+            int node = random.nextInt(nodes);
+            int room = i % rooms;
+            roomNodes.get(room).add(node);
+            stores.get(node).publish(PubSubType.JOIN, new JoinLeaveMessage(UUID.randomUUID(), "room-" + room, ""));
+        }
+        long joinMillis = (System.nanoTime() - joinStart) / 1_000_000;
+
+        long expected = 0;
+        PreEncodedPayload payload = new PreEncodedPayload("{\"_id\":\"6730f1c2a4b5c6d7e8f90001\",\"room\":\"room\","
+                + "\"content\":\"안녕하세요, 오늘 회의는 3시에 시작합니다.\",\"type\":\"text\",\"timestamp\":1731000000000}");
+        long dispatchStart = System.nanoTime();
+        for (int i = 0; i < messages; i++) {
+            int node = random.nextInt(nodes);
+            int room = random.nextInt(rooms);
+            Set<Integer> members = roomNodes.get(room);
+            expected += "redisson".equals(name) ? nodes - 1 : members.size() - (members.contains(node) ? 1 : 0);
+            stores.get(node).publish(PubSubType.DISPATCH, new DispatchMessage("room-" + room, packet(payload), ""));
+        }
+
+        long deadline = System.nanoTime() + Duration.ofSeconds(120).toNanos();
+        while (dispatchDeliveries.sum() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        long dispatchMillis = Math.max(1, (System.nanoTime() - dispatchStart) / 1_000_000);
+        long[] redisAfter = redisTraffic(connectionFactory);
+
+        System.out.printf("[%s] nodes=%d sockets=%d rooms=%d messages=%d%n", name, nodes, sockets, rooms, messages);
+        System.out.printf("  join      : %d ms, join messages delivered to other nodes=%d%n", joinMillis, joinDeliveries.sum());
+        System.out.printf("  dispatch  : %d ms (%.0f msg/s), node deliveries=%d / expected=%d%n",
+                dispatchMillis, messages * 1000.0 / dispatchMillis, dispatchDeliveries.sum(), expected);
+        System.out.printf("  redis net : in=%,d B out=%,d B%n",
+                redisAfter[0] - redisBefore[0], redisAfter[1] - redisBefore[1]);
+
+        stores.forEach(PubSubStore::shutdown);
+        return new Result(dispatchDeliveries.sum());
+    }
+
+    private long[] redisTraffic(LettuceConnectionFactory connectionFactory) {
+        try (RedisConnection connection = connectionFactory.getConnection()) {
+            Properties stats = connection.serverCommands().info("stats");
+            return new long[] {
+                    Long.parseLong(stats.getProperty("total_net_input_bytes", "0")),
+                    Long.parseLong(stats.getProperty("total_net_output_bytes", "0"))
+            };
+        }
+    }
+
+    private Packet packet(PreEncodedPayload payload) {
+        Packet packet = new Packet(PacketType.MESSAGE, EngineIOVersion.UNKNOWN);
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(SocketIOEvents.MESSAGE);
+        packet.setData(List.of(payload));
+        return packet;
+    }
+
+    private record Result(long deliveries) {}
+}
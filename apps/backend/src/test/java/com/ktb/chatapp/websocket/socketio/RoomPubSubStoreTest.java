@@ -0,0 +1,224 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.protocol.EngineIOVersion;
+import com.corundumstudio.socketio.protocol.Packet;
+import com.corundumstudio.socketio.protocol.PacketType;
+import com.corundumstudio.socketio.store.pubsub.BulkJoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.ConnectMessage;
+import com.corundumstudio.socketio.store.pubsub.DisconnectMessage;
+import com.corundumstudio.socketio.store.pubsub.DispatchMessage;
+import com.corundumstudio.socketio.store.pubsub.JoinLeaveMessage;
+import com.corundumstudio.socketio.store.pubsub.PubSubType;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DisplayName("RoomPubSubStore 테스트")
+class RoomPubSubStoreTest {
+
+    private RedisMessageListenerContainer container;
+    private RedisConnection connection;
+    private RoomPubSubStore store;
+
+    @BeforeEach
+    void setUp() {
+        container = mock(RedisMessageListenerContainer.class);
+        connection = mock(RedisConnection.class);
+        store = newStore(1L, 64 * 1024);
+    }
+
+    @Test
+    @DisplayName("로컬 참여자가 생길 때 한 번 구독하고 마지막 참여자가 나가면 구독을 해제한다")
+    void subscribesOnlyWhileRoomHasLocalMembers() {
+        // given
+        UUID first = UUID.randomUUID();
+        UUID second = UUID.randomUUID();
+        ChannelTopic topic = new ChannelTopic(RoomPubSubStore.roomChannel("", "room-a"));
+
+        // when
+        store.publish(PubSubType.JOIN, new JoinLeaveMessage(first, "room-a", ""));
+        store.publish(PubSubType.BULK_JOIN, new BulkJoinLeaveMessage(second, Set.of("room-a", "room-b"), ""));
+        store.publish(PubSubType.LEAVE, new JoinLeaveMessage(first, "room-a", ""));
+
+        // then
+        verify(container, times(1)).addMessageListener(any(), eq(topic));
+        verify(container, never()).removeMessageListener(any(), eq(topic));
+        assertThat(store.subscribedRoomCount()).isEqualTo(2);
+
+        store.publish(PubSubType.BULK_LEAVE, new BulkJoinLeaveMessage(second, Set.of("room-a", "room-b"), ""));
+
+        verify(container).removeMessageListener(any(), eq(topic));
+        assertThat(store.subscribedRoomCount()).isZero();
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("구독은 참여자 목록 잠금 밖의 flusher 스레드에서 하고 join 은 구독이 끝날 때까지 기다린다")
+    void subscribesOnFlusherOutsideMembershipLock() throws Exception {
+        // given
+        BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+        ScheduledExecutorService flusher = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> tasks.add(invocation.getArgument(0))).when(flusher).execute(any());
+        RoomPubSubStore queued = new RoomPubSubStore(container, mock(RedisConnectionFactory.class), 4L, 1024, flusher);
+
+        // when
+        CompletableFuture<Void> joined = CompletableFuture.runAsync(() ->
+                queued.publish(PubSubType.JOIN, new JoinLeaveMessage(UUID.randomUUID(), "room-a", "")));
+        Runnable subscribe = tasks.poll(5, TimeUnit.SECONDS);
+
+        // then: 참여자는 이미 반영됐고 구독은 아직 하지 않았으며 join 은 기다리는 중이다
+        assertThat(subscribe).isNotNull();
+        assertThat(queued.subscribedRoomCount()).isEqualTo(1);
+        verify(container, never()).addMessageListener(any(), any(ChannelTopic.class));
+        assertThat(joined).isNotDone();
+
+        // when
+        subscribe.run();
+
+        // then
+        joined.get(5, TimeUnit.SECONDS);
+        verify(container).addMessageListener(any(), eq(new ChannelTopic(RoomPubSubStore.roomChannel("", "room-a"))));
+    }
+
+    @Test
+    @DisplayName("user:* 와 room-list 방은 방마다 구독하지 않고 공유 채널 하나로 방송한다")
+    void routesUserAndRoomListRoomsThroughSharedChannel() {
+        // given
+        store.subscribe(PubSubType.DISPATCH, message -> {}, DispatchMessage.class);
+        UUID sessionId = UUID.randomUUID();
+
+        // when
+        store.publish(PubSubType.BULK_JOIN, new BulkJoinLeaveMessage(sessionId, Set.of("user:u-1", "room-list"), ""));
+        store.publish(PubSubType.DISPATCH, dispatch("user:u-1", Map.of("seq", 1)));
+        store.publish(PubSubType.DISPATCH, dispatch("room-list", Map.of("seq", 2)));
+        store.flush();
+
+        // then
+        verify(container, times(1)).addMessageListener(any(), any(ChannelTopic.class));
+        verify(container).addMessageListener(any(), eq(new ChannelTopic(RoomPubSubStore.SHARED_CHANNEL)));
+        assertThat(store.subscribedRoomCount()).isZero();
+        ArgumentCaptor<byte[]> channels = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(channels.capture(), any());
+        assertThat(new String(channels.getValue(), StandardCharsets.UTF_8)).isEqualTo(RoomPubSubStore.SHARED_CHANNEL);
+    }
+
+    @Test
+    @DisplayName("CONNECT/DISCONNECT 는 다른 노드로 발행하지 않는다")
+    void doesNotFanOutConnectAndDisconnect() {
+        // when
+        store.publish(PubSubType.CONNECT, new ConnectMessage(UUID.randomUUID()));
+        store.publish(PubSubType.DISCONNECT, new DisconnectMessage(UUID.randomUUID()));
+        store.flush();
+
+        // then
+        verify(connection, never()).publish(any(), any());
+    }
+
+    @Test
+    @DisplayName("flush 주기마다 방 채널별로 한 프레임에 묶어 발행하고 다른 노드는 같은 패킷으로 복원한다")
+    void batchesDispatchesPerRoomChannel() {
+        // given
+        RoomPubSubStore otherNode = newStore(2L, 64 * 1024);
+        List<DispatchMessage> received = new ArrayList<>();
+        otherNode.subscribe(PubSubType.DISPATCH, received::add, DispatchMessage.class);
+
+        // when
+        store.publish(PubSubType.DISPATCH, dispatch("room-a", new PreEncodedPayload("{\"seq\":1}")));
+        store.publish(PubSubType.DISPATCH, dispatch("room-a", Map.of("seq", 2)));
+        store.publish(PubSubType.DISPATCH, dispatch("room-b", new byte[] {1, 2, 3}));
+        store.flush();
+
+        // then
+        ArgumentCaptor<byte[]> channels = ArgumentCaptor.forClass(byte[].class);
+        ArgumentCaptor<byte[]> frames = ArgumentCaptor.forClass(byte[].class);
+        verify(connection, times(2)).publish(channels.capture(), frames.capture());
+        assertThat(new String(channels.getAllValues().get(0), StandardCharsets.UTF_8))
+                .isEqualTo("socketio:room::room-a");
+
+        for (int i = 0; i < 2; i++) {
+            otherNode.onMessage(new DefaultMessage(channels.getAllValues().get(i), frames.getAllValues().get(i)), null);
+        }
+        assertThat(received).hasSize(3);
+        assertThat(received.get(0).getNodeId()).isEqualTo(1L);
+        assertThat(received.get(0).getRoom()).isEqualTo("room-a");
+        Packet packet = received.get(1).getPacket();
+        assertThat(packet.getSubType()).isEqualTo(PacketType.EVENT);
+        assertThat(packet.getName()).isEqualTo(SocketIOEvents.MESSAGE);
+        List<Object> args = packet.getData();
+        assertThat(args).singleElement()
+                .isInstanceOfSatisfying(PreEncodedPayload.class, arg -> assertThat(arg.json()).isEqualTo("{\"seq\":2}"));
+        List<Object> binaryArgs = received.get(2).getPacket().getData();
+        assertThat((byte[]) binaryArgs.getFirst()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    @DisplayName("자기 노드가 발행한 프레임은 무시한다")
+    void ignoresOwnFrames() {
+        List<DispatchMessage> received = new ArrayList<>();
+        store.subscribe(PubSubType.DISPATCH, received::add, DispatchMessage.class);
+
+        store.publish(PubSubType.DISPATCH, dispatch("room-a", Map.of("seq", 1)));
+        store.flush();
+        ArgumentCaptor<byte[]> frame = ArgumentCaptor.forClass(byte[].class);
+        verify(connection).publish(any(), frame.capture());
+        store.onMessage(new DefaultMessage("socketio:room::room-a".getBytes(StandardCharsets.UTF_8), frame.getValue()), null);
+
+        assertThat(received).isEmpty();
+    }
+
+    @Test
+    @DisplayName("채널 대기 바이트가 한도를 넘으면 flush 주기를 기다리지 않고 발행한다")
+    void flushesImmediatelyWhenBatchIsFull() {
+        RoomPubSubStore small = newStore(3L, 1);
+
+        small.publish(PubSubType.DISPATCH, dispatch("room-a", Map.of("seq", 1)));
+
+        verify(connection).publish(any(), any());
+    }
+
+    private RoomPubSubStore newStore(long nodeId, int maxBatchBytes) {
+        RedisConnectionFactory connectionFactory = mock(RedisConnectionFactory.class);
+        when(connectionFactory.getConnection()).thenReturn(connection);
+        ScheduledExecutorService flusher = mock(ScheduledExecutorService.class);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(flusher).execute(any());
+        return new RoomPubSubStore(container, connectionFactory, nodeId, maxBatchBytes, flusher);
+    }
+
+    private DispatchMessage dispatch(String room, Object payload) {
+        Packet packet = new Packet(PacketType.MESSAGE, EngineIOVersion.UNKNOWN);
+        packet.setSubType(PacketType.EVENT);
+        packet.setName(SocketIOEvents.MESSAGE);
+        packet.setData(List.of(payload));
+        return new DispatchMessage(room, packet, "");
+    }
+}
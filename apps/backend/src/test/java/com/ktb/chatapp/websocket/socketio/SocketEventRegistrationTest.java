@@ -0,0 +1,62 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.annotation.OnEvent;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.JOIN_ROOM;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.LEAVE_ROOM;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SpringAnnotationScanner 는 같은 이벤트의 @OnEvent 리스너를 모두 실행하므로,
+ * 이벤트마다 리스너가 하나만 등록되어 있는지 확인한다.
+ */
+class SocketEventRegistrationTest {
+
+    private static final Map<String, List<String>> listeners = new TreeMap<>();
+
+    @BeforeAll
+    static void scanListeners() throws ClassNotFoundException {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(Component.class));
+        for (BeanDefinition candidate : scanner.findCandidateComponents("com.ktb.chatapp")) {
+            Class<?> type = ClassUtils.forName(candidate.getBeanClassName(), SocketEventRegistrationTest.class.getClassLoader());
+            for (Method method : type.getDeclaredMethods()) {
+                OnEvent onEvent = method.getAnnotation(OnEvent.class);
+                if (onEvent != null) {
+                    listeners.computeIfAbsent(onEvent.value(), k -> new ArrayList<>())
+                            .add(type.getSimpleName() + "#" + method.getName());
+                }
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("모든 Socket.IO 이벤트는 리스너가 하나만 등록된다")
+    void eachEventHasSingleListener() {
+        // then
+        assertThat(listeners).isNotEmpty();
+        listeners.forEach((event, handlers) ->
+                assertThat(handlers).as("listeners of %s", event).hasSize(1));
+    }
+
+    @Test
+    @DisplayName("joinRoom/leaveRoom 은 RoomJoinHandler/RoomLeaveHandler 만 처리한다")
+    void roomMembershipEventsHaveSinglePipeline() {
+        // then
+        assertThat(listeners.get(JOIN_ROOM)).containsExactly("RoomJoinHandler#handleJoinRoom");
+        assertThat(listeners.get(LEAVE_ROOM)).containsExactly("RoomLeaveHandler#handleLeaveRoom");
+    }
+}
@@ -0,0 +1,84 @@
+package com.ktb.chatapp.websocket.socketio;
+
+import com.corundumstudio.socketio.AckRequest;
+import com.corundumstudio.socketio.AuthTokenListener;
+import com.corundumstudio.socketio.AuthTokenResult;
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.listener.DataListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEventMetrics.CORRELATION_ID;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+class SocketIOEventMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SocketIOEventMetrics metrics = new SocketIOEventMetrics(meterRegistry);
+    private final SocketIOClient client = mock(SocketIOClient.class);
+
+    @Test
+    @DisplayName("리스너 처리 중에는 in-flight 와 correlation ID 가 잡히고, 끝나면 성공 타이머에 기록된다")
+    void instrument_recordsSuccess() throws Exception {
+        // given
+        AtomicReference<String> correlationId = new AtomicReference<>();
+        AtomicReference<Double> inflight = new AtomicReference<>();
+        DataListener<String> listener = metrics.instrument("joinRoom", (c, data, ack) -> {
+            correlationId.set(MDC.get(CORRELATION_ID));
+            inflight.set(meterRegistry.get("socketio.event.inflight").tag("event", "joinRoom").gauge().value());
+        });
+
+        // when
+        listener.onData(client, "room-1", mock(AckRequest.class));
+
+        // then
+        assertThat(correlationId.get()).isNotBlank();
+        assertThat(inflight.get()).isEqualTo(1.0);
+        assertThat(MDC.get(CORRELATION_ID)).isNull();
+        assertThat(meterRegistry.get("socketio.event.inflight").tag("event", "joinRoom").gauge().value()).isZero();
+        assertThat(timerCount("joinRoom", "success")).isEqualTo(1);
+        assertThat(timerCount("joinRoom", "error")).isZero();
+    }
+
+    @Test
+    @DisplayName("리스너 예외는 그대로 던지고 오류 타이머에 기록한다")
+    void instrument_recordsError() {
+        // given
+        DataListener<String> listener = metrics.instrument("fetchPreviousMessages", (c, data, ack) -> {
+            throw new IllegalStateException("boom");
+        });
+
+        // when / then
+        assertThatThrownBy(() -> listener.onData(client, "room-1", mock(AckRequest.class)))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(timerCount("fetchPreviousMessages", "error")).isEqualTo(1);
+        assertThat(MDC.get(CORRELATION_ID)).isNull();
+    }
+
+    @Test
+    @DisplayName("인증 결과를 success/rejected 로 나눠 기록한다")
+    void instrumentAuth_recordsResult() {
+        // given
+        AuthTokenListener listener = metrics.instrument((AuthTokenListener) (token, c) ->
+                "valid".equals(token) ? AuthTokenResult.AuthTokenResultSuccess : new AuthTokenResult(false, "denied"));
+
+        // when
+        listener.getAuthTokenResult("valid", client);
+        listener.getAuthTokenResult("invalid", client);
+        listener.getAuthTokenResult("invalid", client);
+
+        // then
+        assertThat(meterRegistry.get("socketio.auth.duration").tag("result", "success").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("socketio.auth.duration").tag("result", "rejected").timer().count()).isEqualTo(2);
+    }
+
+    private long timerCount(String event, String outcome) {
+        return meterRegistry.get("socketio.event.duration").tag("event", event).tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,112 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AiChunkCoalescer 테스트")
+class AiChunkCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AiChunkCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("ai.stream.coalesce.consulting-ai.max-delay-ms", "0");
+        meterRegistry = new SimpleMeterRegistry();
+        coalescer = new AiChunkCoalescer(environment, meterRegistry, 50, 10);
+    }
+
+    @Test
+    @DisplayName("글자 수 한도에 도달하면 즉시 병합 청크를 내보낸다")
+    void coalesce_flushesOnMaxChars() {
+        Flux<String> tokens = Flux.just("abcd", "efgh", "ij", "kl");
+
+        StepVerifier.create(coalescer.coalesce(tokens, AiType.WAYNE_AI))
+                .expectNext("abcdefghij")
+                .expectNext("kl")
+                .verifyComplete();
+
+        assertThat(meterRegistry.get("ai.stream.emits").tag("aiType", "wayne_ai").summary().totalAmount())
+                .isEqualTo(2.0);
+    }
+
+    @Test
+    @DisplayName("maxDelay 가 지나면 한도 미만이어도 내보낸다")
+    void coalesce_flushesOnMaxDelay() {
+        StepVerifier.withVirtualTime(() -> coalescer.coalesce(
+                        Flux.concat(
+                                Flux.just("a", "b"),
+                                Flux.just("c").delaySubscription(Duration.ofMillis(80))),
+                        AiType.WAYNE_AI))
+                .thenAwait(Duration.ofMillis(50))
+                .expectNext("ab")
+                .thenAwait(Duration.ofMillis(100))
+                .expectNext("c")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("AI 타입별로 병합을 끌 수 있다")
+    void coalesce_disabledPerType() {
+        assertThat(coalescer.settingsFor(AiType.CONSULTING_AI).maxDelay()).isZero();
+
+        StepVerifier.create(coalescer.coalesce(Flux.just("a", "b"), AiType.CONSULTING_AI))
+                .expectNext("a", "b")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("토큰 경계에 걸친 코드 블록 마커도 병합 후 올바르게 판정한다")
+    void coalesce_keepsCodeBlockStateAcrossTokens() {
+        AtomicBoolean codeBlockState = new AtomicBoolean(false);
+
+        StepVerifier.create(coalescer.coalesce(Flux.just("``", "`ja", "va\n"), AiType.WAYNE_AI)
+                        .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState)))
+                .expectNextMatches(chunk -> chunk.currentChunk().equals("```java\n") && chunk.codeBlock())
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("maxDelay 로 flush 된 글자 수는 다음 크기 한도 계산에서 빠진다")
+    void coalesce_timeFlushResetsPendingChars() {
+        StepVerifier.withVirtualTime(() -> coalescer.coalesce(
+                        Flux.concat(
+                                Flux.just("abcdef"),
+                                Flux.just("ghij", "klmnop").delaySubscription(Duration.ofMillis(80))),
+                        AiType.WAYNE_AI))
+                .thenAwait(Duration.ofMillis(50))
+                .expectNext("abcdef")
+                .thenAwait(Duration.ofMillis(50))
+                .expectNext("ghijklmnop")
+                .verifyComplete();
+    }
+
+    @Test
+    @DisplayName("병합 묶음 경계에 나뉜 코드 블록 마커도 판정한다")
+    void coalesce_detectsFenceSplitAcrossBatches() {
+        CodeBlockState codeBlockState = new CodeBlockState();
+
+        StepVerifier.withVirtualTime(() -> coalescer.coalesce(
+                                Flux.concat(
+                                        Flux.just("a``"),
+                                        Flux.just("`java\n").delaySubscription(Duration.ofMillis(80))),
+                                AiType.WAYNE_AI)
+                        .map(chunk -> ChunkData.from(chunk).updateCodeBlockState(codeBlockState)))
+                .thenAwait(Duration.ofMillis(50))
+                .expectNextMatches(chunk -> chunk.currentChunk().equals("a``") && !chunk.codeBlock())
+                .thenAwait(Duration.ofMillis(100))
+                .expectNextMatches(chunk -> chunk.currentChunk().equals("`java\n") && chunk.codeBlock())
+                .verifyComplete();
+    }
+}
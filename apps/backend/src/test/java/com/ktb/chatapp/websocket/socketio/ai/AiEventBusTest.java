@@ -0,0 +1,214 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageStartEvent;
+import com.ktb.chatapp.event.RoomScopedEvent;
+import com.ktb.chatapp.model.AiType;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AiEventBus 테스트")
+class AiEventBusTest {
+
+    private final List<Object> delivered = new CopyOnWriteArrayList<>();
+    private final CountDownLatch firstTaken = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+    private SimpleMeterRegistry meterRegistry;
+    private AiEventBus bus;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        if (bus != null) {
+            bus.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("같은 방의 이벤트는 발행 순서대로 호출 스레드가 아닌 lane 스레드에서 전달된다")
+    void publish_preservesPerRoomOrder() throws Exception {
+        // given
+        CountDownLatch done = new CountDownLatch(2);
+        List<String> threads = new CopyOnWriteArrayList<>();
+        bus = newBus(event -> {
+            delivered.add(event);
+            threads.add(Thread.currentThread().getName());
+            if (event instanceof AiMessageCompleteEvent) {
+                done.countDown();
+            }
+        }, 4, 1024, "merge");
+
+        // when
+        for (String roomId : List.of("room-a", "room-b")) {
+            bus.publish(new AiMessageStartEvent(this, roomId, "m-" + roomId, "wayneAI", 0));
+            for (int seq = 1; seq <= 100; seq++) {
+                bus.publish(chunk(roomId, seq));
+            }
+            bus.publish(new AiMessageCompleteEvent(this, roomId, "m-" + roomId, "", AiType.WAYNE_AI, 0, "q", 0));
+        }
+
+        // then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        for (String roomId : List.of("room-a", "room-b")) {
+            List<Object> roomEvents = delivered.stream()
+                    .filter(event -> ((RoomScopedEvent) event).getRoomId().equals(roomId))
+                    .toList();
+            assertThat(roomEvents.getFirst()).isInstanceOf(AiMessageStartEvent.class);
+            assertThat(roomEvents.getLast()).isInstanceOf(AiMessageCompleteEvent.class);
+            assertThat(roomEvents.subList(1, roomEvents.size() - 1))
+                    .extracting(event -> ((AiMessageChunkEvent) event).getSequence())
+                    .isSorted()
+                    .hasSize(100);
+        }
+        assertThat(threads).allMatch(name -> name.startsWith("ai-event-lane-"));
+    }
+
+    @Test
+    @DisplayName("lane 이 가득 차면 같은 메시지의 대기 청크에 delta 를 이어붙인다")
+    void overflow_mergesIntoLatestChunk() throws Exception {
+        // given
+        bus = newBus(blockingPublisher(), 1, 2, "merge");
+        bus.publish(chunk("room-a", 1));
+        assertThat(firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        bus.publish(chunk("room-a", 2));
+        bus.publish(chunk("room-a", 3));
+        bus.publish(chunk("room-a", 4));
+        bus.publish(new AiMessageCompleteEvent(this, "room-a", "m-room-a", "", AiType.WAYNE_AI, 0, "q", 0));
+        release.countDown();
+
+        // then
+        awaitDelivered(4);
+        assertThat(delivered.subList(0, 3))
+                .extracting(event -> ((AiMessageChunkEvent) event).getDelta())
+                .containsExactly("d1", "d2", "d3d4");
+        assertThat(((AiMessageChunkEvent) delivered.get(2)).getSequence()).isEqualTo(4);
+        assertThat(delivered.get(3)).isInstanceOf(AiMessageCompleteEvent.class);
+        assertThat(meterRegistry.get("ai.event-bus.overflow").tag("result", "merged").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("합쳐진 청크 범위 중간 순번에서 이어받아도 delta 가 중복되지 않는다")
+    void overflow_mergedChunkResumesInsideRange() throws Exception {
+        // given
+        bus = newBus(blockingPublisher(), 1, 2, "merge");
+        bus.publish(chunk("room-a", 1));
+        assertThat(firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+        bus.publish(chunk("room-a", 2));
+        bus.publish(chunk("room-a", 3));
+
+        // when
+        bus.publish(chunk("room-a", 4));
+        bus.publish(chunk("room-a", 5));
+        release.countDown();
+
+        // then
+        awaitDelivered(3);
+        AiMessageChunkEvent merged = (AiMessageChunkEvent) delivered.get(2);
+        assertThat(merged.getFromSequence()).isEqualTo(3);
+        assertThat(merged.getSequence()).isEqualTo(5);
+        assertThat(merged.getDelta()).isEqualTo("d3d4d5");
+        for (long snapshotSeq = 2; snapshotSeq <= 5; snapshotSeq++) {
+            assertThat(resume(snapshotSeq, content(snapshotSeq), merged)).isEqualTo(content(5));
+        }
+    }
+
+    @Test
+    @DisplayName("앞 청크의 snapshot 은 합칠 때 뒤 delta 를 붙여 유지한다")
+    void merge_keepsPreviousFullContent() {
+        // given
+        AiMessageChunkEvent previous = chunk("room-a", 3, content(3));
+        AiMessageChunkEvent next = chunk("room-a", 4);
+
+        // when
+        AiMessageChunkEvent merged = AiEventBus.merge(previous, next);
+
+        // then
+        assertThat(merged.getFullContent()).isEqualTo(content(4));
+        assertThat(merged.getOffset()).isEqualTo(previous.getOffset());
+    }
+
+    @Test
+    @DisplayName("drop 정책이면 넘치는 청크만 버리고 완료 이벤트는 항상 전달한다")
+    void overflow_dropsChunkButKeepsTerminalEvent() throws Exception {
+        // given
+        bus = newBus(blockingPublisher(), 1, 1, "drop");
+        bus.publish(chunk("room-a", 1));
+        assertThat(firstTaken.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // when
+        bus.publish(chunk("room-a", 2));
+        bus.publish(chunk("room-a", 3));
+        bus.publish(new AiMessageCompleteEvent(this, "room-a", "m-room-a", "", AiType.WAYNE_AI, 0, "q", 0));
+        release.countDown();
+
+        // then
+        awaitDelivered(3);
+        assertThat(delivered.get(1)).isInstanceOfSatisfying(AiMessageChunkEvent.class,
+                event -> assertThat(event.getSequence()).isEqualTo(2));
+        assertThat(delivered.get(2)).isInstanceOf(AiMessageCompleteEvent.class);
+        assertThat(meterRegistry.get("ai.event-bus.overflow").tag("result", "dropped").counter().count()).isEqualTo(1.0);
+    }
+
+    private AiEventBus newBus(ApplicationEventPublisher publisher, int lanes, int capacity, String policy) {
+        meterRegistry = new SimpleMeterRegistry();
+        return new AiEventBus(publisher, meterRegistry, lanes, capacity, policy);
+    }
+
+    private ApplicationEventPublisher blockingPublisher() {
+        return event -> {
+            firstTaken.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            delivered.add(event);
+        };
+    }
+
+    private void awaitDelivered(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (delivered.size() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(delivered).hasSize(count);
+    }
+
+    private AiMessageChunkEvent chunk(String roomId, long seq) {
+        return chunk(roomId, seq, null);
+    }
+
+    private AiMessageChunkEvent chunk(String roomId, long seq, String fullContent) {
+        return new AiMessageChunkEvent(this, roomId, "m-" + roomId, seq, content(seq - 1).length(),
+                "d" + seq, fullContent, false);
+    }
+
+    // seq 까지의 누적 내용 ("d1d2...")
+    private static String content(long seq) {
+        StringBuilder content = new StringBuilder();
+        for (long i = 1; i <= seq; i++) {
+            content.append('d').append(i);
+        }
+        return content.toString();
+    }
+
+    // 클라이언트가 activeStreams 로 받은 (seq, content) 에 청크를 이어붙이는 규칙
+    private static String resume(long snapshotSeq, String snapshot, AiMessageChunkEvent event) {
+        if (event.getSequence() <= snapshotSeq) {
+            return snapshot;
+        }
+        return snapshot + event.getDelta().substring(Math.max(0, snapshot.length() - event.getOffset()));
+    }
+}
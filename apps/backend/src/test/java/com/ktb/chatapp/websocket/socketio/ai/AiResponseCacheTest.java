@@ -0,0 +1,119 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.model.AiType;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.mock.env.MockEnvironment;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("AiResponseCache 테스트")
+class AiResponseCacheTest {
+
+    private StubChatModel chatModel;
+    private SimpleMeterRegistry meterRegistry;
+    private AiResponseCache responseCache;
+    private AiService aiService;
+
+    @BeforeEach
+    void setUp() {
+        chatModel = new StubChatModel("안녕", "하세요", " 무엇을 도와드릴까요?");
+        meterRegistry = new SimpleMeterRegistry();
+        responseCache = new AiResponseCache(
+                new ConcurrentMapCacheManager(), meterRegistry, true, "gpt-4.1-mini", "0.7", 4, 0);
+
+        MessageRepository messageRepository = mock(MessageRepository.class);
+        Message saved = new Message();
+        saved.setId("saved-1");
+        when(messageRepository.save(any(Message.class))).thenReturn(saved);
+
+        AiChunkCoalescer coalescer = new AiChunkCoalescer(new MockEnvironment(), meterRegistry, 0, 256);
+        AiStreamRegistry registry = new AiStreamRegistry(
+                event -> {}, new LocalAiStreamStateStore(Duration.ofMinutes(1)), meterRegistry, 2, 1, 2);
+        aiService = new AiService(ChatClient.builder(chatModel), event -> {}, messageRepository, mock(RoomRepository.class),
+                coalescer, registry, responseCache);
+    }
+
+    @Test
+    @DisplayName("완료된 응답을 저장하고 같은 질문은 ChatClient 호출 없이 청크로 재생한다")
+    void streamResponse_replaysCachedAnswer() {
+        // given
+        String answer = collect(session("안녕"));
+        aiService.onAiMessageCompleteEvent(new AiMessageCompleteEvent(
+                this, "room-1", "wayneAI-1", answer, AiType.WAYNE_AI, System.currentTimeMillis(), "안녕", 10));
+
+        // when
+        StepVerifier.create(aiService.streamResponse(session("  안녕!  ")))
+                .recordWith(ArrayList::new)
+                .thenConsumeWhile(chunk -> true)
+                .consumeRecordedWith(chunks -> {
+                    // then
+                    assertThat(chunks).allSatisfy(chunk -> assertThat(chunk.currentChunk().length()).isLessThanOrEqualTo(4));
+                    StringBuilder replayed = new StringBuilder();
+                    chunks.forEach(chunk -> replayed.append(chunk.currentChunk()));
+                    assertThat(replayed.toString()).isEqualTo("안녕하세요 무엇을 도와드릴까요?");
+                })
+                .verifyComplete();
+
+        assertThat(chatModel.calls()).isEqualTo(1);
+        assertThat(meterRegistry.get("ai.response.cache").tag("result", "hit").counter().count()).isEqualTo(1.0);
+        assertThat(meterRegistry.get("ai.response.cache").tag("result", "miss").counter().count()).isEqualTo(1.0);
+    }
+
+    @Test
+    @DisplayName("AI 타입이나 질문이 다르면 캐시를 공유하지 않는다")
+    void get_missesForDifferentTypeOrQuery() {
+        // given
+        responseCache.put(AiType.WAYNE_AI, "안녕", "답변");
+
+        // when & then
+        assertThat(responseCache.get(AiType.WAYNE_AI, "안녕 ")).contains("답변");
+        assertThat(responseCache.get(AiType.CONSULTING_AI, "안녕")).isEmpty();
+        assertThat(responseCache.get(AiType.WAYNE_AI, "안녕하세요")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("모델이나 temperature 가 바뀌면 다른 키를 사용한다")
+    void key_includesModelAndTemperature() {
+        AiResponseCache otherModel = new AiResponseCache(
+                new ConcurrentMapCacheManager(), meterRegistry, true, "gpt-4.1", "0.7", 4, 0);
+        AiResponseCache otherTemperature = new AiResponseCache(
+                new ConcurrentMapCacheManager(), meterRegistry, true, "gpt-4.1-mini", "0.2", 4, 0);
+
+        String key = responseCache.key(AiType.WAYNE_AI, "안녕");
+        assertThat(otherModel.key(AiType.WAYNE_AI, "안녕")).isNotEqualTo(key);
+        assertThat(otherTemperature.key(AiType.WAYNE_AI, "안녕")).isNotEqualTo(key);
+    }
+
+    private String collect(StreamingSession session) {
+        StringBuilder content = new StringBuilder();
+        aiService.streamResponse(session).doOnNext(chunk -> content.append(chunk.currentChunk())).blockLast();
+        return content.toString();
+    }
+
+    private StreamingSession session(String query) {
+        return StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .userId("user-1")
+                .aiType("wayneAI")
+                .timestamp(System.currentTimeMillis())
+                .query(query)
+                .build();
+    }
+}
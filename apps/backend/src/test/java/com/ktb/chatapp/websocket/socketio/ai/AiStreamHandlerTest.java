@@ -0,0 +1,182 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import reactor.core.publisher.Flux;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AiStreamHandler 테스트")
+class AiStreamHandlerTest {
+
+    private static final int TOKENS = 2_000;
+
+    @Test
+    @DisplayName("청크마다 delta 와 증가하는 순번을 보내고 snapshot 은 주기적으로만 싣는다")
+    void onNext_publishesDeltaWithSequence() {
+        // given
+        List<AiMessageChunkEvent> events = new ArrayList<>();
+        AiStreamHandler handler = newHandler(events);
+
+        // when
+        for (int i = 0; i < AiStreamHandler.SNAPSHOT_INTERVAL; i++) {
+            handler.onNext(ChunkData.from("t" + i + " "));
+        }
+
+        // then
+        assertThat(events).hasSize(AiStreamHandler.SNAPSHOT_INTERVAL);
+        assertThat(events.getFirst().getSequence()).isEqualTo(1);
+        assertThat(events.getFirst().getDelta()).isEqualTo("t0 ");
+        assertThat(events.getFirst().getFullContent()).isNull();
+        assertThat(events.get(1).getOffset()).isEqualTo("t0 ".length());
+
+        AiMessageChunkEvent last = events.getLast();
+        assertThat(last.getSequence()).isEqualTo(AiStreamHandler.SNAPSHOT_INTERVAL);
+        StringBuilder rebuilt = new StringBuilder();
+        events.forEach(event -> rebuilt.append(event.getDelta()));
+        assertThat(last.getFullContent()).isEqualTo(rebuilt.toString());
+    }
+
+    @Test
+    @DisplayName("구독 전에 취소되면 구독 즉시 끊고 청크를 요청하지 않는다")
+    void cancelBeforeSubscribe_disposesOnSubscribe() {
+        // given
+        List<AiMessageChunkEvent> events = new ArrayList<>();
+        AiStreamHandler handler = newHandler(events);
+        AtomicBoolean finalized = new AtomicBoolean();
+
+        // when
+        handler.cancel();
+        Flux.just(ChunkData.from("늦은 청크"))
+                .doFinally(signal -> finalized.set(true))
+                .subscribe(handler);
+
+        // then
+        assertThat(events).isEmpty();
+        assertThat(finalized).isTrue();
+    }
+
+    @Test
+    @DisplayName("저장이 밀린 동안 들어온 청크는 한 번에 저장하고 저장 뒤에 순서대로 발행한다")
+    void onNext_batchesStateWritesOffStreamThread() {
+        // given
+        List<Object> events = new ArrayList<>();
+        List<String> appends = new ArrayList<>();
+        LocalAiStreamStateStore local = new LocalAiStreamStateStore(Duration.ofMinutes(1));
+        AiStreamStateStore recording = new AiStreamStateStore() {
+            @Override
+            public void append(StreamingSession session, long sequence, String delta) {
+                appends.add(sequence + ":" + delta);
+                local.append(session, sequence, delta);
+            }
+
+            @Override
+            public List<AiStreamState> findByRoom(String roomId) {
+                return local.findByRoom(roomId);
+            }
+
+            @Override
+            public void remove(String roomId, String messageId) {
+                local.remove(roomId, messageId);
+            }
+        };
+        ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+        AiStreamHandler handler = new AiStreamHandler(session(), events::add, recording, tasks::add);
+
+        // when
+        handler.onNext(ChunkData.from("a"));
+        handler.onNext(ChunkData.from("b"));
+        handler.onNext(ChunkData.from("c"));
+        handler.onComplete();
+
+        // then: 스트림 스레드에서는 저장도 발행도 하지 않는다
+        assertThat(tasks).hasSize(1);
+        assertThat(appends).isEmpty();
+        assertThat(events).isEmpty();
+
+        // when
+        tasks.poll().run();
+
+        // then
+        assertThat(appends).containsExactly("3:abc");
+        assertThat(local.findByRoom("room-1").getFirst().sequence()).isEqualTo(3);
+        assertThat(events).hasSize(4);
+        assertThat(events.subList(0, 3)).extracting(event -> ((AiMessageChunkEvent) event).getSequence())
+                .containsExactly(1L, 2L, 3L);
+        assertThat(events.getLast()).isInstanceOf(AiMessageCompleteEvent.class);
+        assertThat(tasks).isEmpty();
+    }
+
+    @Test
+    @DisplayName("2,000 토큰 응답의 전송 바이트가 응답 길이에 선형으로 증가한다")
+    void wireBytes_growLinearly() throws Exception {
+        // given
+        ObjectMapper objectMapper = new ObjectMapper();
+        List<AiMessageChunkEvent> events = new ArrayList<>();
+        AiStreamHandler handler = newHandler(events);
+
+        // when
+        long deltaBytes = 0;
+        for (int i = 0; i < TOKENS; i++) {
+            handler.onNext(ChunkData.from("tok" + (i % 10) + " "));
+            deltaBytes += objectMapper.writeValueAsBytes(deltaPayload(events.getLast())).length;
+        }
+
+        // 기존 방식: 청크마다 누적 전체 내용을 전송
+        long fullContentBytes = 0;
+        String accumulated = "";
+        for (AiMessageChunkEvent event : events) {
+            accumulated += event.getDelta();
+            fullContentBytes += objectMapper.writeValueAsBytes(Map.of(
+                    "messageId", event.getMessageId(),
+                    "fullContent", accumulated,
+                    "isCodeBlock", event.isCodeBlock(),
+                    "isComplete", false)).length;
+        }
+
+        // then
+        assertThat(deltaBytes * 10).isLessThan(fullContentBytes);
+        assertThat(events.getLast().getSequence()).isEqualTo(TOKENS);
+    }
+
+    private AiStreamHandler newHandler(List<AiMessageChunkEvent> events) {
+        ApplicationEventPublisher publisher = event -> events.add((AiMessageChunkEvent) event);
+        return new AiStreamHandler(session(), publisher, new LocalAiStreamStateStore(Duration.ofMinutes(1)));
+    }
+
+    private StreamingSession session() {
+        return StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .userId("user-1")
+                .aiType("wayneAI")
+                .timestamp(System.currentTimeMillis())
+                .query("질문")
+                .build();
+    }
+
+    private Map<String, Object> deltaPayload(AiMessageChunkEvent event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("messageId", event.getMessageId());
+        data.put("seq", event.getSequence());
+        data.put("currentChunk", event.getDelta());
+        data.put("isCodeBlock", event.isCodeBlock());
+        data.put("isComplete", false);
+        if (event.getFullContent() != null) {
+            data.put("fullContent", event.getFullContent());
+        }
+        return data;
+    }
+}
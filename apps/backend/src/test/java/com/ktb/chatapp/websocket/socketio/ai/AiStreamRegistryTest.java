@@ -0,0 +1,191 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AiStreamRegistry 테스트")
+class AiStreamRegistryTest {
+
+    private final List<Object> events = new ArrayList<>();
+    private final Map<String, Sinks.Many<ChunkData>> sinks = new HashMap<>();
+    private final List<String> started = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private AiStreamStateStore stateStore;
+    private AiStreamRegistry registry;
+    private int sequence;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        // 전체 2개, 방당 1개, 대기열 2개
+        stateStore = new LocalAiStreamStateStore(Duration.ofMinutes(1));
+        registry = new AiStreamRegistry(events::add, stateStore, meterRegistry, 2, 1, 2);
+    }
+
+    @Test
+    @DisplayName("방별 한도를 넘으면 대기하고 진행 중 스트림이 끝나면 시작된다")
+    void queuesBeyondPerRoomLimit() {
+        String first = submit("room-a", "user-1");
+        String second = submit("room-a", "user-2");
+
+        assertThat(started).containsExactly(first);
+        assertThat(registry.queuedCount()).isEqualTo(1);
+        assertThat(gauge("ai.stream.queued")).isEqualTo(1.0);
+
+        sinks.get(first).tryEmitComplete();
+
+        assertThat(started).containsExactly(first, second);
+        assertThat(registry.activeCount()).isEqualTo(1);
+        assertThat(registry.queuedCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열은 방 단위로 번갈아 꺼내 한 방이 독점하지 않는다")
+    void drainsQueueRoundRobinAcrossRooms() {
+        String a1 = submit("room-a", "user-1");
+        String b1 = submit("room-b", "user-2");
+        String a2 = submit("room-a", "user-3");
+        String c1 = submit("room-c", "user-4");
+
+        assertThat(started).containsExactly(a1, b1);
+
+        // room-b 가 끝나면 전체 한도 여유가 생기지만 room-a 는 방 한도에 걸려 있으므로 room-c 가 먼저 시작된다
+        sinks.get(b1).tryEmitComplete();
+        assertThat(started).containsExactly(a1, b1, c1);
+
+        sinks.get(a1).tryEmitComplete();
+        assertThat(started).containsExactly(a1, b1, c1, a2);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 거절하고 오류 이벤트를 발행한다")
+    void rejectsWhenQueueFull() {
+        submit("room-a", "user-1");
+        submit("room-a", "user-2");
+        submit("room-a", "user-3");
+
+        StreamingSession rejected = session("room-a", "user-4");
+        AiStreamRegistry.SubmitResult result = registry.submit(rejected, Flux::never);
+
+        assertThat(result).isEqualTo(AiStreamRegistry.SubmitResult.REJECTED);
+        assertThat(meterRegistry.get("ai.stream.rejected").counter().count()).isEqualTo(1.0);
+        assertThat(events).hasAtLeastOneElementOfType(AiMessageErrorEvent.class);
+    }
+
+    @Test
+    @DisplayName("같은 messageId 로 다시 제출하면 받지 않아 방 슬롯이 새지 않는다")
+    void ignoresDuplicateMessageId() {
+        // given
+        String first = submit("room-a", "user-1");
+        StreamingSession duplicate = StreamingSession.builder()
+                .messageId(first).roomId("room-a").userId("user-1").aiType("wayneAI")
+                .timestamp(System.currentTimeMillis()).query("질문")
+                .build();
+
+        // when
+        AiStreamRegistry.SubmitResult result = registry.submit(duplicate, Flux::never);
+        sinks.get(first).tryEmitComplete();
+        String next = submit("room-a", "user-2");
+
+        // then
+        assertThat(result).isEqualTo(AiStreamRegistry.SubmitResult.REJECTED);
+        assertThat(events).noneMatch(AiMessageErrorEvent.class::isInstance);
+        assertThat(started).containsExactly(first, next);
+        assertThat(registry.activeCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("요청자가 방을 나가면 진행 중/대기 중 스트림을 취소하고 다음 스트림을 시작한다")
+    void cancelReleasesActiveAndQueuedStreams() {
+        String active = submit("room-a", "user-1");
+        submit("room-a", "user-1");
+        String other = submit("room-a", "user-2");
+
+        int cancelled = registry.cancel("room-a", "user-1");
+
+        assertThat(cancelled).isEqualTo(2);
+        assertThat(sinks.get(active).currentSubscriberCount()).isZero();
+        assertThat(started).containsExactly(active, other);
+        assertThat(registry.activeStreams("room-a"))
+                .singleElement()
+                .satisfies(stream -> assertThat(stream.getId()).isEqualTo(other));
+    }
+
+    @Test
+    @DisplayName("입장 시 진행 중 스트림의 현재 내용을 보고한다")
+    void activeStreamsReportsAccumulatedContent() {
+        String messageId = submit("room-a", "user-1");
+        sinks.get(messageId).tryEmitNext(ChunkData.from("안녕"));
+        sinks.get(messageId).tryEmitNext(ChunkData.from("하세요"));
+
+        assertThat(registry.activeStreams("room-a"))
+                .singleElement()
+                .satisfies(stream -> {
+                    assertThat(stream.getContent()).isEqualTo("안녕하세요");
+                    assertThat(stream.isStreaming()).isTrue();
+                    assertThat(stream.getAiType()).isEqualTo("wayneAI");
+                });
+        assertThat(registry.activeStreams("room-b")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 진행 중인 스트림도 공유 저장소를 통해 스냅샷과 순번을 받는다")
+    void activeStreamsIncludesStreamsOfOtherNodes() {
+        // given
+        AiStreamRegistry otherNode = new AiStreamRegistry(events::add, stateStore, new SimpleMeterRegistry(), 2, 1, 2);
+        String messageId = submit("room-a", "user-1");
+        sinks.get(messageId).tryEmitNext(ChunkData.from("안녕"));
+        sinks.get(messageId).tryEmitNext(ChunkData.from("하세요"));
+
+        // when & then
+        assertThat(otherNode.activeStreams("room-a"))
+                .singleElement()
+                .satisfies(stream -> {
+                    assertThat(stream.getId()).isEqualTo(messageId);
+                    assertThat(stream.getContent()).isEqualTo("안녕하세요");
+                    assertThat(stream.getSeq()).isEqualTo(2);
+                });
+
+        sinks.get(messageId).tryEmitComplete();
+        assertThat(otherNode.activeStreams("room-a")).isEmpty();
+    }
+
+    private String submit(String roomId, String userId) {
+        StreamingSession session = session(roomId, userId);
+        Sinks.Many<ChunkData> sink = Sinks.many().unicast().onBackpressureBuffer();
+        sinks.put(session.getMessageId(), sink);
+        registry.submit(session, () -> {
+            started.add(session.getMessageId());
+            return sink.asFlux();
+        });
+        return session.getMessageId();
+    }
+
+    private StreamingSession session(String roomId, String userId) {
+        return StreamingSession.builder()
+                .messageId("wayneAI-" + (++sequence))
+                .roomId(roomId)
+                .userId(userId)
+                .aiType("wayneAI")
+                .timestamp(System.currentTimeMillis())
+                .query("질문")
+                .build();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+}
@@ -0,0 +1,181 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.corundumstudio.socketio.BroadcastOperations;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.dto.MessageContent;
+import com.ktb.chatapp.event.AiMessageChunkEvent;
+import com.ktb.chatapp.event.AiMessageCompleteEvent;
+import com.ktb.chatapp.event.AiMessageErrorEvent;
+import com.ktb.chatapp.event.AiMessageSavedEvent;
+import com.ktb.chatapp.event.AiMessageStartEvent;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketIOEventListener;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.mock.env.MockEnvironment;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * AI 스트리밍 부하 벤치마크
+ * LocalStreamingChatModel 로 N 개의 멘션을 동시에 AiService → AiStreamHandler → SocketIOEventListener 경로로 흘려
+ * 청크 처리량, 첫 토큰 지연(TTFT), 힙 증가량, 청크 이벤트 전달(리스너 emit) 비용을 출력한다.
+ *
+ * 실행 방법:
+ * mvn test -Dtest=AiStreamingBenchmarkTest -Dai.benchmark=true
+ *   [-Dai.benchmark.concurrency=200 -Dai.benchmark.tokens=200 -Dai.benchmark.tokens-per-second=100]
+ */
+@DisplayName("AI 스트리밍 부하 벤치마크")
+@EnabledIfSystemProperty(named = "ai.benchmark", matches = "true")
+class AiStreamingBenchmarkTest {
+
+    private final int concurrency = Integer.getInteger("ai.benchmark.concurrency", 200);
+    private final int answerTokens = Integer.getInteger("ai.benchmark.tokens", 200);
+    private final int tokensPerSecond = Integer.getInteger("ai.benchmark.tokens-per-second", 100);
+
+    @Test
+    @DisplayName("동시 멘션 N 건의 AI 스트리밍 처리 지표를 측정한다")
+    void concurrentMentions() throws Exception {
+        // given
+        SocketIOServer socketIOServer = mock(SocketIOServer.class);
+        when(socketIOServer.getRoomOperations(anyString())).thenReturn(mock(BroadcastOperations.class));
+        SocketIOEventListener listener = new SocketIOEventListener(socketIOServer, new RoomBroadcaster(socketIOServer, new SimpleMeterRegistry()));
+
+        MessageRepository messageRepository = mock(MessageRepository.class);
+        Message saved = new Message();
+        saved.setId("saved");
+        when(messageRepository.save(any(Message.class))).thenReturn(saved);
+
+        CountDownLatch done = new CountDownLatch(concurrency);
+        Map<String, Long> submittedAt = new ConcurrentHashMap<>();
+        long[] ttftNanos = new long[concurrency];
+        AtomicInteger ttftCount = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        LongAdder chunks = new LongAdder();
+        LongAdder chunkPublishNanos = new LongAdder();
+        AtomicReference<AiService> aiServiceRef = new AtomicReference<>();
+
+        ApplicationEventPublisher dispatcher = event -> {
+            switch (event) {
+                case AiMessageStartEvent e -> listener.handleAiMessageStartEvent(e);
+                case AiMessageChunkEvent e -> {
+                    long start = System.nanoTime();
+                    Long submitted = submittedAt.remove(e.getRoomId());
+                    if (submitted != null) {
+                        ttftNanos[ttftCount.getAndIncrement()] = start - submitted;
+                    }
+                    listener.handleAiMessageChunkEvent(e);
+                    chunks.increment();
+                    chunkPublishNanos.add(System.nanoTime() - start);
+                }
+                case AiMessageCompleteEvent e -> {
+                    aiServiceRef.get().onAiMessageCompleteEvent(e);
+                    done.countDown();
+                }
+                case AiMessageSavedEvent e -> listener.handleAiMessageCompleteEvent(e);
+                case AiMessageErrorEvent e -> {
+                    listener.handleAiMessageErrorEvent(e);
+                    errors.incrementAndGet();
+                    done.countDown();
+                }
+                default -> { }
+            }
+        };
+
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        LocalStreamingChatModel chatModel = new LocalStreamingChatModel(new LocalStreamingChatModel.Settings(
+                tokensPerSecond, Duration.ofMillis(100), Duration.ofMillis(5), 0.0, answerTokens, 42));
+        // 운영과 같이 스트림 이벤트는 이벤트 버스 lane 스레드에서 리스너로 전달된다
+        AiEventBus eventBus = new AiEventBus(dispatcher, meterRegistry, 8, 1024, "merge");
+        AiStreamRegistry registry = new AiStreamRegistry(event -> eventBus.publish((ApplicationEvent) event),
+                new LocalAiStreamStateStore(Duration.ofMinutes(1)), meterRegistry, concurrency, 1, 0);
+        AiResponseCache responseCache = new AiResponseCache(
+                new ConcurrentMapCacheManager(), meterRegistry, false, "local", "0", 32, 0);
+        AiService aiService = new AiService(ChatClient.builder(chatModel), dispatcher, messageRepository, mock(RoomRepository.class),
+                new AiChunkCoalescer(new MockEnvironment(), meterRegistry, 50, 256), registry, responseCache);
+        aiServiceRef.set(aiService);
+
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        System.gc();
+        long heapBefore = memory.getHeapMemoryUsage().getUsed();
+
+        // 힙 사용량은 스트리밍 중에 주기적으로 샘플링해 최대값을 잡는다
+        AtomicLong heapPeak = new AtomicLong(heapBefore);
+        ScheduledExecutorService heapSampler = Executors.newSingleThreadScheduledExecutor();
+        heapSampler.scheduleAtFixedRate(
+                () -> heapPeak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max),
+                0, 10, TimeUnit.MILLISECONDS);
+
+        // when
+        long start = System.nanoTime();
+        for (int i = 0; i < concurrency; i++) {
+            String roomId = "room-" + i;
+            submittedAt.put(roomId, System.nanoTime());
+            aiService.handleAIMentions(roomId, "user-" + i, MessageContent.from("@wayneAI 질문 " + (i % 10)));
+        }
+        boolean completed = done.await(answerTokens * 1000L / Math.max(1, tokensPerSecond) + 30_000, TimeUnit.MILLISECONDS);
+        long elapsedNanos = System.nanoTime() - start;
+        heapSampler.shutdownNow();
+        System.gc();
+        long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+        // then
+        long[] ttft = Arrays.copyOf(ttftNanos, ttftCount.get());
+        Arrays.sort(ttft);
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("""
+                AI streaming benchmark - concurrency=%d, tokens=%d, tokensPerSecond=%d
+                  elapsed            : %.2fs (errors=%d)
+                  chunk throughput   : %d chunks, %.1f chunks/s
+                  TTFT p50/p95/max   : %.1f / %.1f / %.1f ms
+                  heap before/peak/after : %d / %d / %d KB (retained growth %d KB)
+                  chunk publish cost : %.1f us/chunk
+                """,
+                concurrency, answerTokens, tokensPerSecond,
+                seconds, errors.get(),
+                chunks.sum(), chunks.sum() / seconds,
+                percentileMillis(ttft, 0.50), percentileMillis(ttft, 0.95), percentileMillis(ttft, 1.0),
+                heapBefore / 1024, heapPeak.get() / 1024, heapAfter / 1024, (heapAfter - heapBefore) / 1024,
+                chunks.sum() == 0 ? 0.0 : chunkPublishNanos.sum() / 1e3 / chunks.sum());
+
+        assertThat(completed).isTrue();
+        assertThat(errors.get()).isZero();
+        assertThat(registry.activeCount()).isZero();
+        eventBus.shutdown();
+    }
+
+    private double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.length - 1, Math.ceil(percentile * sorted.length) - 1);
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,92 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import com.ktb.chatapp.websocket.socketio.handler.StreamingSession;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalAiStreamStateStore 테스트")
+class LocalAiStreamStateStoreTest {
+
+    @Test
+    @DisplayName("청크를 누적하고 마지막 순번과 함께 스냅샷을 반환한다")
+    void append_accumulatesContentWithSequence() {
+        // given
+        LocalAiStreamStateStore store = new LocalAiStreamStateStore(Duration.ofMinutes(1));
+        StreamingSession session = session();
+
+        // when
+        store.append(session, 0, "");
+        store.append(session, 1, "안녕");
+        store.append(session, 2, "하세요");
+
+        // then
+        assertThat(store.findByRoom("room-1"))
+                .singleElement()
+                .satisfies(state -> {
+                    assertThat(state.messageId()).isEqualTo("wayneAI-1");
+                    assertThat(state.content()).isEqualTo("안녕하세요");
+                    assertThat(state.sequence()).isEqualTo(2);
+                    assertThat(state.userId()).isEqualTo("user-1");
+                });
+        assertThat(store.findByRoom("room-2")).isEmpty();
+
+        store.remove("room-1", "wayneAI-1");
+        assertThat(store.findByRoom("room-1")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("TTL 동안 갱신되지 않은 상태는 조회되지 않는다")
+    void findByRoom_skipsExpiredState() {
+        // given
+        MutableClock clock = new MutableClock();
+        LocalAiStreamStateStore store = new LocalAiStreamStateStore(Duration.ofMinutes(1), clock);
+        store.append(session(), 1, "안녕");
+
+        // when
+        clock.advance(Duration.ofSeconds(61));
+
+        // then
+        assertThat(store.findByRoom("room-1")).isEmpty();
+    }
+
+    private StreamingSession session() {
+        return StreamingSession.builder()
+                .messageId("wayneAI-1")
+                .roomId("room-1")
+                .userId("user-1")
+                .aiType("wayneAI")
+                .timestamp(System.currentTimeMillis())
+                .query("질문")
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now = Instant.now();
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import reactor.test.StepVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("LocalStreamingChatModel 테스트")
+class LocalStreamingChatModelTest {
+
+    @Test
+    @DisplayName("같은 질문이면 같은 토큰열을 스트리밍한다")
+    void stream_isDeterministicPerQuery() {
+        // given
+        ChatClient chatClient = ChatClient.builder(new LocalStreamingChatModel(settings(0.0))).build();
+
+        // when
+        List<String> first = stream(chatClient, "안녕");
+        List<String> second = stream(chatClient, "안녕");
+        List<String> other = stream(chatClient, "다른 질문");
+
+        // then
+        assertThat(first).hasSize(20).isEqualTo(second);
+        assertThat(other).isNotEqualTo(first);
+    }
+
+    @Test
+    @DisplayName("오류 확률이 1 이면 스트리밍 도중 오류를 주입한다")
+    void stream_injectsErrors() {
+        ChatClient chatClient = ChatClient.builder(new LocalStreamingChatModel(settings(1.0))).build();
+
+        StepVerifier.create(chatClient.prompt().user("안녕").stream().content())
+                .thenConsumeWhile(token -> true)
+                .expectErrorMessage("Injected local AI provider failure")
+                .verify(Duration.ofSeconds(5));
+    }
+
+    private List<String> stream(ChatClient chatClient, String query) {
+        return chatClient.prompt().user(query).stream().content().collectList().block(Duration.ofSeconds(5));
+    }
+
+    private LocalStreamingChatModel.Settings settings(double errorRate) {
+        return new LocalStreamingChatModel.Settings(0, Duration.ZERO, Duration.ZERO, errorRate, 20, 42);
+    }
+}
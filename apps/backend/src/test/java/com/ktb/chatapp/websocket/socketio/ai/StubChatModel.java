@@ -0,0 +1,45 @@
+package com.ktb.chatapp.websocket.socketio.ai;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import reactor.core.publisher.Flux;
+
+/**
+ * 테스트용 ChatModel, ChatClient.builder(stub) 로 실제 API 호출 없이 고정된 토큰을 스트리밍한다.
+ */
+class StubChatModel implements ChatModel {
+
+    private final List<String> tokens;
+    private final AtomicInteger calls = new AtomicInteger();
+
+    StubChatModel(String... tokens) {
+        this.tokens = List.of(tokens);
+    }
+
+    int calls() {
+        return calls.get();
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        calls.incrementAndGet();
+        return response(String.join("", tokens));
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            calls.incrementAndGet();
+            return Flux.fromIterable(tokens).map(this::response);
+        });
+    }
+
+    private ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
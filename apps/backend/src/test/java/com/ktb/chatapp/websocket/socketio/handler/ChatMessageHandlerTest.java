@@ -1,11 +1,11 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.corundumstudio.socketio.SocketIOClient;
-import com.corundumstudio.socketio.SocketIOServer;
 import com.ktb.chatapp.dto.ChatMessageRequest;
 import com.ktb.chatapp.model.User;
 import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
 import com.ktb.chatapp.service.RateLimitCheckResult;
 import com.ktb.chatapp.service.RateLimitService;
@@ -13,6 +13,7 @@ import com.ktb.chatapp.service.RoomService;
 import com.ktb.chatapp.service.SessionService;
 import com.ktb.chatapp.service.SessionValidationResult;
 import com.ktb.chatapp.util.BannedWordChecker;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
 import com.ktb.chatapp.websocket.socketio.SocketUser;
 import com.ktb.chatapp.websocket.socketio.ai.AiService;
 import io.micrometer.core.instrument.MeterRegistry;
@@ -36,8 +37,9 @@ class ChatMessageHandlerTest {
 
     private final Executor directExecutor = Runnable::run;
 
-    @Mock private SocketIOServer socketIOServer;
+    @Mock private RoomBroadcaster roomBroadcaster;
     @Mock private MessageRepository messageRepository;
+    @Mock private RoomRepository roomRepository;
     @Mock private RoomService roomService;
     @Mock private ChatUserCacheService chatUserCacheService;
     @Mock private FileRepository fileRepository;
@@ -53,8 +55,9 @@ class ChatMessageHandlerTest {
     @BeforeEach
     void setUp() {
         handler = new ChatMessageHandler(
-                socketIOServer,
+                roomBroadcaster,
                 messageRepository,
+                roomRepository,
                 roomService,
                 chatUserCacheService,
                 fileRepository,
@@ -77,7 +80,7 @@ class ChatMessageHandlerTest {
         when(sessionService.validateSession(socketUser.id(), socketUser.authSessionId()))
                 .thenReturn(SessionValidationResult.valid(null));
 
-        when(rateLimitService.checkRateLimit(eq(socketUser.id()), anyInt(), any()))
+        when(rateLimitService.checkRateLimits(anyList()))
                 .thenReturn(RateLimitCheckResult.allowed(
                         10000, 9999, 60, System.currentTimeMillis() / 1000 + 60, 60
                 ));
@@ -106,6 +109,6 @@ class ChatMessageHandlerTest {
         assertEquals("MESSAGE_REJECTED", payload.get("code"));
 
         verifyNoInteractions(messageRepository);
-        verify(socketIOServer, never()).getRoomOperations(any());
+        verify(roomBroadcaster, never()).sendToRoom(any(), any(), any());
     }
 }
@@ -0,0 +1,143 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.corundumstudio.socketio.SocketIOServer;
+import com.ktb.chatapp.websocket.socketio.ConnectedUsers;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ConnectionLoginHandlerTest {
+
+    private static final UUID SESSION_ID = UUID.randomUUID();
+    private static final SocketUser USER = new SocketUser("user-1", "tester", "session-1", SESSION_ID.toString());
+
+    @Mock private SocketIOServer socketIOServer;
+    @Mock private ConnectedUsers connectedUsers;
+    @Mock private UserRooms userRooms;
+    @Mock private RoomRestoreHandler roomRestoreHandler;
+    @Mock private RoomLeaveHandler roomLeaveHandler;
+    @Mock private ScheduledExecutorService scheduler;
+    @Mock private ScheduledFuture<Object> pendingLeave;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConnectionLoginHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        handler = new ConnectionLoginHandler(
+                socketIOServer,
+                connectedUsers,
+                userRooms,
+                roomRestoreHandler,
+                roomLeaveHandler,
+                meterRegistry,
+                scheduler,
+                Runnable::run,
+                10_000);
+    }
+
+    @Test
+    @DisplayName("연결이 끊기면 방 퇴장을 바로 하지 않고 grace period 뒤로 예약한다")
+    void onDisconnect_schedulesLeave() {
+        // given
+        doReturn(pendingLeave).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+
+        // when
+        handler.onDisconnect(client());
+
+        // then
+        verify(scheduler).schedule(any(Runnable.class), eq(10_000L), eq(TimeUnit.MILLISECONDS));
+        verifyNoInteractions(roomLeaveHandler);
+    }
+
+    @Test
+    @DisplayName("grace period 안에 재접속하면 예약된 퇴장이 취소되고 퇴장 처리는 일어나지 않는다")
+    void onConnect_cancelsPendingLeave() {
+        // given
+        doReturn(pendingLeave).when(scheduler).schedule(any(Runnable.class), anyLong(), any());
+        when(pendingLeave.cancel(false)).thenReturn(true);
+        handler.onDisconnect(client());
+
+        // when
+        handler.onConnect(client(), USER);
+
+        // then
+        verify(pendingLeave).cancel(false);
+        verifyNoInteractions(roomLeaveHandler);
+        assertEquals(1.0, meterRegistry.counter("socketio.disconnect.leave", "result", "cancelled").count());
+    }
+
+    @Test
+    @DisplayName("재접속하면 참여 중이던 방을 한 번에 복원하고 방마다 입장 처리를 반복하지 않는다")
+    void onConnect_restoresRoomsInOneBatch() {
+        // given
+        when(userRooms.get("user-1")).thenReturn(Set.of("room-1", "room-2"));
+
+        // when
+        handler.onConnect(client(), USER);
+
+        // then
+        verify(roomRestoreHandler).restore(any(), eq(USER), eq(Set.of("room-1", "room-2")));
+    }
+
+    @Test
+    @DisplayName("grace period 가 지나도록 재접속하지 않으면 참여 중인 방에서 퇴장시킨다")
+    void pendingLeave_appliesAfterGracePeriod() {
+        // given
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(pendingLeave).when(scheduler).schedule(task.capture(), anyLong(), any());
+        when(userRooms.get("user-1")).thenReturn(Set.of("room-1", "room-2"));
+        handler.onDisconnect(client());
+
+        // when
+        task.getValue().run();
+
+        // then
+        verify(roomLeaveHandler).leaveAfterDisconnect(USER, "room-1");
+        verify(roomLeaveHandler).leaveAfterDisconnect(USER, "room-2");
+        assertEquals(1.0, meterRegistry.counter("socketio.disconnect.leave", "result", "applied").count());
+    }
+
+    @Test
+    @DisplayName("유예 중 다른 노드로 재접속해 활성 연결이 있으면 퇴장시키지 않는다")
+    void pendingLeave_skippedWhenReconnectedElsewhere() {
+        // given
+        ArgumentCaptor<Runnable> task = ArgumentCaptor.forClass(Runnable.class);
+        doReturn(pendingLeave).when(scheduler).schedule(task.capture(), anyLong(), any());
+        handler.onDisconnect(client());
+        when(connectedUsers.get("user-1")).thenReturn(new SocketUser("user-1", "tester", "session-2", "other-socket"));
+
+        // when
+        task.getValue().run();
+
+        // then
+        verifyNoInteractions(roomLeaveHandler);
+        assertEquals(1.0, meterRegistry.counter("socketio.disconnect.leave", "result", "cancelled").count());
+    }
+
+    private SocketIOClient client() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        lenient().when(client.get("user")).thenReturn(USER);
+        lenient().when(client.getSessionId()).thenReturn(SESSION_ID);
+        return client;
+    }
+}
@@ -1,6 +1,7 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomEventRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
 import com.ktb.chatapp.service.MessageReadStatusService;
 import org.junit.jupiter.api.Test;
@@ -24,6 +25,9 @@ class MessageLoaderIntegrationTest {
     @Autowired
     private MessageReadStatusService messageReadStatusService;
 
+    @Autowired
+    private RoomEventRepository roomEventRepository;
+
     @Test
     void contextLoads_andBeansAreWired() {
         assertThat(messageRepository).isNotNull();
@@ -34,7 +38,7 @@ class MessageLoaderIntegrationTest {
         // 단순 생성 스모크 테스트
         MessageLoader loader =
                 new MessageLoader(messageRepository, chatUserCacheService,
-                        messageResponseMapper, messageReadStatusService);
+                        messageResponseMapper, messageReadStatusService, roomEventRepository);
         assertThat(loader).isNotNull();
     }
 }
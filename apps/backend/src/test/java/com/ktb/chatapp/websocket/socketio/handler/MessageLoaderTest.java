@@ -1,13 +1,35 @@
 package com.ktb.chatapp.websocket.socketio.handler;
 
 import com.ktb.chatapp.dto.FetchMessagesRequest;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.MessageResponse;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
+import com.ktb.chatapp.model.Message;
+import com.ktb.chatapp.model.MessageType;
+import com.ktb.chatapp.model.RoomEvent;
+import com.ktb.chatapp.repository.FileRepository;
 import com.ktb.chatapp.repository.MessageRepository;
+import com.ktb.chatapp.repository.RoomEventRepository;
 import com.ktb.chatapp.service.ChatUserCacheService;
 import com.ktb.chatapp.service.MessageReadStatusService;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 class MessageLoaderTest {
 
@@ -17,9 +39,10 @@ class MessageLoaderTest {
         ChatUserCacheService chatUserCacheService = Mockito.mock(ChatUserCacheService.class);
         MessageResponseMapper mapper = Mockito.mock(MessageResponseMapper.class);
         MessageReadStatusService readStatusService = Mockito.mock(MessageReadStatusService.class);
+        RoomEventRepository roomEventRepository = Mockito.mock(RoomEventRepository.class);
 
         MessageLoader loader =
-                new MessageLoader(messageRepository, chatUserCacheService, mapper, readStatusService);
+                new MessageLoader(messageRepository, chatUserCacheService, mapper, readStatusService, roomEventRepository);
 
         // ✅ 세 번째 인자는 Long (timestamp) 이므로 null 또는 millis 사용
         FetchMessagesRequest req = new FetchMessagesRequest("room-1", 20, null);
@@ -28,4 +51,190 @@ class MessageLoaderTest {
 
         assertThat(result).isNotNull();
     }
+
+    @Test
+    @DisplayName("여러 방의 메시지를 변환할 때 읽음 처리는 한 번, 발신자 조회는 발신자마다 한 번만 한다")
+    void toResponses_sharesReadStatusAndSenderLookup() {
+        // given
+        MessageRepository messageRepository = Mockito.mock(MessageRepository.class);
+        ChatUserCacheService chatUserCacheService = Mockito.mock(ChatUserCacheService.class);
+        MessageResponseMapper mapper = Mockito.mock(MessageResponseMapper.class);
+        MessageReadStatusService readStatusService = Mockito.mock(MessageReadStatusService.class);
+        RoomEventRepository roomEventRepository = Mockito.mock(RoomEventRepository.class);
+        MessageLoader loader =
+                new MessageLoader(messageRepository, chatUserCacheService, mapper, readStatusService, roomEventRepository);
+
+        Map<String, Page<Message>> pages = new LinkedHashMap<>();
+        pages.put("room-1", new PageImpl<>(List.of(message("m2", "user-2"), message("m1", "user-2"))));
+        pages.put("room-2", new PageImpl<>(List.of(message("m3", "user-2"))));
+
+        // when
+        Map<String, FetchMessagesResponse> responses = loader.toResponses(pages, "user-1");
+
+        // then
+        assertThat(responses).containsOnlyKeys("room-1", "room-2");
+        assertThat(responses.get("room-1").getMessages()).hasSize(2);
+        verify(readStatusService, times(1)).updateReadStatus(List.of("m2", "m1", "m3"), "user-1");
+        verify(chatUserCacheService, times(1)).getUserById("user-2");
+    }
+
+    @Test
+    @DisplayName("includeSystem 요청이면 페이지 구간의 입장/퇴장 이벤트를 시간순으로 합치고, 아니면 조회하지 않는다")
+    void loadMessages_mergesRoomEventsOnlyOnRequest() {
+        // given
+        MessageRepository messageRepository = Mockito.mock(MessageRepository.class);
+        ChatUserCacheService chatUserCacheService = Mockito.mock(ChatUserCacheService.class);
+        MessageResponseMapper mapper = new MessageResponseMapper(Mockito.mock(FileRepository.class));
+        MessageReadStatusService readStatusService = Mockito.mock(MessageReadStatusService.class);
+        RoomEventRepository roomEventRepository = Mockito.mock(RoomEventRepository.class);
+        MessageLoader loader =
+                new MessageLoader(messageRepository, chatUserCacheService, mapper, readStatusService, roomEventRepository);
+
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Message older = message("m1", "user-2");
+        older.setTimestamp(base);
+        Message newer = message("m2", "user-2");
+        newer.setTimestamp(base.plusMinutes(2));
+        Mockito.when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                        Mockito.eq("room-1"), Mockito.eq(false), Mockito.any(), Mockito.any()))
+                .thenReturn(new PageImpl<>(List.of(newer, older)));
+        RoomEvent joined = RoomEvent.builder()
+                .id("e1").roomId("room-1").type(RoomEvent.Type.JOIN).userId("user-3").userName("kim")
+                .timestamp(base.plusMinutes(1))
+                .build();
+        Mockito.when(roomEventRepository.findInRange(
+                        Mockito.eq("room-1"), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenReturn(List.of(joined));
+
+        // when
+        FetchMessagesResponse plain = loader.loadMessages(new FetchMessagesRequest("room-1", 30, null), "user-1");
+        FetchMessagesResponse merged = loader.loadMessages(new FetchMessagesRequest("room-1", 30, null, true), "user-1");
+
+        // then
+        assertThat(plain.getMessages()).extracting(MessageResponse::getId).containsExactly("m1", "m2");
+        assertThat(merged.getMessages()).extracting(MessageResponse::getId).containsExactly("m1", "e1", "m2");
+        assertThat(merged.getMessages().get(1).getContent()).isEqualTo("kim님이 입장하였습니다.");
+        assertThat(merged.getMessages().get(1).getType()).isEqualTo(MessageType.system);
+        verify(roomEventRepository, times(1)).findInRange(
+                Mockito.eq("room-1"), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("구간 이벤트가 한도를 넘으면 경계를 돌려준 가장 오래된 이벤트로 당기고 나머지는 다음 페이지로 넘긴다")
+    void loadMessages_movesPageBoundaryWhenEventsExceedLimit() {
+        // given - 메시지 2개 사이에 입장 이벤트 150개
+        MessageRepository messageRepository = Mockito.mock(MessageRepository.class);
+        MessageResponseMapper mapper = new MessageResponseMapper(Mockito.mock(FileRepository.class));
+        RoomEventRepository roomEventRepository = Mockito.mock(RoomEventRepository.class);
+        MessageLoader loader = new MessageLoader(messageRepository, Mockito.mock(ChatUserCacheService.class),
+                mapper, Mockito.mock(MessageReadStatusService.class), roomEventRepository);
+
+        LocalDateTime base = LocalDateTime.of(2026, 1, 1, 12, 0);
+        Message oldest = message("m-old", "user-2");
+        oldest.setTimestamp(base);
+        Message newest = message("m-new", "user-2");
+        newest.setTimestamp(base.plusSeconds(200));
+        List<Message> stored = List.of(newest, oldest);
+        List<RoomEvent> storedEvents = IntStream.range(0, 150)
+                .mapToObj(i -> RoomEvent.builder()
+                        .id("e" + i).roomId("room-1").type(RoomEvent.Type.JOIN).userId("user-" + i).userName("u" + i)
+                        .timestamp(base.plusSeconds(i + 1))
+                        .build())
+                .toList()
+                .reversed();
+        Mockito.when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                        Mockito.eq("room-1"), Mockito.eq(false), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> {
+                    LocalDateTime before = inv.getArgument(2);
+                    return new PageImpl<>(stored.stream().filter(m -> m.getTimestamp().isBefore(before)).toList());
+                });
+        Mockito.when(roomEventRepository.findInRange(
+                        Mockito.eq("room-1"), Mockito.any(), Mockito.any(), Mockito.any()))
+                .thenAnswer(inv -> {
+                    LocalDateTime from = inv.getArgument(1);
+                    LocalDateTime to = inv.getArgument(2);
+                    Pageable pageable = inv.getArgument(3);
+                    return storedEvents.stream()
+                            .filter(e -> !e.getTimestamp().isBefore(from) && e.getTimestamp().isBefore(to))
+                            .limit(pageable.getPageSize())
+                            .toList();
+                });
+
+        // when
+        FetchMessagesResponse first = loader.loadMessages(new FetchMessagesRequest("room-1", 30, null, true), "user-1");
+        FetchMessagesResponse second = loader.loadMessages(
+                new FetchMessagesRequest("room-1", 30, first.firstMessageTimestamp(), true), "user-1");
+
+        // then - 첫 페이지는 최신 이벤트 100개와 그 구간의 메시지만, 나머지는 두 번째 페이지에서 받는다
+        assertThat(first.isHasMore()).isTrue();
+        assertThat(first.getMessages()).hasSize(101);
+        assertThat(first.getMessages().getFirst().getId()).isEqualTo("e50");
+        assertThat(first.getMessages().getLast().getId()).isEqualTo("m-new");
+        assertThat(second.isHasMore()).isFalse();
+        assertThat(second.getMessages()).hasSize(51);
+        assertThat(second.getMessages().getFirst().getId()).isEqualTo("m-old");
+        assertThat(second.getMessages().getLast().getId()).isEqualTo("e49");
+    }
+
+    @Test
+    @DisplayName("입장 시각 경계는 밀리초 미만을 자르지 않고 그대로 조회 조건에 쓴다")
+    void loadMessagesBefore_keepsSubMillisecondBound() {
+        // given
+        MessageRepository messageRepository = Mockito.mock(MessageRepository.class);
+        MessageLoader loader = new MessageLoader(messageRepository, Mockito.mock(ChatUserCacheService.class),
+                Mockito.mock(MessageResponseMapper.class), Mockito.mock(MessageReadStatusService.class),
+                Mockito.mock(RoomEventRepository.class));
+        LocalDateTime joinedAt = LocalDateTime.of(2026, 1, 1, 12, 0, 0, 123_456_789);
+        Mockito.when(messageRepository.findByRoomIdAndIsDeletedAndTimestampBefore(
+                        Mockito.eq("room-1"), Mockito.eq(false), Mockito.any(), Mockito.any()))
+                .thenReturn(Page.empty());
+
+        // when
+        loader.loadMessagesBefore("room-1", joinedAt, "user-1");
+
+        // then
+        verify(messageRepository).findByRoomIdAndIsDeletedAndTimestampBefore(
+                Mockito.eq("room-1"), Mockito.eq(false), Mockito.eq(joinedAt), Mockito.any());
+    }
+
+    @Test
+    @DisplayName("syncRoom 은 lastSeq 이후 메시지만 보내고, 삭제된 메시지는 빼되 그 순번까지 lastSeq 를 올린다")
+    void loadSince_returnsMessagesAfterLastSeq() {
+        // given
+        MessageRepository messageRepository = Mockito.mock(MessageRepository.class);
+        ChatUserCacheService chatUserCacheService = Mockito.mock(ChatUserCacheService.class);
+        MessageResponseMapper mapper = new MessageResponseMapper(Mockito.mock(FileRepository.class));
+        MessageReadStatusService readStatusService = Mockito.mock(MessageReadStatusService.class);
+        RoomEventRepository roomEventRepository = Mockito.mock(RoomEventRepository.class);
+        MessageLoader loader =
+                new MessageLoader(messageRepository, chatUserCacheService, mapper, readStatusService, roomEventRepository);
+
+        Message m6 = message("m6", "user-2");
+        m6.setSeq(6L);
+        Message m7 = message("m7", "user-2");
+        m7.setSeq(7L);
+        m7.setIsDeleted(true);
+        Mockito.when(messageRepository.findByRoomIdAfterSeq(Mockito.eq("room-1"), Mockito.eq(5L), Mockito.any()))
+                .thenReturn(new SliceImpl<>(List.of(m6, m7), PageRequest.of(0, 100), true));
+
+        // when
+        SyncRoomResponse response = loader.loadSince(new SyncRoomRequest("room-1", 5L), "user-1");
+
+        // then
+        assertThat(response.getRoomId()).isEqualTo("room-1");
+        assertThat(response.getMessages()).extracting(MessageResponse::getSeq).containsExactly(6L);
+        assertThat(response.getLastSeq()).isEqualTo(7L);
+        assertThat(response.isHasMore()).isTrue();
+        verify(readStatusService, times(1)).updateReadStatus(List.of("m6"), "user-1");
+        verify(messageRepository, Mockito.never()).findByRoomIdAndIsDeletedAndTimestampBefore(
+                Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
+    private static Message message(String id, String senderId) {
+        Message message = new Message();
+        message.setId(id);
+        message.setSenderId(senderId);
+        message.setTimestamp(LocalDateTime.of(2026, 1, 1, 12, 0));
+        return message;
+    }
 }
@@ -0,0 +1,131 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomEvent;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomEventRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.LocalRoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * 방 입장 지연 벤치마크
+ * Mongo 호출마다 왕복 지연(benchmark.rtt-ms)을 흉내 내고, 참가자 수별로 입장 처리 시간을 측정한다.
+ * 기존 흐름(findById → addParticipant → save → loadMessages 순차 실행)의 예상 시간과 함께 출력한다.
+ *
+ * 실행 방법:
+ * mvn test -Dtest=RoomJoinBenchmarkTest -Droom.join.benchmark=true [-Dbenchmark.rtt-ms=5 -Dbenchmark.joins=200]
+ */
+@DisplayName("방 입장 지연 벤치마크")
+@EnabledIfSystemProperty(named = "room.join.benchmark", matches = "true")
+class RoomJoinBenchmarkTest {
+
+    private final long rttMillis = Long.getLong("benchmark.rtt-ms", 5);
+    private final int joins = Integer.getInteger("benchmark.joins", 200);
+
+    @Test
+    @DisplayName("참가자 수별 입장 지연과 DB 왕복 수를 출력한다")
+    void measureJoinLatency() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            for (int participants : new int[] {10, 100, 1000}) {
+                run(participants, executor);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void run(int participants, ExecutorService executor) throws Exception {
+        AtomicInteger roundTrips = new AtomicInteger();
+        Set<String> participantIds = new HashSet<>(IntStream.range(0, participants)
+                .mapToObj(i -> "user-" + i)
+                .toList());
+
+        RoomRepository roomRepository = mock(RoomRepository.class);
+        RoomEventRepository roomEventRepository = mock(RoomEventRepository.class);
+        MessageLoader messageLoader = mock(MessageLoader.class);
+        ChatUserCacheService chatUserCacheService = mock(ChatUserCacheService.class);
+        when(roomRepository.addParticipantAndGet(anyString(), anyString())).thenAnswer(inv -> {
+            roundTrip(roundTrips);
+            Room room = new Room();
+            room.setId(inv.getArgument(0));
+            room.setParticipantIds(participantIds);
+            return Optional.of(room);
+        });
+        when(roomEventRepository.save(any(RoomEvent.class))).thenAnswer(inv -> {
+            roundTrip(roundTrips);
+            return inv.getArgument(0);
+        });
+        when(messageLoader.loadMessagesBefore(anyString(), any(), anyString())).thenAnswer(inv -> {
+            roundTrip(roundTrips);
+            return FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build();
+        });
+        when(chatUserCacheService.getUserById(anyString())).thenAnswer(inv -> {
+            User user = new User();
+            user.setId(inv.getArgument(0));
+            return user;
+        });
+
+        RoomJoinHandler handler = new RoomJoinHandler(
+                mock(RoomBroadcaster.class), roomEventRepository, roomRepository, chatUserCacheService,
+                mock(RoomMembershipCache.class),
+                new RoomRoster(new LocalRoomRosterStore(Duration.ofMinutes(10)), mock(RoomMembershipCache.class),
+                        chatUserCacheService),
+                mock(UserRooms.class), messageLoader, mock(MessageResponseMapper.class),
+                mock(RoomLeaveHandler.class), mock(AiStreamRegistry.class), executor);
+
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.get("user")).thenReturn(new SocketUser("user-0", "tester", "session-1", "socket-1"));
+
+        // 워밍업
+        for (int i = 0; i < 20; i++) {
+            handler.handleJoinRoom(client, "room-1");
+        }
+        roundTrips.set(0);
+
+        long[] latencies = new long[joins];
+        for (int i = 0; i < joins; i++) {
+            long start = System.nanoTime();
+            handler.handleJoinRoom(client, "room-1");
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+
+        System.out.printf(
+                "participants=%d, p50=%.2fms, p99=%.2fms, roundTrips/join=%.1f, sequential baseline=%dms (4 round trips)%n",
+                participants,
+                latencies[joins / 2] / 1_000_000.0,
+                latencies[(int) (joins * 0.99)] / 1_000_000.0,
+                roundTrips.get() / (double) joins,
+                rttMillis * 4);
+    }
+
+    private void roundTrip(AtomicInteger roundTrips) throws InterruptedException {
+        roundTrips.incrementAndGet();
+        Thread.sleep(rttMillis);
+    }
+}
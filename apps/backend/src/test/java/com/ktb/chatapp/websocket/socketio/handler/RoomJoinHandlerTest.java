@@ -0,0 +1,252 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.Room;
+import com.ktb.chatapp.model.RoomEvent;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.repository.RoomEventRepository;
+import com.ktb.chatapp.repository.RoomRepository;
+import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomJoinHandlerTest {
+
+    private final Executor directExecutor = Runnable::run;
+
+    @Mock private RoomBroadcaster roomBroadcaster;
+    @Mock private RoomEventRepository roomEventRepository;
+    @Mock private RoomRepository roomRepository;
+    @Mock private ChatUserCacheService chatUserCacheService;
+    @Mock private RoomMembershipCache roomMembershipCache;
+    @Mock private RoomRoster roomRoster;
+    @Mock private UserRooms userRooms;
+    @Mock private MessageLoader messageLoader;
+    @Mock private MessageResponseMapper messageResponseMapper;
+    @Mock private RoomLeaveHandler roomLeaveHandler;
+    @Mock private AiStreamRegistry aiStreamRegistry;
+
+    private RoomJoinHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RoomJoinHandler(
+                roomBroadcaster,
+                roomEventRepository,
+                roomRepository,
+                chatUserCacheService,
+                roomMembershipCache,
+                roomRoster,
+                userRooms,
+                messageLoader,
+                messageResponseMapper,
+                roomLeaveHandler,
+                aiStreamRegistry,
+                directExecutor
+        );
+    }
+
+    @Test
+    @DisplayName("입장 시 방 조회와 참가자 추가는 findAndModify 한 번으로 처리된다")
+    void handleJoinRoom_usesSingleFindAndModify() {
+        // given
+        SocketIOClient client = client();
+        when(chatUserCacheService.getUserById("user-1")).thenReturn(user("user-1"));
+        when(roomRepository.addParticipantAndGet("room-1", "user-1"))
+                .thenReturn(Optional.of(room("user-1", "user-2")));
+        stubRoster();
+        when(roomEventRepository.save(any(RoomEvent.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(messageLoader.loadMessagesBefore(anyString(), any(), eq("user-1")))
+                .thenReturn(FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build());
+
+        // when
+        handler.handleJoinRoom(client, "room-1");
+
+        // then
+        verify(roomRepository).addParticipantAndGet("room-1", "user-1");
+        verifyNoMoreInteractions(roomRepository);
+        verify(userRooms).add("user-1", "room-1");
+        verify(roomMembershipCache).participantAdded(eq("room-1"), eq("user-1"), anyCollection());
+        verify(client).joinRoom("room-1");
+        verify(roomBroadcaster).sendToClient(eq(client), eq(JOIN_ROOM_SUCCESS), any());
+    }
+
+    @Test
+    @DisplayName("입장 시 참가자 전체 대신 입장한 참가자 한 명과 명단 버전만 방송한다")
+    void handleJoinRoom_broadcastsParticipantDelta() {
+        // given
+        SocketIOClient client = client();
+        when(chatUserCacheService.getUserById("user-1")).thenReturn(user("user-1"));
+        when(roomRepository.addParticipantAndGet("room-1", "user-1"))
+                .thenReturn(Optional.of(room("user-1", "user-2")));
+        stubRoster();
+        when(roomEventRepository.save(any(RoomEvent.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(messageLoader.loadMessagesBefore(anyString(), any(), eq("user-1")))
+                .thenReturn(FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build());
+
+        // when
+        handler.handleJoinRoom(client, "room-1");
+
+        // then
+        ArgumentCaptor<Object> delta = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcaster).sendToRoom(eq("room-1"), eq(PARTICIPANT_JOINED), delta.capture());
+        Map<?, ?> payload = (Map<?, ?>) delta.getValue();
+        assertEquals(7L, payload.get("version"));
+        assertEquals("user-1", ((UserResponse) payload.get("user")).getId());
+
+        ArgumentCaptor<Object> success = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcaster).sendToClient(eq(client), eq(JOIN_ROOM_SUCCESS), success.capture());
+        JoinRoomSuccessResponse response = (JoinRoomSuccessResponse) success.getValue();
+        assertEquals(7L, response.getParticipantsVersion());
+        assertEquals(2, response.getParticipants().size());
+        verify(chatUserCacheService, times(1)).getUserById(anyString());
+    }
+
+    @Test
+    @DisplayName("초기 메시지는 밀리초로 자르지 않은 입장 메시지 시각 이전만 조회한다")
+    void handleJoinRoom_loadsHistoryBeforeJoinMessage() {
+        // given
+        SocketIOClient client = client();
+        when(chatUserCacheService.getUserById("user-1")).thenReturn(user("user-1"));
+        when(roomRepository.addParticipantAndGet("room-1", "user-1")).thenReturn(Optional.of(room("user-1")));
+        stubRoster();
+        when(roomEventRepository.save(any(RoomEvent.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(messageLoader.loadMessagesBefore(anyString(), any(), eq("user-1")))
+                .thenReturn(FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build());
+
+        // when
+        handler.handleJoinRoom(client, "room-1");
+
+        // then
+        ArgumentCaptor<RoomEvent> saved = ArgumentCaptor.forClass(RoomEvent.class);
+        ArgumentCaptor<LocalDateTime> before = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(roomEventRepository).save(saved.capture());
+        verify(messageLoader).loadMessagesBefore(eq("room-1"), before.capture(), eq("user-1"));
+
+        assertEquals(saved.getValue().getTimestamp(), before.getValue());
+    }
+
+    @Test
+    @DisplayName("방이 없으면 입장 오류를 보내고 메시지를 저장하지 않는다")
+    void handleJoinRoom_sendsErrorWhenRoomMissing() {
+        // given
+        SocketIOClient client = client();
+        when(chatUserCacheService.getUserById("user-1")).thenReturn(user("user-1"));
+        when(roomRepository.addParticipantAndGet("room-404", "user-1")).thenReturn(Optional.empty());
+
+        // when
+        handler.handleJoinRoom(client, "room-404");
+
+        // then
+        verify(client).sendEvent(JOIN_ROOM_ERROR, Map.of("message", "채팅방을 찾을 수 없습니다."));
+        verify(client, never()).joinRoom(anyString());
+        verifyNoInteractions(roomEventRepository, messageLoader);
+    }
+
+    @Test
+    @DisplayName("이미 참여 중인 방에 재접속하면 DB 쓰기 없이 소켓 방만 다시 붙는다")
+    void handleJoinRoom_rejoinSkipsWrites() {
+        // given
+        SocketIOClient client = client();
+        when(userRooms.isInRoom("user-1", "room-1")).thenReturn(true);
+        when(roomMembershipCache.isParticipant("room-1", "user-1")).thenReturn(true);
+        when(aiStreamRegistry.activeStreams("room-1")).thenReturn(List.of());
+
+        // when
+        handler.handleJoinRoom(client, "room-1");
+
+        // then
+        verify(client).joinRoom("room-1");
+        verify(client).sendEvent(JOIN_ROOM_SUCCESS, Map.of("roomId", "room-1", "activeStreams", List.of()));
+        verifyNoInteractions(
+                roomRepository, roomEventRepository, messageLoader, roomRoster, roomBroadcaster, chatUserCacheService);
+    }
+
+    @Test
+    @DisplayName("새로 입장하면 joinRoomSuccess 는 전체 응답 한 번만 보낸다")
+    void handleJoinRoom_sendsSingleJoinRoomSuccess() {
+        // given
+        SocketIOClient client = client();
+        when(chatUserCacheService.getUserById("user-1")).thenReturn(user("user-1"));
+        when(roomRepository.addParticipantAndGet("room-1", "user-1")).thenReturn(Optional.of(room("user-1")));
+        stubRoster();
+        when(roomEventRepository.save(any(RoomEvent.class))).thenAnswer(inv -> inv.getArgument(0));
+        when(messageLoader.loadMessagesBefore(anyString(), any(), eq("user-1")))
+                .thenReturn(FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build());
+
+        // when
+        handler.handleJoinRoom(client, "room-1");
+
+        // then
+        verify(roomBroadcaster, times(1)).sendToClient(eq(client), eq(JOIN_ROOM_SUCCESS), any());
+        verify(client, never()).sendEvent(eq(JOIN_ROOM_SUCCESS), (Object) any());
+        verify(client, never()).sendEvent(eq(JOIN_ROOM_ERROR), (Object) any());
+    }
+
+    @Test
+    @DisplayName("roomId 가 비어 있으면 입장 오류를 보내고 아무것도 조회하지 않는다")
+    void handleJoinRoom_rejectsBlankRoomId() {
+        // given
+        SocketIOClient client = mock(SocketIOClient.class);
+
+        // when
+        handler.handleJoinRoom(client, " ");
+
+        // then
+        verify(client).sendEvent(JOIN_ROOM_ERROR, Map.of("message", "roomId가 올바르지 않습니다."));
+        verify(client, never()).joinRoom(anyString());
+        verifyNoInteractions(userRooms, roomRepository, roomEventRepository);
+    }
+
+    private void stubRoster() {
+        when(roomRoster.join(eq("room-1"), anyCollection(), any(User.class))).thenReturn(7L);
+        when(roomRoster.snapshot(eq("room-1"), anyCollection())).thenReturn(new RoomRosterStore.Roster(
+                7L, List.of(UserResponse.from(user("user-1")), UserResponse.from(user("user-2")))));
+    }
+
+    private SocketIOClient client() {
+        SocketIOClient client = mock(SocketIOClient.class);
+        when(client.get("user")).thenReturn(new SocketUser("user-1", "tester", "session-1", "socket-1"));
+        return client;
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setName(id);
+        return user;
+    }
+
+    private static Room room(String... participantIds) {
+        Room room = new Room();
+        room.setId("room-1");
+        room.setParticipantIds(Set.of(participantIds));
+        return room;
+    }
+}
@@ -0,0 +1,122 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.FetchMessagesResponse;
+import com.ktb.chatapp.dto.JoinRoomSuccessResponse;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import com.ktb.chatapp.websocket.socketio.UserRooms;
+import com.ktb.chatapp.websocket.socketio.ai.AiStreamRegistry;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOMS_RESTORED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRestoreHandlerTest {
+
+    private static final SocketUser USER = new SocketUser("user-1", "tester", "session-1", "socket-1");
+
+    @Mock private RoomMembershipCache roomMembershipCache;
+    @Mock private RoomRoster roomRoster;
+    @Mock private UserRooms userRooms;
+    @Mock private MessageLoader messageLoader;
+    @Mock private AiStreamRegistry aiStreamRegistry;
+    @Mock private RoomBroadcaster roomBroadcaster;
+    @Mock private SocketIOClient client;
+
+    private RoomRestoreHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RoomRestoreHandler(
+                roomMembershipCache,
+                roomRoster,
+                userRooms,
+                messageLoader,
+                aiStreamRegistry,
+                roomBroadcaster,
+                Runnable::run,
+                2);
+    }
+
+    @Test
+    @DisplayName("재접속한 방들을 roomsRestored 한 번으로 보내고 입장 메시지나 참가자 방송은 하지 않는다")
+    void restore_sendsSingleBatch() {
+        // given
+        Set<String> rooms = new LinkedHashSet<>(List.of("room-1", "room-2", "room-3"));
+        when(roomMembershipCache.isParticipant(anyString(), eq("user-1"))).thenReturn(true);
+        when(roomRoster.snapshot(anyString())).thenReturn(Optional.of(new RoomRosterStore.Roster(3L, List.of())));
+        when(messageLoader.findRecentMessages(anyString())).thenReturn(Page.empty());
+        when(messageLoader.toResponses(anyMap(), eq("user-1"))).thenAnswer(inv -> {
+            Map<String, ?> pages = inv.getArgument(0);
+            Map<String, FetchMessagesResponse> responses = new HashMap<>();
+            pages.keySet().forEach(roomId -> responses.put(roomId,
+                    FetchMessagesResponse.builder().messages(List.of()).hasMore(false).build()));
+            return responses;
+        });
+
+        // when
+        handler.restore(client, USER, rooms).join();
+
+        // then
+        verify(client).joinRooms(rooms);
+        verify(messageLoader, times(1)).toResponses(anyMap(), eq("user-1"));
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(roomBroadcaster, times(1)).sendToClient(eq(client), eq(ROOMS_RESTORED), payload.capture());
+        verify(roomBroadcaster, never()).sendToRoom(anyString(), anyString(), any());
+
+        List<?> restored = (List<?>) ((Map<?, ?>) payload.getValue()).get("rooms");
+        assertEquals(List.of("room-1", "room-2", "room-3"),
+                restored.stream().map(room -> ((JoinRoomSuccessResponse) room).getRoomId()).toList());
+        assertEquals(3L, ((JoinRoomSuccessResponse) restored.get(0)).getParticipantsVersion());
+    }
+
+    @Test
+    @DisplayName("연결이 끊긴 동안 방에서 제외되었으면 복원하지 않고 참여 목록에서 뺀다")
+    void restore_dropsRoomsNoLongerJoined() {
+        // given
+        when(roomMembershipCache.isParticipant("room-1", "user-1")).thenReturn(false);
+        when(messageLoader.toResponses(anyMap(), eq("user-1"))).thenReturn(Map.of());
+
+        // when
+        handler.restore(client, USER, Set.of("room-1")).join();
+
+        // then
+        verify(client).leaveRoom("room-1");
+        verify(userRooms).remove("user-1", "room-1");
+        verify(roomBroadcaster).sendToClient(client, ROOMS_RESTORED, Map.of("rooms", List.of(), "failed", List.of()));
+    }
+
+    @Test
+    @DisplayName("방 상태 조회에 실패하면 failed 로 알려 클라이언트가 다시 입장하게 한다")
+    void restore_reportsFailedRooms() {
+        // given
+        when(roomMembershipCache.isParticipant("room-1", "user-1")).thenReturn(true);
+        when(roomRoster.snapshot("room-1")).thenThrow(new IllegalStateException("boom"));
+        when(messageLoader.toResponses(anyMap(), eq("user-1"))).thenReturn(Map.of());
+
+        // when
+        handler.restore(client, USER, Set.of("room-1")).join();
+
+        // then
+        verify(roomBroadcaster).sendToClient(client, ROOMS_RESTORED, Map.of("rooms", List.of(), "failed", List.of("room-1")));
+    }
+}
@@ -0,0 +1,110 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.ktb.chatapp.dto.UserResponse;
+import com.ktb.chatapp.model.User;
+import com.ktb.chatapp.service.ChatUserCacheService;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.LocalRoomRosterStore;
+import com.ktb.chatapp.websocket.socketio.RoomRosterStore.Roster;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomRosterTest {
+
+    @Mock private RoomMembershipCache roomMembershipCache;
+    @Mock private ChatUserCacheService chatUserCacheService;
+
+    private RoomRoster roomRoster;
+
+    @BeforeEach
+    void setUp() {
+        roomRoster = new RoomRoster(new LocalRoomRosterStore(Duration.ofMinutes(10)), roomMembershipCache, chatUserCacheService);
+        lenient().when(chatUserCacheService.getUserById(anyString())).thenAnswer(inv -> user(inv.getArgument(0)));
+    }
+
+    @Test
+    @DisplayName("첫 입장만 participantIds 전체로 명단을 채우고 이후 입장은 입장한 참가자만 반영한다")
+    void join_seedsOnceThenAppliesDelta() {
+        // given
+        roomRoster.join("room-1", List.of("user-1", "user-2"), user("user-2"));
+        clearInvocations(chatUserCacheService);
+
+        // when
+        long version = roomRoster.join("room-1", List.of("user-1", "user-2", "user-3"), user("user-3"));
+
+        // then
+        verifyNoInteractions(chatUserCacheService);
+        Roster roster = roomRoster.snapshot("room-1", Set.of());
+        assertThat(roster.version()).isEqualTo(version);
+        assertThat(roster.participants()).extracting(UserResponse::getId)
+                .containsExactlyInAnyOrder("user-1", "user-2", "user-3");
+    }
+
+    @Test
+    @DisplayName("입장과 퇴장마다 명단 버전이 1씩 올라간다")
+    void joinAndLeave_incrementVersion() {
+        // given
+        long joined = roomRoster.join("room-1", List.of("user-1"), user("user-1"));
+
+        // when
+        long second = roomRoster.join("room-1", List.of("user-1", "user-2"), user("user-2"));
+        long left = roomRoster.leave("room-1", "user-1");
+
+        // then
+        assertThat(second).isEqualTo(joined + 1);
+        assertThat(left).isEqualTo(second + 1);
+        Roster roster = roomRoster.snapshot("room-1").orElseThrow();
+        assertThat(roster.version()).isEqualTo(left);
+        assertThat(roster.participants()).extracting(UserResponse::getId).containsExactly("user-2");
+        verifyNoInteractions(roomMembershipCache);
+    }
+
+    @Test
+    @DisplayName("명단이 캐시되어 있지 않으면 방 정보로 채워 전체 명단을 반환한다")
+    void snapshot_seedsFromRoomWhenMissing() {
+        // given
+        when(roomMembershipCache.participants("room-1")).thenReturn(Optional.of(Set.of("user-1", "user-2")));
+
+        // when
+        Roster roster = roomRoster.snapshot("room-1").orElseThrow();
+
+        // then
+        assertThat(roster.version()).isPositive();
+        assertThat(roster.participants()).extracting(UserResponse::getId)
+                .containsExactlyInAnyOrder("user-1", "user-2");
+    }
+
+    @Test
+    @DisplayName("이미 채워진 명단은 다른 입장의 seed 로 덮어쓰지 않는다")
+    void join_doesNotOverwriteSeededRoster() {
+        // given
+        roomRoster.join("room-1", List.of("user-1", "user-2"), user("user-2"));
+
+        // when - 먼저 조회된 participantIds 로 늦게 seed 를 시도해도 user-2 가 유지된다
+        roomRoster.join("room-1", List.of("user-1"), user("user-1"));
+
+        // then
+        assertThat(roomRoster.snapshot("room-1").orElseThrow().participants()).extracting(UserResponse::getId)
+                .containsExactlyInAnyOrder("user-1", "user-2");
+    }
+
+    private static User user(String id) {
+        User user = new User();
+        user.setId(id);
+        user.setName(id);
+        return user;
+    }
+}
@@ -0,0 +1,71 @@
+package com.ktb.chatapp.websocket.socketio.handler;
+
+import com.corundumstudio.socketio.SocketIOClient;
+import com.ktb.chatapp.dto.SyncRoomRequest;
+import com.ktb.chatapp.dto.SyncRoomResponse;
+import com.ktb.chatapp.service.RoomMembershipCache;
+import com.ktb.chatapp.websocket.socketio.RoomBroadcaster;
+import com.ktb.chatapp.websocket.socketio.SocketUser;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ERROR;
+import static com.ktb.chatapp.websocket.socketio.SocketIOEvents.ROOM_SYNCED;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomSyncHandlerTest {
+
+    private static final SocketUser USER = new SocketUser("user-1", "tester", "session-1", "socket-1");
+
+    @Mock private RoomMembershipCache roomMembershipCache;
+    @Mock private MessageLoader messageLoader;
+    @Mock private RoomBroadcaster roomBroadcaster;
+    @Mock private SocketIOClient client;
+
+    private RoomSyncHandler handler;
+
+    @BeforeEach
+    void setUp() {
+        handler = new RoomSyncHandler(roomMembershipCache, messageLoader, roomBroadcaster);
+        when(client.get("user")).thenReturn(USER);
+    }
+
+    @Test
+    @DisplayName("참여 중인 방이면 lastSeq 이후 메시지를 roomSynced 로 보낸다")
+    void handleSyncRoom_sendsMessagesAfterLastSeq() {
+        // given
+        SyncRoomRequest request = new SyncRoomRequest("room-1", 5L);
+        SyncRoomResponse response = SyncRoomResponse.builder()
+                .roomId("room-1").messages(List.of()).lastSeq(7L).hasMore(false)
+                .build();
+        when(roomMembershipCache.isParticipant("room-1", "user-1")).thenReturn(true);
+        when(messageLoader.loadSince(request, "user-1")).thenReturn(response);
+
+        // when
+        handler.handleSyncRoom(client, request);
+
+        // then
+        verify(roomBroadcaster).sendToClient(client, ROOM_SYNCED, response);
+    }
+
+    @Test
+    @DisplayName("참여하지 않은 방은 조회하지 않고 오류를 보낸다")
+    void handleSyncRoom_rejectsNonParticipant() {
+        // given
+        when(roomMembershipCache.isParticipant("room-1", "user-1")).thenReturn(false);
+
+        // when
+        handler.handleSyncRoom(client, new SyncRoomRequest("room-1", 5L));
+
+        // then
+        verify(client).sendEvent(eq(ERROR), any(Object[].class));
+        verifyNoInteractions(messageLoader, roomBroadcaster);
+    }
+}
@@ -17,6 +17,9 @@ const CLEANUP_REASONS = {
   ERROR: 'error'
 };
 
+// 순서가 뒤바뀌어 도착한 메시지를 기다린 뒤에도 seq 가 비어 있으면 syncRoom 으로 채운다
+const SEQ_GAP_WAIT_MS = 1000;
+
 export const useChatRoom = () => {
   const router = useRouter();
   const { user: authUser, logout } = useAuth();
@@ -46,6 +49,10 @@ export const useChatRoom = () => {
   const initialLoadCompletedRef = useRef(false);
   const processedMessageIds = useRef(new Set());
   const loadMoreTimeoutRef = useRef(null);
+  const participantsVersionRef = useRef(0);
+  const lastSeqRef = useRef(0);
+  const pendingSeqsRef = useRef(new Set());
+  const syncTimeoutRef = useRef(null);
 
   // Socket handling setup
   const {
@@ -82,6 +89,71 @@ export const useChatRoom = () => {
     removeFilePreview
   } = useMessageHandling(socketRef, currentUser, router, undefined, messages, loadingMessages, setLoadingMessages);
 
+  // 참가자 명단 전체 적용 (joinRoomSuccess, participantsSnapshot)
+  const applyParticipantsSnapshot = useCallback((data) => {
+    if (!mountedRef.current || !data?.participants || data.roomId !== router.query.room) return;
+    participantsVersionRef.current = data.version ?? data.participantsVersion ?? 0;
+    setRoom(prev => ({
+      ...prev,
+      participants: data.participants
+    }));
+  }, [router.query.room]);
+
+  // 참가자 delta 적용, 버전이 이어지지 않으면 명단 전체를 다시 요청
+  const applyParticipantDelta = useCallback((data, update) => {
+    if (!mountedRef.current || !data || data.roomId !== router.query.room) return;
+    if (data.version <= participantsVersionRef.current) return;
+    if (data.version !== participantsVersionRef.current + 1) {
+      socketRef.current?.emit('fetchParticipants', data.roomId);
+      return;
+    }
+    participantsVersionRef.current = data.version;
+    setRoom(prev => ({
+      ...prev,
+      participants: update(prev?.participants || [])
+    }));
+  }, [router.query.room, socketRef]);
+
+  // 빠짐없이 받은 마지막 seq 이후의 메시지를 요청
+  const requestRoomSync = useCallback(() => {
+    if (syncTimeoutRef.current) {
+      clearTimeout(syncTimeoutRef.current);
+      syncTimeoutRef.current = null;
+    }
+    if (!socketRef.current?.connected || !router.query.room || lastSeqRef.current <= 0) return;
+    socketRef.current.emit('syncRoom', { roomId: router.query.room, lastSeq: lastSeqRef.current });
+  }, [router.query.room, socketRef]);
+
+  const scheduleRoomSync = useCallback(() => {
+    if (syncTimeoutRef.current) return;
+    syncTimeoutRef.current = setTimeout(() => {
+      syncTimeoutRef.current = null;
+      if (pendingSeqsRef.current.size > 0) requestRoomSync();
+    }, SEQ_GAP_WAIT_MS);
+  }, [requestRoomSync]);
+
+  // 받은 메시지의 seq 로 lastSeq 를 이어서 올리고, 건너뛴 seq 가 남았는지 반환
+  // 아직 기준이 없으면(첫 로드) 가장 큰 seq 까지 받은 것으로 본다
+  const trackMessageSeqs = useCallback((loadedMessages) => {
+    const pending = pendingSeqsRef.current;
+    let maxSeq = 0;
+    loadedMessages.forEach(msg => {
+      if (typeof msg?.seq !== 'number') return;
+      maxSeq = Math.max(maxSeq, msg.seq);
+      pending.add(msg.seq);
+    });
+    if (lastSeqRef.current === 0) {
+      lastSeqRef.current = maxSeq;
+    }
+    while (pending.has(lastSeqRef.current + 1)) {
+      lastSeqRef.current += 1;
+    }
+    pending.forEach(seq => {
+      if (seq <= lastSeqRef.current) pending.delete(seq);
+    });
+    return pending.size > 0;
+  }, []);
+
   // Cleanup 함수 수정
   const cleanup = useCallback((reason = 'MANUAL') => {
     if (!mountedRef.current || !router.query.room) return;
@@ -103,7 +175,12 @@ export const useChatRoom = () => {
         socketRef.current.off('message');
         socketRef.current.off('previousMessages');
         socketRef.current.off('previousMessagesLoaded');
-        socketRef.current.off('participantsUpdate');
+        socketRef.current.off('joinRoomSuccess', applyParticipantsSnapshot);
+        socketRef.current.off('participantsSnapshot', applyParticipantsSnapshot);
+        socketRef.current.off('participantJoined');
+        socketRef.current.off('participantLeft');
+        socketRef.current.off('roomsRestored');
+        socketRef.current.off('roomSynced');
         socketRef.current.off('messagesRead');
         socketRef.current.off('messageReactionUpdate');
         socketRef.current.off('session_ended');
@@ -115,6 +192,10 @@ export const useChatRoom = () => {
         clearTimeout(loadMoreTimeoutRef.current);
         loadMoreTimeoutRef.current = null;
       }
+      if (syncTimeoutRef.current) {
+        clearTimeout(syncTimeoutRef.current);
+        syncTimeoutRef.current = null;
+      }
 
       // Reset refs
       processedMessageIds.current.clear();
@@ -127,6 +208,8 @@ export const useChatRoom = () => {
         setLoading(false);
         setLoadingMessages(false);
         setMessages([]);
+        lastSeqRef.current = 0;
+        pendingSeqsRef.current.clear();
         
         if (userRooms.current.size > 0) {
           userRooms.current.clear();
@@ -148,7 +231,8 @@ export const useChatRoom = () => {
     setLoading,
     setLoadingMessages,
     mountedRef,
-    socketRef
+    socketRef,
+    applyParticipantsSnapshot
   ]);
   
   // Connection state utility
@@ -166,7 +250,7 @@ export const useChatRoom = () => {
     handleReactionUpdate
   } = useReactionHandling(socketRef, currentUser, messages, setMessages);
 
-  // 메시지 처리 유틸리티 함수
+  // 메시지 처리 유틸리티 함수, 건너뛴 seq 가 남았는지 반환
   const processMessages = useCallback((loadedMessages, hasMore, isInitialLoad = false) => {
     try {
       if (!Array.isArray(loadedMessages)) {
@@ -193,30 +277,66 @@ export const useChatRoom = () => {
         return Array.from(messageMap.values());
       });
 
-      // 메시지 로드 상태 업데이트
+      // 메시지 로드 상태 업데이트 (syncRoom 결과는 이전 메시지 여부와 무관)
       if (isInitialLoad) {
         setHasMoreMessages(hasMore);
         initialLoadCompletedRef.current = true;
-      } else {
+      } else if (hasMore !== undefined) {
         setHasMoreMessages(hasMore);
       }
 
+      const hasGap = trackMessageSeqs(loadedMessages);
+      if (hasGap) {
+        scheduleRoomSync();
+      }
+      return hasGap;
+
     } catch (error) {
       throw error;
     }
-  }, [setMessages, setHasMoreMessages]);
+  }, [setMessages, setHasMoreMessages, trackMessageSeqs, scheduleRoomSync]);
 
   // Cleanup 함수 수정
   const setupEventListeners = useCallback(() => {
     if (!socketRef.current || !mountedRef.current) return;
 
-    // 참가자 업데이트 이벤트
-    socketRef.current.on('participantsUpdate', (participants) => {
+    // 참가자 명단: 입장 응답/전체 명단으로 버전을 맞추고, 이후에는 delta 만 적용
+    socketRef.current.on('joinRoomSuccess', applyParticipantsSnapshot);
+    socketRef.current.on('participantsSnapshot', applyParticipantsSnapshot);
+
+    socketRef.current.on('participantJoined', (data) => {
+      applyParticipantDelta(data, participants => [
+        ...participants.filter(p => (p.id || p._id) !== data.user?.id),
+        data.user
+      ]);
+    });
+
+    socketRef.current.on('participantLeft', (data) => {
+      applyParticipantDelta(data, participants =>
+        participants.filter(p => (p.id || p._id) !== data.userId)
+      );
+    });
+
+    // 재접속 시 서버가 복원한 방 상태, 현재 방의 명단과 끊긴 동안의 최근 메시지를 반영
+    socketRef.current.on('roomsRestored', ({ rooms } = {}) => {
       if (!mountedRef.current) return;
-      setRoom(prev => ({
-        ...prev,
-        participants: participants || []
-      }));
+      const restored = rooms?.find(r => r.roomId === router.query.room);
+      if (!restored) return;
+      applyParticipantsSnapshot(restored);
+      // 끊긴 동안 최근 페이지보다 많은 메시지가 쌓였으면 이어지지 않는 구간을 바로 채운다
+      if (processMessages(restored.messages || [], restored.hasMore)) {
+        requestRoomSync();
+      }
+    });
+
+    // syncRoom 응답: lastSeq 이후 메시지
+    socketRef.current.on('roomSynced', (data) => {
+      if (!mountedRef.current || !data || data.roomId !== router.query.room) return;
+      lastSeqRef.current = Math.max(lastSeqRef.current, data.lastSeq || 0);
+      processMessages(data.messages || []);
+      if (data.hasMore) {
+        requestRoomSync();
+      }
     });
 
     // 읽음 상태 업데이트 이벤트 (메시지 목록의 readers 배열 업데이트)
@@ -263,6 +383,10 @@ export const useChatRoom = () => {
         }
         return [...prev, message];
       });
+
+      if (trackMessageSeqs([message])) {
+        scheduleRoomSync();
+      }
     });
 
     // 이전 메시지 이벤트 (previousMessages와 previousMessagesLoaded 둘 다 처리)
@@ -321,7 +445,8 @@ export const useChatRoom = () => {
       setError(error.message || '채팅 연결에 문제가 발생했습니다.');
     });
 
-  }, [processMessages, setHasMoreMessages, cleanup, handleReactionUpdate, setLoadingMessages, setError, logout]);
+  }, [processMessages, setHasMoreMessages, cleanup, handleReactionUpdate, setLoadingMessages, setError, logout,
+      applyParticipantsSnapshot, applyParticipantDelta, trackMessageSeqs, requestRoomSync, scheduleRoomSync]);
 
   // Room handling hook initialization
   const {
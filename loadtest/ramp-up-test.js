@@ -80,6 +80,12 @@
  *      - Connection Errors: 연결 관련 오류
  *      - Message Errors: 메시지 관련 오류
  *
+ *    컬렉션 증가량 (백엔드 /actuator/metrics 의 mongodb.collection.* 게이지):
+ *      - messages / room_events 컬렉션의 테스트 전후 문서 수, 데이터 크기 차이
+ *      - 입장/퇴장 이벤트 1건당 크기와 메시지 1건당 크기 비교
+ *      - 퇴장 이벤트는 서버 disconnect grace period 뒤에 기록되고 게이지는 collStats 결과를 재사용하므로
+ *        --collection-stats-wait 만큼 기다린 뒤 집계
+ *
  * 6️⃣ 실행 예시
  *    기본 실행:
  *      $ node ramp-up-test.js
@@ -157,6 +163,16 @@ const argv = yargs(hideBin(process.argv))
     type: 'string',
     default: 'http://localhost:5002'
   })
+  .option('metrics-url', {
+    description: 'Backend actuator base URL for collection stats (defaults to api-url)',
+    type: 'string',
+    default: null
+  })
+  .option('collection-stats-wait', {
+    description: 'Seconds to wait after disconnect before reading collection stats (0 to skip)',
+    type: 'number',
+    default: 20
+  })
   .option('room-id', {
     description: 'Room ID to send messages to (auto-create if not specified)',
     type: 'string',
@@ -811,6 +827,78 @@ class RampUpLoadTester {
     }, 2000);
   }
 
+  async fetchCollectionStats() {
+    const baseUrl = this.config.metricsUrl || this.config.apiUrl;
+    const read = async (name, collection) => {
+      const response = await axios.get(`${baseUrl}/actuator/metrics/${name}`, {
+        params: { tag: `collection:${collection}` },
+        timeout: 5000
+      });
+      return response.data.measurements?.[0]?.value ?? 0;
+    };
+
+    try {
+      const stats = {};
+      for (const collection of ['messages', 'room_events']) {
+        stats[collection] = {
+          documents: await read('mongodb.collection.documents', collection),
+          size: await read('mongodb.collection.size', collection)
+        };
+      }
+      return stats;
+    } catch (error) {
+      this.log('warn', `Collection stats unavailable: ${error.message}`);
+      return null;
+    }
+  }
+
+  async printCollectionGrowth() {
+    if (!this.collectionStatsBefore || this.config.collectionStatsWait <= 0) {
+      return;
+    }
+    console.log(chalk.gray(`Waiting ${this.config.collectionStatsWait}s for leave events before reading collection stats...`));
+    await new Promise(resolve => setTimeout(resolve, this.config.collectionStatsWait * 1000));
+
+    const after = await this.fetchCollectionStats();
+    if (!after) {
+      return;
+    }
+
+    const table = new Table({
+      head: [chalk.cyan('Collection'), chalk.cyan('Docs Δ'), chalk.cyan('Size Δ (KB)'), chalk.cyan('Bytes/Doc')],
+      colWidths: [16, 12, 14, 12]
+    });
+    const growth = {};
+    for (const collection of ['messages', 'room_events']) {
+      const documents = after[collection].documents - this.collectionStatsBefore[collection].documents;
+      const size = after[collection].size - this.collectionStatsBefore[collection].size;
+      growth[collection] = { documents, size };
+      table.push([
+        collection,
+        documents,
+        (size / 1024).toFixed(1),
+        documents > 0 ? Math.round(size / documents) : '-'
+      ]);
+    }
+
+    console.log(chalk.bold.cyan('\n=== Collection Growth ===\n'));
+    console.log(table.toString());
+
+    // 입장/퇴장 이벤트를 messages 에 저장했을 때와 비교 (메시지 1건 평균 크기 기준 추정)
+    const events = growth.room_events;
+    const messages = growth.messages;
+    if (events.documents > 0 && messages.documents > 0) {
+      const eventBytes = events.size / events.documents;
+      const messageBytes = messages.size / messages.documents;
+      const saved = (1 - eventBytes / messageBytes) * 100;
+      console.log(chalk.gray(`  Join/leave events: ${events.documents} docs, ${Math.round(eventBytes)} B/doc ` +
+        `vs ${Math.round(messageBytes)} B/doc as messages (${saved.toFixed(1)}% smaller)`));
+      console.log(chalk.gray(`  messages collection would have grown by ${messages.documents + events.documents} docs ` +
+        `instead of ${messages.documents}`));
+    }
+    console.log('');
+  }
+
   onSustainComplete() {
     this.log('success', `Sustain phase complete (${this.config.sustainDuration}s). Shutting down all users...`);
     this.metrics.currentPhase = 'completed';
@@ -823,9 +911,10 @@ class RampUpLoadTester {
     });
 
     // Wait a bit for graceful disconnection
-    setTimeout(() => {
+    setTimeout(async () => {
       clearInterval(this.metricsInterval);
       this.printMetrics();
+      await this.printCollectionGrowth();
       console.log(chalk.bold.green('\n✓ Ramp-up load test completed!\n'));
       process.exit(0);
     }, 2000);
@@ -860,6 +949,9 @@ class RampUpLoadTester {
     this.log('info', `Strategy: Creating 1 new room per second with ${minUsersPerSecond}-${maxUsersPerSecond} users`);
     this.log('info', `Will sustain for ${sustainDuration}s after reaching max users`);
 
+    // 테스트 전 컬렉션 크기 (종료 후 증가량 비교용)
+    this.collectionStatsBefore = await this.fetchCollectionStats();
+
     // Show initial metrics
     this.printMetrics();
 
@@ -876,6 +968,8 @@ const tester = new RampUpLoadTester({
   apiUrl: argv.apiUrl,
   socketUrl: argv.socketUrl,
   roomId: argv.roomId,
+  metricsUrl: argv.metricsUrl,
+  collectionStatsWait: argv.collectionStatsWait,
   maxUsers: argv.maxUsers,
   minUsersPerSecond: argv.minUsersPerSecond,
   maxUsersPerSecond: argv.maxUsersPerSecond,
@@ -0,0 +1,175 @@
+#!/usr/bin/env node
+
+const io = require('socket.io-client');
+const axios = require('axios');
+const yargs = require('yargs/yargs');
+const { hideBin } = require('yargs/helpers');
+const chalk = require('chalk');
+const Table = require('cli-table3');
+
+// 중복 로그인 폭주 테스트
+// 1) 사용자마다 첫 번째 소켓을 연결한 뒤
+// 2) 같은 사용자로 동시에 다시 로그인해 두 번째 소켓을 연결하고
+// 3) 그동안 서버의 JVM 스레드 수 / 힙 사용량을 actuator 로 수집한다.
+const argv = yargs(hideBin(process.argv))
+  .option('users', {
+    alias: 'u',
+    description: 'Number of users to re-login concurrently',
+    type: 'number',
+    default: 10000
+  })
+  .option('batch-size', {
+    alias: 'b',
+    description: 'Number of connections to open simultaneously per batch',
+    type: 'number',
+    default: 200
+  })
+  .option('api-url', {
+    description: 'Backend REST API URL',
+    type: 'string',
+    default: 'http://localhost:5001'
+  })
+  .option('socket-url', {
+    description: 'Socket.IO server URL',
+    type: 'string',
+    default: 'http://localhost:5002'
+  })
+  .option('hold', {
+    description: 'Seconds to keep sampling after all re-logins (covers the delayed session_ended)',
+    type: 'number',
+    default: 15
+  })
+  .help()
+  .argv;
+
+const PASSWORD = 'Test1234!';
+
+const metrics = {
+  firstConnected: 0,
+  secondConnected: 0,
+  duplicateLoginReceived: 0,
+  sessionEndedReceived: 0,
+  errors: 0,
+  samples: []
+};
+
+async function login(index) {
+  const email = `loadtest-${index}@test.com`;
+  try {
+    const res = await axios.post(`${argv['api-url']}/api/auth/login`, { email, password: PASSWORD }, { timeout: 10000 });
+    return res.data;
+  } catch (error) {
+    if (error.response?.status === 401 || error.response?.status === 404) {
+      const res = await axios.post(
+        `${argv['api-url']}/api/auth/register`,
+        { email, password: PASSWORD, name: `LoadTest User ${index}` },
+        { timeout: 10000 }
+      );
+      return res.data;
+    }
+    throw error;
+  }
+}
+
+function connect({ token, sessionId }) {
+  return new Promise((resolve, reject) => {
+    const socket = io(argv['socket-url'], {
+      auth: { token, sessionId },
+      transports: ['websocket'],
+      reconnection: false
+    });
+    socket.once('connect', () => resolve(socket));
+    socket.once('connect_error', reject);
+  });
+}
+
+async function inBatches(count, task) {
+  for (let start = 0; start < count; start += argv['batch-size']) {
+    const end = Math.min(count, start + argv['batch-size']);
+    const batch = [];
+    for (let i = start; i < end; i++) {
+      batch.push(task(i).catch(() => { metrics.errors++; }));
+    }
+    await Promise.all(batch);
+  }
+}
+
+async function readMetric(name, tag) {
+  const query = tag ? `?tag=${encodeURIComponent(tag)}` : '';
+  const res = await axios.get(`${argv['api-url']}/actuator/metrics/${name}${query}`, { timeout: 5000 });
+  return res.data.measurements.find(m => m.statistic === 'VALUE').value;
+}
+
+function startSampling() {
+  const timer = setInterval(async () => {
+    try {
+      const [threads, heap] = await Promise.all([
+        readMetric('jvm.threads.live'),
+        readMetric('jvm.memory.used', 'area:heap')
+      ]);
+      metrics.samples.push({ at: Date.now(), threads, heapMb: heap / 1024 / 1024 });
+    } catch (error) {
+      // actuator 가 비활성화된 환경에서는 샘플 없이 진행
+    }
+  }, 1000);
+  return () => clearInterval(timer);
+}
+
+function printReport(durationMs) {
+  const table = new Table({ head: ['Metric', 'Value'] });
+  const threads = metrics.samples.map(s => s.threads);
+  const heap = metrics.samples.map(s => s.heapMb);
+
+  table.push(
+    ['Users', argv.users],
+    ['First sockets connected', metrics.firstConnected],
+    ['Second sockets connected', metrics.secondConnected],
+    ['duplicate_login received', metrics.duplicateLoginReceived],
+    ['session_ended received', metrics.sessionEndedReceived],
+    ['Errors', metrics.errors],
+    ['Live threads (start / peak)', threads.length ? `${threads[0]} / ${Math.max(...threads)}` : 'n/a'],
+    ['Heap used MB (start / peak)', heap.length ? `${heap[0].toFixed(1)} / ${Math.max(...heap).toFixed(1)}` : 'n/a'],
+    ['Duration', `${(durationMs / 1000).toFixed(1)}s`]
+  );
+
+  console.log(chalk.bold('\nDuplicate login storm result'));
+  console.log(table.toString());
+}
+
+async function main() {
+  const stopSampling = startSampling();
+  const startedAt = Date.now();
+  const firstSockets = [];
+  const secondSockets = [];
+
+  console.log(chalk.cyan(`Connecting first session for ${argv.users} users...`));
+  await inBatches(argv.users, async (i) => {
+    const socket = await connect(await login(i));
+    socket.on('duplicate_login', () => { metrics.duplicateLoginReceived++; });
+    socket.on('session_ended', () => { metrics.sessionEndedReceived++; });
+    firstSockets.push(socket);
+    metrics.firstConnected++;
+  });
+
+  // 재로그인 토큰을 먼저 모두 발급해 두고 소켓 연결만 동시에 폭주시킨다
+  console.log(chalk.cyan('Issuing second login for every user...'));
+  const secondAuth = new Array(argv.users);
+  await inBatches(argv.users, async (i) => { secondAuth[i] = await login(i); });
+
+  console.log(chalk.cyan('Re-login storm...'));
+  await Promise.all(secondAuth.map(auth => auth && connect(auth)
+    .then(socket => { secondSockets.push(socket); metrics.secondConnected++; })
+    .catch(() => { metrics.errors++; })));
+
+  await new Promise(resolve => setTimeout(resolve, argv.hold * 1000));
+
+  stopSampling();
+  printReport(Date.now() - startedAt);
+  [...firstSockets, ...secondSockets].forEach(socket => socket.close());
+  process.exit(0);
+}
+
+main().catch(error => {
+  console.error(chalk.red('Relogin test failed:'), error.message);
+  process.exit(1);
+});